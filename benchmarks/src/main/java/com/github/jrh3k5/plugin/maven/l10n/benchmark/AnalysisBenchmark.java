@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.util.ClassFileIndex;
+import com.github.jrh3k5.plugin.maven.l10n.util.SubtypeIndex;
+import com.github.jrh3k5.plugin.maven.l10n.util.TranslationClassUtils;
+import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils;
+import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils.ClassinessAnalysisResults;
+
+/**
+ * Benchmarks of the verification of translation keys against generated translation classes, and of the discovery of the translation keys of implementations of a key class. Each invocation
+ * builds its own {@link ClassFileIndex} (and, where needed, classloader), as a build would, so the cost of listing the classpath is included.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AnalysisBenchmark {
+    /**
+     * The number of translation classes.
+     */
+    @Param({ "1000", "10000" })
+    private int classCount;
+
+    /**
+     * The number of keys of each translation class.
+     */
+    @Param({ "10" })
+    private int keysPerClass;
+
+    /**
+     * The fraction of translation classes that do not exist.
+     */
+    @Param({ "0.05" })
+    private double missingClassRatio;
+
+    /**
+     * The fraction of the keys of each existing translation class that do not exist.
+     */
+    @Param({ "0.05" })
+    private double missingFieldRatio;
+
+    /**
+     * The number of threads used to analyze the classes.
+     */
+    @Param({ "1", "4" })
+    private int threads;
+
+    private File directory;
+    private List<URL> classpathUrls;
+    private List<File> classpathElements;
+    private AuthoritativeMessagesProperties authoritativeProperties;
+    private TranslationKeyAnalysisUtils analysisUtils;
+
+    /**
+     * Generate the bundle and its translation classes.
+     *
+     * @throws IOException
+     *             If the bundle or classes cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("l10n-analysis-benchmark").toFile();
+        final File classesDirectory = new File(directory, "classes");
+        final File messagesFile = new File(directory, "messages.properties");
+
+        final BundleGenerator generator = new BundleGenerator(classCount * keysPerClass, keysPerClass, 4);
+        generator.writeAuthoritative(messagesFile, 0);
+        ClassFixtureGenerator.write(generator, classesDirectory, missingClassRatio, missingFieldRatio);
+
+        classpathElements = Collections.singletonList(classesDirectory);
+        classpathUrls = Collections.singletonList(classesDirectory.toURI().toURL());
+
+        final AuthoritativeMessagesProperties.Parser parser = new AuthoritativeMessagesProperties.Parser();
+        parser.setEncoding(StandardCharsets.ISO_8859_1);
+        authoritativeProperties = parser.parse(messagesFile);
+        analysisUtils = TranslationKeyAnalysisUtils.getInstance(new SystemStreamLog());
+    }
+
+    /**
+     * Delete the bundle and its translation classes.
+     *
+     * @throws IOException
+     *             If they cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    /**
+     * Verify the translation keys by reading the class files of the translation classes.
+     *
+     * @return The {@link ClassinessAnalysisResults} of the verification.
+     * @throws IOException
+     *             If the verification fails.
+     */
+    @Benchmark
+    public ClassinessAnalysisResults analyzeClassFiles() throws IOException {
+        try (final ClassFileIndex classFileIndex = new ClassFileIndex(classpathUrls)) {
+            return analysisUtils.analyzeClassiness(classFileIndex, authoritativeProperties, threads);
+        }
+    }
+
+    /**
+     * Verify the translation keys by loading the translation classes.
+     *
+     * @return The {@link ClassinessAnalysisResults} of the verification.
+     * @throws IOException
+     *             If the verification fails.
+     */
+    @Benchmark
+    public ClassinessAnalysisResults analyzeLoadedClasses() throws IOException {
+        try (final URLClassLoader classLoader = new URLClassLoader(classpathUrls.toArray(new URL[classpathUrls.size()]));
+                final ClassFileIndex classFileIndex = new ClassFileIndex(classpathUrls)) {
+            return analysisUtils.analyzeClassiness(classLoader, classFileIndex, authoritativeProperties, threads);
+        }
+    }
+
+    /**
+     * Find the translation keys of the implementations of the key interface by reading their class files.
+     *
+     * @return The translation keys that were found.
+     * @throws Exception
+     *             If the keys cannot be found.
+     */
+    @Benchmark
+    public Collection<String> getTranslationKeys() throws Exception {
+        final SubtypeIndex subtypeIndex = SubtypeIndex.scan(classpathElements, Collections.<String> emptyList(), threads);
+        try (final ClassFileIndex classFileIndex = new ClassFileIndex(classpathUrls)) {
+            return TranslationClassUtils.getTranslationKeys(Collections.singletonList(ClassFixtureGenerator.KEY_INTERFACE_NAME), classFileIndex, subtypeIndex, new SystemStreamLog());
+        }
+    }
+}
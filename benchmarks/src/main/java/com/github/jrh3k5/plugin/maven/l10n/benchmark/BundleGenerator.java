@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * A generator of synthetic messages properties files. Every key names a field of a translation class, as {@link #getClassName(int, int)} and {@link #getFieldName(int)} describe, so that the
+ * bundles can be verified against the classes written by {@link ClassFixtureGenerator}. Generation is seeded, so the same parameters always produce the same bundle.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class BundleGenerator {
+    private static final long SEED = 0x4c31304eL;
+
+    private final int keyCount;
+    private final int keysPerClass;
+    private final int packageDepth;
+
+    /**
+     * Create a generator.
+     *
+     * @param keyCount
+     *            The number of distinct keys in the authoritative bundle.
+     * @param keysPerClass
+     *            The number of keys belonging to each translation class.
+     * @param packageDepth
+     *            The number of package segments beneath {@code com.example} in the name of each translation class; deeper packages produce longer keys with longer shared prefixes.
+     */
+    public BundleGenerator(int keyCount, int keysPerClass, int packageDepth) {
+        this.keyCount = keyCount;
+        this.keysPerClass = keysPerClass;
+        this.packageDepth = packageDepth;
+    }
+
+    /**
+     * Get the number of translation classes to which the keys of the bundle belong.
+     *
+     * @return The number of translation classes.
+     */
+    public int getClassCount() {
+        return (keyCount + keysPerClass - 1) / keysPerClass;
+    }
+
+    /**
+     * Get the number of keys belonging to each translation class.
+     *
+     * @return The number of keys belonging to each translation class.
+     */
+    public int getKeysPerClass() {
+        return keysPerClass;
+    }
+
+    /**
+     * Get the binary name of a translation class.
+     *
+     * @param classIndex
+     *            The index of the translation class.
+     * @param packageDepth
+     *            The number of package segments beneath {@code com.example}.
+     * @return The binary name of the given translation class.
+     */
+    public static String getClassName(int classIndex, int packageDepth) {
+        final StringBuilder className = new StringBuilder("com.example");
+        for (int depth = 0; depth < packageDepth; depth++) {
+            // Spread the classes across packages so that the key prefixes branch as they would in a real project
+            className.append(".module").append((classIndex >> (depth * 2)) & 3);
+        }
+        return className.append(".Keys").append(classIndex).toString();
+    }
+
+    /**
+     * Get the name of a field of a translation class.
+     *
+     * @param fieldIndex
+     *            The index of the field within its class.
+     * @return The name of the given field.
+     */
+    public static String getFieldName(int fieldIndex) {
+        return "KEY_" + fieldIndex;
+    }
+
+    /**
+     * Get the name of the translation class of a key.
+     *
+     * @param classIndex
+     *            The index of the translation class.
+     * @return The binary name of the translation class.
+     */
+    public String getClassName(int classIndex) {
+        return getClassName(classIndex, packageDepth);
+    }
+
+    /**
+     * Get a key of the bundle.
+     *
+     * @param keyIndex
+     *            The index of the key.
+     * @return The key at the given index.
+     */
+    public String getKey(int keyIndex) {
+        return getClassName(keyIndex / keysPerClass) + "." + getFieldName(keyIndex % keysPerClass);
+    }
+
+    /**
+     * Write the authoritative bundle.
+     *
+     * @param file
+     *            The file to be written.
+     * @param duplicateRatio
+     *            The fraction of keys that are written a second time.
+     * @throws IOException
+     *             If the file cannot be written.
+     */
+    public void writeAuthoritative(File file, double duplicateRatio) throws IOException {
+        final Random random = new Random(SEED);
+        try (final Writer writer = open(file)) {
+            for (int keyIndex = 0; keyIndex < keyCount; keyIndex++) {
+                final String key = getKey(keyIndex);
+                writeEntry(writer, key, keyIndex);
+                if (random.nextDouble() < duplicateRatio) {
+                    writeEntry(writer, key, keyIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write a translation of the authoritative bundle.
+     *
+     * @param file
+     *            The file to be written.
+     * @param missingRatio
+     *            The fraction of the keys of the authoritative bundle that are left out of the translation.
+     * @param extraRatio
+     *            The number, as a fraction of the number of keys of the authoritative bundle, of keys that are in the translation but not the authoritative bundle.
+     * @throws IOException
+     *             If the file cannot be written.
+     */
+    public void writeTranslation(File file, double missingRatio, double extraRatio) throws IOException {
+        final Random random = new Random(SEED + 1);
+        try (final Writer writer = open(file)) {
+            for (int keyIndex = 0; keyIndex < keyCount; keyIndex++) {
+                if (random.nextDouble() >= missingRatio) {
+                    writeEntry(writer, getKey(keyIndex), keyIndex);
+                }
+            }
+
+            final int extraCount = (int) (keyCount * extraRatio);
+            for (int extraIndex = 0; extraIndex < extraCount; extraIndex++) {
+                writeEntry(writer, "com.example.Extra." + getFieldName(extraIndex), extraIndex);
+            }
+        }
+    }
+
+    /**
+     * Open a file for writing.
+     *
+     * @param file
+     *            The file to be opened.
+     * @return A {@link Writer} of the given file.
+     * @throws IOException
+     *             If the file cannot be opened.
+     */
+    private static Writer open(File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.ISO_8859_1), 1 << 16);
+    }
+
+    /**
+     * Write an entry of a bundle.
+     *
+     * @param writer
+     *            The {@link Writer} to which the entry is to be written.
+     * @param key
+     *            The key of the entry.
+     * @param index
+     *            A number used to vary the message of the entry.
+     * @throws IOException
+     *             If the entry cannot be written.
+     */
+    private static void writeEntry(Writer writer, String key, int index) throws IOException {
+        writer.write(key);
+        writer.write(" = Message number ");
+        writer.write(Integer.toString(index));
+        writer.write(" with {0} argument\n");
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A generator of the class files of the translation classes of the bundles written by {@link BundleGenerator}. Each translation class is written as an enum, implementing
+ * {@link #KEY_INTERFACE_NAME}, whose constants are its keys; the class files declare no methods, so they can be read and loaded, but not initialized. Some classes, and some fields of the
+ * remaining classes, can be left out so that verification has something to find.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class ClassFixtureGenerator {
+    /**
+     * The binary name of the interface implemented by every generated translation class.
+     */
+    public static final String KEY_INTERFACE_NAME = "com.example.TranslationKey";
+
+    private static final long SEED = 0x4c31304eL;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_ENUM = 0x4000;
+
+    /**
+     * Write the class files of the translation classes of a bundle.
+     *
+     * @param bundleGenerator
+     *            The {@link BundleGenerator} of the bundle whose translation classes are to be written.
+     * @param directory
+     *            The directory, the root of a classpath, beneath which the class files are to be written.
+     * @param missingClassRatio
+     *            The fraction of the translation classes that are not written.
+     * @param missingFieldRatio
+     *            The fraction of the fields of each written class that are left out of it.
+     * @throws IOException
+     *             If the class files cannot be written.
+     */
+    public static void write(BundleGenerator bundleGenerator, File directory, double missingClassRatio, double missingFieldRatio) throws IOException {
+        final Random random = new Random(SEED);
+        writeClass(directory, KEY_INTERFACE_NAME, "java.lang.Object", null, ACC_PUBLIC | ACC_INTERFACE | ACC_ABSTRACT, new ArrayList<String>());
+        for (int classIndex = 0; classIndex < bundleGenerator.getClassCount(); classIndex++) {
+            if (random.nextDouble() < missingClassRatio) {
+                continue;
+            }
+
+            final List<String> fieldNames = new ArrayList<>(bundleGenerator.getKeysPerClass());
+            for (int fieldIndex = 0; fieldIndex < bundleGenerator.getKeysPerClass(); fieldIndex++) {
+                if (random.nextDouble() >= missingFieldRatio) {
+                    fieldNames.add(BundleGenerator.getFieldName(fieldIndex));
+                }
+            }
+            writeClass(directory, bundleGenerator.getClassName(classIndex), "java.lang.Enum", KEY_INTERFACE_NAME, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_ENUM, fieldNames);
+        }
+    }
+
+    /**
+     * Write a class file.
+     *
+     * @param directory
+     *            The root of the classpath beneath which the class file is to be written.
+     * @param className
+     *            The binary name of the class.
+     * @param superClassName
+     *            The binary name of the superclass of the class.
+     * @param interfaceName
+     *            The binary name of the interface implemented by the class; {@code null} if none.
+     * @param accessFlags
+     *            The access flags of the class.
+     * @param fieldNames
+     *            A {@link List} of the names of the enum constants declared by the class.
+     * @throws IOException
+     *             If the class file cannot be written.
+     */
+    private static void writeClass(File directory, String className, String superClassName, String interfaceName, int accessFlags, List<String> fieldNames) throws IOException {
+        final String internalName = className.replace('.', '/');
+        final File classFile = new File(directory, internalName + ".class");
+        if (!classFile.getParentFile().isDirectory() && !classFile.getParentFile().mkdirs()) {
+            throw new IOException("Failed to create directory: " + classFile.getParentFile());
+        }
+
+        // The constant pool holds, in order: this class, its superclass, its interface, the field descriptor, then each field name
+        final List<String> utf8Constants = new ArrayList<>();
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(classFile)))) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(51);
+
+            final int interfaceConstants = interfaceName == null ? 0 : 2;
+            out.writeShort(1 + 4 + interfaceConstants + 1 + fieldNames.size());
+            writeClassConstant(out, internalName, utf8Constants);
+            writeClassConstant(out, superClassName.replace('.', '/'), utf8Constants);
+            if (interfaceName != null) {
+                writeClassConstant(out, interfaceName.replace('.', '/'), utf8Constants);
+            }
+            final int descriptorIndex = writeUtf8Constant(out, "L" + internalName + ";", utf8Constants);
+            final int firstFieldNameIndex = descriptorIndex + 1;
+            for (String fieldName : fieldNames) {
+                writeUtf8Constant(out, fieldName, utf8Constants);
+            }
+
+            out.writeShort(accessFlags);
+            out.writeShort(2);
+            out.writeShort(4);
+            if (interfaceName == null) {
+                out.writeShort(0);
+            } else {
+                out.writeShort(1);
+                out.writeShort(6);
+            }
+
+            out.writeShort(fieldNames.size());
+            for (int fieldIndex = 0; fieldIndex < fieldNames.size(); fieldIndex++) {
+                out.writeShort(ACC_PUBLIC | ACC_STATIC | ACC_FINAL | ACC_ENUM);
+                out.writeShort(firstFieldNameIndex + fieldIndex);
+                out.writeShort(descriptorIndex);
+                out.writeShort(0);
+            }
+
+            // No methods, and no attributes
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+    }
+
+    /**
+     * Write a Utf8 constant, followed by a Class constant referring to it.
+     *
+     * @param out
+     *            The {@link DataOutputStream} to which the constants are to be written.
+     * @param internalName
+     *            The internal name of the class.
+     * @param utf8Constants
+     *            A {@link List} of the constants written so far, used to number them.
+     * @throws IOException
+     *             If the constants cannot be written.
+     */
+    private static void writeClassConstant(DataOutputStream out, String internalName, List<String> utf8Constants) throws IOException {
+        final int nameIndex = writeUtf8Constant(out, internalName, utf8Constants);
+        out.writeByte(7);
+        out.writeShort(nameIndex);
+        utf8Constants.add(null);
+    }
+
+    /**
+     * Write a Utf8 constant.
+     *
+     * @param out
+     *            The {@link DataOutputStream} to which the constant is to be written.
+     * @param value
+     *            The value of the constant.
+     * @param utf8Constants
+     *            A {@link List} of the constants written so far, used to number them.
+     * @return The index of the written constant in the constant pool.
+     * @throws IOException
+     *             If the constant cannot be written.
+     */
+    private static int writeUtf8Constant(DataOutputStream out, String value, List<String> utf8Constants) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(value);
+        utf8Constants.add(value);
+        return utf8Constants.size();
+    }
+}
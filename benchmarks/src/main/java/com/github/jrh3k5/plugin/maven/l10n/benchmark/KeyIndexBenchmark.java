@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.benchmark;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.SortedView;
+import com.github.jrh3k5.plugin.maven.l10n.data.TranslationKeyIndex;
+
+/**
+ * Benchmarks of listing the keys of a {@link TranslationKeyIndex} several times over, as the passes of a report - counting, exporting, and rendering - do. A key is rebuilt from the trie the
+ * first time it is listed and kept thereafter. With {@code -prof gc}, the difference between {@link #buildAndListIndex(Blackhole)} and {@link #buildIndex()} is the one-time cost of rebuilding the
+ * keys, which further passes barely add to, and {@link #listListedIndex(Blackhole)} shows that passes over keys already rebuilt allocate nothing.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class KeyIndexBenchmark {
+    /**
+     * The number of keys in the index.
+     */
+    @Param({ "100000", "1000000" })
+    private int keyCount;
+
+    /**
+     * The number of times the keys are listed by each invocation.
+     */
+    @Param({ "1", "4" })
+    private int passes;
+
+    private List<String> keys;
+    private BitSet allIds;
+    private SortedView<String> listedView;
+
+    /**
+     * Generate the keys, and an index whose keys have already been listed once.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final BundleGenerator generator = new BundleGenerator(keyCount, 10, 4);
+        keys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add(generator.getKey(i));
+        }
+        allIds = new BitSet(keyCount);
+        allIds.set(0, keyCount);
+
+        listedView = new TranslationKeyIndex(keys).getKeys(allIds);
+        // Listing the keys once rebuilds every one of them
+        new ArrayList<>(listedView);
+    }
+
+    /**
+     * Build an index without listing its keys.
+     *
+     * @return The built {@link TranslationKeyIndex}.
+     */
+    @Benchmark
+    public TranslationKeyIndex buildIndex() {
+        return new TranslationKeyIndex(keys);
+    }
+
+    /**
+     * Build an index and list its keys.
+     *
+     * @param blackhole
+     *            The {@link Blackhole} consuming the listed keys.
+     */
+    @Benchmark
+    public void buildAndListIndex(Blackhole blackhole) {
+        list(new TranslationKeyIndex(keys).getKeys(allIds), blackhole);
+    }
+
+    /**
+     * List the keys of an index whose keys have already been listed.
+     *
+     * @param blackhole
+     *            The {@link Blackhole} consuming the listed keys.
+     */
+    @Benchmark
+    public void listListedIndex(Blackhole blackhole) {
+        list(listedView, blackhole);
+    }
+
+    /**
+     * List the keys of a view as many times as configured.
+     *
+     * @param view
+     *            The {@link SortedView} whose keys are to be listed.
+     * @param blackhole
+     *            The {@link Blackhole} consuming the listed keys.
+     */
+    private void list(SortedView<String> view, Blackhole blackhole) {
+        for (int pass = 0; pass < passes; pass++) {
+            for (String key : view) {
+                blackhole.consume(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.TranslatedMessagesProperties;
+
+/**
+ * Benchmarks of the parsing of authoritative messages properties files and the diffing of their translations against them. The parse cache is not used, so every invocation parses the files.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+    /**
+     * The number of distinct keys in the authoritative bundle. Larger sizes, up to 5000000, can be given with {@code -p keyCount=...}.
+     */
+    @Param({ "10000", "100000", "1000000" })
+    private int keyCount;
+
+    /**
+     * The number of package segments beneath {@code com.example} in each key.
+     */
+    @Param({ "4" })
+    private int packageDepth;
+
+    /**
+     * The fraction of the keys of the authoritative bundle that are duplicated.
+     */
+    @Param({ "0.01" })
+    private double duplicateRatio;
+
+    /**
+     * The fraction of the keys of the authoritative bundle that are missing from the translation.
+     */
+    @Param({ "0.1" })
+    private double missingRatio;
+
+    private File directory;
+    private File authoritativeFile;
+    private File translationFile;
+    private AuthoritativeMessagesProperties authoritativeProperties;
+
+    /**
+     * Generate the bundles.
+     *
+     * @throws IOException
+     *             If the bundles cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("l10n-parser-benchmark").toFile();
+        authoritativeFile = new File(directory, "messages.properties");
+        translationFile = new File(directory, "messages_fr.properties");
+
+        final BundleGenerator generator = new BundleGenerator(keyCount, 10, packageDepth);
+        generator.writeAuthoritative(authoritativeFile, duplicateRatio);
+        generator.writeTranslation(translationFile, missingRatio, 0.01);
+        authoritativeProperties = parseAuthoritative();
+    }
+
+    /**
+     * Delete the bundles.
+     *
+     * @throws IOException
+     *             If the bundles cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    /**
+     * Parse the authoritative bundle.
+     *
+     * @return The parsed {@link AuthoritativeMessagesProperties}.
+     * @throws IOException
+     *             If the bundle cannot be parsed.
+     */
+    @Benchmark
+    public AuthoritativeMessagesProperties parseAuthoritative() throws IOException {
+        final AuthoritativeMessagesProperties.Parser parser = new AuthoritativeMessagesProperties.Parser();
+        parser.setEncoding(StandardCharsets.ISO_8859_1);
+        return parser.parse(authoritativeFile);
+    }
+
+    /**
+     * Parse the translation and diff it against the authoritative bundle.
+     *
+     * @return The parsed {@link TranslatedMessagesProperties}.
+     * @throws IOException
+     *             If the translation cannot be parsed.
+     */
+    @Benchmark
+    public Collection<TranslatedMessagesProperties> parseTranslation() throws IOException {
+        final TranslatedMessagesProperties.Parser parser = new TranslatedMessagesProperties.Parser();
+        parser.setEncoding(StandardCharsets.ISO_8859_1);
+        return parser.parse(authoritativeProperties, Collections.singletonList(translationFile));
+    }
+}
@@ -17,18 +17,18 @@
  */
 package com.github.jrh3k5.plugin.maven.l10n.data;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.HashSet;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.security.MessageDigest;
+import java.util.Arrays;
 import java.util.Locale;
-import java.util.Properties;
 import java.util.Set;
 
-import org.apache.commons.lang3.StringUtils;
+import com.github.jrh3k5.plugin.maven.l10n.data.MessagesPropertiesScanner.ScanResult;
 
 /**
  * Abstract definition of a class used to parse a messages properties file.
@@ -37,6 +37,11 @@ import org.apache.commons.lang3.StringUtils;
  */
 
 public abstract class AbstractMessagesPropertiesParser {
+    private Charset encoding = StandardCharsets.ISO_8859_1;
+    private MessagesPropertiesCache cache;
+    private MessageFormatSignatures placeholderSignatures;
+    private boolean hashValues;
+
     /**
      * Determine the supported locale of a messages properties file.
      * 
@@ -72,30 +77,7 @@ public abstract class AbstractMessagesPropertiesParser {
      *             If any errors occur during the parsing.
      */
     protected Set<String> getDuplicateTranslationKeys(File messagesFile) throws IOException {
-        try (final InputStream fileIn = new FileInputStream(messagesFile); final InputStreamReader streamReader = new InputStreamReader(fileIn); final BufferedReader bufferedReader = new BufferedReader(streamReader)) {
-            String currentLine = null;
-            final Set<String> duplicateKeys = new HashSet<>();
-            final Set<String> seenKeys = new HashSet<>();
-            while ((currentLine = bufferedReader.readLine()) != null) {
-                // Skip blank lines and comments
-                if (StringUtils.isBlank(currentLine) || currentLine.trim().startsWith("#")) {
-                    continue;
-                }
-
-                final int equalsPos = currentLine.indexOf('=');
-                // Don't let invalid properties stop parsing
-                if (equalsPos < 0) {
-                    continue;
-                }
-                final String key = currentLine.substring(0, equalsPos);
-                if (seenKeys.contains(key)) {
-                    duplicateKeys.add(key);
-                } else {
-                    seenKeys.add(key);
-                }
-            }
-            return duplicateKeys;
-        }
+        return scan(messagesFile).getDuplicateTranslationKeys();
     }
 
     /**
@@ -105,12 +87,134 @@ public abstract class AbstractMessagesPropertiesParser {
      * @throws IOException
      *             If any errors occur while reading the messages file.
      */
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     protected Set<String> getTranslationKeys(File messagesFile) throws IOException {
-        final Properties properties = new Properties();
-        try (final InputStream inputStream = new FileInputStream(messagesFile)) {
-            properties.load(inputStream);
-            return (Set) properties.keySet();
+        return scan(messagesFile).getTranslationKeys();
+    }
+
+    /**
+     * Scan a messages file, reading its translation keys and duplicate translation keys in a single pass.
+     * 
+     * @param messagesFile
+     *            A {@link File} representing the messages file to be scanned.
+     * @return A {@link ScanResult} describing the contents of the given file.
+     * @throws IOException
+     *             If any errors occur while reading the messages file.
+     * @since 1.5
+     */
+    protected ScanResult scan(File messagesFile) throws IOException {
+        final MessagesPropertiesScanner scanner = new MessagesPropertiesScanner(encoding, placeholderSignatures, hashValues);
+        if (cache == null) {
+            return scanner.scan(messagesFile);
+        }
+
+        // The cache is only an optimization, so an entry that cannot be read or written is treated as absent rather than failing the parse
+        ScanResult cached;
+        try {
+            cached = cache.load(messagesFile, encoding, placeholderSignatures != null, hashValues);
+        } catch (RuntimeException e) {
+            cached = null;
+        }
+        if (cached != null) {
+            return cached;
+        }
+
+        // Observe the state of the file before it's read so that a concurrent modification is never cached as current
+        final long size = messagesFile.length();
+        final long lastModified = messagesFile.lastModified();
+        final MessageDigest digest = MessagesPropertiesCache.newDigest();
+        final ScanResult scanResult = scanner.scan(messagesFile, digest);
+        try {
+            cache.store(messagesFile, encoding, size, lastModified, digest.digest(), scanResult);
+        } catch (IOException e) {
+            // The file will simply be scanned again next time
+        }
+        return scanResult;
+    }
+
+    /**
+     * Set the cache in which scanned messages files are to be stored and from which unchanged messages files are to be loaded.
+     * 
+     * @param cache
+     *            The {@link MessagesPropertiesCache} to be used; can be {@code null}, which is the default, to always scan messages files.
+     * @since 1.5
+     */
+    public void setCache(MessagesPropertiesCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Set the signatures with which the arguments of the values of parsed messages files are to be compiled. The values are read during the same pass as the keys, and only their signatures are
+     * kept.
+     * 
+     * @param placeholderSignatures
+     *            The {@link MessageFormatSignatures} to be used; can be {@code null}, which is the default, to skip the values of messages files.
+     * @since 1.5
+     */
+    public void setPlaceholderSignatures(MessageFormatSignatures placeholderSignatures) {
+        this.placeholderSignatures = placeholderSignatures;
+    }
+
+    /**
+     * Set whether or not a hash of the value of each key of parsed messages files should be recorded, so that values can be compared between files without being kept.
+     * 
+     * @param hashValues
+     *            {@code true} if values should be hashed; {@code false} if they should be skipped. Defaults to {@code false}.
+     * @since 1.5
+     */
+    public void setHashValues(boolean hashValues) {
+        this.hashValues = hashValues;
+    }
+
+    /**
+     * Set the encoding of the messages files to be parsed.
+     * 
+     * @param encoding
+     *            The {@link Charset} in which the messages files are encoded. Defaults to ISO-8859-1, the encoding assumed by {@link java.util.Properties#load(java.io.InputStream)}.
+     * @since 1.5
+     */
+    public void setEncoding(Charset encoding) {
+        this.encoding = requireAsciiCompatible(encoding);
+    }
+
+    /**
+     * Look up an encoding of messages files by name.
+     * 
+     * @param encodingName
+     *            The name of the encoding.
+     * @return The {@link Charset} of the given name.
+     * @throws IllegalArgumentException
+     *             If no encoding of the given name is supported, or it does not encode ASCII characters as the same single bytes; the scanning of messages files tokenizes their bytes directly, so
+     *             encodings such as UTF-16 cannot be read.
+     * @since 1.5
+     */
+    public static Charset forEncodingName(String encodingName) {
+        Charset encoding;
+        try {
+            encoding = Charset.forName(encodingName);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            throw new IllegalArgumentException(String.format("Unsupported messages encoding: %s", encodingName), e);
+        }
+        return requireAsciiCompatible(encoding);
+    }
+
+    /**
+     * Verify that an encoding encodes each ASCII character as a single byte of the same value, as the scanning of messages files requires.
+     * 
+     * @param encoding
+     *            The {@link Charset} to be verified.
+     * @return The given {@link Charset}.
+     * @throws IllegalArgumentException
+     *             If the given encoding is not compatible with ASCII.
+     */
+    private static Charset requireAsciiCompatible(Charset encoding) {
+        final byte[] ascii = new byte[128];
+        for (int i = 0; i < ascii.length; i++) {
+            ascii[i] = (byte) i;
+        }
+        if (!encoding.canEncode() || !Arrays.equals(ascii, new String(ascii, StandardCharsets.US_ASCII).getBytes(encoding))) {
+            throw new IllegalArgumentException(String.format("Unsupported messages encoding: %s; it must encode ASCII characters as the same single bytes, as ISO-8859-1 and UTF-8 do.",
+                    encoding.name()));
         }
+        return encoding;
     }
 }
@@ -19,18 +19,14 @@ package com.github.jrh3k5.plugin.maven.l10n.data;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
-import org.apache.commons.lang3.StringUtils;
+import com.github.jrh3k5.plugin.maven.l10n.data.MessagesPropertiesScanner.ScanResult;
 
 /**
  * A description of the authoritative message properties file of which all other files are to be considered translations.
@@ -39,88 +35,118 @@ import org.apache.commons.lang3.StringUtils;
  */
 
 public class AuthoritativeMessagesProperties extends AbstractMessagesProperties {
-    private final Collection<TranslationClass> translationClasses;
+    private final TranslationClassIndex translationClassIndex;
+    private final TranslationKeyDictionary keyDictionary;
+    private final TranslationKeyIndex keyIndex;
+    private final Map<String, String> placeholderSignatures;
+    private final long[] valueHashes;
+    private final BitSet hashedKeyIds;
 
     /**
-     * Parse the translation keys into their respective class representations.
+     * Create an authoritative messages properties object.
      * 
-     * @param translationKeys
-     *            The keys to be parsed.
-     * @return A {@link Collection} of {@link TranslationClass} objects representing the classes represented by the given translation keys.
+     * @param file
+     *            The {@link File} represented by this object.
+     * @param supportedLocale
+     *            The {@link Locale} supported by these properties; can be {@code null}.
+     * @param keyIndex
+     *            The {@link TranslationKeyIndex} of the translation keys contained in this properties file.
+     * @param duplicateTranslationKeys
+     *            The duplicate translation keys contained in this file.
+     * @param keyDictionary
+     *            The {@link TranslationKeyDictionary} holding the translation keys of the given index.
+     * @param placeholderSignatures
+     *            A {@link Map} of the translation keys whose values have arguments to the signatures of those arguments; {@code null} if they were not recorded.
+     * @param valueHashes
+     *            A {@link Map} of the translation keys whose values are not empty to the hashes of those values; {@code null} if they were not recorded.
      */
-    private static Collection<TranslationClass> parseTranslationClasses(Collection<String> translationKeys) {
-        final Map<String, Set<String>> classStaging = new HashMap<>();
-
-        for (String translationKey : translationKeys) {
-            final int lastPeriodPos = translationKey.lastIndexOf('.');
-            if (lastPeriodPos < 0) {
-                continue;
-            }
-
-            final String className = sanitizeClassName(translationKey.substring(0, lastPeriodPos));
-            final String keyName = translationKey.substring(lastPeriodPos + 1);
-            if (classStaging.containsKey(className)) {
-                classStaging.get(className).add(keyName);
-            } else {
-                final Set<String> keys = new HashSet<>();
-                keys.add(keyName);
-                classStaging.put(className, keys);
+    private AuthoritativeMessagesProperties(File file, Locale supportedLocale, TranslationKeyIndex keyIndex, Set<String> duplicateTranslationKeys, TranslationKeyDictionary keyDictionary,
+            Map<String, String> placeholderSignatures, Map<String, Long> valueHashes) {
+        super(file, supportedLocale, keyIndex.getKeySet(getAllIds(keyIndex), Collections.<String> emptySet()), duplicateTranslationKeys);
+        this.keyDictionary = keyDictionary;
+        this.placeholderSignatures = placeholderSignatures;
+        this.keyIndex = keyIndex;
+        if (valueHashes == null) {
+            this.valueHashes = null;
+            this.hashedKeyIds = null;
+        } else {
+            // Only the fixed-width hashes are kept, indexed by key identifier, rather than the values themselves
+            this.valueHashes = new long[keyIndex.size()];
+            this.hashedKeyIds = new BitSet(keyIndex.size());
+            for (Map.Entry<String, Long> valueHash : valueHashes.entrySet()) {
+                final int id = keyIndex.getId(valueHash.getKey());
+                this.valueHashes[id] = valueHash.getValue().longValue();
+                this.hashedKeyIds.set(id);
             }
         }
+        this.translationClassIndex = new TranslationClassIndex(keyIndex, keyDictionary);
+    }
 
-        final Collection<TranslationClass> translationClasses = new ArrayList<>();
-        for (Entry<String, Set<String>> stagedClass : classStaging.entrySet()) {
-            translationClasses.add(new TranslationClass(stagedClass.getKey(), stagedClass.getValue()));
-        }
+    /**
+     * Get every identifier of an index.
+     * 
+     * @param keyIndex
+     *            The {@link TranslationKeyIndex} whose identifiers are to be retrieved.
+     * @return A {@link BitSet} of all of the identifiers of the given index.
+     */
+    private static BitSet getAllIds(TranslationKeyIndex keyIndex) {
+        final BitSet ids = new BitSet(keyIndex.size());
+        ids.set(0, keyIndex.size());
+        return ids;
+    }
 
-        return translationClasses;
+    /**
+     * Get the dictionary holding the translation keys of this properties object.
+     * 
+     * @return The {@link TranslationKeyDictionary} from whose trie the translation keys of this properties object, and of the translations compared to it, are rebuilt.
+     * @since 1.5
+     */
+    public TranslationKeyDictionary getKeyDictionary() {
+        return keyDictionary;
     }
 
     /**
-     * Turn a dot-delimited class name into a class name that can be resolved using a classloader.
+     * Get the index of dense identifiers assigned to the translation keys of this properties object.
      * 
-     * @param className
-     *            The name of the class to be sanitized.
-     * @return The given class name, transformed in a way that can be resolved using a classloader.
+     * @return The {@link TranslationKeyIndex} of the translation keys in this properties object.
+     * @since 1.5
      */
-    private static String sanitizeClassName(String className) {
-        final String[] parts = className.split("\\.");
-        if (parts.length < 2) {
-            return className;
-        }
+    public TranslationKeyIndex getKeyIndex() {
+        return keyIndex;
+    }
 
-        final List<String> packageComponents = new ArrayList<>();
-        String rootClassName = null;
-        final List<String> nestedClassNames = new ArrayList<>();
-        for (String part : parts) {
-            if (part.equals(part.toLowerCase(Locale.US))) {
-                packageComponents.add(part);
-            } else if (rootClassName == null) {
-                rootClassName = part;
-            } else {
-                nestedClassNames.add(part);
-            }
-        }
+    /**
+     * Get the argument signatures of the messages of this properties object.
+     * 
+     * @return {@code null} if this properties object was not parsed with {@link MessageFormatSignatures}; otherwise, a {@link Map} of each translation key whose message has arguments to the
+     *         {@link MessageFormatSignatures#compile(String) signature} of those arguments.
+     * @since 1.5
+     */
+    public Map<String, String> getPlaceholderSignatures() {
+        return placeholderSignatures;
+    }
 
-        final String packageName = StringUtils.join(packageComponents, ".");
-        return nestedClassNames.isEmpty() ? String.format("%s.%s", packageName, rootClassName) : String.format("%s.%s$%s", packageName, rootClassName, StringUtils.join(nestedClassNames, "$"));
+    /**
+     * Determine whether the values of this properties object were hashed when it was parsed, allowing its translations to be checked for values copied from it.
+     * 
+     * @return {@code true} if this properties object was parsed with {@link AbstractMessagesPropertiesParser#setHashValues(boolean) hashing of values}.
+     * @since 1.5
+     */
+    public boolean hasValueHashes() {
+        return valueHashes != null;
     }
 
     /**
-     * Create an authoritative messages properties object.
+     * Determine whether a value has the same hash as the value of a translation key of this properties object.
      * 
-     * @param file
-     *            The {@link File} represented by this object.
-     * @param supportedLocale
-     *            The {@link Locale} supported by these properties; can be {@code null}.
-     * @param translationKeys
-     *            The translation keys contained in this properties file.
-     * @param duplicateTranslationKeys
-     *            The duplicate translation keys contained in this file.
+     * @param keyId
+     *            The identifier, within {@link #getKeyIndex()}, of the translation key.
+     * @param valueHash
+     *            The hash of the value to be compared.
+     * @return {@code true} if the values of this properties object were hashed and the value of the given key is not empty and has the given hash.
      */
-    private AuthoritativeMessagesProperties(File file, Locale supportedLocale, Set<String> translationKeys, Set<String> duplicateTranslationKeys) {
-        super(file, supportedLocale, translationKeys, duplicateTranslationKeys);
-        this.translationClasses = Collections.unmodifiableCollection(parseTranslationClasses(translationKeys));
+    boolean hasValueHash(int keyId, long valueHash) {
+        return valueHashes != null && hashedKeyIds.get(keyId) && valueHashes[keyId] == valueHash;
     }
 
     /**
@@ -129,7 +155,17 @@ public class AuthoritativeMessagesProperties extends AbstractMessagesProperties
      * @return A {@link Collection} of {@link TranslationClass} objects representing the classes represented by this messages properties file's translation keys.
      */
     public Collection<TranslationClass> getTranslationClasses() {
-        return translationClasses;
+        return translationClassIndex.getTranslationClasses();
+    }
+
+    /**
+     * Get the translation class information for this properties object, indexed by package and class.
+     * 
+     * @return A {@link TranslationClassIndex} of the classes represented by this messages properties file's translation keys.
+     * @since 1.5
+     */
+    public TranslationClassIndex getTranslationClassIndex() {
+        return translationClassIndex;
     }
 
     /**
@@ -138,6 +174,8 @@ public class AuthoritativeMessagesProperties extends AbstractMessagesProperties
      * @author Joshua Hyde
      */
     public static class Parser extends AbstractMessagesPropertiesParser {
+        private TranslationKeyDictionary keyDictionary;
+
         /**
          * Parse a file into an authoritative messages properties.
          * 
@@ -148,7 +186,24 @@ public class AuthoritativeMessagesProperties extends AbstractMessagesProperties
          *             If any errors occur during the test run.
          */
         public AuthoritativeMessagesProperties parse(File file) throws IOException {
-            return new AuthoritativeMessagesProperties(file, determineSupportedLocale(file), getTranslationKeys(file), getDuplicateTranslationKeys(file));
+            final TranslationKeyDictionary dictionary = keyDictionary == null ? new TranslationKeyDictionary() : keyDictionary;
+            final ScanResult scanResult = scan(file);
+            // Only the index and the dictionary hold the keys once parsed; the scanned keys and their line numbers are left behind
+            final TranslationKeyIndex keyIndex = new TranslationKeyIndex(scanResult.getTranslationKeys(), dictionary);
+            return new AuthoritativeMessagesProperties(file, determineSupportedLocale(file), keyIndex, scanResult.getDuplicateTranslationKeys(), dictionary,
+                    scanResult.getPlaceholderSignatures(), scanResult.getValueHashes());
+        }
+
+        /**
+         * Set the dictionary to which the translation keys of parsed files are to be added. Sharing a dictionary between several authoritative messages properties files shares the storage of
+         * any keys that they have in common.
+         * 
+         * @param keyDictionary
+         *            The {@link TranslationKeyDictionary} to be used; can be {@code null}, which is the default, to use a new dictionary for each parsed file.
+         * @since 1.5
+         */
+        public void setKeyDictionary(TranslationKeyDictionary keyDictionary) {
+            this.keyDictionary = keyDictionary;
         }
     }
 }
@@ -0,0 +1,361 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A representation of the header and declared fields of a compiled class, read directly from its class file without loading the class.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class ClassFile {
+    /**
+     * The access flag marking a class as an interface.
+     */
+    public static final int ACC_INTERFACE = 0x0200;
+
+    /**
+     * The access flag marking a class as an enum, or a field as an enum constant.
+     */
+    public static final int ACC_ENUM = 0x4000;
+
+    /**
+     * The access flag marking a field as static.
+     */
+    public static final int ACC_STATIC = 0x0008;
+
+    /**
+     * The access flag marking a class as final.
+     */
+    public static final int ACC_FINAL = 0x0010;
+
+    private final String className;
+    private final String superClassName;
+    private final List<String> interfaceNames;
+    private final int accessFlags;
+    private final Map<String, Field> fields;
+
+    /**
+     * Create a class file representation.
+     *
+     * @param className
+     *            The binary name of the class.
+     * @param superClassName
+     *            The binary name of the superclass of the class; {@code null} if it has none.
+     * @param interfaceNames
+     *            A {@link List} of the binary names of the interfaces directly implemented by the class.
+     * @param accessFlags
+     *            The access flags of the class.
+     * @param fields
+     *            A {@link Map} of the fields declared by the class, keyed by their names.
+     */
+    private ClassFile(String className, String superClassName, List<String> interfaceNames, int accessFlags, Map<String, Field> fields) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = Collections.unmodifiableList(interfaceNames);
+        this.accessFlags = accessFlags;
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Convert an internal class name, as found in a class file, to a binary name.
+     *
+     * @param internalName
+     *            The internal name to be converted.
+     * @return The binary name of the given class (for example, {@code com.example.Keys$Nested}).
+     */
+    private static String toBinaryName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    /**
+     * Get the access flags of the class.
+     *
+     * @return The access flags of the class.
+     */
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    /**
+     * Get the name of the class.
+     *
+     * @return The binary name of the class, such that it can be used with a {@link ClassLoader} to load the class.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Get a field declared by the class.
+     *
+     * @param fieldName
+     *            The name of the field to be retrieved.
+     * @return {@code null} if the class declares no field of the given name; otherwise, the {@link Field} of the given name.
+     */
+    public Field getField(String fieldName) {
+        return fields.get(fieldName);
+    }
+
+    /**
+     * Get the fields declared by the class.
+     *
+     * @return A {@link Collection} of the {@link Field} objects declared by the class, in the order in which they are declared.
+     */
+    public Collection<Field> getFields() {
+        return fields.values();
+    }
+
+    /**
+     * Get the interfaces directly implemented by the class.
+     *
+     * @return A {@link List} of the binary names of the interfaces directly implemented (or, for an interface, extended) by the class.
+     */
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * Get the superclass of the class.
+     *
+     * @return {@code null} if the class has no superclass; otherwise, the binary name of the superclass.
+     */
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    /**
+     * A field declared by a class.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    public static class Field {
+        private final String name;
+        private final String descriptor;
+        private final int accessFlags;
+
+        /**
+         * Create a field.
+         *
+         * @param name
+         *            The name of the field.
+         * @param descriptor
+         *            The type descriptor of the field.
+         * @param accessFlags
+         *            The access flags of the field.
+         */
+        private Field(String name, String descriptor, int accessFlags) {
+            this.name = name;
+            this.descriptor = descriptor;
+            this.accessFlags = accessFlags;
+        }
+
+        /**
+         * Get the access flags of the field.
+         *
+         * @return The access flags of the field.
+         */
+        public int getAccessFlags() {
+            return accessFlags;
+        }
+
+        /**
+         * Get the type descriptor of the field.
+         *
+         * @return The type descriptor of the field (for example, {@code Lcom/example/Keys;}).
+         */
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * Get the name of the field.
+         *
+         * @return The name of the field.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the declared type of the field.
+         *
+         * @return {@code null} if the field is of a primitive or array type; otherwise, the binary name of the declared type of the field.
+         */
+        public String getTypeName() {
+            if (descriptor.length() < 3 || descriptor.charAt(0) != 'L') {
+                return null;
+            }
+            return toBinaryName(descriptor.substring(1, descriptor.length() - 1));
+        }
+
+        /**
+         * Determine whether the field is an enum constant.
+         *
+         * @return {@code true} if the field is an enum constant.
+         */
+        public boolean isEnumConstant() {
+            return (accessFlags & ACC_ENUM) != 0;
+        }
+
+        /**
+         * Determine whether the field is static.
+         *
+         * @return {@code true} if the field is static.
+         */
+        public boolean isStatic() {
+            return (accessFlags & ACC_STATIC) != 0;
+        }
+    }
+
+    /**
+     * A parser to read {@link ClassFile} objects from class files. Only the header and field table of a class file are read; its methods and attributes are never parsed.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    public static class Parser {
+        private static final int MAGIC = 0xCAFEBABE;
+
+        /**
+         * Parse a class file.
+         *
+         * @param classFileIn
+         *            An {@link InputStream} of the contents of the class file; it is not closed by this method.
+         * @return A {@link ClassFile} parsed from the given stream.
+         * @throws IOException
+         *             If any errors occur during the parsing, or the given stream is not a class file.
+         */
+        public ClassFile parse(InputStream classFileIn) throws IOException {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(classFileIn));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a class file.");
+            }
+            // Skip the minor and major version
+            in.readInt();
+
+            final int constantPoolCount = in.readUnsignedShort();
+            final String[] utf8Constants = new String[constantPoolCount];
+            final int[] classNameIndices = new int[constantPoolCount];
+            for (int i = 1; i < constantPoolCount; i++) {
+                final int tag = in.readUnsignedByte();
+                switch (tag) {
+                case 1: // Utf8
+                    utf8Constants[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classNameIndices[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skip(in, 2);
+                    break;
+                case 15: // MethodHandle
+                    skip(in, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skip(in, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    skip(in, 8);
+                    // These occupy two entries in the constant pool
+                    i++;
+                    break;
+                default:
+                    throw new IOException(String.format("Unknown constant pool tag %d at index %d.", tag, i));
+                }
+            }
+
+            final int accessFlags = in.readUnsignedShort();
+            final String className = toBinaryName(utf8Constants[classNameIndices[in.readUnsignedShort()]]);
+            final int superClassIndex = in.readUnsignedShort();
+            final String superClassName = superClassIndex == 0 ? null : toBinaryName(utf8Constants[classNameIndices[superClassIndex]]);
+
+            final int interfaceCount = in.readUnsignedShort();
+            final List<String> interfaceNames = new ArrayList<>(interfaceCount);
+            for (int i = 0; i < interfaceCount; i++) {
+                interfaceNames.add(toBinaryName(utf8Constants[classNameIndices[in.readUnsignedShort()]]));
+            }
+
+            final int fieldCount = in.readUnsignedShort();
+            final Map<String, Field> fields = new LinkedHashMap<>(Math.max(16, (int) (fieldCount / .75f) + 1));
+            for (int i = 0; i < fieldCount; i++) {
+                final int fieldAccessFlags = in.readUnsignedShort();
+                final String name = utf8Constants[in.readUnsignedShort()];
+                final String descriptor = utf8Constants[in.readUnsignedShort()];
+                final int attributeCount = in.readUnsignedShort();
+                for (int attribute = 0; attribute < attributeCount; attribute++) {
+                    // Skip the name of the attribute, then its contents
+                    skip(in, 2);
+                    skip(in, in.readInt() & 0xFFFFFFFFL);
+                }
+                fields.put(name, new Field(name, descriptor, fieldAccessFlags));
+            }
+
+            return new ClassFile(className, superClassName, interfaceNames, accessFlags, fields);
+        }
+
+        /**
+         * Skip bytes in a stream.
+         *
+         * @param in
+         *            The {@link DataInputStream} in which bytes are to be skipped.
+         * @param count
+         *            The number of bytes to be skipped.
+         * @throws IOException
+         *             If the stream ends before the given number of bytes could be skipped.
+         */
+        private static void skip(DataInputStream in, long count) throws IOException {
+            long remaining = count;
+            while (remaining > 0) {
+                final long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    if (in.read() < 0) {
+                        throw new IOException("Unexpected end of class file.");
+                    }
+                    remaining--;
+                } else {
+                    remaining -= skipped;
+                }
+            }
+        }
+    }
+}
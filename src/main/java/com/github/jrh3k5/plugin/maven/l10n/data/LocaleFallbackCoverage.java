@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The coverage of the authoritative keys by a set of translations, taking into account the fallback chain along which {@link java.util.ResourceBundle} resolves a key: a key missing from
+ * {@code messages_fr_CA.properties} is still translated if {@code messages_fr.properties} translates it.
+ * <p>
+ * The keys resolved for each locale are computed once, as the keys of its own translations combined with the keys resolved for its parent, and reused by all of its children, so the coverage of
+ * every translation is computed in time linear in the number of locales. This is not safe for use by multiple threads.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class LocaleFallbackCoverage {
+    private final Map<Locale, BitSet> translatedKeyIds = new HashMap<>();
+    private final Map<Locale, BitSet> resolvedKeyIds = new HashMap<>();
+
+    /**
+     * Create the coverage of a set of translations.
+     *
+     * @param translations
+     *            A {@link Collection} of the {@link TranslatedMessagesProperties} that make up the fallback chains; all of them must be translations of the same authoritative messages properties.
+     *            Translations of the same locale are combined.
+     */
+    public LocaleFallbackCoverage(Collection<TranslatedMessagesProperties> translations) {
+        for (TranslatedMessagesProperties translation : translations) {
+            final Locale locale = translation.getSupportedLocale();
+            if (locale == null) {
+                continue;
+            }
+
+            final BitSet keyIds = translatedKeyIds.get(locale);
+            if (keyIds == null) {
+                translatedKeyIds.put(locale, translation.getTranslatedKeyIds());
+            } else {
+                keyIds.or(translation.getTranslatedKeyIds());
+            }
+        }
+    }
+
+    /**
+     * Get the keys of the authoritative messages properties file that are resolved for a locale by its translation or by the translations of its parent locales.
+     *
+     * @param locale
+     *            The {@link Locale} whose resolved keys are to be retrieved.
+     * @return A copy of the {@link BitSet} of the identifiers of the resolved keys.
+     */
+    public BitSet getResolvedKeyIds(Locale locale) {
+        return (BitSet) resolve(locale).clone();
+    }
+
+    /**
+     * Get the keys of the authoritative messages properties file that are resolved by neither a translation nor the translations of its parent locales.
+     *
+     * @param translation
+     *            The {@link TranslatedMessagesProperties} whose missing keys are to be retrieved.
+     * @return A {@link SortedView} of the keys missing along the fallback chain of the given translation; if the locale of the translation is not known, the keys missing from the translation
+     *         alone.
+     */
+    public SortedView<String> getMissingTranslationKeys(TranslatedMessagesProperties translation) {
+        return translation.getKeyIndex().getKeys(getMissingKeyIds(translation));
+    }
+
+    /**
+     * Get the number of keys of the authoritative messages properties file that are resolved by neither a translation nor the translations of its parent locales.
+     *
+     * @param translation
+     *            The {@link TranslatedMessagesProperties} whose missing keys are to be counted.
+     * @return The number of {@link #getMissingTranslationKeys(TranslatedMessagesProperties) missing} keys.
+     */
+    public int getMissingTranslationKeyCount(TranslatedMessagesProperties translation) {
+        return getMissingKeyIds(translation).cardinality();
+    }
+
+    /**
+     * Get the number of keys missing from a translation that are resolved by the translations of its parent locales instead.
+     *
+     * @param translation
+     *            The {@link TranslatedMessagesProperties} whose inherited keys are to be counted.
+     * @return The number of keys that the given translation inherits along its fallback chain.
+     */
+    public int getInheritedTranslationKeyCount(TranslatedMessagesProperties translation) {
+        return translation.getMissingTranslationKeyCount() - getMissingTranslationKeyCount(translation);
+    }
+
+    /**
+     * Get the percentage of the keys of the authoritative messages properties file that are resolved for a translation along its fallback chain.
+     *
+     * @param translation
+     *            The {@link TranslatedMessagesProperties} whose completion is to be calculated.
+     * @return The percentage, between 0 and 100, of the authoritative keys resolved for the given translation; 100 if the authoritative messages properties file has no keys.
+     */
+    public double getCompletionPercentage(TranslatedMessagesProperties translation) {
+        final int keyCount = translation.getKeyIndex().size();
+        return keyCount == 0 ? 100.0 : (keyCount - getMissingTranslationKeyCount(translation)) * 100.0 / keyCount;
+    }
+
+    /**
+     * Get the keys that are resolved for a translation by neither it nor the translations of its parent locales.
+     *
+     * @param translation
+     *            The {@link TranslatedMessagesProperties} whose missing keys are to be determined.
+     * @return A {@link BitSet} of the identifiers of the missing keys.
+     */
+    private BitSet getMissingKeyIds(TranslatedMessagesProperties translation) {
+        final Locale locale = translation.getSupportedLocale();
+        final BitSet missingKeyIds = locale == null ? translation.getTranslatedKeyIds() : getResolvedKeyIds(locale);
+        missingKeyIds.flip(0, translation.getKeyIndex().size());
+        return missingKeyIds;
+    }
+
+    /**
+     * Resolve the keys of a locale, resolving those of its parents first if they have not already been resolved.
+     *
+     * @param locale
+     *            The {@link Locale} whose keys are to be resolved.
+     * @return The {@link BitSet} of the identifiers of the keys resolved for the given locale; this must not be modified, as it may be shared with its parent and children.
+     */
+    private BitSet resolve(Locale locale) {
+        BitSet resolved = resolvedKeyIds.get(locale);
+        if (resolved == null) {
+            final Locale parent = getParent(locale);
+            final BitSet inherited = parent == null ? new BitSet() : resolve(parent);
+            final BitSet own = translatedKeyIds.get(locale);
+            if (own == null) {
+                // A locale without a translation of its own resolves exactly what its parent does
+                resolved = inherited;
+            } else {
+                resolved = (BitSet) own.clone();
+                resolved.or(inherited);
+            }
+            resolvedKeyIds.put(locale, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Get the parent of a locale in the fallback chain of {@link java.util.ResourceBundle}.
+     *
+     * @param locale
+     *            The {@link Locale} whose parent is to be determined.
+     * @return {@code null} if the given locale has only a language, whose parent is the authoritative messages properties file; otherwise, the locale without its most specific component.
+     */
+    private static Locale getParent(Locale locale) {
+        if (!locale.getVariant().isEmpty()) {
+            return new Locale(locale.getLanguage(), locale.getCountry());
+        } else if (!locale.getCountry().isEmpty()) {
+            return new Locale(locale.getLanguage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A compiler of the argument signatures of messages, read as {@link java.text.MessageFormat} patterns. The signature of a message lists the index and format type of each of its arguments in
+ * order of index - for example, {@code {0}{1,number}} - ignoring the text around the arguments and their format styles, so that a translation whose placeholders can be substituted for those of
+ * the message it translates has the same signature.
+ * <p>
+ * Signatures are cached by a 64-bit hash of the value from which they were compiled, so a value that is repeated, within a file or across files, is compiled only once. Each signature is kept
+ * with the raw bytes of its value, and a cached signature is only used for a value whose bytes match, so values whose hashes collide never share a signature. This is safe for use by multiple
+ * threads.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class MessageFormatSignatures {
+    /**
+     * The signature of a message that is not a valid {@link java.text.MessageFormat} pattern, such as one with an unterminated or non-numeric argument.
+     */
+    public static final String MALFORMED = "(malformed)";
+
+    private final ConcurrentMap<Long, Entry> signatures = new ConcurrentHashMap<>();
+
+    /**
+     * Compile the argument signature of a message.
+     *
+     * @param message
+     *            The message to be compiled, as it would be given to {@link java.text.MessageFormat}.
+     * @return An empty string if the given message has no arguments; {@link #MALFORMED} if it is not a valid pattern; otherwise, its signature.
+     */
+    public static String compile(String message) {
+        final Map<Integer, Set<String>> arguments = new TreeMap<>();
+        boolean quoted = false;
+        int offset = 0;
+        while (offset < message.length()) {
+            final char c = message.charAt(offset++);
+            if (c == '\'') {
+                // A doubled quote is a literal quote, quoted or not
+                if (offset < message.length() && message.charAt(offset) == '\'') {
+                    offset++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == '{' && !quoted) {
+                offset = readArgument(message, offset, arguments);
+                if (offset < 0) {
+                    return MALFORMED;
+                }
+            }
+        }
+
+        final StringBuilder signature = new StringBuilder();
+        for (Map.Entry<Integer, Set<String>> argument : arguments.entrySet()) {
+            for (String type : argument.getValue()) {
+                signature.append('{').append(argument.getKey());
+                if (!type.isEmpty()) {
+                    signature.append(',').append(type);
+                }
+                signature.append('}');
+            }
+        }
+        return signature.toString();
+    }
+
+    /**
+     * Get the signature of a value compiled earlier.
+     *
+     * @param valueHash
+     *            The hash of the value.
+     * @param source
+     *            The raw characters of the value, each holding a single byte as it was read.
+     * @param start
+     *            The inclusive start of the value within the given characters.
+     * @param end
+     *            The exclusive end of the value within the given characters.
+     * @param charset
+     *            The {@link Charset} with which the raw characters of the value are decoded.
+     * @return {@code null} if no value of the given hash and raw characters has been compiled with the given charset; otherwise, its signature.
+     */
+    String get(long valueHash, char[] source, int start, int end, Charset charset) {
+        final Entry entry = signatures.get(Long.valueOf(valueHash));
+        return entry != null && entry.matches(source, start, end, charset) ? entry.signature : null;
+    }
+
+    /**
+     * Compile the signature of a value and remember it by the hash of the value. If a different value of the same hash has already been remembered, the signature is compiled but not
+     * remembered.
+     *
+     * @param valueHash
+     *            The hash of the value.
+     * @param source
+     *            The raw characters of the value, each holding a single byte as it was read.
+     * @param start
+     *            The inclusive start of the value within the given characters.
+     * @param end
+     *            The exclusive end of the value within the given characters.
+     * @param charset
+     *            The {@link Charset} with which the raw characters of the value are decoded.
+     * @param value
+     *            The value to be compiled, as decoded from its raw characters.
+     * @return The signature of the given value, as {@link #compile(String) compiled}.
+     */
+    String put(long valueHash, char[] source, int start, int end, Charset charset, String value) {
+        final Entry entry = new Entry(source, start, end, charset, compile(value));
+        final Entry existing = signatures.putIfAbsent(Long.valueOf(valueHash), entry);
+        return existing != null && existing.matches(source, start, end, charset) ? existing.signature : entry.signature;
+    }
+
+    /**
+     * Get the number of distinct values whose signatures have been compiled.
+     *
+     * @return The number of signatures cached.
+     */
+    public int size() {
+        return signatures.size();
+    }
+
+    /**
+     * A cached signature, with the raw bytes of the value from which it was compiled.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private static class Entry {
+        private final byte[] source;
+        private final Charset charset;
+        private final String signature;
+
+        /**
+         * Create an entry.
+         *
+         * @param source
+         *            The raw characters of the value, each holding a single byte as it was read.
+         * @param start
+         *            The inclusive start of the value within the given characters.
+         * @param end
+         *            The exclusive end of the value within the given characters.
+         * @param charset
+         *            The {@link Charset} with which the raw characters of the value are decoded.
+         * @param signature
+         *            The signature compiled from the value.
+         */
+        private Entry(char[] source, int start, int end, Charset charset, String signature) {
+            this.source = new byte[end - start];
+            for (int i = start; i < end; i++) {
+                this.source[i - start] = (byte) source[i];
+            }
+            this.charset = charset;
+            this.signature = signature;
+        }
+
+        /**
+         * Determine whether a value is the value from which the signature of this entry was compiled.
+         *
+         * @param source
+         *            The raw characters of the value, each holding a single byte as it was read.
+         * @param start
+         *            The inclusive start of the value within the given characters.
+         * @param end
+         *            The exclusive end of the value within the given characters.
+         * @param charset
+         *            The {@link Charset} with which the raw characters of the value are decoded.
+         * @return {@code true} if the given value has the same raw bytes, and is decoded with the same charset, as the value of this entry.
+         */
+        private boolean matches(char[] source, int start, int end, Charset charset) {
+            if (end - start != this.source.length || !this.charset.equals(charset)) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                if (this.source[i - start] != (byte) source[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Read an argument of a pattern, following the grammar of {@link java.text.MessageFormat#applyPattern(String)}: an index, an optional format type, and an optional format style, separated by
+     * commas and terminated by a closing brace that is neither quoted nor nested within the style.
+     *
+     * @param message
+     *            The pattern being read.
+     * @param start
+     *            The offset of the first character after the opening brace of the argument.
+     * @param arguments
+     *            A {@link Map} of argument indices to their format types, to which the argument is to be added.
+     * @return The offset of the first character after the closing brace of the argument; -1 if the argument is malformed.
+     */
+    private static int readArgument(String message, int start, Map<Integer, Set<String>> arguments) {
+        final StringBuilder index = new StringBuilder();
+        final StringBuilder type = new StringBuilder();
+        int part = 0;
+        int braceDepth = 0;
+        boolean quoted = false;
+        int offset = start;
+        while (offset < message.length()) {
+            final char c = message.charAt(offset++);
+            if (quoted) {
+                quoted = c != '\'';
+                continue;
+            }
+
+            if (c == '}' && braceDepth == 0) {
+                return addArgument(index.toString(), type.toString(), arguments) ? offset : -1;
+            } else if (c == ',' && part < 2) {
+                part++;
+                continue;
+            } else if (c == '{') {
+                braceDepth++;
+            } else if (c == '}') {
+                braceDepth--;
+            } else if (c == '\'') {
+                quoted = true;
+            }
+
+            if (part == 0) {
+                index.append(c);
+            } else if (part == 1) {
+                type.append(c);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Add an argument to the arguments of a pattern.
+     *
+     * @param index
+     *            The text of the index of the argument, which must be a non-negative integer with no surrounding whitespace, as {@link java.text.MessageFormat} requires.
+     * @param type
+     *            The text of the format type of the argument.
+     * @param arguments
+     *            A {@link Map} of argument indices to their format types, to which the argument is to be added.
+     * @return {@code true} if the argument was added; {@code false} if it is malformed.
+     */
+    private static boolean addArgument(String index, String type, Map<Integer, Set<String>> arguments) {
+        if (index.isEmpty() || index.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < index.length(); i++) {
+            if (index.charAt(i) < '0' || index.charAt(i) > '9') {
+                return false;
+            }
+        }
+
+        final String formatType = type.trim().toLowerCase(Locale.ROOT);
+        if (!formatType.isEmpty() && !"number".equals(formatType) && !"date".equals(formatType) && !"time".equals(formatType) && !"choice".equals(formatType)) {
+            return false;
+        }
+
+        final Integer argumentIndex = Integer.valueOf(index);
+        Set<String> types = arguments.get(argumentIndex);
+        if (types == null) {
+            types = new TreeSet<>();
+            arguments.put(argumentIndex, types);
+        }
+        types.add(formatType);
+        return true;
+    }
+}
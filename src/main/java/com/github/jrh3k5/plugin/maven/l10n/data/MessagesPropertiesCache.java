@@ -0,0 +1,437 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.MessagesPropertiesScanner.ScanResult;
+
+/**
+ * A persistent cache of {@link ScanResult scanned} messages properties files. Each cached file is stored in its own entry, which records the size, modification time, and content hash of the file
+ * along with its translation keys (front-coded in sorted order), their line numbers, its duplicate translation keys, and, if they were recorded, the argument signatures and hashes of its values.
+ * <p>
+ * An entry is considered current if the size and modification time of the file match those recorded in the entry. If only the modification time differs, or if the file was modified so close to
+ * the time at which the entry was written that the modification time cannot be trusted, the content hash of the file is compared to the one recorded in the entry instead.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class MessagesPropertiesCache {
+    private static final int MAGIC = 0x4c31304e;
+    private static final int VERSION = 3;
+    private static final long LAST_MODIFIED_OFFSET = 16;
+    private static final long TIMESTAMP_GRANULARITY = 2000;
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+
+    private final File cacheDirectory;
+
+    /**
+     * Create a cache.
+     *
+     * @param cacheDirectory
+     *            The directory in which the cache entries are to be stored. This is created if it does not exist.
+     */
+    public MessagesPropertiesCache(File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Create a {@link MessageDigest} suitable for computing the content hashes recorded by this cache.
+     *
+     * @return A {@link MessageDigest}.
+     */
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(String.format("The %s digest algorithm is required by the Java platform, but was not found.", DIGEST_ALGORITHM), e);
+        }
+    }
+
+    /**
+     * Load the cached scan of a messages properties file.
+     *
+     * @param messagesFile
+     *            A {@link File} representing the messages properties file whose cached scan is to be loaded.
+     * @param charset
+     *            The {@link Charset} with which the file is to be read.
+     * @return {@code null} if the file has not been cached, was cached with a different {@link Charset}, or has changed since it was cached; otherwise, the cached {@link ScanResult}. An unreadable
+     *         cache entry is treated as if it did not exist.
+     */
+    public ScanResult load(File messagesFile, Charset charset) {
+        return load(messagesFile, charset, false, false);
+    }
+
+    /**
+     * Load the cached scan of a messages properties file, including the information recorded about its values.
+     *
+     * @param messagesFile
+     *            A {@link File} representing the messages properties file whose cached scan is to be loaded.
+     * @param charset
+     *            The {@link Charset} with which the file is to be read.
+     * @param placeholderSignatures
+     *            Whether or not the {@link ScanResult#getPlaceholderSignatures() argument signatures} of the values of the file are required.
+     * @param valueHashes
+     *            Whether or not the {@link ScanResult#getValueHashes() hashes} of the values of the file are required.
+     * @return {@code null} if the file has not been cached, was cached with a different {@link Charset} or without argument signatures or hashes that are required, or has changed since it was
+     *         cached; otherwise, the cached {@link ScanResult}.
+     * @see #load(File, Charset)
+     */
+    public ScanResult load(File messagesFile, Charset charset, boolean placeholderSignatures, boolean valueHashes) {
+        final File entryFile = getEntryFile(messagesFile);
+        if (!entryFile.isFile()) {
+            return null;
+        }
+
+        boolean verifiedByHash = false;
+        ScanResult scanResult;
+        try (final DataInputStream entryIn = new DataInputStream(new BufferedInputStream(new FileInputStream(entryFile)))) {
+            if (entryIn.readInt() != MAGIC || entryIn.readInt() != VERSION) {
+                return null;
+            }
+
+            final long size = entryIn.readLong();
+            final long lastModified = entryIn.readLong();
+            final long writtenAt = entryIn.readLong();
+            final byte[] contentHash = new byte[entryIn.readUnsignedByte()];
+            entryIn.readFully(contentHash);
+            if (!messagesFile.getAbsolutePath().equals(entryIn.readUTF()) || !charset.name().equals(entryIn.readUTF())) {
+                return null;
+            }
+
+            if (size != messagesFile.length()) {
+                return null;
+            }
+
+            final long currentLastModified = messagesFile.lastModified();
+            if (currentLastModified != lastModified || currentLastModified + TIMESTAMP_GRANULARITY >= writtenAt) {
+                if (!Arrays.equals(contentHash, hash(messagesFile))) {
+                    return null;
+                }
+                verifiedByHash = true;
+            }
+
+            scanResult = readScanResult(entryIn);
+            if ((placeholderSignatures && scanResult.getPlaceholderSignatures() == null) || (valueHashes && scanResult.getValueHashes() == null)) {
+                return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        if (verifiedByHash) {
+            // Record the current state of the file so that it need not be hashed again
+            try (final RandomAccessFile entryOut = new RandomAccessFile(entryFile, "rw")) {
+                entryOut.seek(LAST_MODIFIED_OFFSET);
+                entryOut.writeLong(messagesFile.lastModified());
+                entryOut.writeLong(System.currentTimeMillis());
+            } catch (IOException e) {
+                // The entry is still valid; it will simply be verified by hash again next time
+            }
+        }
+        return scanResult;
+    }
+
+    /**
+     * Store the scan of a messages properties file.
+     *
+     * @param messagesFile
+     *            A {@link File} representing the scanned messages properties file.
+     * @param charset
+     *            The {@link Charset} with which the file was read.
+     * @param size
+     *            The size of the file, as observed before it was scanned.
+     * @param lastModified
+     *            The modification time of the file, as observed before it was scanned.
+     * @param contentHash
+     *            The hash of the contents of the file that were scanned, as computed by a digest provided by {@link #newDigest()}.
+     * @param scanResult
+     *            The {@link ScanResult} to be stored.
+     * @throws IOException
+     *             If any errors occur while writing the cache entry.
+     */
+    public void store(File messagesFile, Charset charset, long size, long lastModified, byte[] contentHash, ScanResult scanResult) throws IOException {
+        FileUtils.forceMkdir(cacheDirectory);
+        final File entryFile = getEntryFile(messagesFile);
+        final File stagingFile = File.createTempFile(entryFile.getName(), ".tmp", cacheDirectory);
+        try {
+            try (final DataOutputStream entryOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(stagingFile)))) {
+                entryOut.writeInt(MAGIC);
+                entryOut.writeInt(VERSION);
+                entryOut.writeLong(size);
+                entryOut.writeLong(lastModified);
+                entryOut.writeLong(System.currentTimeMillis());
+                entryOut.writeByte(contentHash.length);
+                entryOut.write(contentHash);
+                entryOut.writeUTF(messagesFile.getAbsolutePath());
+                entryOut.writeUTF(charset.name());
+                writeScanResult(entryOut, scanResult);
+            }
+
+            try {
+                Files.move(stagingFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(stagingFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(stagingFile.toPath());
+        }
+    }
+
+    /**
+     * Get the location of the cache entry for a messages properties file.
+     *
+     * @param messagesFile
+     *            The {@link File} whose cache entry location is to be determined.
+     * @return A {@link File} representing the location of the cache entry for the given file.
+     */
+    private File getEntryFile(File messagesFile) {
+        final MessageDigest digest = newDigest();
+        final byte[] pathHash = digest.digest(messagesFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+        return new File(cacheDirectory, String.format("%040x.bin", new BigInteger(1, pathHash)));
+    }
+
+    /**
+     * Compute the content hash of a file.
+     *
+     * @param file
+     *            The {@link File} to be hashed.
+     * @return The content hash of the given file.
+     * @throws IOException
+     *             If any errors occur while reading the file.
+     */
+    private byte[] hash(File file) throws IOException {
+        final MessageDigest digest = newDigest();
+        final byte[] buffer = new byte[8192];
+        try (final InputStream fileIn = new FileInputStream(file)) {
+            int read;
+            while ((read = fileIn.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Read a scan result from a cache entry.
+     *
+     * @param input
+     *            The {@link DataInput} from which the scan result is to be read.
+     * @return A {@link ScanResult} read from the given input.
+     * @throws IOException
+     *             If any errors occur while reading the scan result.
+     */
+    private ScanResult readScanResult(DataInput input) throws IOException {
+        final int keyCount = readVarInt(input);
+        final Map<String, Integer> lineNumbers = new HashMap<>(Math.max(16, (int) (keyCount / .75f) + 1));
+        final String[] keys = new String[keyCount];
+        final StringBuilder key = new StringBuilder();
+        for (int i = 0; i < keyCount; i++) {
+            key.setLength(readVarInt(input));
+            key.append(readString(input));
+            keys[i] = key.toString();
+            lineNumbers.put(keys[i], Integer.valueOf(readVarInt(input)));
+        }
+
+        final int duplicateCount = readVarInt(input);
+        final Set<String> duplicateTranslationKeys = new HashSet<>();
+        for (int i = 0; i < duplicateCount; i++) {
+            duplicateTranslationKeys.add(readString(input));
+        }
+
+        Map<String, String> placeholderSignatures = null;
+        if (input.readBoolean()) {
+            final int signatureCount = readVarInt(input);
+            placeholderSignatures = new HashMap<>(Math.max(16, (int) (signatureCount / .75f) + 1));
+            for (int i = 0; i < signatureCount; i++) {
+                placeholderSignatures.put(readString(input), readString(input));
+            }
+        }
+
+        Map<String, Long> valueHashes = null;
+        if (input.readBoolean()) {
+            // The hashes follow the order of the keys, with a flag for the keys whose values are empty
+            valueHashes = new HashMap<>(Math.max(16, (int) (keyCount / .75f) + 1));
+            for (String translationKey : keys) {
+                if (input.readBoolean()) {
+                    valueHashes.put(translationKey, Long.valueOf(input.readLong()));
+                }
+            }
+        }
+        return new ScanResult(lineNumbers, duplicateTranslationKeys, placeholderSignatures, valueHashes);
+    }
+
+    /**
+     * Write a scan result to a cache entry. The keys are written in sorted order with each key sharing its common prefix with the key preceding it.
+     *
+     * @param output
+     *            The {@link DataOutput} to which the scan result is to be written.
+     * @param scanResult
+     *            The {@link ScanResult} to be written.
+     * @throws IOException
+     *             If any errors occur while writing the scan result.
+     */
+    private void writeScanResult(DataOutput output, ScanResult scanResult) throws IOException {
+        final List<String> keys = new ArrayList<>(scanResult.getTranslationKeys());
+        Collections.sort(keys);
+        writeVarInt(output, keys.size());
+        String previousKey = "";
+        for (String key : keys) {
+            final int limit = Math.min(previousKey.length(), key.length());
+            int sharedLength = 0;
+            while (sharedLength < limit && previousKey.charAt(sharedLength) == key.charAt(sharedLength)) {
+                sharedLength++;
+            }
+            writeVarInt(output, sharedLength);
+            writeString(output, key.substring(sharedLength));
+            writeVarInt(output, scanResult.getLineNumber(key));
+            previousKey = key;
+        }
+
+        writeVarInt(output, scanResult.getDuplicateTranslationKeys().size());
+        for (String duplicateKey : scanResult.getDuplicateTranslationKeys()) {
+            writeString(output, duplicateKey);
+        }
+
+        final Map<String, String> placeholderSignatures = scanResult.getPlaceholderSignatures();
+        output.writeBoolean(placeholderSignatures != null);
+        if (placeholderSignatures != null) {
+            writeVarInt(output, placeholderSignatures.size());
+            for (Map.Entry<String, String> signature : placeholderSignatures.entrySet()) {
+                writeString(output, signature.getKey());
+                writeString(output, signature.getValue());
+            }
+        }
+
+        final Map<String, Long> valueHashes = scanResult.getValueHashes();
+        output.writeBoolean(valueHashes != null);
+        if (valueHashes != null) {
+            for (String key : keys) {
+                final Long valueHash = valueHashes.get(key);
+                output.writeBoolean(valueHash != null);
+                if (valueHash != null) {
+                    output.writeLong(valueHash.longValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Read a length-prefixed UTF-8 string.
+     *
+     * @param input
+     *            The {@link DataInput} from which the string is to be read.
+     * @return The read string.
+     * @throws IOException
+     *             If any errors occur while reading the string.
+     */
+    private static String readString(DataInput input) throws IOException {
+        final byte[] bytes = new byte[readVarInt(input)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write a length-prefixed UTF-8 string.
+     *
+     * @param output
+     *            The {@link DataOutput} to which the string is to be written.
+     * @param value
+     *            The string to be written.
+     * @throws IOException
+     *             If any errors occur while writing the string.
+     */
+    private static void writeString(DataOutput output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Read a non-negative integer written in seven-bit groups.
+     *
+     * @param input
+     *            The {@link DataInput} from which the integer is to be read.
+     * @return The read integer.
+     * @throws IOException
+     *             If any errors occur while reading the integer.
+     */
+    private static int readVarInt(DataInput input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed variable-length integer in cache entry.");
+            }
+            b = input.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Write a non-negative integer in seven-bit groups.
+     *
+     * @param output
+     *            The {@link DataOutput} to which the integer is to be written.
+     * @param value
+     *            The integer to be written.
+     * @throws IOException
+     *             If any errors occur while writing the integer.
+     */
+    private static void writeVarInt(DataOutput output, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7f) != 0) {
+            output.writeByte((remaining & 0x7f) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+}
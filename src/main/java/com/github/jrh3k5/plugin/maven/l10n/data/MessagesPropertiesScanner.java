@@ -0,0 +1,675 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A scanner that reads a messages properties file in a single pass, yielding its translation keys, its duplicate translation keys, and the line on which each key is declared. The file is read
+ * according to the same grammar as {@link java.util.Properties#load(InputStream)}: the bytes are read as ISO-8859-1 by default, {@code #} and {@code !} introduce comments, keys are terminated by {@code =},
+ * {@code :} or whitespace, lines ending in an odd number of backslashes are continued onto the next line, and escape sequences in keys are honored.
+ * <p>
+ * Because all of the characters significant to that grammar are ASCII, the scanner tokenizes raw bytes and only decodes the bytes of each key; this allows files encoded in UTF-8 to be read by
+ * configuring the scanner with that {@link Charset}.
+ * <p>
+ * If given {@link MessageFormatSignatures}, the scanner also records the {@link MessageFormatSignatures#compile(String) argument signature} of the value of each key. A value is only decoded if
+ * it may contain an argument and its signature has not already been compiled, and only the raw bytes of each distinct such value are kept, to verify that a cached signature was compiled from it. Likewise, the scanner can record a 64-bit hash of the value of each key in place
+ * of the value, so that values can be compared across files without being held in memory.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class MessagesPropertiesScanner {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Charset charset;
+    private final MessageFormatSignatures signatures;
+    private final boolean hashValues;
+
+    /**
+     * Create a scanner that reads files as ISO-8859-1, as {@link java.util.Properties#load(InputStream)} does.
+     */
+    public MessagesPropertiesScanner() {
+        this(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Create a scanner.
+     *
+     * @param charset
+     *            The {@link Charset} in which the keys of the scanned files are encoded.
+     * @since 1.5
+     */
+    public MessagesPropertiesScanner(Charset charset) {
+        this(charset, null);
+    }
+
+    /**
+     * Create a scanner that records the argument signatures of the values of the keys it reads.
+     *
+     * @param charset
+     *            The {@link Charset} in which the keys and values of the scanned files are encoded.
+     * @param signatures
+     *            The {@link MessageFormatSignatures} used to compile, and cache, the argument signatures of the values of the scanned files; can be {@code null}, in which case values are skipped.
+     * @since 1.5
+     */
+    public MessagesPropertiesScanner(Charset charset, MessageFormatSignatures signatures) {
+        this(charset, signatures, false);
+    }
+
+    /**
+     * Create a scanner that records the argument signatures and hashes of the values of the keys it reads.
+     *
+     * @param charset
+     *            The {@link Charset} in which the keys and values of the scanned files are encoded.
+     * @param signatures
+     *            The {@link MessageFormatSignatures} used to compile, and cache, the argument signatures of the values of the scanned files; can be {@code null} if they are not to be recorded.
+     * @param hashValues
+     *            Whether or not the {@link ScanResult#getValueHashes() hashes} of the values of the scanned files are to be recorded.
+     * @since 1.5
+     */
+    public MessagesPropertiesScanner(Charset charset, MessageFormatSignatures signatures, boolean hashValues) {
+        this.charset = charset;
+        this.signatures = signatures;
+        this.hashValues = hashValues;
+    }
+
+    /**
+     * Scan a messages properties file.
+     *
+     * @param messagesFile
+     *            A {@link File} representing the messages properties file to be scanned.
+     * @return A {@link ScanResult} describing the contents of the given file.
+     * @throws IOException
+     *             If any errors occur while reading the file or if the file contains a malformed escape sequence.
+     */
+    public ScanResult scan(File messagesFile) throws IOException {
+        return scan(messagesFile, null);
+    }
+
+    /**
+     * Scan a messages properties file, digesting its contents while it is read.
+     *
+     * @param messagesFile
+     *            A {@link File} representing the messages properties file to be scanned.
+     * @param digest
+     *            A {@link MessageDigest} to be updated with every byte of the file; can be {@code null}.
+     * @return A {@link ScanResult} describing the contents of the given file.
+     * @throws IOException
+     *             If any errors occur while reading the file or if the file contains a malformed escape sequence.
+     */
+    public ScanResult scan(File messagesFile, MessageDigest digest) throws IOException {
+        try (final InputStream inputStream = new FileInputStream(messagesFile)) {
+            return scan(inputStream, digest);
+        }
+    }
+
+    /**
+     * Scan the contents of a messages properties file.
+     *
+     * @param inputStream
+     *            The {@link InputStream} from which the contents are to be read. This is not closed by this method.
+     * @return A {@link ScanResult} describing the contents of the given stream.
+     * @throws IOException
+     *             If any errors occur while reading the stream or if the stream contains a malformed escape sequence.
+     */
+    public ScanResult scan(InputStream inputStream) throws IOException {
+        return scan(inputStream, null);
+    }
+
+    /**
+     * Scan the contents of a messages properties file, digesting the contents while they are read.
+     *
+     * @param inputStream
+     *            The {@link InputStream} from which the contents are to be read. This is not closed by this method.
+     * @param digest
+     *            A {@link MessageDigest} to be updated with every byte read from the stream; can be {@code null}.
+     * @return A {@link ScanResult} describing the contents of the given stream.
+     * @throws IOException
+     *             If any errors occur while reading the stream or if the stream contains a malformed escape sequence.
+     */
+    public ScanResult scan(InputStream inputStream, MessageDigest digest) throws IOException {
+        final LineTokenizer tokenizer = new LineTokenizer(charset, signatures, hashValues);
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        int read;
+        while ((read = inputStream.read(buffer.array())) >= 0) {
+            if (digest != null) {
+                digest.update(buffer.array(), 0, read);
+            }
+            buffer.clear();
+            buffer.limit(read);
+            tokenizer.consume(buffer);
+        }
+        tokenizer.finish();
+        return tokenizer.toResult();
+    }
+
+    /**
+     * The results of a {@link MessagesPropertiesScanner scan} of a messages properties file.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    public static class ScanResult {
+        private final Map<String, Integer> lineNumbers;
+        private final Set<String> duplicateTranslationKeys;
+        private final Map<String, String> placeholderSignatures;
+        private final Map<String, Long> valueHashes;
+
+        /**
+         * Create a scan result.
+         *
+         * @param lineNumbers
+         *            A {@link Map} of each translation key to the line number on which it was first declared.
+         * @param duplicateTranslationKeys
+         *            A {@link Set} of the translation keys declared more than once.
+         */
+        ScanResult(Map<String, Integer> lineNumbers, Set<String> duplicateTranslationKeys) {
+            this(lineNumbers, duplicateTranslationKeys, null, null);
+        }
+
+        /**
+         * Create a scan result.
+         *
+         * @param lineNumbers
+         *            A {@link Map} of each translation key to the line number on which it was first declared.
+         * @param duplicateTranslationKeys
+         *            A {@link Set} of the translation keys declared more than once.
+         * @param placeholderSignatures
+         *            A {@link Map} of each translation key whose first declared value has arguments to the signature of those arguments; {@code null} if signatures were not recorded.
+         * @param valueHashes
+         *            A {@link Map} of each translation key whose first declared value is not empty to the hash of that value; {@code null} if hashes were not recorded.
+         */
+        ScanResult(Map<String, Integer> lineNumbers, Set<String> duplicateTranslationKeys, Map<String, String> placeholderSignatures, Map<String, Long> valueHashes) {
+            this.lineNumbers = lineNumbers;
+            this.duplicateTranslationKeys = Collections.unmodifiableSet(duplicateTranslationKeys);
+            this.placeholderSignatures = placeholderSignatures == null ? null : Collections.unmodifiableMap(placeholderSignatures);
+            this.valueHashes = valueHashes == null ? null : Collections.unmodifiableMap(valueHashes);
+        }
+
+        /**
+         * Get the translation keys found in the scanned file.
+         *
+         * @return A {@link Set} of the translation keys found in the scanned file.
+         */
+        public Set<String> getTranslationKeys() {
+            return Collections.unmodifiableSet(lineNumbers.keySet());
+        }
+
+        /**
+         * Get the translation keys that were declared more than once in the scanned file.
+         *
+         * @return A {@link Set} of the translation keys declared more than once in the scanned file.
+         */
+        public Set<String> getDuplicateTranslationKeys() {
+            return duplicateTranslationKeys;
+        }
+
+        /**
+         * Get the line number on which a translation key was first declared.
+         *
+         * @param translationKey
+         *            The translation key whose line number is to be retrieved.
+         * @return The 1-based line number on which the given key was first declared, or {@code -1} if the key was not found in the scanned file.
+         */
+        public int getLineNumber(String translationKey) {
+            final Integer lineNumber = lineNumbers.get(translationKey);
+            return lineNumber == null ? -1 : lineNumber.intValue();
+        }
+
+        /**
+         * Get the argument signatures of the values of the scanned file.
+         *
+         * @return {@code null} if the scanner was not given {@link MessageFormatSignatures}; otherwise, a {@link Map} of each translation key whose value has arguments to the
+         *         {@link MessageFormatSignatures#compile(String) signature} of those arguments. Keys whose values have no arguments are absent.
+         */
+        public Map<String, String> getPlaceholderSignatures() {
+            return placeholderSignatures;
+        }
+
+        /**
+         * Get the hashes of the values of the scanned file. Each is the 64-bit FNV-1a hash of the characters of the value, after its escape sequences have been converted, so equal values have
+         * equal hashes regardless of how they are encoded or escaped.
+         *
+         * @return {@code null} if the scanner did not hash values; otherwise, a {@link Map} of each translation key whose value is not empty to the hash of its value.
+         */
+        public Map<String, Long> getValueHashes() {
+            return valueHashes;
+        }
+    }
+
+    /**
+     * A stateful tokenizer that assembles logical lines out of successive buffers of bytes and records the key of each of those lines. This mirrors the line handling of
+     * {@link java.util.Properties#load(InputStream)}, but does not buffer comment lines and only turns into strings those values whose signatures must be compiled.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    static class LineTokenizer {
+        private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+
+        private final Map<String, Integer> lineNumbers = new HashMap<>();
+        private final Set<String> duplicateTranslationKeys = new HashSet<>();
+        private final Charset charset;
+        private final boolean singleByteCharset;
+        private final MessageFormatSignatures signatures;
+        private final Map<String, String> placeholderSignatures;
+        private final Map<String, Long> valueHashes;
+        private final long rawHashSeed;
+
+        private char[] lineBuffer = new char[256];
+        private char[] conversionBuffer = new char[256];
+        private int length;
+        private boolean skipWhiteSpace = true;
+        private boolean isCommentLine;
+        private boolean isNewLine = true;
+        private boolean appendedLineBegin;
+        private boolean precedingBackslash;
+        private boolean skipLineFeed;
+        private boolean precedingCarriageReturn;
+        private int terminatorCount;
+        private int entryLineNumber;
+
+        /**
+         * Create a tokenizer.
+         *
+         * @param charset
+         *            The {@link Charset} in which keys are encoded.
+         * @param signatures
+         *            The {@link MessageFormatSignatures} used to compile the argument signatures of values; can be {@code null} if they are not to be recorded.
+         * @param hashValues
+         *            Whether or not the hashes of values are to be recorded.
+         */
+        LineTokenizer(Charset charset, MessageFormatSignatures signatures, boolean hashValues) {
+            this.charset = charset;
+            this.singleByteCharset = StandardCharsets.ISO_8859_1.equals(charset);
+            this.signatures = signatures;
+            this.placeholderSignatures = signatures == null ? null : new HashMap<String, String>();
+            this.valueHashes = hashValues ? new HashMap<String, Long>() : null;
+            // Signatures are cached by a hash of raw bytes, so the same bytes decoded with another charset must not share their hash
+            this.rawHashSeed = hash(charset.name().toCharArray(), 0, charset.name().length(), FNV_OFFSET_BASIS);
+        }
+
+        /**
+         * Consume all of the remaining bytes in the given buffer.
+         *
+         * @param buffer
+         *            The {@link ByteBuffer} whose remaining bytes are to be consumed.
+         * @throws IOException
+         *             If a completed line contains a malformed escape sequence.
+         */
+        void consume(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                final char c = (char) (buffer.get() & 0xff);
+
+                // Track natural lines for reporting purposes: \n, \r, and \r\n each terminate one line
+                if (c == '\n') {
+                    if (!precedingCarriageReturn) {
+                        terminatorCount++;
+                    }
+                    precedingCarriageReturn = false;
+                } else if (c == '\r') {
+                    terminatorCount++;
+                    precedingCarriageReturn = true;
+                } else {
+                    precedingCarriageReturn = false;
+                }
+
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+
+                if (skipWhiteSpace) {
+                    if (c == ' ' || c == '\t' || c == '\f') {
+                        continue;
+                    }
+                    if (!appendedLineBegin && (c == '\r' || c == '\n')) {
+                        continue;
+                    }
+                    skipWhiteSpace = false;
+                    appendedLineBegin = false;
+                }
+
+                if (isNewLine) {
+                    isNewLine = false;
+                    entryLineNumber = terminatorCount + 1;
+                    if (c == '#' || c == '!') {
+                        isCommentLine = true;
+                        continue;
+                    }
+                }
+
+                if (c != '\n' && c != '\r') {
+                    if (isCommentLine) {
+                        continue;
+                    }
+
+                    if (length == lineBuffer.length) {
+                        final char[] grown = new char[lineBuffer.length * 2];
+                        System.arraycopy(lineBuffer, 0, grown, 0, length);
+                        lineBuffer = grown;
+                    }
+                    lineBuffer[length++] = c;
+                    precedingBackslash = c == '\\' ? !precedingBackslash : false;
+                } else if (isCommentLine || length == 0) {
+                    resetLine();
+                } else if (precedingBackslash) {
+                    // Drop the continuation backslash and skip the leading whitespace of the following line
+                    length--;
+                    skipWhiteSpace = true;
+                    appendedLineBegin = true;
+                    precedingBackslash = false;
+                    if (c == '\r') {
+                        skipLineFeed = true;
+                    }
+                } else {
+                    completeLine();
+                }
+            }
+        }
+
+        /**
+         * Complete any line left unterminated at the end of the input.
+         *
+         * @throws IOException
+         *             If the line contains a malformed escape sequence.
+         */
+        void finish() throws IOException {
+            if (length == 0 || isCommentLine) {
+                return;
+            }
+
+            if (precedingBackslash) {
+                length--;
+            }
+            completeLine();
+        }
+
+        /**
+         * Build the results of the tokenization.
+         *
+         * @return A {@link ScanResult} representing the keys read by this tokenizer.
+         */
+        ScanResult toResult() {
+            return new ScanResult(lineNumbers, duplicateTranslationKeys, placeholderSignatures, valueHashes);
+        }
+
+        /**
+         * Split the buffered logical line into its key and value, recording the key.
+         *
+         * @throws IOException
+         *             If the key contains a malformed escape sequence.
+         */
+        private void completeLine() throws IOException {
+            int keyLength = 0;
+            boolean keyBackslash = false;
+            boolean hasEscapes = false;
+            boolean hasHighBytes = false;
+            while (keyLength < length) {
+                final char c = lineBuffer[keyLength];
+                if ((c == '=' || c == ':' || c == ' ' || c == '\t' || c == '\f') && !keyBackslash) {
+                    break;
+                }
+
+                if (c == '\\') {
+                    keyBackslash = !keyBackslash;
+                    hasEscapes = true;
+                } else {
+                    keyBackslash = false;
+                    hasHighBytes |= c > 0x7f;
+                }
+                keyLength++;
+            }
+
+            final String key = toText(0, keyLength, hasEscapes, hasHighBytes);
+            if (lineNumbers.containsKey(key)) {
+                duplicateTranslationKeys.add(key);
+            } else {
+                lineNumbers.put(key, Integer.valueOf(entryLineNumber));
+                if (signatures != null || valueHashes != null) {
+                    recordValue(key, keyLength);
+                }
+            }
+            resetLine();
+        }
+
+        /**
+         * Record the hash of the value of the buffered logical line, if it is not empty, and its argument signature, if it has arguments.
+         *
+         * @param key
+         *            The key of the line.
+         * @param keyLength
+         *            The length of the key, as read from the line buffer.
+         * @throws IOException
+         *             If the value contains a malformed escape sequence.
+         */
+        private void recordValue(String key, int keyLength) throws IOException {
+            // The value follows whitespace and, at most, one separator, as in Properties.load()
+            int valueStart = keyLength;
+            boolean separated = false;
+            while (valueStart < length) {
+                final char c = lineBuffer[valueStart];
+                if (c == ' ' || c == '\t' || c == '\f') {
+                    valueStart++;
+                } else if (!separated && (c == '=' || c == ':')) {
+                    separated = true;
+                    valueStart++;
+                } else {
+                    break;
+                }
+            }
+
+            boolean hasBrace = false;
+            boolean hasEscapes = false;
+            boolean hasHighBytes = false;
+            for (int i = valueStart; i < length; i++) {
+                final char c = lineBuffer[i];
+                hasBrace |= c == '{';
+                hasEscapes |= c == '\\';
+                hasHighBytes |= c > 0x7f;
+            }
+
+            String value = null;
+            if (valueHashes != null && valueStart < length) {
+                // Unless it must be decoded or unescaped, each buffered character already is a character of the value
+                if (hasEscapes || (hasHighBytes && !singleByteCharset)) {
+                    value = toText(valueStart, length, hasEscapes, hasHighBytes);
+                    valueHashes.put(key, Long.valueOf(hash(value, FNV_OFFSET_BASIS)));
+                } else {
+                    valueHashes.put(key, Long.valueOf(hash(lineBuffer, valueStart, length, FNV_OFFSET_BASIS)));
+                }
+            }
+
+            // Only a brace, or an escape sequence that may decode to one, can begin an argument
+            if (signatures == null || (!hasBrace && !hasEscapes)) {
+                return;
+            }
+
+            final long rawHash = hash(lineBuffer, valueStart, length, rawHashSeed);
+            String signature = signatures.get(rawHash, lineBuffer, valueStart, length, charset);
+            if (signature == null) {
+                signature = signatures.put(rawHash, lineBuffer, valueStart, length, charset, value == null ? toText(valueStart, length, hasEscapes, hasHighBytes) : value);
+            }
+            if (!signature.isEmpty()) {
+                placeholderSignatures.put(key, signature);
+            }
+        }
+
+        /**
+         * Convert a portion of the line buffer to text, decoding it with the configured charset and converting its escape sequences as needed.
+         *
+         * @param start
+         *            The inclusive start of the portion of the line buffer.
+         * @param end
+         *            The exclusive end of the portion of the line buffer.
+         * @param hasEscapes
+         *            Whether or not the portion contains a backslash.
+         * @param hasHighBytes
+         *            Whether or not the portion contains a byte outside of the ASCII range.
+         * @return The text of the given portion of the line buffer.
+         * @throws IOException
+         *             If the text contains a malformed escape sequence.
+         */
+        private String toText(int start, int end, boolean hasEscapes, boolean hasHighBytes) throws IOException {
+            if (hasHighBytes && !singleByteCharset) {
+                final String decoded = decode(start, end);
+                return hasEscapes ? convert(decoded.toCharArray(), 0, decoded.length()) : decoded;
+            }
+            return hasEscapes ? convert(lineBuffer, start, end) : new String(lineBuffer, start, end - start);
+        }
+
+        /**
+         * Decode a portion of the line buffer, whose characters each hold a single byte, using the configured charset.
+         *
+         * @param start
+         *            The inclusive start of the portion of the line buffer to be decoded.
+         * @param end
+         *            The exclusive end of the portion of the line buffer to be decoded.
+         * @return The decoded text.
+         */
+        private String decode(int start, int end) {
+            final byte[] bytes = new byte[end - start];
+            for (int i = start; i < end; i++) {
+                bytes[i - start] = (byte) lineBuffer[i];
+            }
+            return new String(bytes, charset);
+        }
+
+        /**
+         * Convert the escape sequences in a portion of the given characters.
+         *
+         * @param source
+         *            The characters to be converted.
+         * @param start
+         *            The inclusive start of the portion of the characters to be converted.
+         * @param end
+         *            The exclusive end of the portion of the characters to be converted.
+         * @return The converted text.
+         * @throws IOException
+         *             If the text contains a malformed unicode escape sequence.
+         */
+        private String convert(char[] source, int start, int end) throws IOException {
+            if (conversionBuffer.length < end - start) {
+                conversionBuffer = new char[Math.max(end - start, conversionBuffer.length * 2)];
+            }
+
+            int offset = start;
+            int outLength = 0;
+            while (offset < end) {
+                char c = source[offset++];
+                if (c == '\\') {
+                    c = source[offset++];
+                    if (c == 'u') {
+                        if (offset > end - 4) {
+                            throw new IOException(String.format("Malformed \\uxxxx encoding on line %d.", entryLineNumber));
+                        }
+
+                        int value = 0;
+                        for (int i = 0; i < 4; i++) {
+                            final int digit = Character.digit(source[offset++], 16);
+                            if (digit < 0) {
+                                throw new IOException(String.format("Malformed \\uxxxx encoding on line %d.", entryLineNumber));
+                            }
+                            value = (value << 4) + digit;
+                        }
+                        c = (char) value;
+                    } else if (c == 't') {
+                        c = '\t';
+                    } else if (c == 'r') {
+                        c = '\r';
+                    } else if (c == 'n') {
+                        c = '\n';
+                    } else if (c == 'f') {
+                        c = '\f';
+                    }
+                }
+                conversionBuffer[outLength++] = c;
+            }
+            return new String(conversionBuffer, 0, outLength);
+        }
+
+        /**
+         * Compute the 64-bit FNV-1a hash of a portion of the given characters.
+         *
+         * @param source
+         *            The characters to be hashed.
+         * @param start
+         *            The inclusive start of the portion of the characters to be hashed.
+         * @param end
+         *            The exclusive end of the portion of the characters to be hashed.
+         * @param seed
+         *            The hash from which to continue.
+         * @return The hash of the given characters.
+         */
+        private static long hash(char[] source, int start, int end, long seed) {
+            long hash = seed;
+            for (int i = start; i < end; i++) {
+                hash ^= source[i];
+                hash *= FNV_PRIME;
+            }
+            return hash;
+        }
+
+        /**
+         * Compute the 64-bit FNV-1a hash of the characters of a string, as {@link #hash(char[], int, int, long)} would compute it for the same characters.
+         *
+         * @param source
+         *            The string to be hashed.
+         * @param seed
+         *            The hash from which to continue.
+         * @return The hash of the given string.
+         */
+        private static long hash(String source, long seed) {
+            long hash = seed;
+            for (int i = 0; i < source.length(); i++) {
+                hash ^= source.charAt(i);
+                hash *= FNV_PRIME;
+            }
+            return hash;
+        }
+
+        /**
+         * Reset the state of this tokenizer to read a new logical line.
+         */
+        private void resetLine() {
+            length = 0;
+            isCommentLine = false;
+            isNewLine = true;
+            skipWhiteSpace = true;
+            appendedLineBegin = false;
+            precedingBackslash = false;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A read-only, sorted view of a collection of results that can be counted and paged through without sorting or copying the entire collection. Iterating the view visits its elements in sorted
+ * order.
+ *
+ * @author Joshua Hyde
+ * @param <T>
+ *            The type of element in the view.
+ * @since 1.5
+ */
+
+public abstract class SortedView<T> extends AbstractCollection<T> {
+    /**
+     * Create a view that sorts the given elements by their natural order the first time the view is iterated or paged past its first page.
+     *
+     * @param elements
+     *            The elements to be viewed. The given collection is not copied until it needs to be sorted, so it must not be modified afterward.
+     * @return A {@link SortedView} of the given elements.
+     */
+    public static <T extends Comparable<? super T>> SortedView<T> of(Collection<T> elements) {
+        return new LazySortedView<>(elements, new Comparator<T>() {
+            @Override
+            public int compare(T o1, T o2) {
+                return o1.compareTo(o2);
+            }
+        });
+    }
+
+    /**
+     * Create a view that sorts the given elements with the given comparator the first time the view is iterated or paged past its first page.
+     *
+     * @param elements
+     *            The elements to be viewed. The given collection is not copied until it needs to be sorted, so it must not be modified afterward.
+     * @param comparator
+     *            The {@link Comparator} determining the order of the elements.
+     * @return A {@link SortedView} of the given elements.
+     */
+    public static <T> SortedView<T> of(Collection<T> elements, Comparator<? super T> comparator) {
+        return new LazySortedView<>(elements, comparator);
+    }
+
+    /**
+     * Get the first elements of this view.
+     *
+     * @param limit
+     *            The maximum number of elements to be retrieved.
+     * @return A {@link List} of, at most, the given number of elements from the start of this view, in sorted order.
+     */
+    public List<T> first(int limit) {
+        return page(0, limit);
+    }
+
+    /**
+     * Get a page of the elements of this view.
+     *
+     * @param pageNumber
+     *            The zero-based number of the page to be retrieved.
+     * @param pageSize
+     *            The number of elements on each page.
+     * @return A {@link List} of the elements on the requested page, in sorted order; empty if the page is past the end of this view.
+     * @throws IllegalArgumentException
+     *             If the page number is negative or the page size is not positive.
+     */
+    public List<T> page(int pageNumber, int pageSize) {
+        if (pageNumber < 0 || pageSize < 1) {
+            throw new IllegalArgumentException(String.format("Invalid page %d of size %d.", pageNumber, pageSize));
+        }
+
+        final long fromIndex = (long) pageNumber * pageSize;
+        if (fromIndex >= size()) {
+            return Collections.emptyList();
+        }
+        return range((int) fromIndex, (int) Math.min(size(), fromIndex + pageSize));
+    }
+
+    /**
+     * Get a range of the elements of this view.
+     *
+     * @param fromIndex
+     *            The index, inclusive, of the first element to be retrieved.
+     * @param toIndex
+     *            The index, exclusive, of the last element to be retrieved; this is always greater than the given start index and no greater than the size of this view.
+     * @return A {@link List} of the elements within the given range, in sorted order.
+     */
+    protected abstract List<T> range(int fromIndex, int toIndex);
+
+    /**
+     * A view that sorts its elements on first access.
+     *
+     * @author Joshua Hyde
+     * @param <T>
+     *            The type of element in the view.
+     * @since 1.5
+     */
+    private static class LazySortedView<T> extends SortedView<T> {
+        private final Collection<T> elements;
+        private final Comparator<? super T> comparator;
+        private volatile List<T> sorted;
+
+        /**
+         * Create a view.
+         *
+         * @param elements
+         *            The elements to be viewed.
+         * @param comparator
+         *            The {@link Comparator} determining the order of the elements.
+         */
+        private LazySortedView(Collection<T> elements, Comparator<? super T> comparator) {
+            this.elements = elements;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return elements.contains(o);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return getSorted().iterator();
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+        @Override
+        protected List<T> range(int fromIndex, int toIndex) {
+            if (fromIndex == 0 && sorted == null && toIndex < elements.size() / 2) {
+                return select(toIndex);
+            }
+            return getSorted().subList(fromIndex, toIndex);
+        }
+
+        /**
+         * Get the elements of this view, sorting them if they have not yet been sorted.
+         *
+         * @return An unmodifiable {@link List} of the elements of this view in sorted order.
+         */
+        private List<T> getSorted() {
+            List<T> current = sorted;
+            if (current == null) {
+                synchronized (this) {
+                    current = sorted;
+                    if (current == null) {
+                        @SuppressWarnings("unchecked")
+                        final T[] array = (T[]) elements.toArray();
+                        Arrays.sort(array, comparator);
+                        current = Collections.unmodifiableList(Arrays.asList(array));
+                        sorted = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        /**
+         * Select the least elements of this view without sorting all of them.
+         *
+         * @param limit
+         *            The number of elements to be selected.
+         * @return A {@link List} of the given number of least elements, in sorted order.
+         */
+        private List<T> select(int limit) {
+            // Keep the greatest of the least elements seen so far at the head of the queue, so it can be evicted
+            final PriorityQueue<T> least = new PriorityQueue<>(limit, Collections.reverseOrder(comparator));
+            for (T element : elements) {
+                if (least.size() < limit) {
+                    least.add(element);
+                } else if (comparator.compare(element, least.peek()) < 0) {
+                    least.poll();
+                    least.add(element);
+                }
+            }
+
+            final List<T> selected = new ArrayList<>(least);
+            Collections.sort(selected, comparator);
+            return selected;
+        }
+    }
+}
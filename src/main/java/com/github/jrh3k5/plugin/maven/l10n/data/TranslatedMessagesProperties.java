@@ -20,13 +20,23 @@ package com.github.jrh3k5.plugin.maven.l10n.data;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.MessagesPropertiesScanner.ScanResult;
 
 /**
  * A representation of a properties file that was translated from a designated authoritative messages properties file.
@@ -36,8 +46,13 @@ import java.util.TreeSet;
  */
 
 public class TranslatedMessagesProperties extends AbstractMessagesProperties implements Comparable<TranslatedMessagesProperties> {
-    private final SortedSet<String> missingTranslationKeys;
+    private final TranslationKeyIndex keyIndex;
+    private final BitSet translatedKeyIds;
+    private final SortedView<String> missingTranslationKeys;
+    private volatile SortedSet<String> missingTranslationKeySet;
     private final Set<String> extraTranslationKeys;
+    private final Map<String, String> placeholderMismatches;
+    private final BitSet untranslatedKeyIds;
 
     /**
      * Create a translated messages properties object.
@@ -46,20 +61,32 @@ public class TranslatedMessagesProperties extends AbstractMessagesProperties imp
      *            The {@link File} represented by this object.
      * @param supportedLocale
      *            The {@link Locale} supported by this properties translation (can be {@code null}).
-     * @param translationKeys
-     *            The translation keys contained in this properties file.
-     * @param missingTranslationKeys
-     *            A {@link Set} of keys that are found in the authoritative source, but not in this properties file.
+     * @param keyIndex
+     *            The {@link TranslationKeyIndex} of the authoritative source.
+     * @param translatedKeyIds
+     *            A {@link BitSet} of the identifiers, within the given index, of the keys of the authoritative source that are found in this properties file.
      * @param extraTranslationKeys
      *            A {@link Set} of keys that are found in this properties file, but not the authoritative source.
      * @param duplicateTranslationKeys
      *            The duplicate translation keys contained in this file.
+     * @param placeholderMismatches
+     *            A {@link Map} of the keys whose translations in this file have arguments that do not match those of the authoritative source to the signatures of the translated arguments.
+     * @param untranslatedKeyIds
+     *            A {@link BitSet} of the identifiers, within the given index, of the keys whose values in this file are the same as in the authoritative source.
      */
-    private TranslatedMessagesProperties(File file, Locale supportedLocale, Set<String> translationKeys, Set<String> missingTranslationKeys, Set<String> extraTranslationKeys,
-            Set<String> duplicateTranslationKeys) {
-        super(file, supportedLocale, translationKeys, duplicateTranslationKeys);
-        this.missingTranslationKeys = Collections.unmodifiableSortedSet(new TreeSet<>(missingTranslationKeys));
+    private TranslatedMessagesProperties(File file, Locale supportedLocale, TranslationKeyIndex keyIndex, BitSet translatedKeyIds, Set<String> extraTranslationKeys,
+            Set<String> duplicateTranslationKeys, Map<String, String> placeholderMismatches, BitSet untranslatedKeyIds) {
+        // The keys of this file are those of the authoritative source that it translates and its extra keys, rather than a set of its own
+        super(file, supportedLocale, keyIndex.getKeySet(translatedKeyIds, extraTranslationKeys), duplicateTranslationKeys);
+        this.keyIndex = keyIndex;
+        this.translatedKeyIds = translatedKeyIds;
         this.extraTranslationKeys = Collections.unmodifiableSet(extraTranslationKeys);
+        this.placeholderMismatches = Collections.unmodifiableMap(placeholderMismatches);
+        this.untranslatedKeyIds = untranslatedKeyIds;
+
+        final BitSet missingKeyIds = (BitSet) translatedKeyIds.clone();
+        missingKeyIds.flip(0, keyIndex.size());
+        this.missingTranslationKeys = keyIndex.getKeys(missingKeyIds);
     }
 
     @Override
@@ -68,11 +95,27 @@ public class TranslatedMessagesProperties extends AbstractMessagesProperties imp
     }
 
     /**
-     * Get keys that are present in the authoritative messages properties file, but missing in this one.
+     * Get keys that are present in the authoritative messages properties file, but missing in this one. The set is built the first time it is requested; prefer
+     * {@link #getMissingTranslationKeyView()} where the keys only need to be counted, paged, or iterated.
      * 
      * @return A {@link SortedSet} composed of the keys missing from this properties file.
      */
     public SortedSet<String> getMissingTranslationKeys() {
+        SortedSet<String> keySet = missingTranslationKeySet;
+        if (keySet == null) {
+            keySet = Collections.unmodifiableSortedSet(new TreeSet<>(missingTranslationKeys));
+            missingTranslationKeySet = keySet;
+        }
+        return keySet;
+    }
+
+    /**
+     * Get a view of the keys that are present in the authoritative messages properties file, but missing in this one, that does not copy them into a set of their own.
+     * 
+     * @return A {@link SortedView} composed of the keys missing from this properties file.
+     * @since 1.5
+     */
+    public SortedView<String> getMissingTranslationKeyView() {
         return missingTranslationKeys;
     }
 
@@ -85,12 +128,88 @@ public class TranslatedMessagesProperties extends AbstractMessagesProperties imp
         return extraTranslationKeys;
     }
 
+    /**
+     * Get the keys whose translations in this properties file have arguments that do not match those of the authoritative messages properties file. This is only determined if both were parsed
+     * with {@link MessageFormatSignatures}.
+     * 
+     * @return A {@link Map} of each key whose translation does not have the same {@link MessageFormatSignatures#compile(String) argument signature} as its authoritative message to the signature of
+     *         the translation; empty if there are none or if the arguments were not compared.
+     * @since 1.5
+     */
+    public Map<String, String> getPlaceholderMismatches() {
+        return placeholderMismatches;
+    }
+
+    /**
+     * Get the keys whose values in this properties file are the same as in the authoritative messages properties file - copied, that is, but never translated. Values are compared by their
+     * 64-bit hashes, and only if both files were parsed with {@link AbstractMessagesPropertiesParser#setHashValues(boolean) hashing of values}; empty values are never considered copied.
+     * 
+     * @return A {@link SortedView} composed of the keys whose values are untranslated; empty if there are none or if the values were not compared.
+     * @since 1.5
+     */
+    public SortedView<String> getUntranslatedKeys() {
+        return keyIndex.getKeys(untranslatedKeyIds);
+    }
+
+    /**
+     * Get the number of keys whose values in this properties file are the same as in the authoritative messages properties file.
+     * 
+     * @return The number of {@link #getUntranslatedKeys() untranslated} keys.
+     * @since 1.5
+     */
+    public int getUntranslatedKeyCount() {
+        return untranslatedKeyIds.cardinality();
+    }
+
+    /**
+     * Get the number of keys that are present in the authoritative messages properties file, but missing in this one.
+     * 
+     * @return The number of keys missing from this properties file.
+     * @since 1.5
+     */
+    public int getMissingTranslationKeyCount() {
+        return missingTranslationKeys.size();
+    }
+
+    /**
+     * Get the percentage of the keys in the authoritative messages properties file that are translated in this one.
+     * 
+     * @return The percentage, between 0 and 100, of the authoritative keys present in this properties file; 100 if the authoritative messages properties file has no keys.
+     * @since 1.5
+     */
+    public double getCompletionPercentage() {
+        return keyIndex.size() == 0 ? 100.0 : translatedKeyIds.cardinality() * 100.0 / keyIndex.size();
+    }
+
+    /**
+     * Get the keys of the authoritative messages properties file that are present in this one as a set of identifiers. Because all translations of the same authoritative messages properties share
+     * the same identifiers, the returned sets can be combined across translations (for example, {@link BitSet#and(BitSet)} to find the keys translated in every locale).
+     * 
+     * @return A copy of the {@link BitSet} of the identifiers, within {@link #getKeyIndex()}, of the authoritative keys present in this properties file.
+     * @since 1.5
+     */
+    public BitSet getTranslatedKeyIds() {
+        return (BitSet) translatedKeyIds.clone();
+    }
+
+    /**
+     * Get the index of the authoritative keys against which this properties file was compared.
+     * 
+     * @return The {@link TranslationKeyIndex} of the authoritative messages properties file.
+     * @since 1.5
+     */
+    public TranslationKeyIndex getKeyIndex() {
+        return keyIndex;
+    }
+
     /**
      * A parser used to produce {@link TranslatedMessagesProperties} objects from external sources.
      * 
      * @author Joshua Hyde
      */
     public static class Parser extends AbstractMessagesPropertiesParser {
+        private int threadCount = 1;
+
         /**
          * Parse files into translation representations.
          * 
@@ -98,33 +217,138 @@ public class TranslatedMessagesProperties extends AbstractMessagesProperties imp
          *            The {@link AuthoritativeMessagesProperties} to be designated as the authority on localization.
          * @param messagesFiles
          *            A {@link Collection} of {@link File} objects representing the translation files.
-         * @return A {@link Collection} of {@link TranslatedMessagesProperties} built out of the given data. This is not guaranteed to be parallel to the given collection of files.
+         * @return A {@link Collection} of {@link TranslatedMessagesProperties} built out of the given data, in the same order as the given files.
          * @throws IOException
          *             If any errors occur during the parsing.
          */
         public Collection<TranslatedMessagesProperties> parse(AuthoritativeMessagesProperties authoritativeMessagesProperties, Collection<File> messagesFiles) throws IOException {
+            if (threadCount > 1 && messagesFiles.size() > 1) {
+                return parseConcurrently(authoritativeMessagesProperties, messagesFiles);
+            }
+
             final Collection<TranslatedMessagesProperties> translated = new ArrayList<>(messagesFiles.size());
             for (File messagesFile : messagesFiles) {
-                final Set<String> translationKeys = getTranslationKeys(messagesFile);
-                final Set<String> missingTranslationKeys = new HashSet<>();
-                // Find all keys in the authoritative message properties that aren't in this one
-                for (String authoritativeTranslationKey : authoritativeMessagesProperties.getTranslationKeys()) {
-                    if (!translationKeys.contains(authoritativeTranslationKey)) {
-                        missingTranslationKeys.add(authoritativeTranslationKey);
+                translated.add(parse(authoritativeMessagesProperties, messagesFile));
+            }
+            return Collections.unmodifiableCollection(translated);
+        }
+
+        /**
+         * Set the number of threads to be used to parse translation files.
+         * 
+         * @param threadCount
+         *            The number of threads to be used to parse translation files; if greater than 1, files are parsed concurrently in a work-stealing pool of that size. Defaults to 1.
+         * @since 1.5
+         */
+        public void setThreadCount(int threadCount) {
+            this.threadCount = threadCount;
+        }
+
+        /**
+         * Parse a single translation file.
+         * 
+         * @param authoritativeMessagesProperties
+         *            The {@link AuthoritativeMessagesProperties} to be designated as the authority on localization.
+         * @param messagesFile
+         *            A {@link File} representing the translation file.
+         * @return A {@link TranslatedMessagesProperties} built out of the given data.
+         * @throws IOException
+         *             If any errors occur during the parsing.
+         */
+        private TranslatedMessagesProperties parse(AuthoritativeMessagesProperties authoritativeMessagesProperties, File messagesFile) throws IOException {
+            final ScanResult scanResult = scan(messagesFile);
+            final Set<String> translationKeys = scanResult.getTranslationKeys();
+            final TranslationKeyIndex keyIndex = authoritativeMessagesProperties.getKeyIndex();
+            final BitSet translatedKeyIds = new BitSet(keyIndex.size());
+            // Arguments can only be compared if the values of both files were read
+            final Map<String, String> authoritativeSignatures = authoritativeMessagesProperties.getPlaceholderSignatures();
+            final Map<String, String> translatedSignatures = authoritativeSignatures == null ? null : scanResult.getPlaceholderSignatures();
+            final Map<String, String> placeholderMismatches = new HashMap<>();
+            final Map<String, Long> valueHashes = authoritativeMessagesProperties.hasValueHashes() ? scanResult.getValueHashes() : null;
+            final BitSet untranslatedKeyIds = new BitSet();
+            // Mark every authoritative key found in this file; whatever is left clear is missing, and whatever isn't in the index is extra
+            final Set<String> extraTranslationKeys = new HashSet<>();
+            for (String translationKey : translationKeys) {
+                final int id = keyIndex.getId(translationKey);
+                if (id < 0) {
+                    extraTranslationKeys.add(translationKey);
+                } else {
+                    translatedKeyIds.set(id);
+                    if (valueHashes != null) {
+                        final Long valueHash = valueHashes.get(translationKey);
+                        if (valueHash != null && authoritativeMessagesProperties.hasValueHash(id, valueHash.longValue())) {
+                            untranslatedKeyIds.set(id);
+                        }
                     }
+                    if (translatedSignatures != null) {
+                        final String translatedSignature = getSignature(translatedSignatures, translationKey);
+                        if (!getSignature(authoritativeSignatures, translationKey).equals(translatedSignature)) {
+                            placeholderMismatches.put(translationKey, translatedSignature);
+                        }
+                    }
+                }
+            }
+            return new TranslatedMessagesProperties(messagesFile, determineSupportedLocale(messagesFile), keyIndex, translatedKeyIds, extraTranslationKeys,
+                    scanResult.getDuplicateTranslationKeys(), placeholderMismatches, untranslatedKeyIds);
+        }
+
+        /**
+         * Get the argument signature of a message.
+         * 
+         * @param signatures
+         *            A {@link Map} of the keys of messages with arguments to their signatures.
+         * @param translationKey
+         *            The key of the message.
+         * @return The signature of the message of the given key; empty if it has no arguments.
+         */
+        private static String getSignature(Map<String, String> signatures, String translationKey) {
+            final String signature = signatures.get(translationKey);
+            return signature == null ? "" : signature;
+        }
+
+        /**
+         * Parse translation files concurrently. The results are collected in the order of the given files, regardless of the order in which the parsing finishes.
+         * 
+         * @param authoritativeMessagesProperties
+         *            The {@link AuthoritativeMessagesProperties} to be designated as the authority on localization.
+         * @param messagesFiles
+         *            A {@link Collection} of {@link File} objects representing the translation files.
+         * @return A {@link Collection} of {@link TranslatedMessagesProperties} built out of the given data, in the same order as the given files.
+         * @throws IOException
+         *             If any errors occur during the parsing.
+         */
+        private Collection<TranslatedMessagesProperties> parseConcurrently(final AuthoritativeMessagesProperties authoritativeMessagesProperties, Collection<File> messagesFiles)
+                throws IOException {
+            final ForkJoinPool pool = new ForkJoinPool(Math.min(threadCount, messagesFiles.size()));
+            try {
+                final List<Future<TranslatedMessagesProperties>> futures = new ArrayList<>(messagesFiles.size());
+                for (final File messagesFile : messagesFiles) {
+                    futures.add(pool.submit(new Callable<TranslatedMessagesProperties>() {
+                        @Override
+                        public TranslatedMessagesProperties call() throws IOException {
+                            return parse(authoritativeMessagesProperties, messagesFile);
+                        }
+                    }));
                 }
 
-                // Find all keys in this properties file that isn't in the authoritative bundle
-                final Set<String> extraTranslationKeys = new HashSet<>();
-                for (String translationKey : translationKeys) {
-                    if (!authoritativeMessagesProperties.getTranslationKeys().contains(translationKey)) {
-                        extraTranslationKeys.add(translationKey);
+                final Collection<TranslatedMessagesProperties> translated = new ArrayList<>(futures.size());
+                for (Future<TranslatedMessagesProperties> future : futures) {
+                    try {
+                        translated.add(future.get());
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof IOException) {
+                            throw (IOException) e.getCause();
+                        }
+                        throw new IOException("Failed to parse translation file.", e.getCause());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while parsing translation files.", e);
                     }
                 }
-                translated.add(new TranslatedMessagesProperties(messagesFile, determineSupportedLocale(messagesFile), translationKeys, missingTranslationKeys, extraTranslationKeys,
-                        getDuplicateTranslationKeys(messagesFile)));
+                return Collections.unmodifiableCollection(translated);
+            } finally {
+                pool.shutdownNow();
             }
-            return Collections.unmodifiableCollection(translated);
         }
     }
 }
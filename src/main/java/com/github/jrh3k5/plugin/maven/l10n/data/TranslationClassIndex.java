@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.TranslationKeyDictionary.Node;
+
+/**
+ * An index of translation keys by package, class, and field. Each key is split into the class that declares it and the name of its field: segments of the key that are entirely lower case are
+ * package names, the first segment that is not is the top-level class, and any after it are nested classes. For example, {@code com.example.Keys.Nested.ERROR} is the field {@code ERROR} of the class
+ * {@code com.example.Keys$Nested} in the package {@code com.example}.
+ * <p>
+ * Each distinct prefix of the keys is resolved only once, no matter how many keys share it.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class TranslationClassIndex {
+    private final TranslationKeyDictionary keyDictionary;
+    private final Map<Node, TranslationClass> classesByNode;
+    private final Map<String, TranslationClass> classesByName;
+    private final Map<String, Collection<TranslationClass>> classesByPackage;
+
+    /**
+     * Create an index.
+     *
+     * @param translationKeys
+     *            The translation keys to be indexed.
+     * @param keyDictionary
+     *            The {@link TranslationKeyDictionary} to which the given keys are to be added.
+     */
+    public TranslationClassIndex(Collection<String> translationKeys, TranslationKeyDictionary keyDictionary) {
+        this(toNodes(translationKeys, keyDictionary), keyDictionary);
+    }
+
+    /**
+     * Create an index of the keys of a {@link TranslationKeyIndex}.
+     *
+     * @param keyIndex
+     *            The {@link TranslationKeyIndex} whose keys are to be indexed.
+     * @param keyDictionary
+     *            The {@link TranslationKeyDictionary} holding the keys of the given index.
+     */
+    TranslationClassIndex(TranslationKeyIndex keyIndex, TranslationKeyDictionary keyDictionary) {
+        this(toNodes(keyIndex), keyDictionary);
+    }
+
+    /**
+     * Create an index.
+     *
+     * @param keyNodes
+     *            The {@link Node nodes} of the translation keys to be indexed.
+     * @param keyDictionary
+     *            The {@link TranslationKeyDictionary} holding the given nodes.
+     */
+    private TranslationClassIndex(Node[] keyNodes, TranslationKeyDictionary keyDictionary) {
+        this.keyDictionary = keyDictionary;
+
+        final Map<Node, Set<String>> classStaging = new HashMap<>();
+        for (Node keyNode : keyNodes) {
+            final Node classNode = keyNode.getParent();
+            if (classNode.isRoot()) {
+                continue;
+            }
+
+            Set<String> keyNames = classStaging.get(classNode);
+            if (keyNames == null) {
+                keyNames = new HashSet<>();
+                classStaging.put(classNode, keyNames);
+            }
+            keyNames.add(keyNode.getSegment());
+        }
+
+        final Map<Node, Prefix> prefixes = new HashMap<>();
+        final Map<Node, TranslationClass> byNode = new HashMap<>(classStaging.size() * 2);
+        final Map<String, TranslationClass> byName = new HashMap<>(classStaging.size() * 2);
+        final Map<String, Collection<TranslationClass>> byPackage = new HashMap<>();
+        for (Entry<Node, Set<String>> stagedClass : classStaging.entrySet()) {
+            final Prefix prefix = resolve(stagedClass.getKey(), prefixes);
+            final TranslationClass translationClass = new TranslationClass(prefix.getClassName(), stagedClass.getValue());
+            byNode.put(stagedClass.getKey(), translationClass);
+            byName.put(translationClass.getTranslationClassName(), translationClass);
+
+            Collection<TranslationClass> packageClasses = byPackage.get(prefix.packageName);
+            if (packageClasses == null) {
+                packageClasses = new ArrayList<>();
+                byPackage.put(prefix.packageName, packageClasses);
+            }
+            packageClasses.add(translationClass);
+        }
+
+        for (Entry<String, Collection<TranslationClass>> packageClasses : byPackage.entrySet()) {
+            packageClasses.setValue(Collections.unmodifiableCollection(packageClasses.getValue()));
+        }
+
+        this.classesByNode = byNode;
+        this.classesByName = byName;
+        this.classesByPackage = byPackage;
+    }
+
+    /**
+     * Add translation keys to a dictionary.
+     *
+     * @param translationKeys
+     *            The translation keys to be added.
+     * @param keyDictionary
+     *            The {@link TranslationKeyDictionary} to which the keys are to be added.
+     * @return The {@link Node nodes} of the given keys.
+     */
+    private static Node[] toNodes(Collection<String> translationKeys, TranslationKeyDictionary keyDictionary) {
+        final Node[] keyNodes = new Node[translationKeys.size()];
+        int i = 0;
+        for (String translationKey : translationKeys) {
+            keyNodes[i++] = keyDictionary.add(translationKey);
+        }
+        return keyNodes;
+    }
+
+    /**
+     * Get the nodes of the keys of an index.
+     *
+     * @param keyIndex
+     *            The {@link TranslationKeyIndex} whose key nodes are to be retrieved.
+     * @return The {@link Node nodes} of the keys of the given index.
+     */
+    private static Node[] toNodes(TranslationKeyIndex keyIndex) {
+        final Node[] keyNodes = new Node[keyIndex.size()];
+        for (int id = 0; id < keyNodes.length; id++) {
+            keyNodes[id] = keyIndex.getNode(id);
+        }
+        return keyNodes;
+    }
+
+    /**
+     * Determine whether a key segment names a package.
+     *
+     * @param segment
+     *            The segment to be evaluated.
+     * @return {@code true} if the given segment contains no upper case characters.
+     */
+    private static boolean isPackageSegment(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            final char c = segment.charAt(i);
+            if (Character.toLowerCase(c) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the names of the packages containing translation classes.
+     *
+     * @return A {@link Set} of the names of the packages containing translation classes; the default package is represented by an empty string.
+     */
+    public Set<String> getPackageNames() {
+        return Collections.unmodifiableSet(classesByPackage.keySet());
+    }
+
+    /**
+     * Get a translation class by name.
+     *
+     * @param className
+     *            The name, formatted such that it can be used with a {@link ClassLoader} to load the class, of the translation class to be retrieved.
+     * @return {@code null} if no translation keys belong to a class of the given name; otherwise, the {@link TranslationClass} of the given name.
+     */
+    public TranslationClass getTranslationClass(String className) {
+        return classesByName.get(className);
+    }
+
+    /**
+     * Get the translation class to which a translation key belongs.
+     *
+     * @param translationKey
+     *            The translation key whose class is to be retrieved.
+     * @return {@code null} if the given key is not in this index or is not qualified by a class; otherwise, the {@link TranslationClass} to which the given key belongs.
+     */
+    public TranslationClass getTranslationClassForKey(String translationKey) {
+        final Node keyNode = keyDictionary.getNode(translationKey);
+        if (keyNode == null) {
+            return null;
+        }
+        // The dictionary may be shared with translations, so the key's class may not actually contain it
+        final TranslationClass translationClass = classesByNode.get(keyNode.getParent());
+        return translationClass != null && translationClass.getKeyNames().contains(keyNode.getSegment()) ? translationClass : null;
+    }
+
+    /**
+     * Get all translation classes.
+     *
+     * @return A {@link Collection} of all of the {@link TranslationClass} objects in this index.
+     */
+    public Collection<TranslationClass> getTranslationClasses() {
+        return Collections.unmodifiableCollection(classesByNode.values());
+    }
+
+    /**
+     * Get the translation classes within a package.
+     *
+     * @param packageName
+     *            The name of the package whose classes are to be retrieved; an empty string for the default package.
+     * @return A {@link Collection} of the {@link TranslationClass} objects within the given package; empty if there are none.
+     */
+    public Collection<TranslationClass> getTranslationClasses(String packageName) {
+        final Collection<TranslationClass> packageClasses = classesByPackage.get(packageName);
+        return packageClasses == null ? Collections.<TranslationClass> emptyList() : packageClasses;
+    }
+
+    /**
+     * Resolve the package and class named by a prefix of the translation keys, resolving its own prefix first if that has not yet been done.
+     *
+     * @param node
+     *            The {@link Node} ending the prefix to be resolved.
+     * @param prefixes
+     *            A {@link Map} of the prefixes already resolved, to which the given prefix and any of its own prefixes are added.
+     * @return A {@link Prefix} describing the package and class named by the given prefix.
+     */
+    private static Prefix resolve(Node node, Map<Node, Prefix> prefixes) {
+        Prefix prefix = prefixes.get(node);
+        if (prefix != null) {
+            return prefix;
+        }
+
+        final String segment = node.getSegment();
+        final boolean packageSegment = isPackageSegment(segment);
+        if (node.getParent().isRoot()) {
+            prefix = packageSegment ? new Prefix(segment, null) : new Prefix("", segment);
+        } else {
+            final Prefix parent = resolve(node.getParent(), prefixes);
+            if (packageSegment) {
+                prefix = new Prefix(parent.packageName.isEmpty() ? segment : parent.packageName + "." + segment, parent.simpleClassName);
+            } else {
+                prefix = new Prefix(parent.packageName, parent.simpleClassName == null ? segment : parent.simpleClassName + "$" + segment);
+            }
+        }
+        prefixes.put(node, prefix);
+        return prefix;
+    }
+
+    /**
+     * The package and class named by a prefix of the translation keys.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private static class Prefix {
+        private final String packageName;
+        private final String simpleClassName;
+
+        /**
+         * Create a prefix.
+         *
+         * @param packageName
+         *            The name of the package named by the prefix; empty if none.
+         * @param simpleClassName
+         *            The name, without its package and with nested classes delimited by {@code $}, of the class named by the prefix; {@code null} if the prefix names only a package.
+         */
+        private Prefix(String packageName, String simpleClassName) {
+            this.packageName = packageName;
+            this.simpleClassName = simpleClassName;
+        }
+
+        /**
+         * Get the name of the class named by the prefix.
+         *
+         * @return The name of the class named by the prefix, formatted such that it can be used with a {@link ClassLoader} to load the class; if the prefix names only a package, the name of that
+         *         package.
+         */
+        private String getClassName() {
+            if (simpleClassName == null) {
+                return packageName;
+            }
+            return packageName.isEmpty() ? simpleClassName : packageName + "." + simpleClassName;
+        }
+    }
+}
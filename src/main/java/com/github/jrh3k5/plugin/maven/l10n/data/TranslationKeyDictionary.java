@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A dictionary of translation keys shared by an authoritative messages properties file and all of its translations. The keys are arranged in a trie of their dot-delimited segments, so that keys
+ * sharing a prefix (such as a package or class name) share the nodes for that prefix, and only the segments are kept: the full text of a key is rebuilt from the path to its node when it is needed.
+ * <p>
+ * This is safe for use by multiple threads.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class TranslationKeyDictionary {
+    private final Node root = new Node(null, "");
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Add a translation key to this dictionary if it is not already present.
+     *
+     * @param translationKey
+     *            The translation key to be added.
+     * @return The {@link Node} representing the last segment of the given key.
+     */
+    Node add(String translationKey) {
+        Node node = root;
+        int segmentStart = 0;
+        int periodPos;
+        while ((periodPos = translationKey.indexOf('.', segmentStart)) >= 0) {
+            node = node.getOrAddChild(translationKey.substring(segmentStart, periodPos));
+            segmentStart = periodPos + 1;
+        }
+        node = node.getOrAddChild(translationKey.substring(segmentStart));
+
+        if (node.markKey()) {
+            size.incrementAndGet();
+        }
+        return node;
+    }
+
+    /**
+     * Determine whether a translation key is in this dictionary.
+     *
+     * @param translationKey
+     *            The translation key to be found.
+     * @return {@code true} if the given key has been added to this dictionary.
+     */
+    public boolean contains(String translationKey) {
+        return getNode(translationKey) != null;
+    }
+
+    /**
+     * Get the trie node of a translation key.
+     *
+     * @param translationKey
+     *            The translation key whose node is to be retrieved.
+     * @return {@code null} if the given key is not in this dictionary; otherwise, the {@link Node} representing the last segment of the given key.
+     */
+    Node getNode(String translationKey) {
+        Node node = root;
+        int segmentStart = 0;
+        int periodPos;
+        while (node != null && (periodPos = translationKey.indexOf('.', segmentStart)) >= 0) {
+            node = node.getChild(translationKey.substring(segmentStart, periodPos));
+            segmentStart = periodPos + 1;
+        }
+        if (node != null) {
+            node = node.getChild(translationKey.substring(segmentStart));
+        }
+        return node != null && node.isKey() ? node : null;
+    }
+
+    /**
+     * Get the number of distinct translation keys in this dictionary.
+     *
+     * @return The number of distinct translation keys in this dictionary.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * A node in the trie of translation key segments.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    static class Node {
+        private final Node parent;
+        private final String segment;
+        private Map<String, Node> children;
+        private volatile boolean key;
+
+        /**
+         * Create a node.
+         *
+         * @param parent
+         *            The parent of this node; {@code null} for the root of the trie.
+         * @param segment
+         *            The key segment represented by this node.
+         */
+        private Node(Node parent, String segment) {
+            this.parent = parent;
+            this.segment = segment;
+        }
+
+        /**
+         * Get the parent of this node.
+         *
+         * @return {@code null} if this is the root of the trie; otherwise, the {@link Node} representing the preceding key segment.
+         */
+        Node getParent() {
+            return parent;
+        }
+
+        /**
+         * Get the key segment represented by this node.
+         *
+         * @return The key segment represented by this node.
+         */
+        String getSegment() {
+            return segment;
+        }
+
+        /**
+         * Determine whether this node is the root of the trie.
+         *
+         * @return {@code true} if this node is the root of the trie.
+         */
+        boolean isRoot() {
+            return parent == null;
+        }
+
+        /**
+         * Determine whether a translation key ends at this node.
+         *
+         * @return {@code true} if a translation key ends at this node.
+         */
+        boolean isKey() {
+            return key;
+        }
+
+        /**
+         * Get the dot-delimited path of segments from the root of the trie to this node.
+         *
+         * @return The path to this node; for a node at which a translation key ends, the translation key.
+         */
+        String getPath() {
+            if (parent == null) {
+                return "";
+            }
+
+            int length = segment.length();
+            for (Node ancestor = parent; !ancestor.isRoot(); ancestor = ancestor.parent) {
+                length += ancestor.segment.length() + 1;
+            }
+
+            final char[] path = new char[length];
+            int end = length;
+            for (Node node = this; !node.isRoot(); node = node.parent) {
+                end -= node.segment.length();
+                node.segment.getChars(0, node.segment.length(), path, end);
+                if (end > 0) {
+                    path[--end] = '.';
+                }
+            }
+            return new String(path);
+        }
+
+        /**
+         * Determine whether the path to this node is a given text, without building the path.
+         *
+         * @param text
+         *            The text to be compared.
+         * @return {@code true} if the {@link #getPath() path} to this node is the given text.
+         */
+        boolean pathEquals(String text) {
+            int end = text.length();
+            for (Node node = this; !node.isRoot(); node = node.parent) {
+                final int start = end - node.segment.length();
+                if (start < 0 || !text.regionMatches(start, node.segment, 0, node.segment.length())) {
+                    return false;
+                }
+
+                if (node.parent.isRoot()) {
+                    return start == 0;
+                } else if (start == 0 || text.charAt(start - 1) != '.') {
+                    return false;
+                }
+                end = start - 1;
+            }
+            return end == 0;
+        }
+
+        /**
+         * Get the child of this node for a segment.
+         *
+         * @param childSegment
+         *            The segment represented by the child.
+         * @return {@code null} if this node has no child for the given segment; otherwise, the {@link Node} for the given segment.
+         */
+        private synchronized Node getChild(String childSegment) {
+            return children == null ? null : children.get(childSegment);
+        }
+
+        /**
+         * Get the child of this node for a segment, adding it if it does not exist.
+         *
+         * @param childSegment
+         *            The segment represented by the child.
+         * @return The {@link Node} for the given segment.
+         */
+        private synchronized Node getOrAddChild(String childSegment) {
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+
+            Node child = children.get(childSegment);
+            if (child == null) {
+                child = new Node(this, childSegment);
+                children.put(childSegment, child);
+            }
+            return child;
+        }
+
+        /**
+         * Mark a translation key as ending at this node.
+         *
+         * @return {@code true} if no translation key had ended at this node before.
+         */
+        private synchronized boolean markKey() {
+            if (key) {
+                return false;
+            }
+            key = true;
+            return true;
+        }
+    }
+}
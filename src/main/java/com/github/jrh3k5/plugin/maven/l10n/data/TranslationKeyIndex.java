@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.TranslationKeyDictionary.Node;
+
+/**
+ * An index assigning a dense integer identifier to each translation key of an authoritative messages properties file. Identifiers are assigned in the natural order of the keys, so iterating a set
+ * of identifiers in ascending order visits the corresponding keys in sorted order. This allows the keys of a translation to be represented as a {@link BitSet} of identifiers, against which missing
+ * keys, completion, and comparisons between translations are computed with bitwise operations.
+ * <p>
+ * Each identifier refers to the node of its key in a {@link TranslationKeyDictionary}, and keys are looked up through an open-addressed table of identifiers rather than a map of boxed values.
+ * The text of a key is rebuilt from its node only the first time the key is retrieved, and kept thereafter, so an index whose keys are never listed holds no copies of them, while one whose keys
+ * are listed again and again - as by the several passes of a report - rebuilds each of them just once.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class TranslationKeyIndex {
+    private final Node[] nodes;
+    private final int[] hashes;
+    private final int[] table;
+    private final String[] keys;
+
+    /**
+     * Create an index whose keys are held in a dictionary of their own.
+     *
+     * @param translationKeys
+     *            A {@link Collection} of the translation keys to be indexed.
+     */
+    public TranslationKeyIndex(Collection<String> translationKeys) {
+        this(translationKeys, new TranslationKeyDictionary());
+    }
+
+    /**
+     * Create an index.
+     *
+     * @param translationKeys
+     *            A {@link Collection} of the translation keys to be indexed.
+     * @param keyDictionary
+     *            The {@link TranslationKeyDictionary} to which the given keys are to be added, and from which they are rebuilt when retrieved.
+     * @since 1.5
+     */
+    public TranslationKeyIndex(Collection<String> translationKeys, TranslationKeyDictionary keyDictionary) {
+        final String[] sortedKeys = translationKeys.toArray(new String[translationKeys.size()]);
+        Arrays.sort(sortedKeys);
+        this.nodes = new Node[sortedKeys.length];
+        this.hashes = new int[sortedKeys.length];
+        this.keys = new String[sortedKeys.length];
+        // A power of two at least twice the number of keys keeps the probe sequences short
+        this.table = new int[Math.max(16, Integer.highestOneBit(Math.max(1, sortedKeys.length)) << 2)];
+        for (int i = 0; i < sortedKeys.length; i++) {
+            nodes[i] = keyDictionary.add(sortedKeys[i]);
+            hashes[i] = sortedKeys[i].hashCode();
+            int slot = hashes[i] & (table.length - 1);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            // Slots hold the identifier plus one, so that zero marks an empty slot
+            table[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Get the identifier of a translation key.
+     *
+     * @param translationKey
+     *            The translation key whose identifier is to be retrieved.
+     * @return {@code -1} if the given key is not in this index; otherwise, the identifier of the given key.
+     */
+    public int getId(String translationKey) {
+        final int hash = translationKey.hashCode();
+        int slot = hash & (table.length - 1);
+        while (table[slot] != 0) {
+            final int id = table[slot] - 1;
+            if (hashes[id] == hash && nodes[id].pathEquals(translationKey)) {
+                return id;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Get the translation key for an identifier.
+     *
+     * @param id
+     *            The identifier whose translation key is to be retrieved.
+     * @return The translation key with the given identifier.
+     * @throws IndexOutOfBoundsException
+     *             If the given identifier is not in this index.
+     */
+    public String getKey(int id) {
+        // Strings are immutable, so a key rebuilt by two threads at once is merely rebuilt twice
+        String key = keys[id];
+        if (key == null) {
+            key = nodes[id].getPath();
+            keys[id] = key;
+        }
+        return key;
+    }
+
+    /**
+     * Get the trie node of the translation key for an identifier.
+     *
+     * @param id
+     *            The identifier whose translation key node is to be retrieved.
+     * @return The {@link Node} of the translation key with the given identifier.
+     */
+    Node getNode(int id) {
+        return nodes[id];
+    }
+
+    /**
+     * Get a view of the translation keys with the given identifiers. The view is backed by the given identifiers; the keys are never copied or sorted, since iterating the identifiers in
+     * ascending order already visits the keys in sorted order.
+     *
+     * @param ids
+     *            A {@link BitSet} of the identifiers, within this index, of the translation keys to be viewed; this must not be modified afterward.
+     * @return A {@link SortedView} of the translation keys with the given identifiers.
+     */
+    public SortedView<String> getKeys(BitSet ids) {
+        return new IdentifiedKeyView(ids);
+    }
+
+    /**
+     * Get a set of the translation keys with the given identifiers together with keys that are not in this index. Like {@link #getKeys(BitSet)}, the set is backed by the given identifiers, so
+     * the keys in this index are only rebuilt the first time the set is iterated.
+     *
+     * @param ids
+     *            A {@link BitSet} of the identifiers, within this index, of the translation keys in the set; this must not be modified afterward.
+     * @param extraKeys
+     *            A {@link Set} of the keys in the set that are not in this index; this must not be modified afterward.
+     * @return A {@link Set} of the given keys, iterating those in this index in sorted order before the others.
+     */
+    Set<String> getKeySet(BitSet ids, Set<String> extraKeys) {
+        return new IdentifiedKeySet(ids, extraKeys);
+    }
+
+    /**
+     * Get the number of translation keys in this index.
+     *
+     * @return The number of translation keys in this index.
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * A view of the translation keys identified by a set of identifiers.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private class IdentifiedKeyView extends SortedView<String> {
+        private final BitSet ids;
+        private final int size;
+
+        /**
+         * Create a view.
+         *
+         * @param ids
+         *            A {@link BitSet} of the identifiers of the translation keys to be viewed.
+         */
+        private IdentifiedKeyView(BitSet ids) {
+            this.ids = ids;
+            this.size = ids.cardinality();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String)) {
+                return false;
+            }
+            final int id = getId((String) o);
+            return id >= 0 && ids.get(id);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int next = ids.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public String next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    final String key = getKey(next);
+                    next = ids.nextSetBit(next + 1);
+                    return key;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        protected List<String> range(int fromIndex, int toIndex) {
+            int id = ids.nextSetBit(0);
+            for (int skipped = 0; skipped < fromIndex; skipped++) {
+                id = ids.nextSetBit(id + 1);
+            }
+
+            final List<String> keys = new ArrayList<>(toIndex - fromIndex);
+            for (int i = fromIndex; i < toIndex; i++) {
+                keys.add(getKey(id));
+                id = ids.nextSetBit(id + 1);
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * A set of the translation keys identified by a set of identifiers, together with keys outside of the index.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private class IdentifiedKeySet extends AbstractSet<String> {
+        private final IdentifiedKeyView identifiedKeys;
+        private final Set<String> extraKeys;
+
+        /**
+         * Create a set.
+         *
+         * @param ids
+         *            A {@link BitSet} of the identifiers of the translation keys in the set.
+         * @param extraKeys
+         *            A {@link Set} of the keys in the set that are not in the index.
+         */
+        private IdentifiedKeySet(BitSet ids, Set<String> extraKeys) {
+            this.identifiedKeys = new IdentifiedKeyView(ids);
+            this.extraKeys = extraKeys;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String)) {
+                return false;
+            }
+            return getId((String) o) >= 0 ? identifiedKeys.contains(o) : extraKeys.contains(o);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private final Iterator<String> identified = identifiedKeys.iterator();
+                private final Iterator<String> extra = extraKeys.iterator();
+
+                @Override
+                public boolean hasNext() {
+                    return identified.hasNext() || extra.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return identified.hasNext() ? identified.next() : extra.next();
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return identifiedKeys.size() + extraKeys.size();
+        }
+    }
+}
@@ -0,0 +1,507 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.mojo.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.reporting.AbstractMavenReport;
+import org.apache.maven.reporting.AbstractMavenReportRenderer;
+import org.apache.maven.reporting.MavenReportException;
+import org.codehaus.plexus.util.FileUtils;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.AbstractMessagesPropertiesParser;
+import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.LocaleFallbackCoverage;
+import com.github.jrh3k5.plugin.maven.l10n.data.MessagesPropertiesCache;
+import com.github.jrh3k5.plugin.maven.l10n.data.MissingTranslationKey;
+import com.github.jrh3k5.plugin.maven.l10n.data.MissingTranslationKeyClass;
+import com.github.jrh3k5.plugin.maven.l10n.data.TranslatedMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.util.ClassFileIndex;
+import com.github.jrh3k5.plugin.maven.l10n.util.ClassLoaderCache;
+import com.github.jrh3k5.plugin.maven.l10n.util.ClassLoaderUtils;
+import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils;
+import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils.ClassinessAnalysisResults;
+
+/**
+ * A goal, run once at the root of a multi-module build, used to verify the translation keys of the messages properties files of every module in the build. The classpaths of all of the modules are
+ * combined into a single classpath, so a dependency shared by many modules is indexed only once, and translation keys defined in the authoritative messages properties files of more than one module
+ * are reported.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ * @see TranslationKeyVerifier
+ */
+
+@Mojo(name = "translation-key-verification-aggregate", aggregator = true, inheritByDefault = false, requiresDependencyResolution = ResolutionScope.RUNTIME)
+public class AggregateTranslationKeyVerifier extends AbstractMavenReport {
+    private static final String OUTPUT_NAME = "translation-key-verification-aggregate";
+
+    /**
+     * The location, relative to the base directory of each module, of the file that is to be read and verified. This is considered the "authoritative" messages file of each module, of which all
+     * other messages of that module are to be considered translations. Modules without this file are skipped.
+     */
+    @Parameter(required = true, defaultValue = "src/main/resources/messages.properties")
+    private String messagesFile;
+
+    /**
+     * The pattern to be used to locate translations of the authoritative messages properties of each module (applied to the module's base directory).
+     */
+    @Parameter(required = true, defaultValue = "src/main/resources/messages*.properties")
+    private String translatedMessagesPattern;
+
+    /**
+     * The projects in the current build.
+     */
+    @Parameter(required = true, readonly = true, defaultValue = "${reactorProjects}")
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * The number of threads to be used to analyze the classes of the build. If greater than 1, the translation classes of each module are verified concurrently.
+     */
+    @Parameter(required = true, defaultValue = "1")
+    private int analysisThreads;
+
+
+    /**
+     * The encoding of the messages files. Defaults to ISO-8859-1, which is the encoding assumed by {@link java.util.Properties}.
+     */
+    @Parameter(required = true, defaultValue = "ISO-8859-1")
+    private String messagesEncoding;
+
+    /**
+     * The {@link Charset} of the configured {@link #messagesEncoding encoding}, resolved once when the goal is run.
+     */
+    private Charset encoding;
+
+    /**
+     * The directory in which parsed messages files are cached between builds.
+     */
+    @Parameter(required = true, defaultValue = "${project.build.directory}/l10n-cache")
+    private File parseCacheDirectory;
+
+    /**
+     * Configure whether or not parsed messages files should be cached in the {@link #parseCacheDirectory parse cache directory}.
+     */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean useParseCache;
+
+    /**
+     * The number of threads to be used to parse the translations of each authoritative messages file. If greater than 1, the translations are parsed concurrently.
+     */
+    @Parameter(required = true, defaultValue = "1")
+    private int parserThreads;
+
+    /**
+     * Configure whether or not translation classes should be loaded through a classloader to verify that their translation keys exist, rather than having their class files read directly.
+     */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean loadTranslationClasses;
+
+    /**
+     * Configure whether or not a key missing from a translation should be counted as missing only if no translation it falls back to, such as {@code messages_fr.properties} for
+     * {@code messages_fr_CA.properties}, translates it.
+     */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean localeFallback;
+
+    /**
+     * The current build session. Only its identity is used, to scope the classloaders shared between goals to the build in which they were created.
+     */
+    @Parameter(required = true, readonly = true, defaultValue = "${session}")
+    private Object session;
+
+    @Override
+    public String getOutputName() {
+        return OUTPUT_NAME;
+    }
+
+    @Override
+    public String getName(Locale locale) {
+        return "Aggregate Translation Key Verification";
+    }
+
+    @Override
+    public String getDescription(Locale locale) {
+        return "A report that alerts to missing or invalid translation keys across all modules of the build";
+    }
+
+    @Override
+    public boolean canGenerateReport() {
+        return getProject().isExecutionRoot();
+    }
+
+    @Override
+    protected void executeReport(Locale locale) throws MavenReportException {
+        encoding = resolveEncoding();
+        final List<MavenProject> modules = new ArrayList<>();
+        // Modules share most of their dependencies, so each jar is listed, and so indexed, only once
+        final Set<URL> classpathUrls = new LinkedHashSet<>();
+        for (MavenProject reactorProject : reactorProjects) {
+            if (!new File(reactorProject.getBasedir(), messagesFile).isFile()) {
+                continue;
+            }
+
+            modules.add(reactorProject);
+            try {
+                classpathUrls.addAll(ClassLoaderUtils.getClasspathUrls(reactorProject));
+            } catch (IOException e) {
+                throw new MavenReportException(String.format("Failed to resolve the classpath of module: %s", reactorProject.getArtifactId()), e);
+            }
+        }
+
+        final List<ModuleResults> moduleResults = new ArrayList<>(modules.size());
+        final Map<String, Set<String>> keyModules = new TreeMap<>();
+        try (final ClassLoaderCache.Lease classLoaderLease = ClassLoaderCache.getInstance().acquire(session, new ArrayList<>(classpathUrls))) {
+            final TranslationKeyAnalysisUtils analysisUtils = TranslationKeyAnalysisUtils.getInstance(getLog());
+            final ClassFileIndex classFileIndex = classLoaderLease.getClassFileIndex();
+            for (MavenProject module : modules) {
+                final ModuleResults results = verify(module, analysisUtils, classLoaderLease.getClassLoader(), classFileIndex);
+                moduleResults.add(results);
+
+                for (String translationKey : results.authoritativeProperties.getTranslationKeys()) {
+                    Set<String> definingModules = keyModules.get(translationKey);
+                    if (definingModules == null) {
+                        definingModules = new LinkedHashSet<>(2);
+                        keyModules.put(translationKey, definingModules);
+                    }
+                    definingModules.add(module.getArtifactId());
+                }
+            }
+        }
+
+        final Map<String, Set<String>> sharedKeys = new TreeMap<>();
+        for (Entry<String, Set<String>> keyModule : keyModules.entrySet()) {
+            if (keyModule.getValue().size() > 1) {
+                sharedKeys.put(keyModule.getKey(), keyModule.getValue());
+            }
+        }
+
+        new AggregateReportRenderer(this, locale, getSink(), moduleResults, sharedKeys).render();
+    }
+
+    /**
+     * Verify the translation keys of a single module.
+     *
+     * @param module
+     *            The {@link MavenProject} of the module to be verified.
+     * @param analysisUtils
+     *            The {@link TranslationKeyAnalysisUtils} to be used to analyze the module's translation classes.
+     * @param classLoader
+     *            The {@link ClassLoader} of the combined classpath of the build.
+     * @param classFileIndex
+     *            The {@link ClassFileIndex} of the combined classpath of the build.
+     * @return A {@link ModuleResults} describing the verification of the given module.
+     * @throws MavenReportException
+     *             If any errors occur during the verification.
+     */
+    private ModuleResults verify(MavenProject module, TranslationKeyAnalysisUtils analysisUtils, ClassLoader classLoader, ClassFileIndex classFileIndex) throws MavenReportException {
+        final File moduleMessagesFile = new File(module.getBasedir(), messagesFile);
+        AuthoritativeMessagesProperties authoritativeProperties;
+        try {
+            final AuthoritativeMessagesProperties.Parser parser = new AuthoritativeMessagesProperties.Parser();
+            configure(parser);
+            authoritativeProperties = parser.parse(moduleMessagesFile);
+        } catch (IOException e) {
+            throw new MavenReportException(String.format("Failed to parse authoritative messages file: %s", moduleMessagesFile), e);
+        }
+
+        Collection<TranslatedMessagesProperties> translatedProperties;
+        try {
+            final List<File> translationFiles = FileUtils.getFiles(module.getBasedir(), translatedMessagesPattern, null);
+            translationFiles.remove(moduleMessagesFile);
+            final TranslatedMessagesProperties.Parser parser = new TranslatedMessagesProperties.Parser();
+            configure(parser);
+            parser.setThreadCount(parserThreads);
+            translatedProperties = parser.parse(authoritativeProperties, translationFiles);
+        } catch (IOException e) {
+            throw new MavenReportException(String.format("Failed to parse translated messages files of module %s for pattern: %s", module.getArtifactId(), translatedMessagesPattern), e);
+        }
+
+        ClassinessAnalysisResults analysisResults;
+        try {
+            if (loadTranslationClasses) {
+                analysisResults = analysisUtils.analyzeClassiness(classLoader, classFileIndex, authoritativeProperties, analysisThreads);
+            } else {
+                analysisResults = analysisUtils.analyzeClassiness(classFileIndex, authoritativeProperties, analysisThreads);
+            }
+        } catch (IOException e) {
+            throw new MavenReportException(String.format("Failed to verify %s", moduleMessagesFile), e);
+        }
+
+        final List<TranslatedMessagesProperties> sortedTranslations = new ArrayList<>(translatedProperties);
+        Collections.sort(sortedTranslations);
+        return new ModuleResults(module.getArtifactId(), authoritativeProperties, analysisResults, sortedTranslations, localeFallback ? new LocaleFallbackCoverage(sortedTranslations) : null);
+    }
+
+    /**
+     * Apply the configured parsing options to a parser.
+     *
+     * @param parser
+     *            The {@link AbstractMessagesPropertiesParser} to be configured.
+     */
+    private void configure(AbstractMessagesPropertiesParser parser) {
+        parser.setEncoding(encoding);
+        if (useParseCache) {
+            parser.setCache(new MessagesPropertiesCache(parseCacheDirectory));
+        }
+    }
+
+    /**
+     * Resolve the configured {@link #messagesEncoding encoding} of the messages files.
+     * 
+     * @return The {@link Charset} of the configured encoding.
+     * @throws MavenReportException
+     *             If the configured encoding is not supported or cannot be read by the scanning of messages files.
+     */
+    private Charset resolveEncoding() throws MavenReportException {
+        try {
+            return AbstractMessagesPropertiesParser.forEncodingName(messagesEncoding);
+        } catch (IllegalArgumentException e) {
+            throw new MavenReportException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The results of the verification of a single module.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    static class ModuleResults {
+        private final String moduleName;
+        private final AuthoritativeMessagesProperties authoritativeProperties;
+        private final ClassinessAnalysisResults analysisResults;
+        private final List<TranslatedMessagesProperties> translatedProperties;
+        private final LocaleFallbackCoverage fallbackCoverage;
+
+        /**
+         * Create the results of a module.
+         *
+         * @param moduleName
+         *            The name of the module.
+         * @param authoritativeProperties
+         *            The {@link AuthoritativeMessagesProperties} of the module.
+         * @param analysisResults
+         *            The {@link ClassinessAnalysisResults} of the module's authoritative messages properties.
+         * @param translatedProperties
+         *            A {@link List} of the {@link TranslatedMessagesProperties} of the module, in sorted order.
+         * @param fallbackCoverage
+         *            The {@link LocaleFallbackCoverage} of the translations of the module; {@code null} if each translation is to be compared to the authoritative messages properties alone.
+         */
+        ModuleResults(String moduleName, AuthoritativeMessagesProperties authoritativeProperties, ClassinessAnalysisResults analysisResults, List<TranslatedMessagesProperties> translatedProperties,
+                LocaleFallbackCoverage fallbackCoverage) {
+            this.moduleName = moduleName;
+            this.authoritativeProperties = authoritativeProperties;
+            this.analysisResults = analysisResults;
+            this.translatedProperties = translatedProperties;
+            this.fallbackCoverage = fallbackCoverage;
+        }
+    }
+
+    /**
+     * A class used for rendering a report summarizing the issues with translation keys and classes across the modules of a build.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    static class AggregateReportRenderer extends AbstractMavenReportRenderer {
+        private final AggregateTranslationKeyVerifier mojo;
+        private final Locale locale;
+        private final List<ModuleResults> moduleResults;
+        private final Map<String, Set<String>> sharedKeys;
+
+        /**
+         * Create a renderer.
+         *
+         * @param mojo
+         *            The mojo using the renderer.
+         * @param locale
+         *            The {@link Locale} to be used for localization of the rendered report.
+         * @param sink
+         *            The {@link Sink} to be used for generation of the report.
+         * @param moduleResults
+         *            A {@link List} of the {@link ModuleResults} of each verified module.
+         * @param sharedKeys
+         *            A {@link Map} of the translation keys defined by more than one module to the names of the modules that define them.
+         */
+        AggregateReportRenderer(AggregateTranslationKeyVerifier mojo, Locale locale, Sink sink, List<ModuleResults> moduleResults, Map<String, Set<String>> sharedKeys) {
+            super(sink);
+            this.mojo = mojo;
+            this.locale = locale;
+            this.moduleResults = moduleResults;
+            this.sharedKeys = sharedKeys;
+        }
+
+        @Override
+        public String getTitle() {
+            return mojo.getName(locale);
+        }
+
+        @Override
+        protected void renderBody() {
+            sink.sectionTitle1();
+            sink.text(mojo.getName(locale));
+            sink.sectionTitle1_();
+
+            sink.paragraph();
+            sink.text("This report describes translation keys listed in the messages properties files of each module of the build that are in an invalid state.");
+            sink.paragraph_();
+
+            sink.sectionTitle2();
+            sink.text("Module Summary");
+            sink.sectionTitle2_();
+
+            sink.paragraph();
+            if (moduleResults.isEmpty()) {
+                sink.text("No modules with authoritative messages properties files were found.");
+            } else {
+                sink.table();
+                super.tableHeader(new String[] { "Module", "Translation Key Count", "Missing Translation Classes", "Missing Translation Keys", "Translations" });
+                for (ModuleResults results : moduleResults) {
+                    super.tableRow(new String[] { results.moduleName, Integer.toString(results.authoritativeProperties.getTranslationKeys().size()),
+                            Integer.toString(results.analysisResults.getMissingTranslationKeyClasses().size()), Integer.toString(results.analysisResults.getMissingTranslationKeys().size()),
+                            Integer.toString(results.translatedProperties.size()) });
+                }
+                sink.table_();
+            }
+            sink.paragraph_();
+
+            sink.sectionTitle2();
+            sink.text("Translation Keys Defined in Several Modules");
+            sink.sectionTitle2_();
+
+            sink.paragraph();
+            if (sharedKeys.isEmpty()) {
+                sink.text("No translation key is defined by more than one module.");
+            } else {
+                sink.text("The following translation keys are defined in the authoritative messages properties files of more than one module.");
+
+                sink.table();
+                super.tableHeader(new String[] { "Translation Key", "Modules" });
+                for (Entry<String, Set<String>> sharedKey : sharedKeys.entrySet()) {
+                    super.tableRow(new String[] { sharedKey.getKey(), StringUtils.join(sharedKey.getValue(), ", ") });
+                }
+                sink.table_();
+            }
+            sink.paragraph_();
+
+            for (ModuleResults results : moduleResults) {
+                renderModule(results);
+            }
+        }
+
+        /**
+         * Render the details of a single module.
+         *
+         * @param results
+         *            The {@link ModuleResults} of the module to be rendered.
+         */
+        private void renderModule(ModuleResults results) {
+            sink.sectionTitle2();
+            sink.text(results.moduleName);
+            sink.sectionTitle2_();
+
+            sink.sectionTitle3();
+            sink.text("Duplicate Translation Keys");
+            sink.sectionTitle3_();
+
+            sink.paragraph();
+            if (results.authoritativeProperties.getDuplicateTranslationKeys().isEmpty()) {
+                sink.text("No duplicate translation keys were found.");
+            } else {
+                sink.table();
+                super.tableHeader(new String[] { "Translation Key" });
+                for (String duplicate : results.authoritativeProperties.getDuplicateTranslationKeys()) {
+                    super.tableRow(new String[] { duplicate });
+                }
+                sink.table_();
+            }
+            sink.paragraph_();
+
+            sink.sectionTitle3();
+            sink.text("Missing Translation Classes");
+            sink.sectionTitle3_();
+
+            sink.paragraph();
+            if (results.analysisResults.getMissingTranslationKeyClasses().isEmpty()) {
+                sink.text("No missing translation key classes were found.");
+            } else {
+                sink.table();
+                super.tableHeader(new String[] { "Class Name" });
+                for (MissingTranslationKeyClass keyClass : results.analysisResults.getMissingTranslationKeyClasses()) {
+                    super.tableRow(new String[] { keyClass.getClassName() });
+                }
+                sink.table_();
+            }
+            sink.paragraph_();
+
+            sink.sectionTitle3();
+            sink.text("Missing Translation Keys");
+            sink.sectionTitle3_();
+
+            sink.paragraph();
+            if (results.analysisResults.getMissingTranslationKeys().isEmpty()) {
+                sink.text("No missing translation keys were found.");
+            } else {
+                sink.table();
+                super.tableHeader(new String[] { "Class Name", "Key Name" });
+                for (MissingTranslationKey key : results.analysisResults.getMissingTranslationKeys()) {
+                    super.tableRow(new String[] { key.getClassName(), key.getKeyName() });
+                }
+                sink.table_();
+            }
+            sink.paragraph_();
+
+            if (!results.translatedProperties.isEmpty()) {
+                sink.sectionTitle3();
+                sink.text("Translations");
+                sink.sectionTitle3_();
+
+                sink.table();
+                super.tableHeader(new String[] { "Filename", "Missing Translation Keys", "Extra Translation Keys", "Translation Completion Percentage" });
+                final LocaleFallbackCoverage fallbackCoverage = results.fallbackCoverage;
+                for (TranslatedMessagesProperties translatedProperty : results.translatedProperties) {
+                    final int missingKeyCount = fallbackCoverage == null ? translatedProperty.getMissingTranslationKeyCount() : fallbackCoverage.getMissingTranslationKeyCount(translatedProperty);
+                    final double completionPercentage = fallbackCoverage == null ? translatedProperty.getCompletionPercentage() : fallbackCoverage.getCompletionPercentage(translatedProperty);
+                    super.tableRow(new String[] { translatedProperty.getFile().getName(), Integer.toString(missingKeyCount), Integer.toString(translatedProperty.getExtraTranslationKeys().size()),
+                            String.format("%.2f", completionPercentage) + "%" });
+                }
+                sink.table_();
+            }
+        }
+    }
+}
@@ -19,15 +19,24 @@ package com.github.jrh3k5.plugin.maven.l10n.mojo.report;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkFactory;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -37,11 +46,21 @@ import org.apache.maven.reporting.AbstractMavenReportRenderer;
 import org.apache.maven.reporting.MavenReportException;
 import org.codehaus.plexus.util.FileUtils;
 
+import com.github.jrh3k5.plugin.maven.l10n.data.AbstractMessagesPropertiesParser;
 import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.LocaleFallbackCoverage;
+import com.github.jrh3k5.plugin.maven.l10n.data.MessageFormatSignatures;
+import com.github.jrh3k5.plugin.maven.l10n.data.MessagesPropertiesCache;
 import com.github.jrh3k5.plugin.maven.l10n.data.MissingTranslationKey;
 import com.github.jrh3k5.plugin.maven.l10n.data.MissingTranslationKeyClass;
+import com.github.jrh3k5.plugin.maven.l10n.data.SortedView;
 import com.github.jrh3k5.plugin.maven.l10n.data.TranslatedMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.util.ClassFileIndex;
+import com.github.jrh3k5.plugin.maven.l10n.util.ClassLoaderCache;
 import com.github.jrh3k5.plugin.maven.l10n.util.ClassLoaderUtils;
+import com.github.jrh3k5.plugin.maven.l10n.util.FindingExporter;
+import com.github.jrh3k5.plugin.maven.l10n.util.PhaseMetrics;
+import com.github.jrh3k5.plugin.maven.l10n.util.SubtypeIndex;
 import com.github.jrh3k5.plugin.maven.l10n.util.TranslationClassUtils;
 import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils;
 import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils.ClassinessAnalysisResults;
@@ -71,6 +90,29 @@ import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils.Clas
 public class TranslationKeyVerifier extends AbstractMavenReport {
     private static final String OUTPUT_NAME = "translation-key-verification";
 
+    private static final RowFormatter<String> KEY_ROWS = new RowFormatter<String>() {
+        @Override
+        public String[] format(String key) {
+            return new String[] { key };
+        }
+    };
+
+    private static final String[] PLACEHOLDER_HEADER = new String[] { "Translation Key", "Authoritative Placeholders", "Translated Placeholders" };
+
+    private static final RowFormatter<MissingTranslationKeyClass> CLASS_ROWS = new RowFormatter<MissingTranslationKeyClass>() {
+        @Override
+        public String[] format(MissingTranslationKeyClass keyClass) {
+            return new String[] { keyClass.getClassName() };
+        }
+    };
+
+    private static final RowFormatter<MissingTranslationKey> CLASS_KEY_ROWS = new RowFormatter<MissingTranslationKey>() {
+        @Override
+        public String[] format(MissingTranslationKey key) {
+            return new String[] { key.getClassName(), key.getKeyName() };
+        }
+    };
+
     /**
      * The location of the file that is to be read and verified. This is considered the "authoritative" messages file, of which all other messages are to be considered translations.
      */
@@ -83,6 +125,32 @@ public class TranslationKeyVerifier extends AbstractMavenReport {
     @Parameter(required = true, defaultValue = "src/main/resources/messages*.properties")
     private String translatedMessagesPattern;
 
+    /**
+     * The base names of the authoritative messages properties files to be verified, such as {@code messages} and {@code errors}, each of which is read from the {@link #bundleDirectory bundle
+     * directory} along with its translations, such as {@code messages_fr.properties}. If any are given, they are verified in place of the {@link #messagesFile messages file}, against a single
+     * classloader over the project's classpath, and each is given its own section of the report.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = false)
+    private List<String> bundles = Collections.emptyList();
+
+    /**
+     * The directory from which the messages properties files of the configured {@link #bundles}, and their translations, are read.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "${project.basedir}/src/main/resources")
+    private File bundleDirectory;
+
+    /**
+     * The number of threads to be used to verify the configured {@link #bundles}. If greater than 1, the bundles are verified concurrently.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "1")
+    private int bundleThreads;
+
     /**
      * The plugin descriptor.
      */
@@ -97,6 +165,172 @@ public class TranslationKeyVerifier extends AbstractMavenReport {
     @Parameter(required = false)
     private List<String> keyClasses = Collections.emptyList();
 
+    /**
+     * The packages, including their subpackages, that are searched for implementations and extensions of the configured {@link #keyClasses key classes}. If empty, which is the default, all
+     * packages are searched.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = false)
+    private List<String> keyClassPackages = Collections.emptyList();
+
+    /**
+     * Configure whether or not the project's dependencies, rather than only its output directory, are searched for implementations and extensions of the configured {@link #keyClasses key
+     * classes}.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean scanDependenciesForKeyClasses;
+
+    /**
+     * The number of threads to be used to analyze the project's classes. If greater than 1, translation classes are verified concurrently, as are the directories and archives of the classpath
+     * searched for implementations of the {@link #keyClasses key classes}.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "1")
+    private int analysisThreads;
+
+
+    /**
+     * The encoding of the messages files. Defaults to ISO-8859-1, which is the encoding assumed by {@link java.util.Properties}.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "ISO-8859-1")
+    private String messagesEncoding;
+
+    /**
+     * The {@link Charset} of the configured {@link #messagesEncoding encoding}, resolved once when the goal is run.
+     */
+    private Charset encoding;
+
+    /**
+     * The directory in which parsed messages files are cached between builds. Messages files that have not changed since they were cached are loaded from this cache rather than parsed again.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "${project.build.directory}/l10n-cache")
+    private File parseCacheDirectory;
+
+    /**
+     * Configure whether or not parsed messages files should be cached in the {@link #parseCacheDirectory parse cache directory}.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean useParseCache;
+
+    /**
+     * The number of threads to be used to parse the translations of the authoritative messages file. If greater than 1, the translations are parsed concurrently.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "1")
+    private int parserThreads;
+
+    /**
+     * Configure whether or not the placeholders of each translation - the indices and format types of its {@link java.text.MessageFormat} arguments - should be compared to those of the
+     * authoritative message, reporting those that do not match. The placeholders are read during the same pass over each file as its keys.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean checkPlaceholders;
+
+    /**
+     * Configure whether or not translations should be checked for values that are the same as those of the authoritative messages - copied, that is, but never translated. Only a 64-bit hash
+     * of each authoritative value is kept for the comparison, rather than the value itself.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean checkUntranslated;
+
+    /**
+     * Configure whether or not the coverage of each translation should follow the fallback chain of {@link java.util.ResourceBundle}: a key missing from {@code messages_fr_CA.properties} is not
+     * reported as missing if {@code messages_fr.properties} translates it. The keys resolved for each locale are computed once and shared by the translations of its more specific locales. If
+     * disabled, each translation is compared to the authoritative messages properties alone.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean localeFallback;
+
+    /**
+     * Configure whether or not translation classes should be loaded through a classloader to verify that their translation keys exist, and implementations of the {@link #keyClasses key
+     * classes} loaded to find their translation keys. By default, class files are read directly, which never loads or initializes the classes; a static field of an implementation is then a
+     * translation key if it is an enum constant or its declared type is one of the key classes or their implementations.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean loadTranslationClasses;
+
+    /**
+     * The machine-readable formats in which the findings of the report are also to be exported: {@code jsonl} for JSON Lines, {@code csv}, or both. If empty, which is the default, no exports
+     * are written.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = false)
+    private List<String> exportFormats = Collections.emptyList();
+
+    /**
+     * The directory in which the {@link #exportFormats exports} of the findings of the report are written.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "${project.build.directory}/l10n-reports")
+    private File exportDirectory;
+
+    /**
+     * The maximum number of rows of each table listed on the report page. Tables with more rows end with a count of the rows not listed and, when the report is generated as part of a site,
+     * links to separate pages listing the table in full.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "100")
+    private int maxReportRows;
+
+    /**
+     * The number of rows on each of the separate pages listing a table in full.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "1000")
+    private int reportPageSize;
+
+    /**
+     * The current build session. Only its identity is used, to scope the classloaders shared between goals to the build in which they were created.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, readonly = true, defaultValue = "${session}")
+    private Object session;
+
+    /**
+     * Configure whether or not a summary of the time taken, memory allocated, and work done by each phase of the report should be logged at the INFO level, rather than the DEBUG level.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean logMetrics;
+
+    /**
+     * The file to which the time taken, memory allocated, and work done by each phase of the report are written as JSON. If not set, which is the default, no such file is written.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = false)
+    private File metricsFile;
+
+    /**
+     * The argument signatures compiled while parsing, shared by every parser so that a value repeated across files is compiled once.
+     */
+    private final MessageFormatSignatures placeholderSignatures = new MessageFormatSignatures();
+
     @Override
     public String getOutputName() {
         return OUTPUT_NAME;
@@ -114,61 +348,592 @@ public class TranslationKeyVerifier extends AbstractMavenReport {
 
     @Override
     protected void executeReport(Locale locale) throws MavenReportException {
-        ClassLoader classLoader;
-        try {
-            classLoader = ClassLoaderUtils.getClassLoader(getProject());
+        encoding = resolveEncoding();
+        if (maxReportRows < 1 || reportPageSize < 1) {
+            throw new MavenReportException(String.format("The maximum report rows (%d) and report page size (%d) must both be positive.", maxReportRows, reportPageSize));
+        }
+
+        final PhaseMetrics metrics = new PhaseMetrics("translation-key-verification");
+        List<BundleResults> bundleResults;
+        Collection<String> translationClassKeys;
+        try (final ClassLoaderCache.Lease classLoaderLease = acquireClassLoader(metrics)) {
+            bundleResults = verifyBundles(classLoaderLease, metrics);
+
+            if (keyClasses.isEmpty()) {
+                translationClassKeys = new HashSet<>();
+            } else {
+                try (final PhaseMetrics.Phase phase = metrics.start("subtype-scan")) {
+                    final SubtypeIndex subtypeIndex = scanKeyClassSubtypes(phase);
+                    translationClassKeys = loadTranslationClasses ? TranslationClassUtils.getTranslationKeys(keyClasses, classLoaderLease.getClassLoader(), subtypeIndex)
+                            : TranslationClassUtils.getTranslationKeys(keyClasses, classLoaderLease.getClassFileIndex(), subtypeIndex, getLog());
+                    phase.count("classes", subtypeIndex.getClassCount()).count("keys", translationClassKeys.size());
+                } catch (ClassNotFoundException e) {
+                    throw new MavenReportException("Failed to translate key classes: " + keyClasses, e);
+                } catch (IOException e) {
+                    throw new MavenReportException("Failed to search for implementations of key classes: " + keyClasses, e);
+                }
+            }
         } catch (IOException e) {
             throw new MavenReportException("Failed to load project classloader.", e);
         }
+        // A key with a message in any of the bundles is not messageless
+        for (BundleResults results : bundleResults) {
+            translationClassKeys.removeAll(results.getAuthoritativeProperties().getTranslationKeys());
+        }
 
-        AuthoritativeMessagesProperties authoritativeProperties;
-        Collection<TranslatedMessagesProperties> translatedProperties;
+        if (!exportFormats.isEmpty()) {
+            try (final PhaseMetrics.Phase phase = metrics.start("export")) {
+                phase.count("formats", exportFormats.size());
+                export(bundleResults, translationClassKeys);
+            } catch (IOException e) {
+                throw new MavenReportException(String.format("Failed to export the findings of the report to: %s", exportDirectory), e);
+            }
+        }
+
+        try (final PhaseMetrics.Phase phase = metrics.start("rendering")) {
+            final List<ReportRenderer> renderers = new ArrayList<>(bundleResults.size());
+            for (BundleResults results : bundleResults) {
+                // The messageless keys do not belong to any one bundle, so they are listed once, in the section of the first
+                renderers.add(new ReportRenderer(this, locale, getSink(), results.getBundleName(), results.getAuthoritativeProperties(), results.getAnalysisResults(),
+                        results.getTranslatedProperties(), results.getFallbackCoverage(), renderers.isEmpty() ? translationClassKeys : null, maxReportRows, reportPageSize));
+            }
+
+            // Without a sink factory, such as when run outside of site generation, only the report page can be written
+            if (getSinkFactory() != null) {
+                int pageCount = 0;
+                try {
+                    for (ReportRenderer renderer : renderers) {
+                        pageCount += renderer.renderPages(getSinkFactory(), getReportOutputDirectory());
+                    }
+                } catch (IOException e) {
+                    throw new MavenReportException("Failed to write the pages of the report.", e);
+                }
+                phase.count("pages", pageCount);
+            }
+
+            if (renderers.size() == 1) {
+                renderers.get(0).render();
+            } else {
+                new BundlesReportRenderer(this, locale, getSink(), renderers).render();
+            }
+        }
+
+        metrics.log(getLog(), logMetrics);
+        if (metricsFile != null) {
+            try {
+                metrics.write(metricsFile);
+            } catch (IOException e) {
+                getLog().warn(String.format("Failed to write the metrics of the report to: %s", metricsFile), e);
+            }
+        }
+    }
+
+    /**
+     * Export the findings of the report in each of the configured formats. Findings are written as they are read from the results, rather than being collected first.
+     * 
+     * @param bundleResults
+     *            A {@link List} of the {@link BundleResults} of each of the verified bundles.
+     * @param messagelessKeys
+     *            A {@link Collection} of the translation keys of the key classes that have no messages; these are attributed to the first bundle.
+     * @throws IOException
+     *             If any errors occur while writing the exports.
+     */
+    private void export(List<BundleResults> bundleResults, Collection<String> messagelessKeys) throws IOException {
+        final List<FindingExporter> exporters = new ArrayList<>(exportFormats.size());
         try {
-            authoritativeProperties = new AuthoritativeMessagesProperties.Parser().parse(messagesFile);
-        } catch (IOException e) {
-            throw new MavenReportException(String.format("Failed to parse authoritative messages file: %s", messagesFile), e);
+            for (String exportFormat : exportFormats) {
+                try {
+                    exporters.add(FindingExporter.open(exportDirectory, OUTPUT_NAME, exportFormat));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            }
+
+            for (String messagelessKey : SortedView.of(messagelessKeys)) {
+                export(exporters, "messageless-key", bundleResults.get(0).getAuthoritativeProperties().getFile().getName(), null, messagelessKey);
+            }
+
+            for (BundleResults results : bundleResults) {
+                final AuthoritativeMessagesProperties authoritativeProperties = results.getAuthoritativeProperties();
+                final ClassinessAnalysisResults analysisResults = results.getAnalysisResults();
+                final String messagesFileName = authoritativeProperties.getFile().getName();
+                for (String duplicate : authoritativeProperties.getDuplicateTranslationKeys()) {
+                    export(exporters, "duplicate-key", messagesFileName, null, duplicate);
+                }
+                for (MissingTranslationKeyClass keyClass : analysisResults.getMissingTranslationKeyClasses()) {
+                    export(exporters, "missing-class", messagesFileName, keyClass.getClassName(), null);
+                }
+                for (MissingTranslationKey key : analysisResults.getMissingTranslationKeys()) {
+                    export(exporters, "missing-key", messagesFileName, key.getClassName(), key.getKeyName());
+                }
+
+                final LocaleFallbackCoverage fallbackCoverage = results.getFallbackCoverage();
+                for (TranslatedMessagesProperties translatedProperty : SortedView.of(results.getTranslatedProperties())) {
+                    final String translationFileName = translatedProperty.getFile().getName();
+                    for (String duplicate : translatedProperty.getDuplicateTranslationKeys()) {
+                        export(exporters, "duplicate-key", translationFileName, null, duplicate);
+                    }
+                    // Missing keys are read from the translation's key ids, in key order, without being collected
+                    for (String missingTranslationKey : getMissingTranslationKeys(translatedProperty, fallbackCoverage)) {
+                        export(exporters, "missing-translation", translationFileName, null, missingTranslationKey);
+                    }
+                    for (String extraTranslationKey : translatedProperty.getExtraTranslationKeys()) {
+                        export(exporters, "extra-translation", translationFileName, null, extraTranslationKey);
+                    }
+                    for (String mismatchedKey : SortedView.of(translatedProperty.getPlaceholderMismatches().keySet())) {
+                        export(exporters, "placeholder-mismatch", translationFileName, null, mismatchedKey);
+                    }
+                    for (String untranslatedKey : translatedProperty.getUntranslatedKeys()) {
+                        export(exporters, "untranslated-value", translationFileName, null, untranslatedKey);
+                    }
+                }
+            }
+        } finally {
+            IOException failure = null;
+            for (FindingExporter exporter : exporters) {
+                try {
+                    exporter.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
         }
+    }
 
+    /**
+     * Export a finding in each of the configured formats.
+     * 
+     * @param exporters
+     *            A {@link List} of the {@link FindingExporter} objects of the configured formats.
+     * @param type
+     *            The kind of finding.
+     * @param fileName
+     *            The name of the messages properties file in which the finding was made.
+     * @param className
+     *            The name of the translation class concerned; {@code null} if none.
+     * @param key
+     *            The translation key concerned; {@code null} if none.
+     * @throws IOException
+     *             If the finding cannot be written.
+     */
+    private static void export(List<FindingExporter> exporters, String type, String fileName, String className, String key) throws IOException {
+        for (FindingExporter exporter : exporters) {
+            exporter.export(type, fileName, className, key);
+        }
+    }
+
+    /**
+     * Verify the configured {@link #bundles}, or the configured {@link #messagesFile messages file} if there are none, concurrently if so configured.
+     * 
+     * @param classLoaderLease
+     *            The {@link ClassLoaderCache.Lease} on the classloader, and class file index, against which translation keys are to be verified; it is shared by all of the bundles.
+     * @param metrics
+     *            The {@link PhaseMetrics} in which the phases of the verification are to be recorded.
+     * @return A {@link List} of the {@link BundleResults} of each bundle, in the order in which the bundles are configured.
+     * @throws MavenReportException
+     *             If any errors occur during the verification.
+     */
+    private List<BundleResults> verifyBundles(final ClassLoaderCache.Lease classLoaderLease, final PhaseMetrics metrics) throws MavenReportException {
+        if (bundles.isEmpty()) {
+            return Collections.singletonList(verifyBundle(null, messagesFile, classLoaderLease, metrics));
+        }
+
+        final List<BundleResults> bundleResults = new ArrayList<>(bundles.size());
+        if (bundleThreads <= 1 || bundles.size() == 1) {
+            for (String bundle : bundles) {
+                bundleResults.add(verifyBundle(bundle, new File(bundleDirectory, bundle + ".properties"), classLoaderLease, metrics));
+            }
+            return bundleResults;
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(Math.min(bundleThreads, bundles.size()));
         try {
-            final List<File> translationFiles = FileUtils.getFiles(getProject().getBasedir(), translatedMessagesPattern, null);
+            final List<Future<BundleResults>> futures = new ArrayList<>(bundles.size());
+            for (final String bundle : bundles) {
+                futures.add(pool.submit(new Callable<BundleResults>() {
+                    @Override
+                    public BundleResults call() throws MavenReportException {
+                        return verifyBundle(bundle, new File(bundleDirectory, bundle + ".properties"), classLoaderLease, metrics);
+                    }
+                }));
+            }
+
+            for (Future<BundleResults> future : futures) {
+                try {
+                    bundleResults.add(future.get());
+                } catch (ExecutionException e) {
+                    // Verification throws nothing checked but MavenReportException
+                    if (e.getCause() instanceof MavenReportException) {
+                        throw (MavenReportException) e.getCause();
+                    } else if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw (Error) e.getCause();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MavenReportException("Interrupted while verifying bundles: " + bundles, e);
+                }
+            }
+            return bundleResults;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Verify an authoritative messages properties file and its translations.
+     * 
+     * @param bundleName
+     *            The base name of the bundle being verified; {@code null} if the configured {@link #messagesFile messages file} is being verified, in which case its translations are located with
+     *            the {@link #translatedMessagesPattern translated messages pattern}.
+     * @param bundleFile
+     *            The authoritative messages properties file.
+     * @param classLoaderLease
+     *            The {@link ClassLoaderCache.Lease} on the classloader, and class file index, against which translation keys are to be verified.
+     * @param metrics
+     *            The {@link PhaseMetrics} in which the phases of the verification are to be recorded; phases of a named bundle are prefixed with its name.
+     * @return The {@link BundleResults} of the verification.
+     * @throws MavenReportException
+     *             If any errors occur during the verification.
+     */
+    private BundleResults verifyBundle(String bundleName, File bundleFile, ClassLoaderCache.Lease classLoaderLease, PhaseMetrics metrics) throws MavenReportException {
+        final String phasePrefix = bundleName == null ? "" : bundleName + ":";
+        AuthoritativeMessagesProperties authoritativeProperties;
+        try (final PhaseMetrics.Phase phase = metrics.start(phasePrefix + "authoritative-parse")) {
+            final AuthoritativeMessagesProperties.Parser parser = new AuthoritativeMessagesProperties.Parser();
+            configure(parser);
+            authoritativeProperties = parser.parse(bundleFile);
+            phase.count("files", 1).count("keys", authoritativeProperties.getTranslationKeys().size());
+        } catch (IOException e) {
+            throw new MavenReportException(String.format("Failed to parse authoritative messages file: %s", bundleFile), e);
+        }
+
+        final String pattern = bundleName == null ? translatedMessagesPattern : bundleName + "_*.properties";
+        Collection<TranslatedMessagesProperties> translatedProperties;
+        try (final PhaseMetrics.Phase phase = metrics.start(phasePrefix + "translation-parse")) {
+            final List<File> translationFiles = FileUtils.getFiles(bundleName == null ? getProject().getBasedir() : bundleDirectory, pattern, null);
             // Don't consider the authoritative resource, if found, to be a "translation"
-            translationFiles.remove(messagesFile);
-            translatedProperties = new TranslatedMessagesProperties.Parser().parse(authoritativeProperties, translationFiles);
+            translationFiles.remove(bundleFile);
+            final TranslatedMessagesProperties.Parser parser = new TranslatedMessagesProperties.Parser();
+            configure(parser);
+            parser.setThreadCount(parserThreads);
+            translatedProperties = parser.parse(authoritativeProperties, translationFiles);
+            long translatedKeyCount = 0;
+            for (TranslatedMessagesProperties translatedProperty : translatedProperties) {
+                translatedKeyCount += translatedProperty.getTranslationKeys().size();
+            }
+            phase.count("files", translatedProperties.size()).count("keys", translatedKeyCount);
         } catch (IOException e) {
-            throw new MavenReportException(String.format("Failed to parse translated messages files for pattern: %s", translatedMessagesPattern), e);
+            throw new MavenReportException(String.format("Failed to parse translated messages files for pattern: %s", pattern), e);
         }
 
         ClassinessAnalysisResults analysisResults;
-        try {
-            analysisResults = TranslationKeyAnalysisUtils.getInstance(getLog()).analyzeClassiness(classLoader, authoritativeProperties);
+        try (final PhaseMetrics.Phase phase = metrics.start(phasePrefix + "classiness-analysis")) {
+            final TranslationKeyAnalysisUtils analysisUtils = TranslationKeyAnalysisUtils.getInstance(getLog());
+            final ClassFileIndex classFileIndex = classLoaderLease.getClassFileIndex();
+            if (loadTranslationClasses) {
+                analysisResults = analysisUtils.analyzeClassiness(classLoaderLease.getClassLoader(), classFileIndex, authoritativeProperties, analysisThreads);
+            } else {
+                analysisResults = analysisUtils.analyzeClassiness(classFileIndex, authoritativeProperties, analysisThreads);
+            }
+            phase.count("classes", authoritativeProperties.getTranslationClasses().size()).count("missingClasses", analysisResults.getMissingTranslationKeyClasses().size())
+                    .count("missingKeys", analysisResults.getMissingTranslationKeys().size());
         } catch (IOException e) {
-            throw new MavenReportException(String.format("Failed to verify %s", messagesFile), e);
+            throw new MavenReportException(String.format("Failed to verify %s", bundleFile), e);
         }
+        return new BundleResults(bundleName, authoritativeProperties, analysisResults, translatedProperties, localeFallback ? new LocaleFallbackCoverage(translatedProperties) : null);
+    }
 
-        Collection<String> translationClassKeys;
+    /**
+     * Get the keys missing from a translation.
+     * 
+     * @param translatedProperties
+     *            The {@link TranslatedMessagesProperties} whose missing keys are to be retrieved.
+     * @param fallbackCoverage
+     *            The {@link LocaleFallbackCoverage} of the translations of the bundle; {@code null} if the fallback chain of the translation is not to be followed.
+     * @return A {@link SortedView} of the keys of the authoritative messages properties that are resolved for the given translation.
+     */
+    private static SortedView<String> getMissingTranslationKeys(TranslatedMessagesProperties translatedProperties, LocaleFallbackCoverage fallbackCoverage) {
+        return fallbackCoverage == null ? translatedProperties.getMissingTranslationKeyView() : fallbackCoverage.getMissingTranslationKeys(translatedProperties);
+    }
+
+    /**
+     * Acquire the classloader over the project's classpath, recording its acquisition as a phase.
+     * 
+     * @param metrics
+     *            The {@link PhaseMetrics} in which the acquisition is to be recorded.
+     * @return A {@link ClassLoaderCache.Lease} on the classloader.
+     * @throws IOException
+     *             If any errors occur in building the classloader.
+     */
+    private ClassLoaderCache.Lease acquireClassLoader(PhaseMetrics metrics) throws IOException {
+        try (final PhaseMetrics.Phase phase = metrics.start("classloader")) {
+            final List<URL> classpathUrls = ClassLoaderUtils.getClasspathUrls(getProject());
+            int directoryCount = 0;
+            for (URL classpathUrl : classpathUrls) {
+                if (classpathUrl.getPath().endsWith("/")) {
+                    directoryCount++;
+                }
+            }
+            phase.count("jars", classpathUrls.size() - directoryCount).count("directories", directoryCount);
+            return ClassLoaderCache.getInstance().acquire(session, classpathUrls);
+        }
+    }
+
+    /**
+     * Search the configured packages of the project for implementations and extensions of the key classes.
+     * 
+     * @param phase
+     *            The {@link PhaseMetrics.Phase} in which the number of directories and archives searched is to be recorded.
+     * @return A {@link SubtypeIndex} of the classes in the configured packages of the project's output directory and, if configured, its dependencies.
+     * @throws IOException
+     *             If any errors occur while searching the project.
+     */
+    private SubtypeIndex scanKeyClassSubtypes(PhaseMetrics.Phase phase) throws IOException {
+        final List<File> classpathElements = scanDependenciesForKeyClasses ? ClassLoaderUtils.getClasspathElements(getProject()) : Collections.singletonList(new File(getProject().getBuild()
+                .getOutputDirectory()));
+        phase.count("classpathElements", classpathElements.size());
+        return SubtypeIndex.scan(classpathElements, keyClassPackages, analysisThreads);
+    }
+
+    /**
+     * Apply the configured parsing options to a parser.
+     * 
+     * @param parser
+     *            The {@link AbstractMessagesPropertiesParser} to be configured.
+     */
+    private void configure(AbstractMessagesPropertiesParser parser) {
+        parser.setEncoding(encoding);
+        if (useParseCache) {
+            parser.setCache(new MessagesPropertiesCache(parseCacheDirectory));
+        }
+        if (checkPlaceholders) {
+            parser.setPlaceholderSignatures(placeholderSignatures);
+        }
+        parser.setHashValues(checkUntranslated);
+    }
+
+    /**
+     * Resolve the configured {@link #messagesEncoding encoding} of the messages files.
+     * 
+     * @return The {@link Charset} of the configured encoding.
+     * @throws MavenReportException
+     *             If the configured encoding is not supported or cannot be read by the scanning of messages files.
+     */
+    private Charset resolveEncoding() throws MavenReportException {
         try {
-            translationClassKeys = TranslationClassUtils.getTranslationKeys(keyClasses, classLoader);
-        } catch (ClassNotFoundException e) {
-            throw new MavenReportException("Failed to translate key classes: " + keyClasses, e);
+            return AbstractMessagesPropertiesParser.forEncodingName(messagesEncoding);
+        } catch (IllegalArgumentException e) {
+            throw new MavenReportException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A class used for rendering a page of the report on which tables list, at most, a fixed number of rows. If given a {@link SinkFactory}, the renderer also writes each longer table in full,
+     * across as many separate pages as it needs, and links to them from its page.
+     * 
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    abstract static class TableRenderer extends AbstractMavenReportRenderer {
+        private final int maxRows;
+        private final int pageSize;
+        private boolean paged;
+
+        /**
+         * Create a renderer.
+         * 
+         * @param sink
+         *            The {@link Sink} to be used for generation of the page.
+         * @param maxRows
+         *            The maximum number of rows of each table to be rendered on the page.
+         * @param pageSize
+         *            The number of rows on each of the separate pages listing a table in full.
+         */
+        TableRenderer(Sink sink, int maxRows, int pageSize) {
+            super(sink);
+            this.maxRows = maxRows;
+            this.pageSize = pageSize;
         }
-        translationClassKeys.removeAll(authoritativeProperties.getTranslationKeys());
 
-        new ReportRenderer(this, locale, getSink(), authoritativeProperties, analysisResults, translatedProperties, translationClassKeys).render();
+        /**
+         * Write every table too long to be listed in full on the page of this renderer to its own pages, as well as any other pages linked from it. This must be done before the page is
+         * {@link #render() rendered} for it to link to them.
+         * 
+         * @param sinkFactory
+         *            The {@link SinkFactory} to be used to create the pages.
+         * @param outputDirectory
+         *            The directory in which the pages are to be written.
+         * @return The number of pages written.
+         * @throws IOException
+         *             If any errors occur while writing the pages.
+         */
+        int renderPages(SinkFactory sinkFactory, File outputDirectory) throws IOException {
+            paged = true;
+            return 0;
+        }
+
+        /**
+         * Determine whether the pages linked from the page of this renderer have been {@link #renderPages(SinkFactory, File) written}.
+         * 
+         * @return {@code true} if the pages have been written.
+         */
+        boolean isPaged() {
+            return paged;
+        }
+
+        /**
+         * Get the maximum number of rows of each table rendered on the page of this renderer.
+         * 
+         * @return The maximum number of rows of each table.
+         */
+        int getMaxRows() {
+            return maxRows;
+        }
+
+        /**
+         * Get the number of rows on each of the separate pages listing a table in full.
+         * 
+         * @return The number of rows on each page of a table.
+         */
+        int getPageSize() {
+            return pageSize;
+        }
+
+        /**
+         * Get the name of the file of the page of this renderer, to which the pages of its tables link back.
+         * 
+         * @return The name of the file of the page of this renderer.
+         */
+        abstract String getFileName();
+
+        /**
+         * Render a table, listing no more than the maximum number of rows. If there are more, the table ends with a count of them and, if they have been written to their own pages, links to
+         * those pages.
+         * 
+         * @param sectionName
+         *            The name of the section to which the table belongs, used to name its pages.
+         * @param header
+         *            The header of the table.
+         * @param rows
+         *            A {@link SortedView} of the elements to be listed in the table.
+         * @param rowFormatter
+         *            The {@link RowFormatter} used to format each element as a row of the table.
+         */
+        <T> void renderTable(String sectionName, String[] header, SortedView<T> rows, RowFormatter<T> rowFormatter) {
+            sink.table();
+            super.tableHeader(header);
+            for (T row : rows.first(maxRows)) {
+                super.tableRow(rowFormatter.format(row));
+            }
+
+            final int remaining = rows.size() - maxRows;
+            if (remaining > 0) {
+                sink.tableRow();
+                sink.tableCell();
+                sink.text(String.format("And %d more...", remaining));
+                if (paged) {
+                    final int pageCount = getPageCount(rows.size());
+                    sink.text(" All are listed on pages:");
+                    for (int page = 1; page <= pageCount; page++) {
+                        sink.text(" ");
+                        super.link(getPageFileName(sectionName, page), Integer.toString(page));
+                    }
+                }
+                sink.tableCell_();
+                for (int column = 1; column < header.length; column++) {
+                    super.tableCell("");
+                }
+                sink.tableRow_();
+            }
+            sink.table_();
+        }
+
+        /**
+         * Write the rows of a table across as many pages as it needs, if it has more rows than are listed on the page of this renderer. The rows are read once, in order, as each page is written.
+         * 
+         * @param sinkFactory
+         *            The {@link SinkFactory} to be used to create the pages.
+         * @param outputDirectory
+         *            The directory in which the pages are to be written.
+         * @param sectionName
+         *            The name of the section to which the table belongs, used to name its pages.
+         * @param title
+         *            The title of the table.
+         * @param header
+         *            The header of the table.
+         * @param rows
+         *            A {@link SortedView} of the elements to be listed in the table.
+         * @param rowFormatter
+         *            The {@link RowFormatter} used to format each element as a row of the table.
+         * @return The number of pages written; 0 if the table is listed in full on the page of this renderer.
+         * @throws IOException
+         *             If any errors occur while writing the pages.
+         */
+        <T> int renderPages(SinkFactory sinkFactory, File outputDirectory, String sectionName, String title, String[] header, SortedView<T> rows, RowFormatter<T> rowFormatter)
+                throws IOException {
+            if (rows.size() <= maxRows) {
+                return 0;
+            }
+
+            final int pageCount = getPageCount(rows.size());
+            final Iterator<T> iterator = rows.iterator();
+            for (int page = 1; page <= pageCount; page++) {
+                final Sink pageSink = sinkFactory.createSink(outputDirectory, getPageFileName(sectionName, page));
+                new PageRenderer<>(pageSink, String.format("%s (page %d of %d)", title, page, pageCount), getFileName(), sectionName, page, pageCount, header, iterator, pageSize, rowFormatter)
+                        .render();
+            }
+            return pageCount;
+        }
+
+        /**
+         * Get the number of pages needed to list a table in full.
+         * 
+         * @param rowCount
+         *            The number of rows in the table.
+         * @return The number of pages needed to list the given number of rows.
+         */
+        private int getPageCount(int rowCount) {
+            return (rowCount + pageSize - 1) / pageSize;
+        }
+
+        /**
+         * Get the name of the file of a page of a table.
+         * 
+         * @param sectionName
+         *            The name of the section to which the table belongs.
+         * @param page
+         *            The one-based number of the page.
+         * @return The name of the file of the given page.
+         */
+        static String getPageFileName(String sectionName, int page) {
+            return String.format("%s-%s-%d.html", OUTPUT_NAME, sectionName, page);
+        }
     }
 
     /**
-     * A class used for rendering a report containing the issues with translation keys and classes.
+     * A class used for rendering a report containing the issues with translation keys and classes. The report page lists, at most, a fixed number of rows of each table; if given a
+     * {@link SinkFactory}, the renderer also writes each longer table in full, across as many separate pages as it needs, and writes the details of each translation to a page of its own, so the
+     * report page itself only summarizes each translation in a single row.
      * 
      * @author Joshua Hyde
      */
-    static class ReportRenderer extends AbstractMavenReportRenderer {
+    static class ReportRenderer extends TableRenderer {
         private final TranslationKeyVerifier mojo;
         private final Locale locale;
+        private final String bundleName;
         private final AuthoritativeMessagesProperties authoritativeProperties;
-        private final SortedSet<MissingTranslationKey> missingTranslationKeys;
-        private final SortedSet<MissingTranslationKeyClass> missingTranslationKeyClasses;
-        private final SortedSet<TranslatedMessagesProperties> translatedProperties;
-        private final SortedSet<String> messagelessKeys;
+        private final boolean placeholdersChecked;
+        private final boolean untranslatedChecked;
+        private final SortedView<MissingTranslationKey> missingTranslationKeys;
+        private final SortedView<MissingTranslationKeyClass> missingTranslationKeyClasses;
+        private final SortedView<TranslatedMessagesProperties> translatedProperties;
+        private final LocaleFallbackCoverage fallbackCoverage;
+        private final SortedView<String> messagelessKeys;
 
         /**
          * Create a renderer.
@@ -179,6 +944,8 @@ public class TranslationKeyVerifier extends AbstractMavenReport {
          *            The {@link Locale} to be used for localization of the rendered report.
          * @param sink
          *            The {@link Sink} to be used for generation of the report.
+         * @param bundleName
+         *            The base name of the bundle whose section of the report is rendered; {@code null} if the report covers a single messages properties file.
          * @param authoritativeProperties
          *            The {@link AuthoritativeMessagesProperties} to drive the primary statistics of the report.
          * @param analysisResults
@@ -186,19 +953,31 @@ public class TranslationKeyVerifier extends AbstractMavenReport {
          *            the authoritative message properties file.
          * @param translatedProperties
          *            A {@link Collection} of {@link TranslatedMessagesProperties} objects representing the analysis of translations of the authoritative messages properties file.
+         * @param fallbackCoverage
+         *            The {@link LocaleFallbackCoverage} of the translations; {@code null} if each translation is to be compared to the authoritative messages properties alone.
          * @param messagelessKeys
-         *            A {@link Collection} of {@link String} objects representing translation keys that have been discovered that no corresponding messages properties file entries.
+         *            A {@link Collection} of {@link String} objects representing translation keys that have been discovered that no corresponding messages properties file entries; {@code null} if
+         *            they are not to be listed in this section of the report.
+         * @param maxRows
+         *            The maximum number of rows of each table to be rendered on the report page.
+         * @param pageSize
+         *            The number of rows on each of the separate pages listing a table in full.
          */
-        ReportRenderer(TranslationKeyVerifier mojo, Locale locale, Sink sink, AuthoritativeMessagesProperties authoritativeProperties, ClassinessAnalysisResults analysisResults,
-                Collection<TranslatedMessagesProperties> translatedProperties, Collection<String> messagelessKeys) {
-            super(sink);
+        ReportRenderer(TranslationKeyVerifier mojo, Locale locale, Sink sink, String bundleName, AuthoritativeMessagesProperties authoritativeProperties,
+                ClassinessAnalysisResults analysisResults, Collection<TranslatedMessagesProperties> translatedProperties, LocaleFallbackCoverage fallbackCoverage, Collection<String> messagelessKeys,
+                int maxRows, int pageSize) {
+            super(sink, maxRows, pageSize);
             this.mojo = mojo;
             this.locale = locale;
+            this.bundleName = bundleName;
             this.authoritativeProperties = authoritativeProperties;
-            this.missingTranslationKeyClasses = new TreeSet<>(analysisResults.getMissingTranslationKeyClasses());
-            this.missingTranslationKeys = new TreeSet<>(analysisResults.getMissingTranslationKeys());
-            this.translatedProperties = new TreeSet<>(translatedProperties);
-            this.messagelessKeys = new TreeSet<>(messagelessKeys);
+            this.placeholdersChecked = authoritativeProperties.getPlaceholderSignatures() != null;
+            this.untranslatedChecked = authoritativeProperties.hasValueHashes();
+            this.missingTranslationKeyClasses = SortedView.of(analysisResults.getMissingTranslationKeyClasses());
+            this.missingTranslationKeys = SortedView.of(analysisResults.getMissingTranslationKeys());
+            this.translatedProperties = SortedView.of(translatedProperties);
+            this.fallbackCoverage = fallbackCoverage;
+            this.messagelessKeys = messagelessKeys == null ? null : SortedView.of(messagelessKeys);
         }
 
         @Override
@@ -206,35 +985,69 @@ public class TranslationKeyVerifier extends AbstractMavenReport {
             return mojo.getName(locale);
         }
 
+        @Override
+        String getFileName() {
+            return OUTPUT_NAME + ".html";
+        }
+
+        /**
+         * Write every table too long to be listed in full on the report page to its own pages, and the details of each translation to a page of its own. This must be done before the report page
+         * is {@link #render() rendered} for it to link to them.
+         * 
+         * @param sinkFactory
+         *            The {@link SinkFactory} to be used to create the pages.
+         * @param outputDirectory
+         *            The directory in which the pages are to be written.
+         * @return The number of pages written.
+         * @throws IOException
+         *             If any errors occur while writing the pages.
+         */
+        @Override
+        int renderPages(SinkFactory sinkFactory, File outputDirectory) throws IOException {
+            int pageCount = super.renderPages(sinkFactory, outputDirectory);
+            if (messagelessKeys != null) {
+                pageCount += renderPages(sinkFactory, outputDirectory, "messageless-keys", "Messageless Keys", new String[] { "Translation Key" }, messagelessKeys, KEY_ROWS);
+            }
+            pageCount += renderPages(sinkFactory, outputDirectory, getSectionName("duplicate-keys"), "Duplicate Translation Keys", new String[] { "Translation Key" },
+                    SortedView.of(authoritativeProperties.getDuplicateTranslationKeys()), KEY_ROWS);
+            pageCount += renderPages(sinkFactory, outputDirectory, getSectionName("missing-classes"), "Missing Translation Classes", new String[] { "Class Name" }, missingTranslationKeyClasses, CLASS_ROWS);
+            pageCount += renderPages(sinkFactory, outputDirectory, getSectionName("missing-keys"), "Missing Translation Keys", new String[] { "Class Name", "Key Name" }, missingTranslationKeys, CLASS_KEY_ROWS);
+            for (TranslatedMessagesProperties translatedProperty : translatedProperties) {
+                // Each translation is written, and its sink released, before the next is read
+                final TranslationRenderer renderer = new TranslationRenderer(mojo, locale, sinkFactory.createSink(outputDirectory, TranslationRenderer.getFileName(translatedProperty)),
+                        authoritativeProperties, translatedProperty, fallbackCoverage, true, getMaxRows(), getPageSize());
+                pageCount += renderer.renderPages(sinkFactory, outputDirectory) + 1;
+                renderer.render();
+            }
+            return pageCount;
+        }
+
         @Override
         protected void renderBody() {
             // Title of report
             sink.sectionTitle1();
-            sink.text(mojo.getName(locale));
+            sink.text(bundleName == null ? mojo.getName(locale) : String.format("%s: %s", mojo.getName(locale), authoritativeProperties.getFile().getName()));
             sink.sectionTitle1_();
 
             sink.paragraph();
             sink.text("This report describes translation keys listed in your messages properties file that are in an invalid state.");
             sink.paragraph_();
 
-            sink.sectionTitle2();
-            sink.text("Messageless Keys");
-            sink.sectionTitle2_();
+            if (messagelessKeys != null) {
+                sink.sectionTitle2();
+                sink.text("Messageless Keys");
+                sink.sectionTitle2_();
 
-            sink.paragraph();
-            if (messagelessKeys.isEmpty()) {
-                sink.text("There are no translation key classes defined or there are none missing properties file entries.");
-            } else {
-                sink.text("The following are fields of translation classes that were not found to have any corresponding entries in the authoritative messages properties file.");
-
-                sink.table();
-                super.tableHeader(new String[] { "Translation Key" });
-                for (String messagelessKey : messagelessKeys) {
-                    super.tableRow(new String[] { messagelessKey });
+                sink.paragraph();
+                if (messagelessKeys.isEmpty()) {
+                    sink.text("There are no translation key classes defined or there are none missing properties file entries.");
+                } else {
+                    sink.text(bundleName == null ? "The following are fields of translation classes that were not found to have any corresponding entries in the authoritative messages properties file."
+                            : "The following are fields of translation classes that were not found to have any corresponding entries in any of the authoritative messages properties files.");
+                    renderTable("messageless-keys", new String[] { "Translation Key" }, messagelessKeys, KEY_ROWS);
                 }
-                sink.table_();
+                sink.paragraph_();
             }
-            sink.paragraph_();
 
             sink.sectionTitle2();
             sink.text("Duplicate Translation Keys");
@@ -245,13 +1058,7 @@ public class TranslationKeyVerifier extends AbstractMavenReport {
                 sink.text("No duplicate translation keys were found.");
             } else {
                 sink.text("The following duplicate translation keys were found in your messages properties file.");
-
-                sink.table();
-                super.tableHeader(new String[] { "Translation Key" });
-                for (String duplicate : authoritativeProperties.getDuplicateTranslationKeys()) {
-                    super.tableRow(new String[] { duplicate });
-                }
-                sink.table_();
+                renderTable(getSectionName("duplicate-keys"), new String[] { "Translation Key" }, SortedView.of(authoritativeProperties.getDuplicateTranslationKeys()), KEY_ROWS);
             }
             sink.paragraph_();
 
@@ -266,13 +1073,7 @@ public class TranslationKeyVerifier extends AbstractMavenReport {
                 sink.text("No missing translation key classes were found.");
             } else {
                 sink.text("The following is a list of classes that are listed in your messages properties file, but are not found to actually exist.");
-
-                sink.table();
-                super.tableHeader(new String[] { "Class Name" });
-                for (MissingTranslationKeyClass keyClass : missingTranslationKeyClasses) {
-                    super.tableRow(new String[] { keyClass.getClassName() });
-                }
-                sink.table_();
+                renderTable(getSectionName("missing-classes"), new String[] { "Class Name" }, missingTranslationKeyClasses, CLASS_ROWS);
             }
             sink.paragraph_();
 
@@ -287,13 +1088,7 @@ public class TranslationKeyVerifier extends AbstractMavenReport {
                 sink.text("No missing translation keys were found.");
             } else {
                 sink.text("The following is a list of translation keys that are found in the messages properties file, but were not found to actually exist.");
-
-                sink.table();
-                super.tableHeader(new String[] { "Class Name", "Key Name" });
-                for (MissingTranslationKey key : missingTranslationKeys) {
-                    super.tableRow(new String[] { key.getClassName(), key.getKeyName() });
-                }
-                sink.table_();
+                renderTable(getSectionName("missing-keys"), new String[] { "Class Name", "Key Name" }, missingTranslationKeys, CLASS_KEY_ROWS);
             }
             sink.paragraph_();
 
@@ -334,66 +1129,557 @@ public class TranslationKeyVerifier extends AbstractMavenReport {
                 sink.text("'Extra translation keys' are keys that are discovered in the translated messages properties, but do not exist in the authoritative message properties.");
                 sink.paragraph_();
                 sink.paragraph();
-                sink.text("'Missing translation keys' are keys that are found in the authoritative messages properties, but are not found in the translation.");
+                if (fallbackCoverage == null) {
+                    sink.text("'Missing translation keys' are keys that are found in the authoritative messages properties, but are not found in the translation.");
+                } else {
+                    sink.text("'Missing translation keys' are keys that are found in the authoritative messages properties, but are found neither in the translation nor in any translation it falls back to, such as messages_fr.properties for messages_fr_CA.properties.");
+                }
                 sink.paragraph_();
+                if (fallbackCoverage != null) {
+                    sink.paragraph();
+                    sink.text("'Inherited translation keys' are keys that are not found in the translation, but are found in a translation it falls back to.");
+                    sink.paragraph_();
+                }
+
+                if (isPaged()) {
+                    renderTranslationSummary();
+                }
+            }
+
+            if (!isPaged()) {
+                for (TranslatedMessagesProperties translatedProperty : translatedProperties) {
+                    new TranslationRenderer(mojo, locale, sink, authoritativeProperties, translatedProperty, fallbackCoverage, false, getMaxRows(), getPageSize()).renderBody();
+                }
+            }
+        }
+
+        /**
+         * Render a table summarizing each translation in a single row, linking to the page of its details.
+         */
+        private void renderTranslationSummary() {
+            final List<String> header = new ArrayList<>();
+            header.add("Translation");
+            header.add("Translation Key Count");
+            header.add("Missing Translation Keys");
+            if (fallbackCoverage != null) {
+                header.add("Inherited Translation Keys");
+            }
+            header.add("Extra Translation Keys");
+            if (placeholdersChecked) {
+                header.add("Mismatched Placeholders");
+            }
+            header.add("Translation Completion Percentage");
+            if (untranslatedChecked) {
+                header.add("Untranslated Values");
             }
 
+            sink.table();
+            super.tableHeader(header.toArray(new String[header.size()]));
             for (TranslatedMessagesProperties translatedProperty : translatedProperties) {
+                sink.tableRow();
+                sink.tableCell();
+                super.link(TranslationRenderer.getFileName(translatedProperty), translatedProperty.getFile().getName());
+                sink.tableCell_();
+                super.tableCell(Integer.toString(translatedProperty.getTranslationKeys().size()));
+                if (fallbackCoverage == null) {
+                    super.tableCell(Integer.toString(translatedProperty.getMissingTranslationKeyCount()));
+                } else {
+                    super.tableCell(Integer.toString(fallbackCoverage.getMissingTranslationKeyCount(translatedProperty)));
+                    super.tableCell(Integer.toString(fallbackCoverage.getInheritedTranslationKeyCount(translatedProperty)));
+                }
+                super.tableCell(Integer.toString(translatedProperty.getExtraTranslationKeys().size()));
+                if (placeholdersChecked) {
+                    super.tableCell(Integer.toString(translatedProperty.getPlaceholderMismatches().size()));
+                }
+                final double completionPercentage = fallbackCoverage == null ? translatedProperty.getCompletionPercentage() : fallbackCoverage.getCompletionPercentage(translatedProperty);
+                super.tableCell(String.format("%.2f", completionPercentage) + "%");
+                if (untranslatedChecked) {
+                    super.tableCell(Integer.toString(translatedProperty.getUntranslatedKeyCount()));
+                }
+                sink.tableRow_();
+            }
+            sink.table_();
+        }
+
+        /**
+         * Get the name of a section of the report concerning the authoritative messages properties file.
+         * 
+         * @param section
+         *            The name of the section.
+         * @return The name of the given section for the bundle of this renderer.
+         */
+        private String getSectionName(String section) {
+            return bundleName == null ? section : bundleName + "-" + section;
+        }
+    }
+
+    /**
+     * A class used for rendering the details of a translation: its statistics and the tables of its issues. They are rendered either onto a page of their own or, when no separate pages can be
+     * written, as a section of the report page.
+     * 
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    static class TranslationRenderer extends TableRenderer {
+        private final TranslationKeyVerifier mojo;
+        private final Locale locale;
+        private final AuthoritativeMessagesProperties authoritativeProperties;
+        private final TranslatedMessagesProperties translatedProperty;
+        private final LocaleFallbackCoverage fallbackCoverage;
+        private final boolean ownPage;
+
+        /**
+         * Create a renderer.
+         * 
+         * @param mojo
+         *            The mojo using the renderer.
+         * @param locale
+         *            The {@link Locale} to be used for localization of the rendered report.
+         * @param sink
+         *            The {@link Sink} to be used for generation of the details.
+         * @param authoritativeProperties
+         *            The {@link AuthoritativeMessagesProperties} of which the translation is a translation.
+         * @param translatedProperty
+         *            The {@link TranslatedMessagesProperties} whose details are to be rendered.
+         * @param fallbackCoverage
+         *            The {@link LocaleFallbackCoverage} of the translations; {@code null} if each translation is to be compared to the authoritative messages properties alone.
+         * @param ownPage
+         *            {@code true} if the details are rendered onto a page of their own; {@code false} if they are rendered as a section of the report page.
+         * @param maxRows
+         *            The maximum number of rows of each table to be rendered.
+         * @param pageSize
+         *            The number of rows on each of the separate pages listing a table in full.
+         */
+        TranslationRenderer(TranslationKeyVerifier mojo, Locale locale, Sink sink, AuthoritativeMessagesProperties authoritativeProperties, TranslatedMessagesProperties translatedProperty,
+                LocaleFallbackCoverage fallbackCoverage, boolean ownPage, int maxRows, int pageSize) {
+            super(sink, maxRows, pageSize);
+            this.mojo = mojo;
+            this.locale = locale;
+            this.authoritativeProperties = authoritativeProperties;
+            this.translatedProperty = translatedProperty;
+            this.fallbackCoverage = fallbackCoverage;
+            this.ownPage = ownPage;
+        }
+
+        @Override
+        public String getTitle() {
+            return String.format("%s: %s", mojo.getName(locale), translatedProperty.getFile().getName());
+        }
+
+        @Override
+        String getFileName() {
+            return ownPage ? getFileName(translatedProperty) : OUTPUT_NAME + ".html";
+        }
+
+        @Override
+        int renderPages(SinkFactory sinkFactory, File outputDirectory) throws IOException {
+            int pageCount = super.renderPages(sinkFactory, outputDirectory);
+            final String fileName = translatedProperty.getFile().getName();
+            pageCount += renderPages(sinkFactory, outputDirectory, getSectionName("duplicate-keys"), "Duplicate Translation Keys of " + fileName, new String[] { "Translation Key" },
+                    SortedView.of(translatedProperty.getDuplicateTranslationKeys()), KEY_ROWS);
+            pageCount += renderPages(sinkFactory, outputDirectory, getSectionName("missing-keys"), "Missing Translation Keys of " + fileName, new String[] { "Translation Key" },
+                    getMissingTranslationKeys(translatedProperty, fallbackCoverage), KEY_ROWS);
+            pageCount += renderPages(sinkFactory, outputDirectory, getSectionName("mismatched-placeholders"), "Mismatched Placeholders of " + fileName, PLACEHOLDER_HEADER,
+                    SortedView.of(translatedProperty.getPlaceholderMismatches().keySet()), getPlaceholderRows());
+            pageCount += renderPages(sinkFactory, outputDirectory, getSectionName("untranslated-values"), "Untranslated Values of " + fileName, new String[] { "Translation Key" },
+                    translatedProperty.getUntranslatedKeys(), KEY_ROWS);
+            return pageCount;
+        }
+
+        @Override
+        protected void renderBody() {
+            if (ownPage) {
+                sink.sectionTitle1();
+                sink.text(getTitle());
+                sink.sectionTitle1_();
+
+                sink.paragraph();
+                super.link(OUTPUT_NAME + ".html", "Back to the report");
+                sink.paragraph_();
+            } else {
                 sink.sectionTitle3();
                 sink.text(translatedProperty.getFile().getName());
                 sink.sectionTitle3_();
+            }
 
-                sink.table();
-                if (translatedProperty.getSupportedLocale() != null) {
-                    super.tableRow(new String[] { "Supported Language", translatedProperty.getSupportedLocale().getDisplayLanguage() });
-                    if (StringUtils.isNotEmpty(translatedProperty.getSupportedLocale().getCountry())) {
-                        super.tableRow(new String[] { "Supported Country", translatedProperty.getSupportedLocale().getDisplayCountry() });
-                    }
+            sink.table();
+            if (translatedProperty.getSupportedLocale() != null) {
+                super.tableRow(new String[] { "Supported Language", translatedProperty.getSupportedLocale().getDisplayLanguage() });
+                if (StringUtils.isNotEmpty(translatedProperty.getSupportedLocale().getCountry())) {
+                    super.tableRow(new String[] { "Supported Country", translatedProperty.getSupportedLocale().getDisplayCountry() });
                 }
-                super.tableRow(new String[] { "Translation Key Count", Integer.toString(translatedProperty.getTranslationKeys().size()) });
-                super.tableRow(new String[] { "Missing Translation Keys", Integer.toString(translatedProperty.getMissingTranslationKeys().size()) });
-                super.tableRow(new String[] { "Extra Translation Keys", Integer.toString(translatedProperty.getExtraTranslationKeys().size()) });
+            }
+            super.tableRow(new String[] { "Translation Key Count", Integer.toString(translatedProperty.getTranslationKeys().size()) });
+            if (fallbackCoverage == null) {
+                super.tableRow(new String[] { "Missing Translation Keys", Integer.toString(translatedProperty.getMissingTranslationKeyCount()) });
+            } else {
+                super.tableRow(new String[] { "Missing Translation Keys", Integer.toString(fallbackCoverage.getMissingTranslationKeyCount(translatedProperty)) });
+                super.tableRow(new String[] { "Inherited Translation Keys", Integer.toString(fallbackCoverage.getInheritedTranslationKeyCount(translatedProperty)) });
+            }
+            super.tableRow(new String[] { "Extra Translation Keys", Integer.toString(translatedProperty.getExtraTranslationKeys().size()) });
+            if (authoritativeProperties.getPlaceholderSignatures() != null) {
+                super.tableRow(new String[] { "Mismatched Placeholders", Integer.toString(translatedProperty.getPlaceholderMismatches().size()) });
+            }
 
-                final int comparativeCount = translatedProperty.getTranslationKeys().size() - translatedProperty.getExtraTranslationKeys().size();
-                final double percentComplete = (((double) comparativeCount) / authoritativeProperties.getTranslationKeys().size()) * 100;
-                super.tableRow(new String[] { "Translation Completion Percentage", String.format("%.2f", percentComplete) + "%" });
-                sink.table_();
+            final double completionPercentage = fallbackCoverage == null ? translatedProperty.getCompletionPercentage() : fallbackCoverage.getCompletionPercentage(translatedProperty);
+            super.tableRow(new String[] { "Translation Completion Percentage", String.format("%.2f", completionPercentage) + "%" });
+            if (authoritativeProperties.hasValueHashes()) {
+                // Keys whose values were copied from the authoritative file count towards the completion percentage, so their number is shown alongside it
+                super.tableRow(new String[] { "Untranslated Values", Integer.toString(translatedProperty.getUntranslatedKeyCount()) });
+            }
+            sink.table_();
 
-                sink.sectionTitle4();
-                sink.text("Duplicate Translation Keys");
-                sink.sectionTitle4_();
+            sectionTitle("Duplicate Translation Keys");
+
+            sink.paragraph();
+            if (translatedProperty.getDuplicateTranslationKeys().isEmpty()) {
+                sink.text("No duplicate translation keys were found.");
+            } else {
+                sink.text("The following duplicate translation keys were found in this messages properties file.");
+                renderTable(getSectionName("duplicate-keys"), new String[] { "Translation Key" }, SortedView.of(translatedProperty.getDuplicateTranslationKeys()), KEY_ROWS);
+            }
+            sink.paragraph_();
+
+            final SortedView<String> missingTranslationKeys = getMissingTranslationKeys(translatedProperty, fallbackCoverage);
+            if (!missingTranslationKeys.isEmpty()) {
+                sectionTitle("Missing Translation Keys");
+
+                renderTable(getSectionName("missing-keys"), new String[] { "Translation Key" }, missingTranslationKeys, KEY_ROWS);
+            }
+
+            if (!translatedProperty.getUntranslatedKeys().isEmpty()) {
+                sectionTitle("Untranslated Values");
 
                 sink.paragraph();
-                if (translatedProperty.getDuplicateTranslationKeys().isEmpty()) {
-                    sink.text("No duplicate translation keys were found.");
-                } else {
-                    sink.text("The following duplicate translation keys were found in this messages properties file.");
+                sink.text("The values of the following translation keys are the same as in the authoritative messages properties file.");
+                renderTable(getSectionName("untranslated-values"), new String[] { "Translation Key" }, translatedProperty.getUntranslatedKeys(), KEY_ROWS);
+                sink.paragraph_();
+            }
 
-                    sink.table();
-                    super.tableHeader(new String[] { "Translation Key" });
-                    for (String duplicate : translatedProperty.getDuplicateTranslationKeys()) {
-                        super.tableRow(new String[] { duplicate });
-                    }
-                    sink.table_();
-                }
+            if (!translatedProperty.getPlaceholderMismatches().isEmpty()) {
+                sectionTitle("Mismatched Placeholders");
+
+                sink.paragraph();
+                sink.text("The following translations do not have the same placeholders as their authoritative messages.");
+                renderTable(getSectionName("mismatched-placeholders"), PLACEHOLDER_HEADER, SortedView.of(translatedProperty.getPlaceholderMismatches().keySet()), getPlaceholderRows());
                 sink.paragraph_();
+            }
+        }
 
-                if (!translatedProperty.getMissingTranslationKeys().isEmpty()) {
-                    sink.sectionTitle4();
-                    sink.text("Missing Translation Keys");
-                    sink.sectionTitle4_();
+        /**
+         * Render the title of a section of the details, at the level befitting whether they are rendered onto a page of their own.
+         * 
+         * @param title
+         *            The title of the section.
+         */
+        private void sectionTitle(String title) {
+            if (ownPage) {
+                sink.sectionTitle2();
+                sink.text(title);
+                sink.sectionTitle2_();
+            } else {
+                sink.sectionTitle4();
+                sink.text(title);
+                sink.sectionTitle4_();
+            }
+        }
 
-                    sink.table();
-                    super.tableHeader(new String[] { "Translation Key" });
-                    for (String missingTranslationKey : translatedProperty.getMissingTranslationKeys()) {
-                        super.tableRow(new String[] { missingTranslationKey });
-                    }
-                    if (translatedProperty.getMissingTranslationKeys().size() > 10) {
-                        super.tableRow(new String[] { String.format("And %d more...", translatedProperty.getMissingTranslationKeys().size() - 10) });
-                    }
-                    sink.table_();
+        /**
+         * Get a formatter of the rows of the table of the mismatched placeholders of the translation.
+         * 
+         * @return A {@link RowFormatter} formatting each mismatched key with its authoritative and translated placeholders.
+         */
+        private RowFormatter<String> getPlaceholderRows() {
+            final Map<String, String> authoritativeSignatures = authoritativeProperties.getPlaceholderSignatures();
+            return new RowFormatter<String>() {
+                @Override
+                public String[] format(String key) {
+                    return new String[] { key, formatSignature(authoritativeSignatures.get(key)), formatSignature(translatedProperty.getPlaceholderMismatches().get(key)) };
                 }
+            };
+        }
+
+        /**
+         * Format a placeholder signature for display.
+         * 
+         * @param signature
+         *            The signature to be formatted; can be {@code null} or empty if a message has no placeholders.
+         * @return The given signature, or {@code (none)} if there are no placeholders.
+         */
+        private static String formatSignature(String signature) {
+            return StringUtils.isEmpty(signature) ? "(none)" : signature;
+        }
+
+        /**
+         * Get the name of a section of the details of the translation.
+         * 
+         * @param section
+         *            The name of the section.
+         * @return The name of the given section for the translation of this renderer.
+         */
+        private String getSectionName(String section) {
+            return getBaseName(translatedProperty) + "-" + section;
+        }
+
+        /**
+         * Get the name of the file of the page of the details of a translation.
+         * 
+         * @param translatedProperty
+         *            The {@link TranslatedMessagesProperties} whose page is to be named.
+         * @return The name of the file of the page of the given translation.
+         */
+        static String getFileName(TranslatedMessagesProperties translatedProperty) {
+            return String.format("%s-%s.html", OUTPUT_NAME, getBaseName(translatedProperty));
+        }
+
+        /**
+         * Get the name of the file of a translation, without its extension.
+         * 
+         * @param translatedProperty
+         *            The {@link TranslatedMessagesProperties} whose file is to be named.
+         * @return The name of the file of the given translation, without its extension.
+         */
+        private static String getBaseName(TranslatedMessagesProperties translatedProperty) {
+            final String fileName = translatedProperty.getFile().getName();
+            final int extensionStart = fileName.lastIndexOf('.');
+            return extensionStart < 0 ? fileName : fileName.substring(0, extensionStart);
+        }
+    }
+
+    /**
+     * A class used for rendering a report covering several bundles, each in its own section rendered by a {@link ReportRenderer}.
+     * 
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    static class BundlesReportRenderer extends AbstractMavenReportRenderer {
+        private final TranslationKeyVerifier mojo;
+        private final Locale locale;
+        private final List<ReportRenderer> renderers;
+
+        /**
+         * Create a renderer.
+         * 
+         * @param mojo
+         *            The mojo using the renderer.
+         * @param locale
+         *            The {@link Locale} to be used for localization of the rendered report.
+         * @param sink
+         *            The {@link Sink} to be used for generation of the report; it must be the sink of each of the given renderers.
+         * @param renderers
+         *            A {@link List} of the {@link ReportRenderer} objects rendering the section of each bundle, in the order in which the sections are to be rendered.
+         */
+        BundlesReportRenderer(TranslationKeyVerifier mojo, Locale locale, Sink sink, List<ReportRenderer> renderers) {
+            super(sink);
+            this.mojo = mojo;
+            this.locale = locale;
+            this.renderers = renderers;
+        }
+
+        @Override
+        public String getTitle() {
+            return mojo.getName(locale);
+        }
+
+        @Override
+        protected void renderBody() {
+            for (ReportRenderer renderer : renderers) {
+                renderer.renderBody();
+            }
+        }
+    }
+
+    /**
+     * The results of the verification of a bundle: an authoritative messages properties file and its translations.
+     * 
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private static class BundleResults {
+        private final String bundleName;
+        private final AuthoritativeMessagesProperties authoritativeProperties;
+        private final ClassinessAnalysisResults analysisResults;
+        private final Collection<TranslatedMessagesProperties> translatedProperties;
+        private final LocaleFallbackCoverage fallbackCoverage;
+
+        /**
+         * Create results.
+         * 
+         * @param bundleName
+         *            The base name of the bundle; {@code null} if the configured {@link TranslationKeyVerifier#messagesFile messages file} was verified.
+         * @param authoritativeProperties
+         *            The {@link AuthoritativeMessagesProperties} of the bundle.
+         * @param analysisResults
+         *            The {@link ClassinessAnalysisResults} of the authoritative messages properties.
+         * @param translatedProperties
+         *            A {@link Collection} of the {@link TranslatedMessagesProperties} of the bundle.
+         * @param fallbackCoverage
+         *            The {@link LocaleFallbackCoverage} of the translations of the bundle; {@code null} if the fallback chains of the translations are not to be followed.
+         */
+        private BundleResults(String bundleName, AuthoritativeMessagesProperties authoritativeProperties, ClassinessAnalysisResults analysisResults,
+                Collection<TranslatedMessagesProperties> translatedProperties, LocaleFallbackCoverage fallbackCoverage) {
+            this.bundleName = bundleName;
+            this.authoritativeProperties = authoritativeProperties;
+            this.analysisResults = analysisResults;
+            this.translatedProperties = translatedProperties;
+            this.fallbackCoverage = fallbackCoverage;
+        }
+
+        /**
+         * Get the base name of the bundle.
+         * 
+         * @return The base name of the bundle; {@code null} if the configured messages file was verified.
+         */
+        public String getBundleName() {
+            return bundleName;
+        }
+
+        /**
+         * Get the authoritative messages properties of the bundle.
+         * 
+         * @return The {@link AuthoritativeMessagesProperties} of the bundle.
+         */
+        public AuthoritativeMessagesProperties getAuthoritativeProperties() {
+            return authoritativeProperties;
+        }
+
+        /**
+         * Get the results of the verification of the translation keys of the bundle against their classes.
+         * 
+         * @return The {@link ClassinessAnalysisResults} of the authoritative messages properties.
+         */
+        public ClassinessAnalysisResults getAnalysisResults() {
+            return analysisResults;
+        }
+
+        /**
+         * Get the translations of the bundle.
+         * 
+         * @return A {@link Collection} of the {@link TranslatedMessagesProperties} of the bundle.
+         */
+        public Collection<TranslatedMessagesProperties> getTranslatedProperties() {
+            return translatedProperties;
+        }
+
+        /**
+         * Get the coverage of the translations of the bundle along their fallback chains.
+         * 
+         * @return {@code null} if the fallback chains of the translations are not to be followed; otherwise, the {@link LocaleFallbackCoverage} of the translations.
+         */
+        public LocaleFallbackCoverage getFallbackCoverage() {
+            return fallbackCoverage;
+        }
+    }
+
+    /**
+     * A formatter of the elements of a table as the cells of its rows.
+     * 
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private interface RowFormatter<T> {
+        /**
+         * Format an element as a row.
+         * 
+         * @param element
+         *            The element to be formatted.
+         * @return The cells of the row representing the given element.
+         */
+        String[] format(T element);
+    }
+
+    /**
+     * A class used for rendering a single page of a table too long to be listed in full on the report page.
+     * 
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    static class PageRenderer<T> extends AbstractMavenReportRenderer {
+        private final String title;
+        private final String parentFileName;
+        private final String sectionName;
+        private final int page;
+        private final int pageCount;
+        private final String[] header;
+        private final Iterator<T> rows;
+        private final int pageSize;
+        private final RowFormatter<T> rowFormatter;
+
+        /**
+         * Create a renderer.
+         * 
+         * @param sink
+         *            The {@link Sink} to which the page is to be written; it is closed once the page has been rendered.
+         * @param title
+         *            The title of the page.
+         * @param parentFileName
+         *            The name of the file of the page from which the table is linked.
+         * @param sectionName
+         *            The name of the section to which the table belongs, used to link to its other pages.
+         * @param page
+         *            The one-based number of the page.
+         * @param pageCount
+         *            The number of pages of the table.
+         * @param header
+         *            The header of the table.
+         * @param rows
+         *            An {@link Iterator} from which the rows of the page are to be read.
+         * @param pageSize
+         *            The maximum number of rows to be read onto the page.
+         * @param rowFormatter
+         *            The {@link RowFormatter} used to format each element as a row of the table.
+         */
+        PageRenderer(Sink sink, String title, String parentFileName, String sectionName, int page, int pageCount, String[] header, Iterator<T> rows, int pageSize, RowFormatter<T> rowFormatter) {
+            super(sink);
+            this.title = title;
+            this.parentFileName = parentFileName;
+            this.sectionName = sectionName;
+            this.page = page;
+            this.pageCount = pageCount;
+            this.header = header;
+            this.rows = rows;
+            this.pageSize = pageSize;
+            this.rowFormatter = rowFormatter;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        protected void renderBody() {
+            sink.sectionTitle1();
+            sink.text(title);
+            sink.sectionTitle1_();
+
+            renderNavigation();
+
+            sink.table();
+            super.tableHeader(header);
+            for (int row = 0; row < pageSize && rows.hasNext(); row++) {
+                super.tableRow(rowFormatter.format(rows.next()));
+            }
+            sink.table_();
+
+            renderNavigation();
+        }
+
+        /**
+         * Render links to the page from which the table is linked and to the adjacent pages of the table.
+         */
+        private void renderNavigation() {
+            sink.paragraph();
+            super.link(parentFileName, "Back to the report");
+            if (page > 1) {
+                sink.text(" | ");
+                super.link(TableRenderer.getPageFileName(sectionName, page - 1), "Previous page");
             }
+            if (page < pageCount) {
+                sink.text(" | ");
+                super.link(TableRenderer.getPageFileName(sectionName, page + 1), "Next page");
+            }
+            sink.paragraph_();
         }
     }
 }
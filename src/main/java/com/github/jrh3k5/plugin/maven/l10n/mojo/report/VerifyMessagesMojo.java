@@ -19,7 +19,19 @@ package com.github.jrh3k5.plugin.maven.l10n.mojo.report;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -30,10 +42,17 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 
+import com.github.jrh3k5.plugin.maven.l10n.data.AbstractMessagesPropertiesParser;
 import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.MessagesPropertiesCache;
+import com.github.jrh3k5.plugin.maven.l10n.util.ClassFileIndex;
+import com.github.jrh3k5.plugin.maven.l10n.util.ClassLoaderCache;
 import com.github.jrh3k5.plugin.maven.l10n.util.ClassLoaderUtils;
+import com.github.jrh3k5.plugin.maven.l10n.util.PhaseMetrics;
 import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils;
 import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils.ClassinessAnalysisResults;
+import com.github.jrh3k5.plugin.maven.l10n.util.VerificationIssueUtils;
+import com.github.jrh3k5.plugin.maven.l10n.util.VerificationStamp;
 
 /**
  * A mojo used to verify that a messages properties file meets the following criteria:
@@ -59,6 +78,31 @@ public class VerifyMessagesMojo extends AbstractMojo {
     @Parameter(required = true, defaultValue = "${project.basedir}/src/main/resources/messages.properties")
     private File messagesFile;
 
+    /**
+     * The base names of the messages properties files to be verified, such as {@code messages} and {@code errors}, each of which is read from the {@link #bundleDirectory bundle directory}. If
+     * any are given, they are verified in place of the {@link #messagesFile messages file}, against a single classloader over the project's classpath.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = false)
+    private List<String> bundles = Collections.emptyList();
+
+    /**
+     * The directory from which the messages properties files of the configured {@link #bundles} are read.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "${project.basedir}/src/main/resources")
+    private File bundleDirectory;
+
+    /**
+     * The number of threads to be used to verify the configured {@link #bundles}. If greater than 1, the bundles are verified concurrently.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "1")
+    private int bundleThreads;
+
     /**
      * Configure whether or not the build should fail if there are any verification issues. Defaults to {@code false}, which means the build will <b>not</b> fail if there are any issues with the
      * configured messages properties file.
@@ -66,48 +110,353 @@ public class VerifyMessagesMojo extends AbstractMojo {
     @Parameter(required = true, defaultValue = "false")
     private boolean failBuild;
 
+
+    /**
+     * The encoding of the messages files. Defaults to ISO-8859-1, which is the encoding assumed by {@link java.util.Properties}.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "ISO-8859-1")
+    private String messagesEncoding;
+
+    /**
+     * The {@link Charset} of the configured {@link #messagesEncoding encoding}, resolved once when the goal is run.
+     */
+    private Charset encoding;
+
+    /**
+     * The directory in which parsed messages files are cached between builds. Messages files that have not changed since they were cached are loaded from this cache rather than parsed again.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "${project.build.directory}/l10n-cache")
+    private File parseCacheDirectory;
+
+    /**
+     * Configure whether or not parsed messages files should be cached in the {@link #parseCacheDirectory parse cache directory}.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean useParseCache;
+
     /**
      * A {@link MavenProject} representing the current project.
      */
     @Parameter(required = true, defaultValue = "${project}", readonly = true)
     private MavenProject project;
 
+    /**
+     * Configure whether or not translation classes should be loaded through a classloader to verify that their translation keys exist. By default, the class files of translation classes are read
+     * directly, which never loads or initializes the classes.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean loadTranslationClasses;
+
+    /**
+     * The number of threads to be used to analyze the project's classes. If greater than 1, translation classes are verified concurrently.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "1")
+    private int analysisThreads;
+
+    /**
+     * Configure whether or not the verification should be skipped when neither the messages file nor the project's classpath has changed since the previous verification, in which case the
+     * issues found by the previous verification are reported again.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean skipIfUpToDate;
+
+    /**
+     * The directory in which the results of previous verifications are recorded for the {@link #skipIfUpToDate up-to-date check}.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "${project.build.directory}/l10n-stamps")
+    private File stampDirectory;
+
+    /**
+     * The current build session. Only its identity is used, to scope the classloaders shared between goals to the build in which they were created.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, readonly = true, defaultValue = "${session}")
+    private Object session;
+
+    /**
+     * Configure whether or not a summary of the time taken, memory allocated, and work done by each phase of the verification should be logged at the INFO level, rather than the DEBUG level.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean logMetrics;
+
+    /**
+     * The file to which the time taken, memory allocated, and work done by each phase of the verification are written as JSON. If not set, which is the default, no such file is written.
+     * 
+     * @since 1.5
+     */
+    @Parameter(required = false)
+    private File metricsFile;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
+        encoding = resolveEncoding();
+        final PhaseMetrics metrics = new PhaseMetrics("verify-messages");
+        final List<File> bundleFiles = getBundleFiles();
+        final List<VerificationStamp> stamps = new ArrayList<>(bundleFiles.size());
+        final List<byte[]> fingerprints = new ArrayList<>(bundleFiles.size());
+        final List<List<String>> bundleIssues = new ArrayList<>(bundleFiles.size());
+        for (File bundleFile : bundleFiles) {
+            stamps.add(new VerificationStamp(stampDirectory, bundleFile));
+            fingerprints.add(null);
+            bundleIssues.add(null);
+        }
+
+        if (skipIfUpToDate) {
+            try (final PhaseMetrics.Phase phase = metrics.start("fingerprint")) {
+                final List<File> classpathElements = ClassLoaderUtils.getClasspathElements(project);
+                // The classpath is shared by every bundle, so it is only walked once
+                final byte[] classpathFingerprint = VerificationStamp.fingerprintClasspath(classpathElements);
+                for (int i = 0; i < bundleFiles.size(); i++) {
+                    final byte[] fingerprint = VerificationStamp.fingerprint(bundleFiles.get(i), classpathFingerprint,
+                            Arrays.asList(messagesEncoding, Boolean.toString(loadTranslationClasses)));
+                    fingerprints.set(i, fingerprint);
+                    bundleIssues.set(i, stamps.get(i).load(fingerprint));
+                }
+                phase.count("classpathElements", classpathElements.size()).count("files", bundleFiles.size());
+            } catch (IOException e) {
+                throw new MojoExecutionException(String.format("Failed to resolve the classpath to verify messages files: %s", bundleFiles), e);
+            }
+        }
+
+        final List<File> outdatedFiles = new ArrayList<>();
+        for (int i = 0; i < bundleFiles.size(); i++) {
+            if (bundleIssues.get(i) == null) {
+                outdatedFiles.add(bundleFiles.get(i));
+            } else {
+                getLog().info(String.format("File %s and the project classpath are unchanged since they were last verified.", bundleFiles.get(i).getName()));
+            }
+        }
+
+        if (!outdatedFiles.isEmpty()) {
+            final Iterator<List<String>> verifiedIssues = verify(outdatedFiles, metrics).iterator();
+            for (int i = 0; i < bundleFiles.size(); i++) {
+                if (bundleIssues.get(i) != null) {
+                    continue;
+                }
+
+                final List<String> issues = verifiedIssues.next();
+                bundleIssues.set(i, issues);
+                if (fingerprints.get(i) != null) {
+                    try {
+                        stamps.get(i).store(fingerprints.get(i), issues);
+                    } catch (IOException e) {
+                        getLog().warn(String.format("Failed to record the verification of messages file: %s", bundleFiles.get(i)), e);
+                    }
+                }
+            }
+        }
+
+        metrics.log(getLog(), logMetrics);
+        if (metricsFile != null) {
+            try {
+                metrics.write(metricsFile);
+            } catch (IOException e) {
+                getLog().warn(String.format("Failed to write the metrics of the verification to: %s", metricsFile), e);
+            }
+        }
+
+        final AbstractIssueEmitter emitter = failBuild ? new LogErrorIssueEmitter(getLog()) : new LogWarnIssueEmitter(getLog());
+        final List<String> failedFileNames = new ArrayList<>();
+        for (int i = 0; i < bundleFiles.size(); i++) {
+            for (String issue : bundleIssues.get(i)) {
+                emitter.emit(issue);
+            }
+            if (!bundleIssues.get(i).isEmpty()) {
+                failedFileNames.add(bundleFiles.get(i).getName());
+            }
+        }
+
+        if (failBuild && !failedFileNames.isEmpty()) {
+            if (failedFileNames.size() == 1) {
+                throw new MojoFailureException(String.format("The file %s has one or more verification errors. Refer to messages above for more information.", failedFileNames.get(0)));
+            }
+            throw new MojoFailureException(String.format("The files %s have one or more verification errors. Refer to messages above for more information.",
+                    StringUtils.join(failedFileNames, ", ")));
+        }
+    }
+
+    /**
+     * Get the messages files to be verified.
+     * 
+     * @return A {@link List} of the messages files of the configured {@link #bundles}, if any; otherwise, a {@link List} containing only the configured {@link #messagesFile}.
+     */
+    private List<File> getBundleFiles() {
+        if (bundles.isEmpty()) {
+            return Collections.singletonList(messagesFile);
+        }
+
+        final List<File> bundleFiles = new ArrayList<>(bundles.size());
+        for (String bundle : bundles) {
+            bundleFiles.add(new File(bundleDirectory, bundle + ".properties"));
+        }
+        return bundleFiles;
+    }
+
+    /**
+     * Verify messages files against a single classloader over the project's classpath, concurrently if so configured.
+     * 
+     * @param bundleFiles
+     *            A {@link List} of the messages files to be verified.
+     * @param metrics
+     *            The {@link PhaseMetrics} in which the phases of the verification are to be recorded.
+     * @return A {@link List} of the issues found with each of the given files, in the same order as the given files.
+     * @throws MojoExecutionException
+     *             If any errors occur during the verification.
+     */
+    private List<List<String>> verify(List<File> bundleFiles, final PhaseMetrics metrics) throws MojoExecutionException {
+        final List<List<String>> bundleIssues = new ArrayList<>(bundleFiles.size());
+        final boolean multipleBundles = bundleFiles.size() > 1;
+        try (final ClassLoaderCache.Lease classLoaderLease = acquireClassLoader(metrics)) {
+            if (bundleThreads <= 1 || !multipleBundles) {
+                for (File bundleFile : bundleFiles) {
+                    bundleIssues.add(verify(bundleFile, classLoaderLease, metrics, multipleBundles ? bundleFile.getName() + ":" : ""));
+                }
+                return bundleIssues;
+            }
+
+            final ForkJoinPool pool = new ForkJoinPool(Math.min(bundleThreads, bundleFiles.size()));
+            try {
+                final List<Future<List<String>>> futures = new ArrayList<>(bundleFiles.size());
+                for (final File bundleFile : bundleFiles) {
+                    futures.add(pool.submit(new Callable<List<String>>() {
+                        @Override
+                        public List<String> call() throws MojoExecutionException {
+                            return verify(bundleFile, classLoaderLease, metrics, bundleFile.getName() + ":");
+                        }
+                    }));
+                }
+
+                for (Future<List<String>> future : futures) {
+                    try {
+                        bundleIssues.add(future.get());
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof MojoExecutionException) {
+                            throw (MojoExecutionException) e.getCause();
+                        }
+                        throw new MojoExecutionException("Failed to verify messages files.", e.getCause());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new MojoExecutionException("Interrupted while verifying messages files.", e);
+                    }
+                }
+                return bundleIssues;
+            } finally {
+                pool.shutdownNow();
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to load project classloader.", e);
+        }
+    }
+
+    /**
+     * Verify a messages file.
+     * 
+     * @param bundleFile
+     *            The messages file to be verified.
+     * @param classLoaderLease
+     *            The {@link ClassLoaderCache.Lease} on the classloader, and class file index, against which translation keys are to be verified.
+     * @param metrics
+     *            The {@link PhaseMetrics} in which the phases of the verification are to be recorded.
+     * @param phasePrefix
+     *            The prefix of the names of the recorded phases, distinguishing them from those of other files; empty if none is needed.
+     * @return A {@link List} of descriptions of the issues found with the messages file; empty if there are none.
+     * @throws MojoExecutionException
+     *             If any errors occur during the verification.
+     */
+    private List<String> verify(File bundleFile, ClassLoaderCache.Lease classLoaderLease, PhaseMetrics metrics, String phasePrefix) throws MojoExecutionException {
         AuthoritativeMessagesProperties properties;
-        try {
-            properties = new AuthoritativeMessagesProperties.Parser().parse(messagesFile);
+        try (final PhaseMetrics.Phase phase = metrics.start(phasePrefix + "authoritative-parse")) {
+            final AuthoritativeMessagesProperties.Parser parser = new AuthoritativeMessagesProperties.Parser();
+            configure(parser);
+            properties = parser.parse(bundleFile);
+            phase.count("files", 1).count("keys", properties.getTranslationKeys().size());
         } catch (IOException e) {
-            throw new MojoExecutionException(String.format("Failed to parse messages file: %s", messagesFile), e);
+            throw new MojoExecutionException(String.format("Failed to parse messages file: %s", bundleFile), e);
         }
 
         ClassinessAnalysisResults analysisResults;
-        try {
-            analysisResults = TranslationKeyAnalysisUtils.getInstance(getLog()).analyzeClassiness(ClassLoaderUtils.getClassLoader(project), properties);
+        try (final PhaseMetrics.Phase phase = metrics.start(phasePrefix + "classiness-analysis")) {
+            final TranslationKeyAnalysisUtils analysisUtils = TranslationKeyAnalysisUtils.getInstance(getLog());
+            final ClassFileIndex classFileIndex = classLoaderLease.getClassFileIndex();
+            if (loadTranslationClasses) {
+                analysisResults = analysisUtils.analyzeClassiness(classLoaderLease.getClassLoader(), classFileIndex, properties, analysisThreads);
+            } else {
+                analysisResults = analysisUtils.analyzeClassiness(classFileIndex, properties, analysisThreads);
+            }
+            phase.count("classes", properties.getTranslationClasses().size()).count("missingClasses", analysisResults.getMissingTranslationKeyClasses().size())
+                    .count("missingKeys", analysisResults.getMissingTranslationKeys().size());
         } catch (IOException e) {
-            throw new MojoExecutionException(String.format("Failed to analyze translation keys for file: %s", messagesFile), e);
+            throw new MojoExecutionException(String.format("Failed to analyze translation keys for file: %s", bundleFile), e);
         }
 
-        final AbstractIssueEmitter emitter = failBuild ? new LogErrorIssueEmitter(getLog()) : new LogWarnIssueEmitter(getLog());
-
-        boolean shouldFail = false;
-        if (!properties.getDuplicateTranslationKeys().isEmpty()) {
-            shouldFail = true;
-            emitter.emit(String.format("File %s contains %d duplicate keys.", messagesFile.getName(), properties.getDuplicateTranslationKeys().size()));
-        }
+        return VerificationIssueUtils.getIssues(bundleFile, properties, analysisResults);
+    }
 
-        if (!analysisResults.getMissingTranslationKeyClasses().isEmpty()) {
-            shouldFail = true;
-            emitter.emit(String.format("File %s contains %d references to non-existent translation key classes.", messagesFile.getName(), analysisResults.getMissingTranslationKeyClasses().size()));
+    /**
+     * Acquire the classloader over the project's classpath, recording its acquisition as a phase.
+     * 
+     * @param metrics
+     *            The {@link PhaseMetrics} in which the acquisition is to be recorded.
+     * @return A {@link ClassLoaderCache.Lease} on the classloader.
+     * @throws IOException
+     *             If any errors occur in building the classloader.
+     */
+    private ClassLoaderCache.Lease acquireClassLoader(PhaseMetrics metrics) throws IOException {
+        try (final PhaseMetrics.Phase phase = metrics.start("classloader")) {
+            final List<URL> classpathUrls = ClassLoaderUtils.getClasspathUrls(project);
+            int directoryCount = 0;
+            for (URL classpathUrl : classpathUrls) {
+                if (classpathUrl.getPath().endsWith("/")) {
+                    directoryCount++;
+                }
+            }
+            phase.count("jars", classpathUrls.size() - directoryCount).count("directories", directoryCount);
+            return ClassLoaderCache.getInstance().acquire(session, classpathUrls);
         }
+    }
 
-        if (!analysisResults.getMissingTranslationKeys().isEmpty()) {
-            shouldFail = true;
-            emitter.emit(String.format("File %s contains %d references to non-existent translation class keys.", messagesFile.getName(), analysisResults.getMissingTranslationKeys().size()));
+    /**
+     * Apply the configured parsing options to a parser.
+     * 
+     * @param parser
+     *            The {@link AbstractMessagesPropertiesParser} to be configured.
+     */
+    private void configure(AbstractMessagesPropertiesParser parser) {
+        parser.setEncoding(encoding);
+        if (useParseCache) {
+            parser.setCache(new MessagesPropertiesCache(parseCacheDirectory));
         }
+    }
 
-        if (failBuild && shouldFail) {
-            throw new MojoFailureException(String.format("The file %s has one or more verification errors. Refer to messages above for more information.", messagesFile.getName()));
+    /**
+     * Resolve the configured {@link #messagesEncoding encoding} of the messages files.
+     * 
+     * @return The {@link Charset} of the configured encoding.
+     * @throws MojoExecutionException
+     *             If the configured encoding is not supported or cannot be read by the scanning of messages files.
+     */
+    private Charset resolveEncoding() throws MojoExecutionException {
+        try {
+            return AbstractMessagesPropertiesParser.forEncodingName(messagesEncoding);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
         }
     }
 
@@ -0,0 +1,477 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.mojo.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.AbstractMessagesPropertiesParser;
+import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.MessageFormatSignatures;
+import com.github.jrh3k5.plugin.maven.l10n.data.MessagesPropertiesCache;
+import com.github.jrh3k5.plugin.maven.l10n.data.TranslatedMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.util.ClassFileIndex;
+import com.github.jrh3k5.plugin.maven.l10n.util.ClassLoaderUtils;
+import com.github.jrh3k5.plugin.maven.l10n.util.IncrementalVerifier;
+import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils;
+
+/**
+ * A goal that verifies a messages properties file and its translations, and then watches them, and the project's output directory, for changes until it is stopped. Each change re-runs only the
+ * checks that it affects, against the files and classes kept in memory since the previous verification, and logs the issues that remain.
+ * <p>
+ * Translation classes are always verified by reading their class files, so that classes recompiled while watching are seen without a new classloader.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+@Mojo(name = "watch-messages", requiresDependencyResolution = ResolutionScope.RUNTIME)
+public class WatchMessagesMojo extends AbstractMojo {
+    /**
+     * How long, in milliseconds, to wait for further changes after a change is seen before verifying, so that a file saved in several writes is only verified once.
+     */
+    private static final long QUIET_PERIOD_MILLIS = 100;
+
+    /**
+     * The location of the file that is to be read and verified. This is considered the "authoritative" messages file, of which all other messages are to be considered translations.
+     */
+    @Parameter(required = true, defaultValue = "${project.basedir}/src/main/resources/messages.properties")
+    private File messagesFile;
+
+    /**
+     * The pattern to be used to locate translations of the defined authoritative messages properties (applied to the project's base directory).
+     */
+    @Parameter(required = true, defaultValue = "src/main/resources/messages*.properties")
+    private String translatedMessagesPattern;
+
+
+    /**
+     * The encoding of the messages files. Defaults to ISO-8859-1, which is the encoding assumed by {@link java.util.Properties}.
+     */
+    @Parameter(required = true, defaultValue = "ISO-8859-1")
+    private String messagesEncoding;
+
+    /**
+     * The {@link Charset} of the configured {@link #messagesEncoding encoding}, resolved once when the goal is run.
+     */
+    private Charset encoding;
+
+    /**
+     * The directory in which parsed messages files are cached between builds. Messages files that have not changed since they were cached are loaded from this cache rather than parsed again.
+     */
+    @Parameter(required = true, defaultValue = "${project.build.directory}/l10n-cache")
+    private File parseCacheDirectory;
+
+    /**
+     * Configure whether or not parsed messages files should be cached in the {@link #parseCacheDirectory parse cache directory}.
+     */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean useParseCache;
+
+    /**
+     * The number of threads to be used to analyze the project's classes. If greater than 1, translation classes are verified concurrently.
+     */
+    @Parameter(required = true, defaultValue = "1")
+    private int analysisThreads;
+
+    /**
+     * The number of threads to be used to parse the translations of the authoritative messages file when all of them must be parsed again. If greater than 1, the translations are parsed
+     * concurrently.
+     */
+    @Parameter(required = true, defaultValue = "1")
+    private int parserThreads;
+
+    /**
+     * Configure whether or not the placeholders of each translation - the indices and format types of its {@link java.text.MessageFormat} arguments - should be compared to those of the
+     * authoritative message.
+     */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean checkPlaceholders;
+
+    /**
+     * Configure whether or not translations should be checked for values that are the same as those of the authoritative messages.
+     */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean checkUntranslated;
+
+    /**
+     * Configure whether or not a key missing from a translation should be reported only if no translation it falls back to, such as {@code messages_fr.properties} for
+     * {@code messages_fr_CA.properties}, translates it.
+     */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean localeFallback;
+
+    /**
+     * A {@link MavenProject} representing the current project.
+     */
+    @Parameter(required = true, defaultValue = "${project}", readonly = true)
+    private MavenProject project;
+
+    /**
+     * The argument signatures compiled while watching, kept so that values that have not changed are not compiled again.
+     */
+    private final MessageFormatSignatures placeholderSignatures = new MessageFormatSignatures();
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        encoding = resolveEncoding();
+        final File outputDirectory = new File(project.getBuild().getOutputDirectory());
+        try (final ClassFileIndex classFileIndex = new ClassFileIndex(ClassLoaderUtils.getClasspathUrls(project)); final WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            final AuthoritativeMessagesProperties.Parser authoritativeParser = new AuthoritativeMessagesProperties.Parser();
+            configure(authoritativeParser);
+            final TranslatedMessagesProperties.Parser translatedParser = new TranslatedMessagesProperties.Parser();
+            configure(translatedParser);
+            translatedParser.setThreadCount(parserThreads);
+            final IncrementalVerifier verifier = new IncrementalVerifier(messagesFile, authoritativeParser, translatedParser, classFileIndex, TranslationKeyAnalysisUtils.getInstance(getLog()),
+                    analysisThreads);
+            verifier.setLocaleFallback(localeFallback);
+
+            long start = System.nanoTime();
+            try {
+                verifier.verifyAll(getTranslationFiles());
+                report(verifier, start);
+            } catch (IOException | RuntimeException e) {
+                reportFailure(e);
+            }
+
+            final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+            watchBundleDirectories(watchService, watchedDirectories, verifier);
+            if (outputDirectory.isDirectory()) {
+                watchTree(watchService, watchedDirectories, outputDirectory.toPath());
+            }
+            getLog().info("Watching for changes to the messages files and the project's classes; press Ctrl+C to stop.");
+
+            while (true) {
+                final Set<Path> changedPaths = new HashSet<>();
+                boolean overflowed = takeChanges(watchService, watchedDirectories, changedPaths);
+                // Wait for the changes to settle, so that a file saved in several writes is verified once
+                while (true) {
+                    final WatchKey watchKey = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                    if (watchKey == null) {
+                        break;
+                    }
+                    overflowed |= collectChanges(watchService, watchedDirectories, watchKey, changedPaths);
+                }
+
+                start = System.nanoTime();
+                // A file caught mid-edit or deleted mid-batch fails only this batch; the next change is verified as usual
+                try {
+                    // Until a verification succeeds there is nothing to verify incrementally against
+                    if (apply(verifier, outputDirectory.toPath(), changedPaths, overflowed || !verifier.isVerified())) {
+                        watchBundleDirectories(watchService, watchedDirectories, verifier);
+                        report(verifier, start);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    reportFailure(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new MojoExecutionException(String.format("Failed to watch messages file: %s", messagesFile), e);
+        }
+    }
+
+    /**
+     * Re-verify whatever is affected by a set of changes.
+     *
+     * @param verifier
+     *            The {@link IncrementalVerifier} to be updated.
+     * @param outputDirectory
+     *            The project's output directory.
+     * @param changedPaths
+     *            A {@link Set} of the files and directories that have changed.
+     * @param overflowed
+     *            {@code true} if changes may have been missed, in which case everything is re-verified.
+     * @return {@code true} if anything was re-verified; {@code false} if none of the changes affected the verification.
+     * @throws IOException
+     *             If any errors occur during the verification.
+     */
+    private boolean apply(IncrementalVerifier verifier, Path outputDirectory, Set<Path> changedPaths, boolean overflowed) throws IOException {
+        final List<File> translationFiles = getTranslationFiles();
+        if (overflowed) {
+            verifier.verifyAll(translationFiles);
+            return true;
+        }
+
+        boolean classesChanged = false;
+        boolean authoritativeChanged = false;
+        final Set<File> changedTranslations = new HashSet<>();
+        for (Path changedPath : changedPaths) {
+            final File changedFile = changedPath.toFile();
+            if (changedPath.startsWith(outputDirectory)) {
+                classesChanged = true;
+            } else if (changedFile.getAbsoluteFile().equals(messagesFile.getAbsoluteFile())) {
+                authoritativeChanged = true;
+            } else {
+                changedTranslations.add(changedFile.getAbsoluteFile());
+            }
+        }
+
+        if (authoritativeChanged) {
+            // Re-verifying the authoritative file re-compares every translation, including any new ones, against the current classes
+            verifier.verifyAll(translationFiles);
+            return true;
+        }
+
+        boolean verified = false;
+        final Set<File> currentTranslations = new HashSet<>();
+        for (File translationFile : translationFiles) {
+            currentTranslations.add(translationFile.getAbsoluteFile());
+        }
+        for (File knownTranslation : new HashSet<>(verifier.getTranslationFiles())) {
+            if (!currentTranslations.contains(knownTranslation.getAbsoluteFile())) {
+                verifier.translationRemoved(knownTranslation);
+                verified = true;
+            }
+        }
+        for (File translationFile : translationFiles) {
+            if (changedTranslations.contains(translationFile.getAbsoluteFile())) {
+                verifier.translationChanged(translationFile);
+                verified = true;
+            }
+        }
+
+        if (classesChanged) {
+            verifier.classesChanged();
+            verified = true;
+        }
+        return verified;
+    }
+
+    /**
+     * Log the issues found by the most recent verification.
+     *
+     * @param verifier
+     *            The {@link IncrementalVerifier} that performed the verification.
+     * @param start
+     *            The {@link System#nanoTime() time} at which the verification started.
+     */
+    private void report(IncrementalVerifier verifier, long start) {
+        final List<String> issues = verifier.getIssues();
+        for (String issue : issues) {
+            getLog().warn(issue);
+        }
+        getLog().info(String.format("Verified %s and %d translations in %d ms: %s.", messagesFile.getName(), verifier.getTranslationFiles().size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), issues.isEmpty() ? "no issues found" : issues.size() + " issues found"));
+    }
+
+    /**
+     * Log the failure of a verification. The issues found by the last verification to succeed are kept, to be compared against by the verification of the next change.
+     *
+     * @param failure
+     *            The {@link Exception} with which the verification failed.
+     */
+    private void reportFailure(Exception failure) {
+        getLog().error(String.format("Failed to verify %s; waiting for the next change: %s", messagesFile.getName(), failure.getMessage()), failure);
+    }
+
+    /**
+     * Get the translations of the authoritative messages file that currently exist.
+     *
+     * @return A {@link List} of the translation files matching the configured pattern.
+     * @throws IOException
+     *             If the project's base directory cannot be searched.
+     */
+    private List<File> getTranslationFiles() throws IOException {
+        final List<File> translationFiles = FileUtils.getFiles(project.getBasedir(), translatedMessagesPattern, null);
+        // Don't consider the authoritative resource, if found, to be a "translation"
+        translationFiles.remove(messagesFile);
+        return translationFiles;
+    }
+
+    /**
+     * Watch the directories of the authoritative messages file and its translations, if they are not already watched.
+     *
+     * @param watchService
+     *            The {@link WatchService} with which the directories are to be registered.
+     * @param watchedDirectories
+     *            A {@link Map} of the directories already watched, keyed by their {@link WatchKey} objects; directories newly watched are added to it.
+     * @param verifier
+     *            The {@link IncrementalVerifier} whose translations are to be watched.
+     * @throws IOException
+     *             If any directory cannot be watched.
+     */
+    private void watchBundleDirectories(WatchService watchService, Map<WatchKey, Path> watchedDirectories, IncrementalVerifier verifier) throws IOException {
+        final Set<File> directories = new HashSet<>();
+        directories.add(messagesFile.getAbsoluteFile().getParentFile());
+        for (File translationFile : verifier.getTranslationFiles()) {
+            directories.add(translationFile.getAbsoluteFile().getParentFile());
+        }
+
+        for (File directory : directories) {
+            if (directory.isDirectory() && !watchedDirectories.containsValue(directory.toPath())) {
+                watch(watchService, watchedDirectories, directory.toPath());
+            }
+        }
+    }
+
+    /**
+     * Watch a directory and all of its subdirectories.
+     *
+     * @param watchService
+     *            The {@link WatchService} with which the directories are to be registered.
+     * @param watchedDirectories
+     *            A {@link Map} of the directories already watched, keyed by their {@link WatchKey} objects; directories newly watched are added to it.
+     * @param root
+     *            The directory to be watched.
+     * @throws IOException
+     *             If any directory cannot be watched.
+     */
+    private static void watchTree(final WatchService watchService, final Map<WatchKey, Path> watchedDirectories, Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                watch(watchService, watchedDirectories, directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Watch a directory for the creation, modification, and deletion of its entries.
+     *
+     * @param watchService
+     *            The {@link WatchService} with which the directory is to be registered.
+     * @param watchedDirectories
+     *            A {@link Map} of the directories already watched, keyed by their {@link WatchKey} objects, to which the directory is to be added.
+     * @param directory
+     *            The directory to be watched.
+     * @throws IOException
+     *             If the directory cannot be watched.
+     */
+    private static void watch(WatchService watchService, Map<WatchKey, Path> watchedDirectories, Path directory) throws IOException {
+        final WatchKey watchKey = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirectories.put(watchKey, directory);
+    }
+
+    /**
+     * Wait for a change to any watched directory, and collect the changes signalled with it.
+     *
+     * @param watchService
+     *            The {@link WatchService} with which the directories are registered.
+     * @param watchedDirectories
+     *            A {@link Map} of the watched directories, keyed by their {@link WatchKey} objects.
+     * @param changedPaths
+     *            A {@link Set} to which the changed files and directories are to be added.
+     * @return {@code true} if changes may have been missed.
+     * @throws InterruptedException
+     *             If interrupted while waiting.
+     * @throws IOException
+     *             If a newly-created directory cannot be watched.
+     */
+    private static boolean takeChanges(WatchService watchService, Map<WatchKey, Path> watchedDirectories, Set<Path> changedPaths) throws InterruptedException, IOException {
+        return collectChanges(watchService, watchedDirectories, watchService.take(), changedPaths);
+    }
+
+    /**
+     * Collect the changes signalled by a watched directory. Directories created within the directory are watched as well, since any classes compiled into them must be seen.
+     *
+     * @param watchService
+     *            The {@link WatchService} with which the directories are registered.
+     * @param watchedDirectories
+     *            A {@link Map} of the watched directories, keyed by their {@link WatchKey} objects.
+     * @param watchKey
+     *            The {@link WatchKey} that was signalled.
+     * @param changedPaths
+     *            A {@link Set} to which the changed files and directories are to be added.
+     * @return {@code true} if changes may have been missed.
+     * @throws IOException
+     *             If a newly-created directory cannot be watched.
+     */
+    private static boolean collectChanges(WatchService watchService, Map<WatchKey, Path> watchedDirectories, WatchKey watchKey, Set<Path> changedPaths) throws IOException {
+        boolean overflowed = false;
+        final Path directory = watchedDirectories.get(watchKey);
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                overflowed = true;
+                continue;
+            }
+
+            final Path changedPath = directory.resolve((Path) event.context());
+            changedPaths.add(changedPath);
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changedPath)) {
+                watchTree(watchService, watchedDirectories, changedPath);
+            }
+        }
+
+        if (!watchKey.reset()) {
+            // The directory is no longer accessible, such as when it has been deleted
+            watchedDirectories.remove(watchKey);
+        }
+        return overflowed;
+    }
+
+    /**
+     * Apply the configured parsing options to a parser.
+     *
+     * @param parser
+     *            The {@link AbstractMessagesPropertiesParser} to be configured.
+     */
+    private void configure(AbstractMessagesPropertiesParser parser) {
+        parser.setEncoding(encoding);
+        if (useParseCache) {
+            parser.setCache(new MessagesPropertiesCache(parseCacheDirectory));
+        }
+        if (checkPlaceholders) {
+            parser.setPlaceholderSignatures(placeholderSignatures);
+        }
+        parser.setHashValues(checkUntranslated);
+    }
+
+    /**
+     * Resolve the configured {@link #messagesEncoding encoding} of the messages files.
+     * 
+     * @return The {@link Charset} of the configured encoding.
+     * @throws MojoExecutionException
+     *             If the configured encoding is not supported or cannot be read by the scanning of messages files.
+     */
+    private Charset resolveEncoding() throws MojoExecutionException {
+        try {
+            return AbstractMessagesPropertiesParser.forEncodingName(messagesEncoding);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+}
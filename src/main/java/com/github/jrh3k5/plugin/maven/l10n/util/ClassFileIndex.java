@@ -0,0 +1,400 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.ClassFile;
+
+/**
+ * An index of the class files on a classpath, read directly from its directories and archives without loading (and, so, without initializing) any classes. Each class is read the first time it is
+ * requested and remembered thereafter, as is the absence of a class.
+ * <p>
+ * The names of all classes on the classpath are listed, from directory listings and the central directories of archives, the first time any class is requested. Whether a class exists is then
+ * answered from that listing without opening a single class file, and a class is read only from the element that actually contains it.
+ * <p>
+ * This is safe for use by multiple threads. Each archive is opened once, when it is first listed, and every class read from it is read through that one handle - opening an archive parses its
+ * whole central directory - until the index is closed.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class ClassFileIndex implements Closeable {
+    private static final Object MISSING = new Object();
+
+    private final List<Root> roots;
+    private final ClassFile.Parser parser = new ClassFile.Parser();
+    private final ConcurrentMap<String, Object> classFiles = new ConcurrentHashMap<>();
+    private volatile Map<String, Root> classNames;
+
+    /**
+     * Create an index.
+     *
+     * @param classpathUrls
+     *            A {@link List} of {@link URL} objects representing the directories and archives of the classpath, in the order in which they are searched. Elements that are not local files are
+     *            ignored.
+     */
+    public ClassFileIndex(List<URL> classpathUrls) {
+        final List<Root> classpathRoots = new ArrayList<>(classpathUrls.size());
+        for (URL classpathUrl : classpathUrls) {
+            if (!"file".equals(classpathUrl.getProtocol())) {
+                continue;
+            }
+
+            File element;
+            try {
+                element = new File(classpathUrl.toURI());
+            } catch (URISyntaxException e) {
+                element = new File(classpathUrl.getPath());
+            }
+
+            if (element.isDirectory()) {
+                classpathRoots.add(new DirectoryRoot(element));
+            } else if (element.isFile()) {
+                classpathRoots.add(new ArchiveRoot(element));
+            }
+        }
+        this.roots = Collections.unmodifiableList(classpathRoots);
+    }
+
+    /**
+     * Determine whether a class exists on the classpath.
+     *
+     * @param className
+     *            The binary name of the class.
+     * @return {@code true} if a class file for the given class exists on the classpath.
+     * @throws IOException
+     *             If any errors occur while reading the classpath.
+     */
+    public boolean containsClass(String className) throws IOException {
+        return getClassNames().containsKey(className);
+    }
+
+    /**
+     * Resolve the canonical name of a class to its binary name. Where the canonical name is ambiguous - such as {@code com.example.Keys.Nested}, which may be the class {@code Nested} in the package
+     * {@code com.example.Keys} or the class {@code Nested} nested within {@code com.example.Keys} - the classpath is consulted, preferring the interpretation with the longest package name.
+     *
+     * @param canonicalName
+     *            The canonical name of the class (for example, {@code com.example.Keys.Nested}).
+     * @return {@code null} if no class of the given canonical name exists on the classpath; otherwise, the binary name of the class (for example, {@code com.example.Keys$Nested}).
+     * @throws IOException
+     *             If any errors occur while reading the classpath.
+     */
+    public String resolveClassName(String canonicalName) throws IOException {
+        final Map<String, Root> names = getClassNames();
+        final StringBuilder candidate = new StringBuilder(canonicalName);
+        int separator = candidate.length();
+        while (true) {
+            final String candidateName = candidate.toString();
+            if (names.containsKey(candidateName)) {
+                return candidateName;
+            }
+
+            separator = candidateName.lastIndexOf('.', separator - 1);
+            if (separator < 0) {
+                return null;
+            }
+            candidate.setCharAt(separator, '$');
+        }
+    }
+
+    /**
+     * Get the class file of a class.
+     *
+     * @param className
+     *            The binary name of the class (for example, {@code com.example.Keys$Nested}).
+     * @return {@code null} if no class file for the given class exists on the classpath; otherwise, the {@link ClassFile} read from the first class file for the given class on the classpath.
+     * @throws IOException
+     *             If any errors occur while reading the classpath.
+     */
+    public ClassFile getClassFile(String className) throws IOException {
+        final Object cached = classFiles.get(className);
+        if (cached != null) {
+            return cached == MISSING ? null : (ClassFile) cached;
+        }
+
+        final Root root = getClassNames().get(className);
+        if (root != null) {
+            try (final InputStream classFileIn = root.open(className.replace('.', '/') + ".class")) {
+                if (classFileIn != null) {
+                    final ClassFile classFile = parser.parse(classFileIn);
+                    classFiles.putIfAbsent(className, classFile);
+                    return classFile;
+                }
+            }
+        }
+        classFiles.putIfAbsent(className, MISSING);
+        return null;
+    }
+
+    /**
+     * Forget the listing of the classpath and every class read from it, so that classes added, changed, or removed since are seen by subsequent requests. Archives that have been opened remain
+     * open, so listing them again does not read them again.
+     */
+    public synchronized void refresh() {
+        classNames = null;
+        classFiles.clear();
+    }
+
+    /**
+     * Get the names of the classes on the classpath, listing them if they have not yet been listed.
+     *
+     * @return A {@link Map} of the binary names of the classes on the classpath to the elements of the classpath from which they are read.
+     * @throws IOException
+     *             If any errors occur while listing the classpath.
+     */
+    private Map<String, Root> getClassNames() throws IOException {
+        Map<String, Root> names = classNames;
+        if (names == null) {
+            synchronized (this) {
+                names = classNames;
+                if (names == null) {
+                    names = new HashMap<>();
+                    for (Root root : roots) {
+                        root.list(names);
+                    }
+                    classNames = names;
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Convert the path of a class file, relative to the root of a classpath element, to the binary name of its class.
+     *
+     * @param path
+     *            The slash-delimited path of the class file.
+     * @return {@code null} if the given path is not that of a class file of a class that can be loaded from the root of the classpath element; otherwise, the binary name of its class.
+     */
+    private static String toClassName(String path) {
+        // Versioned entries of multi-release archives are not visible at their path
+        if (!path.endsWith(".class") || path.startsWith("META-INF/")) {
+            return null;
+        }
+        return path.substring(0, path.length() - ".class".length()).replace('/', '.');
+    }
+
+    /**
+     * Add a class, read from a classpath element, to a listing of class names, unless an earlier element already contains it.
+     *
+     * @param path
+     *            The slash-delimited path of the file within the classpath element.
+     * @param root
+     *            The {@link Root} containing the file.
+     * @param classNames
+     *            The {@link Map} of class names to which the class is to be added.
+     */
+    private static void addClassName(String path, Root root, Map<String, Root> classNames) {
+        final String className = toClassName(path);
+        if (className != null && !classNames.containsKey(className)) {
+            classNames.put(className, root);
+        }
+    }
+
+    /**
+     * Close the archives opened by this index. The listing of the classpath and the classes read from it are kept, and an archive is opened again should another class be read from it; the index
+     * must not be closed while a class is being read from it.
+     *
+     * @throws IOException
+     *             If any archive cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Root root : roots) {
+            try {
+                root.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * An element of the classpath.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private interface Root extends Closeable {
+        /**
+         * Open a file within this element.
+         *
+         * @param path
+         *            The slash-delimited path, relative to the root of this element, of the file to be opened.
+         * @return {@code null} if no file exists at the given path; otherwise, an {@link InputStream} of the contents of the file.
+         * @throws IOException
+         *             If any errors occur while opening the file.
+         */
+        InputStream open(String path) throws IOException;
+
+        /**
+         * List the classes within this element.
+         *
+         * @param classNames
+         *            A {@link Map} to which the binary names of the classes within this element, and this element, are to be added; classes already within it are left as they are.
+         * @throws IOException
+         *             If any errors occur while listing the classes.
+         */
+        void list(Map<String, Root> classNames) throws IOException;
+    }
+
+    /**
+     * A directory on the classpath.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private static class DirectoryRoot implements Root {
+        private final File directory;
+
+        /**
+         * Create a directory element.
+         *
+         * @param directory
+         *            The directory on the classpath.
+         */
+        private DirectoryRoot(File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public InputStream open(String path) throws IOException {
+            final File file = new File(directory, path);
+            return file.isFile() ? new FileInputStream(file) : null;
+        }
+
+        @Override
+        public void list(Map<String, Root> classNames) {
+            list(directory, "", classNames);
+        }
+
+        /**
+         * List the classes within a directory, and its subdirectories.
+         *
+         * @param current
+         *            The directory to be listed.
+         * @param path
+         *            The slash-terminated path of the given directory relative to the root of this element; empty for the root itself.
+         * @param classNames
+         *            The {@link Map} to which the binary names of the listed classes are to be added.
+         */
+        private void list(File current, String path, Map<String, Root> classNames) {
+            final File[] children = current.listFiles();
+            if (children == null) {
+                return;
+            }
+
+            for (File child : children) {
+                if (child.isDirectory()) {
+                    list(child, path + child.getName() + "/", classNames);
+                } else {
+                    addClassName(path + child.getName(), this, classNames);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * An archive, such as a jar, on the classpath.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private static class ArchiveRoot implements Root {
+        private final File archive;
+        private ZipFile zipFile;
+
+        /**
+         * Create an archive element.
+         *
+         * @param archive
+         *            The archive on the classpath.
+         */
+        private ArchiveRoot(File archive) {
+            this.archive = archive;
+        }
+
+        @Override
+        public InputStream open(String path) throws IOException {
+            final ZipFile opened = getZipFile();
+            final ZipEntry entry = opened.getEntry(path);
+            return entry == null ? null : opened.getInputStream(entry);
+        }
+
+        @Override
+        public void list(Map<String, Root> classNames) throws IOException {
+            // The entries are listed from the central directory, so this reads no class files
+            final Enumeration<? extends ZipEntry> entries = getZipFile().entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory()) {
+                    addClassName(entry.getName(), this, classNames);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (zipFile != null) {
+                zipFile.close();
+                zipFile = null;
+            }
+        }
+
+        /**
+         * Get the archive, opening it if it has not yet been opened.
+         *
+         * @return The {@link ZipFile} of the archive.
+         * @throws IOException
+         *             If the archive cannot be opened.
+         */
+        private synchronized ZipFile getZipFile() throws IOException {
+            if (zipFile == null) {
+                zipFile = new ZipFile(archive);
+            }
+            return zipFile;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.project.MavenProject;
+
+/**
+ * A cache of the classloaders used to load the classes of translation keys, shared by all of the goals run within a build session. Goals run against the same classpath (such as
+ * {@code verify-messages} and the translation key verification report within one module) share one classloader, and one {@link ClassFileIndex}, rather than each opening every jar on the
+ * classpath.
+ * <p>
+ * A classloader is {@link #acquire(Object, MavenProject) acquired} as a {@link Lease} that must be closed once the classloader is no longer needed. Classloaders are closed:
+ * <ul>
+ * <li>when a different build session first acquires a classloader, since the previous session must have ended - unless a lease on it is still open, in which case it is closed once its last
+ * lease is closed;</li>
+ * <li>when more than a fixed number of classloaders are cached without any open leases, starting with the least recently used;</li>
+ * <li>when the JVM shuts down.</li>
+ * </ul>
+ * The archives read by the {@link ClassFileIndex} of a classloader are closed whenever no lease on it is open, so idle classloaders hold open no archives beyond those of the classloader itself;
+ * the index keeps its listing of the classpath, and opens an archive again only if another class is read from it. This is safe for use by multiple threads.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class ClassLoaderCache {
+    /**
+     * The maximum number of classloaders that are cached without any open leases.
+     */
+    static final int DEFAULT_MAX_IDLE = 4;
+
+    private static final ClassLoaderCache INSTANCE = new ClassLoaderCache(DEFAULT_MAX_IDLE);
+
+    private final int maxIdle;
+    private final Map<List<String>, Entry> entries = new LinkedHashMap<>(16, .75f, true);
+    private WeakReference<Object> session = new WeakReference<>(null);
+    private boolean shutdownHookRegistered;
+
+    /**
+     * Get the cache shared by all goals.
+     *
+     * @return The shared {@link ClassLoaderCache}.
+     */
+    public static ClassLoaderCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a cache.
+     *
+     * @param maxIdle
+     *            The maximum number of classloaders to be cached without any open leases.
+     */
+    ClassLoaderCache(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Acquire a classloader that can be used to load the classes of the translation keys of a project.
+     *
+     * @param session
+     *            The build session in which the classloader is acquired; only its identity is used. If {@code null}, the classloader is shared with other acquisitions that have no session.
+     * @param project
+     *            A {@link MavenProject} representing the project whose translation keys are to be verified.
+     * @return A {@link Lease} on a {@link ClassLoader} over the runtime classpath of the given project.
+     * @throws IOException
+     *             If any errors occur in building the classloader.
+     */
+    public Lease acquire(Object session, MavenProject project) throws IOException {
+        return acquire(session, ClassLoaderUtils.getClasspathUrls(project));
+    }
+
+    /**
+     * Acquire a classloader over a classpath.
+     *
+     * @param session
+     *            The build session in which the classloader is acquired; only its identity is used. If {@code null}, the classloader is shared with other acquisitions that have no session.
+     * @param classpathUrls
+     *            A {@link List} of {@link URL} objects representing the classpath of the classloader.
+     * @return A {@link Lease} on a {@link ClassLoader} over the given classpath.
+     */
+    public synchronized Lease acquire(Object session, List<URL> classpathUrls) {
+        if (this.session.get() != session) {
+            retireAll();
+            this.session = new WeakReference<>(session);
+        }
+
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread("l10n-classloader-cache-shutdown") {
+                @Override
+                public void run() {
+                    closeAll();
+                }
+            });
+            shutdownHookRegistered = true;
+        }
+
+        // Compare the classpaths by their text; URL.equals() can resolve host names
+        final List<String> fingerprint = new ArrayList<>(classpathUrls.size());
+        for (URL classpathUrl : classpathUrls) {
+            fingerprint.add(classpathUrl.toExternalForm());
+        }
+
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            entry = new Entry(classpathUrls);
+            entries.put(fingerprint, entry);
+        }
+        entry.leases++;
+        return new Lease(entry);
+    }
+
+    /**
+     * Close all cached classloaders, whether or not they have open leases.
+     */
+    public synchronized void closeAll() {
+        for (Entry entry : entries.values()) {
+            close(entry);
+        }
+        entries.clear();
+    }
+
+    /**
+     * Remove all cached classloaders from the cache so that they are not shared with a new session, closing those without open leases; the rest are closed when their last lease is released, as
+     * another session may still be using them.
+     */
+    private synchronized void retireAll() {
+        for (Entry entry : entries.values()) {
+            if (entry.leases == 0) {
+                close(entry);
+            } else {
+                entry.retired = true;
+            }
+        }
+        entries.clear();
+    }
+
+    /**
+     * Release a lease on a classloader, closing the least recently used classloaders without open leases if too many are cached.
+     *
+     * @param entry
+     *            The {@link Entry} whose lease is to be released.
+     */
+    private synchronized void release(Entry entry) {
+        if (entry.leases > 0) {
+            entry.leases--;
+        }
+
+        if (entry.retired) {
+            if (entry.leases == 0) {
+                close(entry);
+            }
+            return;
+        }
+
+        if (entry.leases == 0) {
+            try {
+                entry.closeArchives();
+            } catch (IOException e) {
+                // Nothing can be done about an archive that can't be closed; the index opens it again if needed
+            }
+        }
+
+        int idle = 0;
+        for (Entry cached : entries.values()) {
+            if (cached.leases == 0) {
+                idle++;
+            }
+        }
+
+        // Entries are iterated from least to most recently used
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (idle > maxIdle && iterator.hasNext()) {
+            final Entry cached = iterator.next();
+            if (cached.leases == 0) {
+                close(cached);
+                iterator.remove();
+                idle--;
+            }
+        }
+    }
+
+    /**
+     * Close the classloader of an entry.
+     *
+     * @param entry
+     *            The {@link Entry} whose classloader is to be closed.
+     */
+    private static void close(Entry entry) {
+        try {
+            entry.classLoader.close();
+        } catch (IOException e) {
+            // Nothing can be done about a jar that can't be closed; its handle is released when the classloader is collected
+        }
+
+        try {
+            entry.closeClassFileIndex();
+        } catch (IOException e) {
+            // As above, for the archives read by the index
+        }
+    }
+
+    /**
+     * A cached classloader.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private static class Entry {
+        private final List<URL> classpathUrls;
+        private final URLClassLoader classLoader;
+        private ClassFileIndex classFileIndex;
+        private int leases;
+        private boolean retired;
+
+        /**
+         * Create an entry.
+         *
+         * @param classpathUrls
+         *            A {@link List} of {@link URL} objects representing the classpath of the entry.
+         */
+        private Entry(List<URL> classpathUrls) {
+            this.classpathUrls = new ArrayList<>(classpathUrls);
+            this.classLoader = new URLClassLoader(classpathUrls.toArray(new URL[classpathUrls.size()]));
+        }
+
+        /**
+         * Get the class file index of the classpath of this entry, creating it if it has not yet been created.
+         *
+         * @return The {@link ClassFileIndex} of the classpath of this entry.
+         */
+        private synchronized ClassFileIndex getClassFileIndex() {
+            if (classFileIndex == null) {
+                classFileIndex = new ClassFileIndex(classpathUrls);
+            }
+            return classFileIndex;
+        }
+
+        /**
+         * Close the archives opened by the class file index of this entry, if it has been created, keeping its listing of the classpath.
+         *
+         * @throws IOException
+         *             If any errors occur while closing the archives.
+         */
+        private synchronized void closeArchives() throws IOException {
+            if (classFileIndex != null) {
+                classFileIndex.close();
+            }
+        }
+
+        /**
+         * Close the class file index of this entry, if it has been created.
+         *
+         * @throws IOException
+         *             If any errors occur while closing the index.
+         */
+        private synchronized void closeClassFileIndex() throws IOException {
+            if (classFileIndex != null) {
+                classFileIndex.close();
+                classFileIndex = null;
+            }
+        }
+    }
+
+    /**
+     * A lease on a cached classloader. The classloader may be closed at any time after the lease itself is closed.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    public class Lease implements Closeable {
+        private final Entry entry;
+        private boolean closed;
+
+        /**
+         * Create a lease.
+         *
+         * @param entry
+         *            The {@link Entry} of the leased classloader.
+         */
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * Get the leased classloader.
+         *
+         * @return The leased {@link ClassLoader}.
+         */
+        public ClassLoader getClassLoader() {
+            return entry.classLoader;
+        }
+
+        /**
+         * Get an index of the class files on the leased classpath.
+         *
+         * @return A {@link ClassFileIndex} of the leased classpath, shared by all leases on it.
+         */
+        public ClassFileIndex getClassFileIndex() {
+            return entry.getClassFileIndex();
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release(entry);
+            }
+        }
+    }
+}
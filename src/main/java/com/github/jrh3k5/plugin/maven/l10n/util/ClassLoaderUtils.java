@@ -20,7 +20,8 @@ import org.apache.maven.project.MavenProject;
 
 public abstract class ClassLoaderUtils {
     /**
-     * Get a classloader that can be used to load the classes of the translation keys.
+     * Get a classloader that can be used to load the classes of the translation keys. The returned classloader is not shared and is never closed; prefer
+     * {@link ClassLoaderCache#acquire(Object, MavenProject)}.
      * 
      * @param project
      *            A {@link MavenProject} representing the project whose translation keys are to be verified.
@@ -29,15 +30,52 @@ public abstract class ClassLoaderUtils {
      *             If any errors occur in building the classloader.
      */
     public static ClassLoader getClassLoader(MavenProject project) throws IOException {
+        final List<URL> classpathUrls = getClasspathUrls(project);
+        return new URLClassLoader(classpathUrls.toArray(new URL[classpathUrls.size()]));
+    }
+
+    /**
+     * Get the runtime classpath of a project.
+     * 
+     * @param project
+     *            A {@link MavenProject} representing the project whose classpath is to be retrieved.
+     * @return A {@link List} of {@link URL} objects representing the runtime classpath of the given project.
+     * @throws IOException
+     *             If any errors occur in resolving the classpath.
+     * @since 1.5
+     */
+    public static List<URL> getClasspathUrls(MavenProject project) throws IOException {
         final List<URL> classpathUrls = new ArrayList<>();
+        try {
+            for (File classpathElement : getClasspathElements(project)) {
+                classpathUrls.add(classpathElement.toURI().toURL());
+            }
+        } catch (MalformedURLException e) {
+            throw new IOException("Failed to build project classloader.", e);
+        }
+        return classpathUrls;
+    }
+
+    /**
+     * Get the directories and archives of the runtime classpath of a project.
+     * 
+     * @param project
+     *            A {@link MavenProject} representing the project whose classpath is to be retrieved.
+     * @return A {@link List} of {@link File} objects representing the runtime classpath of the given project.
+     * @throws IOException
+     *             If any errors occur in resolving the classpath.
+     * @since 1.5
+     */
+    public static List<File> getClasspathElements(MavenProject project) throws IOException {
+        final List<File> classpathElements = new ArrayList<>();
         try {
             for (Object dependency : project.getRuntimeClasspathElements()) {
-                classpathUrls.add(new File(dependency.toString()).toURI().toURL());
+                classpathElements.add(new File(dependency.toString()));
             }
-        } catch (MalformedURLException | DependencyResolutionRequiredException e) {
+        } catch (DependencyResolutionRequiredException e) {
             throw new IOException("Failed to build project classloader.", e);
         }
-        return new URLClassLoader(classpathUrls.toArray(new URL[classpathUrls.size()]));
+        return classpathElements;
     }
 
     /**
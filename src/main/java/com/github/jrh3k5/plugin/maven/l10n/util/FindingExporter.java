@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * An exporter of the findings of a verification in a machine-readable format. Each finding is written as soon as it is {@link #export(String, String, String, String) exported}, so an export never
+ * holds more than a single finding in memory.
+ * <p>
+ * Every finding has the same four fields:
+ * <ul>
+ * <li>{@code type}: the kind of finding, such as {@code missing-class} or {@code duplicate-key}</li>
+ * <li>{@code file}: the name of the messages properties file in which the finding was made</li>
+ * <li>{@code class}: the name of the translation class concerned, if any</li>
+ * <li>{@code key}: the translation key, or the name of the field of the translation class, concerned, if any</li>
+ * </ul>
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public abstract class FindingExporter implements Closeable {
+    private final Writer writer;
+
+    /**
+     * Create an exporter.
+     *
+     * @param writer
+     *            The {@link Writer} to which findings are to be written.
+     */
+    FindingExporter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Open an exporter that writes to a file.
+     *
+     * @param directory
+     *            The directory in which the file is to be written. This is created if it does not exist.
+     * @param baseName
+     *            The name, without its extension, of the file to be written.
+     * @param format
+     *            The format of the export: {@code jsonl} for JSON Lines, or {@code csv}.
+     * @return A {@link FindingExporter} writing to a file named for the given base name and the extension of the given format.
+     * @throws IllegalArgumentException
+     *             If the given format is not supported.
+     * @throws IOException
+     *             If the file cannot be opened.
+     */
+    public static FindingExporter open(File directory, String baseName, String format) throws IOException {
+        final String normalizedFormat = format.trim().toLowerCase(Locale.ENGLISH);
+        if (!"jsonl".equals(normalizedFormat) && !"csv".equals(normalizedFormat)) {
+            throw new IllegalArgumentException(String.format("Unsupported export format: %s", format));
+        }
+
+        FileUtils.forceMkdir(directory);
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(directory, baseName + "." + normalizedFormat)), StandardCharsets.UTF_8));
+        return "jsonl".equals(normalizedFormat) ? new JsonLinesFindingExporter(writer) : new CsvFindingExporter(writer);
+    }
+
+    /**
+     * Export a finding.
+     *
+     * @param type
+     *            The kind of finding.
+     * @param fileName
+     *            The name of the messages properties file in which the finding was made.
+     * @param className
+     *            The name of the translation class concerned; {@code null} if none.
+     * @param key
+     *            The translation key, or field of the translation class, concerned; {@code null} if none.
+     * @throws IOException
+     *             If the finding cannot be written.
+     */
+    public abstract void export(String type, String fileName, String className, String key) throws IOException;
+
+    /**
+     * Get the writer to which findings are written.
+     *
+     * @return The {@link Writer} to which findings are written.
+     */
+    Writer getWriter() {
+        return writer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * A {@link FindingExporter} writing each finding as a JSON object on its own line. Fields without a value are omitted.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    static class JsonLinesFindingExporter extends FindingExporter {
+        /**
+         * Create an exporter.
+         *
+         * @param writer
+         *            The {@link Writer} to which findings are to be written.
+         */
+        JsonLinesFindingExporter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        public void export(String type, String fileName, String className, String key) throws IOException {
+            final Writer writer = getWriter();
+            writer.write("{\"type\":");
+            writeString(writer, type);
+            writer.write(",\"file\":");
+            writeString(writer, fileName);
+            if (className != null) {
+                writer.write(",\"class\":");
+                writeString(writer, className);
+            }
+            if (key != null) {
+                writer.write(",\"key\":");
+                writeString(writer, key);
+            }
+            writer.write("}\n");
+        }
+
+        /**
+         * Write a value as a JSON string.
+         *
+         * @param writer
+         *            The {@link Writer} to which the value is to be written.
+         * @param value
+         *            The value to be written.
+         * @throws IOException
+         *             If the value cannot be written.
+         */
+        static void writeString(Writer writer, String value) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+            writer.write('"');
+        }
+    }
+
+    /**
+     * A {@link FindingExporter} writing each finding as a row of comma-separated values, following a header row naming the fields. Fields without a value are left empty.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    static class CsvFindingExporter extends FindingExporter {
+        private boolean headerWritten;
+
+        /**
+         * Create an exporter.
+         *
+         * @param writer
+         *            The {@link Writer} to which findings are to be written.
+         */
+        CsvFindingExporter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        public void export(String type, String fileName, String className, String key) throws IOException {
+            writeHeader();
+            final Writer writer = getWriter();
+            writeField(type);
+            writer.write(',');
+            writeField(fileName);
+            writer.write(',');
+            writeField(className);
+            writer.write(',');
+            writeField(key);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            // An export without findings still describes its columns
+            try {
+                writeHeader();
+            } finally {
+                super.close();
+            }
+        }
+
+        /**
+         * Write the header row, if it has not yet been written.
+         *
+         * @throws IOException
+         *             If the header cannot be written.
+         */
+        private void writeHeader() throws IOException {
+            if (!headerWritten) {
+                getWriter().write("type,file,class,key\r\n");
+                headerWritten = true;
+            }
+        }
+
+        /**
+         * Write a field, quoting it if it contains a delimiter, quote, or line break.
+         *
+         * @param value
+         *            The value of the field; {@code null} for an empty field.
+         * @throws IOException
+         *             If the field cannot be written.
+         */
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+
+            final Writer writer = getWriter();
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+            } else {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.LocaleFallbackCoverage;
+import com.github.jrh3k5.plugin.maven.l10n.data.TranslatedMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils.ClassinessAnalysisResults;
+
+/**
+ * A verifier of a messages properties file and its translations that keeps everything it has parsed and analyzed, so that a change to a single file, or to the classes of the project, only
+ * repeats the checks that the change affects:
+ * <ul>
+ * <li>A change to the authoritative messages properties file re-parses it, re-verifies its translation keys against the classes, and re-compares every translation against it.</li>
+ * <li>A change to a translation re-parses and re-compares only that translation.</li>
+ * <li>A change to the classes re-verifies the translation keys of the authoritative messages properties file against them.</li>
+ * </ul>
+ * A re-verification that fails, such as on a file that cannot be parsed, leaves the results of the previous verification in place. This is not safe for use by multiple threads.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class IncrementalVerifier {
+    private final File messagesFile;
+    private final AuthoritativeMessagesProperties.Parser authoritativeParser;
+    private final TranslatedMessagesProperties.Parser translatedParser;
+    private final ClassFileIndex classFileIndex;
+    private final TranslationKeyAnalysisUtils analysisUtils;
+    private final int analysisThreads;
+    private final Map<File, TranslatedMessagesProperties> translations = new TreeMap<>();
+    private AuthoritativeMessagesProperties authoritativeProperties;
+    private ClassinessAnalysisResults analysisResults;
+    private boolean localeFallback;
+
+    /**
+     * Create a verifier. Nothing is verified until the verifier is {@link #verifyAll(Collection) initialized}.
+     *
+     * @param messagesFile
+     *            The authoritative messages properties file.
+     * @param authoritativeParser
+     *            The {@link AuthoritativeMessagesProperties.Parser} used to parse the authoritative messages properties file.
+     * @param translatedParser
+     *            The {@link TranslatedMessagesProperties.Parser} used to parse its translations.
+     * @param classFileIndex
+     *            The {@link ClassFileIndex} of the project's classpath, against which translation keys are verified; it is {@link ClassFileIndex#refresh() refreshed} when the classes change.
+     * @param analysisUtils
+     *            The {@link TranslationKeyAnalysisUtils} used to verify translation keys.
+     * @param analysisThreads
+     *            The number of threads to be used to verify translation keys.
+     */
+    public IncrementalVerifier(File messagesFile, AuthoritativeMessagesProperties.Parser authoritativeParser, TranslatedMessagesProperties.Parser translatedParser,
+            ClassFileIndex classFileIndex, TranslationKeyAnalysisUtils analysisUtils, int analysisThreads) {
+        this.messagesFile = messagesFile;
+        this.authoritativeParser = authoritativeParser;
+        this.translatedParser = translatedParser;
+        this.classFileIndex = classFileIndex;
+        this.analysisUtils = analysisUtils;
+        this.analysisThreads = analysisThreads;
+    }
+
+    /**
+     * Set whether or not the keys missing from each translation should be determined along the fallback chain of {@link java.util.ResourceBundle}, so that a key missing from
+     * {@code messages_fr_CA.properties} is not reported if {@code messages_fr.properties} translates it. Because a change to a translation changes the coverage of the translations that fall back to
+     * it, the coverage is determined anew, without re-parsing, each time the issues are retrieved.
+     *
+     * @param localeFallback
+     *            {@code true} if the fallback chains of translations are to be followed; {@code false} if each translation is to be compared to the authoritative messages properties alone, which is
+     *            the default.
+     */
+    public void setLocaleFallback(boolean localeFallback) {
+        this.localeFallback = localeFallback;
+    }
+
+    /**
+     * Verify the authoritative messages properties file and all of its translations from scratch, against a {@link ClassFileIndex#refresh() refreshed} listing of the classes.
+     *
+     * @param translationFiles
+     *            A {@link Collection} of the translations of the authoritative messages properties file.
+     * @throws IOException
+     *             If any errors occur during the verification.
+     */
+    public void verifyAll(Collection<File> translationFiles) throws IOException {
+        classFileIndex.refresh();
+        verify(translationFiles);
+    }
+
+    /**
+     * Re-verify after a change to the authoritative messages properties file.
+     *
+     * @throws IOException
+     *             If any errors occur during the verification.
+     */
+    public void authoritativeChanged() throws IOException {
+        // Every translation is compared against the keys of the authoritative file, so all of them are affected
+        verify(new ArrayList<>(translations.keySet()));
+    }
+
+    /**
+     * Re-verify after a translation has been added or changed.
+     *
+     * @param translationFile
+     *            The translation that has been added or changed.
+     * @throws IOException
+     *             If any errors occur during the verification.
+     */
+    public void translationChanged(File translationFile) throws IOException {
+        translations.put(translationFile, translatedParser.parse(authoritativeProperties, Collections.singletonList(translationFile)).iterator().next());
+    }
+
+    /**
+     * Forget a translation that has been removed.
+     *
+     * @param translationFile
+     *            The translation that has been removed.
+     */
+    public void translationRemoved(File translationFile) {
+        translations.remove(translationFile);
+    }
+
+    /**
+     * Re-verify after a change to the classes of the project.
+     *
+     * @throws IOException
+     *             If any errors occur during the verification.
+     */
+    public void classesChanged() throws IOException {
+        classFileIndex.refresh();
+        analysisResults = analysisUtils.analyzeClassiness(classFileIndex, authoritativeProperties, analysisThreads);
+    }
+
+    /**
+     * Determine whether a verification has yet succeeded.
+     *
+     * @return {@code true} if the authoritative messages properties file and its translations have been verified; {@code false} if they have not, or if every attempt to verify them has failed.
+     */
+    public boolean isVerified() {
+        return authoritativeProperties != null;
+    }
+
+    /**
+     * Verify the authoritative messages properties file and a set of its translations. Nothing is replaced until all of them have been verified, so a failed verification leaves the results of
+     * the previous one in place.
+     *
+     * @param translationFiles
+     *            A {@link Collection} of the translations of the authoritative messages properties file.
+     * @throws IOException
+     *             If any errors occur during the verification.
+     */
+    private void verify(Collection<File> translationFiles) throws IOException {
+        final AuthoritativeMessagesProperties parsedAuthoritative = authoritativeParser.parse(messagesFile);
+        final ClassinessAnalysisResults parsedResults = analysisUtils.analyzeClassiness(classFileIndex, parsedAuthoritative, analysisThreads);
+        final Collection<TranslatedMessagesProperties> parsedTranslations = translatedParser.parse(parsedAuthoritative, new ArrayList<>(translationFiles));
+
+        authoritativeProperties = parsedAuthoritative;
+        analysisResults = parsedResults;
+        translations.clear();
+        for (TranslatedMessagesProperties translatedProperties : parsedTranslations) {
+            translations.put(translatedProperties.getFile(), translatedProperties);
+        }
+    }
+
+    /**
+     * Get the translations being verified.
+     *
+     * @return A {@link Collection} of the translations of the authoritative messages properties file that are being verified.
+     */
+    public Collection<File> getTranslationFiles() {
+        return Collections.unmodifiableCollection(translations.keySet());
+    }
+
+    /**
+     * Get the issues found by the most recent verification.
+     *
+     * @return A {@link List} of descriptions of the issues found with the authoritative messages properties file and its translations; empty if there are none.
+     */
+    public List<String> getIssues() {
+        final List<String> issues = VerificationIssueUtils.getIssues(messagesFile, authoritativeProperties, analysisResults);
+        final LocaleFallbackCoverage fallbackCoverage = localeFallback ? new LocaleFallbackCoverage(translations.values()) : null;
+        for (TranslatedMessagesProperties translatedProperties : translations.values()) {
+            final int missingKeyCount = fallbackCoverage == null ? translatedProperties.getMissingTranslationKeyCount() : fallbackCoverage.getMissingTranslationKeyCount(translatedProperties);
+            issues.addAll(VerificationIssueUtils.getIssues(messagesFile, translatedProperties, missingKeyCount));
+        }
+        return issues;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * A record of how long each phase of a goal took, how much memory it allocated, and how much work it did.
+ * <p>
+ * The memory allocated by a phase is measured for the thread that {@link #start(String) started} it; memory allocated by any threads to which the phase hands off work, such as when parsing
+ * or analysis is concurrent, is not included. If the JVM cannot measure the memory allocated by a thread, it is reported as {@code -1}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class PhaseMetrics {
+    private final String goalName;
+    private final List<Phase> phases = Collections.synchronizedList(new ArrayList<Phase>());
+
+    /**
+     * Create a record of metrics.
+     *
+     * @param goalName
+     *            The name of the goal whose phases are to be recorded.
+     */
+    public PhaseMetrics(String goalName) {
+        this.goalName = goalName;
+    }
+
+    /**
+     * Start a phase. The phase is measured until it is {@link Phase#close() closed}.
+     *
+     * @param phaseName
+     *            The name of the phase.
+     * @return A {@link Phase} representing the started phase.
+     */
+    public Phase start(String phaseName) {
+        final Phase phase = new Phase(phaseName);
+        phases.add(phase);
+        return phase;
+    }
+
+    /**
+     * Get the phases that have been started.
+     *
+     * @return A {@link List} of the {@link Phase} objects that have been started, in the order in which they were started.
+     */
+    public List<Phase> getPhases() {
+        synchronized (phases) {
+            return Collections.unmodifiableList(new ArrayList<>(phases));
+        }
+    }
+
+    /**
+     * Log a summary of the recorded phases, one line per phase.
+     *
+     * @param log
+     *            The {@link Log} to which the summary is to be written.
+     * @param verbose
+     *            If {@code true}, the summary is logged at the INFO level; otherwise, it is logged at the DEBUG level.
+     */
+    public void log(Log log, boolean verbose) {
+        if (!verbose && !log.isDebugEnabled()) {
+            return;
+        }
+
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format("Metrics of %s:", goalName));
+        for (Phase phase : getPhases()) {
+            final StringBuilder line = new StringBuilder();
+            line.append(String.format("  %s: %d ms", phase.getName(), TimeUnit.NANOSECONDS.toMillis(phase.getWallTimeNanos())));
+            if (phase.getAllocatedBytes() >= 0) {
+                line.append(String.format(", %d KiB allocated", phase.getAllocatedBytes() / 1024));
+            }
+            for (Map.Entry<String, Long> count : phase.getCounts().entrySet()) {
+                line.append(String.format(", %s=%d", count.getKey(), count.getValue()));
+            }
+            lines.add(line.toString());
+        }
+
+        for (String line : lines) {
+            if (verbose) {
+                log.info(line);
+            } else {
+                log.debug(line);
+            }
+        }
+    }
+
+    /**
+     * Write the recorded phases to a file as a JSON object.
+     *
+     * @param file
+     *            The file to be written. Its directory is created if it does not exist, and the file is replaced if it does.
+     * @throws IOException
+     *             If any errors occur while writing the file.
+     */
+    public void write(File file) throws IOException {
+        FileUtils.forceMkdir(file.getAbsoluteFile().getParentFile());
+        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            // Phase names include the names of bundles and files, so all names are escaped
+            writer.write("{\"goal\":");
+            FindingExporter.JsonLinesFindingExporter.writeString(writer, goalName);
+            writer.write(",\"phases\":[");
+            boolean firstPhase = true;
+            for (Phase phase : getPhases()) {
+                if (!firstPhase) {
+                    writer.write(',');
+                }
+                firstPhase = false;
+
+                writer.write("\n  {\"name\":");
+                FindingExporter.JsonLinesFindingExporter.writeString(writer, phase.getName());
+                writer.write(String.format(",\"wallTimeNanos\":%d,\"allocatedBytes\":%d,\"counts\":{", phase.getWallTimeNanos(), phase.getAllocatedBytes()));
+                boolean firstCount = true;
+                for (Map.Entry<String, Long> count : phase.getCounts().entrySet()) {
+                    if (!firstCount) {
+                        writer.write(',');
+                    }
+                    firstCount = false;
+                    FindingExporter.JsonLinesFindingExporter.writeString(writer, count.getKey());
+                    writer.write(String.format(":%d", count.getValue()));
+                }
+                writer.write("}}");
+            }
+            writer.write("\n]}\n");
+        }
+    }
+
+    /**
+     * Get the number of bytes allocated so far by the current thread.
+     *
+     * @return The number of bytes allocated by the current thread; {@code -1} if the JVM cannot measure it.
+     */
+    static long getThreadAllocatedBytes() {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        // Allocation is only measured by the HotSpot extension of the standard bean
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A phase of a goal. Names of phases and counts are expected to be simple identifiers, such as {@code authoritative-parse} or {@code keys}.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    public static class Phase implements Closeable {
+        private final String name;
+        private final long startNanos;
+        private final long startAllocatedBytes;
+        private final Map<String, Long> counts = new LinkedHashMap<>();
+        private long wallTimeNanos = -1;
+        private long allocatedBytes = -1;
+
+        /**
+         * Start a phase.
+         *
+         * @param name
+         *            The name of the phase.
+         */
+        private Phase(String name) {
+            this.name = name;
+            this.startAllocatedBytes = getThreadAllocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Record a count of the work done by this phase, replacing any previous count of the same name.
+         *
+         * @param countName
+         *            The name of the count, such as {@code keys} or {@code files}.
+         * @param value
+         *            The value of the count.
+         * @return This phase.
+         */
+        public synchronized Phase count(String countName, long value) {
+            counts.put(countName, value);
+            return this;
+        }
+
+        /**
+         * Get the counts of the work done by this phase.
+         *
+         * @return A {@link Map} of the counts recorded for this phase, keyed by their names, in the order in which they were first recorded.
+         */
+        public synchronized Map<String, Long> getCounts() {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(counts));
+        }
+
+        /**
+         * Get the name of this phase.
+         *
+         * @return The name of this phase.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get how long this phase took.
+         *
+         * @return The wall time of this phase, in nanoseconds; {@code -1} if it has not been closed.
+         */
+        public synchronized long getWallTimeNanos() {
+            return wallTimeNanos;
+        }
+
+        /**
+         * Get how much memory this phase allocated.
+         *
+         * @return The number of bytes allocated by the thread that started this phase; {@code -1} if it has not been closed or the JVM cannot measure it.
+         */
+        public synchronized long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * End this phase. Closing a phase that has already been closed has no effect.
+         */
+        @Override
+        public synchronized void close() {
+            if (wallTimeNanos >= 0) {
+                return;
+            }
+
+            wallTimeNanos = System.nanoTime() - startNanos;
+            if (startAllocatedBytes >= 0) {
+                final long endAllocatedBytes = getThreadAllocatedBytes();
+                allocatedBytes = endAllocatedBytes < 0 ? -1 : endAllocatedBytes - startAllocatedBytes;
+            }
+        }
+    }
+}
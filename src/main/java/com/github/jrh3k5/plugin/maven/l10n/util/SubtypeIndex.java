@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.ClassFile;
+
+/**
+ * An index of the subtypes of the classes found within a set of packages on a classpath. The class files are read directly, so no classes are loaded while the index is built. Archives whose
+ * entries contain none of the requested packages are skipped after reading only their central directory.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class SubtypeIndex {
+    private final Map<String, ClassFile> classFiles;
+    private final Map<String, Set<String>> directSubtypes;
+
+    /**
+     * Create an index.
+     *
+     * @param classFiles
+     *            A {@link Map} of the indexed class files, keyed by the binary names of their classes.
+     */
+    private SubtypeIndex(Map<String, ClassFile> classFiles) {
+        this.classFiles = classFiles;
+        this.directSubtypes = new HashMap<>();
+        for (ClassFile classFile : classFiles.values()) {
+            if (classFile.getSuperClassName() != null) {
+                addDirectSubtype(classFile.getSuperClassName(), classFile.getClassName());
+            }
+            for (String interfaceName : classFile.getInterfaceNames()) {
+                addDirectSubtype(interfaceName, classFile.getClassName());
+            }
+        }
+    }
+
+    /**
+     * Scan a classpath for the classes within a set of packages.
+     *
+     * @param classpathElements
+     *            A {@link Collection} of the directories and archives to be scanned; elements that do not exist are ignored.
+     * @param packageNames
+     *            A {@link Collection} of the names of the packages whose classes, and the classes of their subpackages, are to be indexed; if empty, all classes are indexed.
+     * @param threadCount
+     *            The number of threads to be used to scan the classpath; if greater than 1, the classpath elements are scanned concurrently.
+     * @return A {@link SubtypeIndex} of the scanned classes.
+     * @throws IOException
+     *             If any errors occur while scanning the classpath.
+     */
+    public static SubtypeIndex scan(Collection<File> classpathElements, Collection<String> packageNames, int threadCount) throws IOException {
+        final List<String> packagePaths = new ArrayList<>(packageNames.size());
+        for (String packageName : packageNames) {
+            packagePaths.add(packageName.replace('.', '/') + "/");
+        }
+
+        final Map<String, ClassFile> classFiles = new HashMap<>();
+        if (threadCount > 1 && classpathElements.size() > 1) {
+            scanConcurrently(classpathElements, packagePaths, threadCount, classFiles);
+        } else {
+            for (File classpathElement : classpathElements) {
+                putAllAbsent(classFiles, scan(classpathElement, packagePaths));
+            }
+        }
+        return new SubtypeIndex(classFiles);
+    }
+
+    /**
+     * Scan classpath elements concurrently.
+     *
+     * @param classpathElements
+     *            A {@link Collection} of the directories and archives to be scanned.
+     * @param packagePaths
+     *            A {@link List} of the slash-terminated paths of the packages to be scanned.
+     * @param threadCount
+     *            The number of threads to be used.
+     * @param classFiles
+     *            A {@link Map} to which the scanned class files are to be added; earlier classpath elements take precedence, as they would for a classloader.
+     * @throws IOException
+     *             If any errors occur while scanning the classpath.
+     */
+    private static void scanConcurrently(Collection<File> classpathElements, final List<String> packagePaths, int threadCount, Map<String, ClassFile> classFiles) throws IOException {
+        final ForkJoinPool pool = new ForkJoinPool(Math.min(threadCount, classpathElements.size()));
+        try {
+            final List<Future<List<ClassFile>>> futures = new ArrayList<>(classpathElements.size());
+            for (final File classpathElement : classpathElements) {
+                futures.add(pool.submit(new Callable<List<ClassFile>>() {
+                    @Override
+                    public List<ClassFile> call() throws IOException {
+                        return scan(classpathElement, packagePaths);
+                    }
+                }));
+            }
+
+            for (Future<List<ClassFile>> future : futures) {
+                try {
+                    putAllAbsent(classFiles, future.get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    throw new IOException("Failed to scan classpath.", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while scanning classpath.", e);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Scan a single classpath element.
+     *
+     * @param classpathElement
+     *            The directory or archive to be scanned.
+     * @param packagePaths
+     *            A {@link List} of the slash-terminated paths of the packages to be scanned.
+     * @return A {@link List} of the {@link ClassFile} objects found within the given packages of the given element.
+     * @throws IOException
+     *             If any errors occur while scanning the element.
+     */
+    private static List<ClassFile> scan(File classpathElement, List<String> packagePaths) throws IOException {
+        final List<ClassFile> classFiles = new ArrayList<>();
+        final ClassFile.Parser parser = new ClassFile.Parser();
+        if (classpathElement.isDirectory()) {
+            if (packagePaths.isEmpty()) {
+                scanDirectory(classpathElement, parser, classFiles);
+            } else {
+                for (String packagePath : packagePaths) {
+                    scanDirectory(new File(classpathElement, packagePath), parser, classFiles);
+                }
+            }
+        } else if (classpathElement.isFile()) {
+            try (final ZipFile archive = new ZipFile(classpathElement)) {
+                // The entries are listed from the central directory, so this reads no class files
+                final List<ZipEntry> matchingEntries = new ArrayList<>();
+                final Enumeration<? extends ZipEntry> entries = archive.entries();
+                while (entries.hasMoreElements()) {
+                    final ZipEntry entry = entries.nextElement();
+                    if (!entry.isDirectory() && entry.getName().endsWith(".class") && isInPackages(entry.getName(), packagePaths)) {
+                        matchingEntries.add(entry);
+                    }
+                }
+
+                for (ZipEntry entry : matchingEntries) {
+                    try (final InputStream classFileIn = archive.getInputStream(entry)) {
+                        classFiles.add(parser.parse(classFileIn));
+                    }
+                }
+            }
+        }
+        return classFiles;
+    }
+
+    /**
+     * Scan a directory, and its subdirectories, for class files.
+     *
+     * @param directory
+     *            The directory to be scanned; if it does not exist, nothing is scanned.
+     * @param parser
+     *            The {@link ClassFile.Parser} to be used to read the class files.
+     * @param classFiles
+     *            A {@link Collection} to which the scanned {@link ClassFile} objects are to be added.
+     * @throws IOException
+     *             If any errors occur while reading the class files.
+     */
+    private static void scanDirectory(File directory, ClassFile.Parser parser, Collection<ClassFile> classFiles) throws IOException {
+        final File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+
+        for (File child : children) {
+            if (child.isDirectory()) {
+                scanDirectory(child, parser, classFiles);
+            } else if (child.getName().endsWith(".class")) {
+                try (final InputStream classFileIn = new FileInputStream(child)) {
+                    classFiles.add(parser.parse(classFileIn));
+                }
+            }
+        }
+    }
+
+    /**
+     * Determine whether an archive entry lies within any of a set of packages.
+     *
+     * @param entryName
+     *            The name of the entry.
+     * @param packagePaths
+     *            A {@link List} of the slash-terminated paths of the packages; if empty, every entry is considered to be within them.
+     * @return {@code true} if the given entry lies within any of the given packages or their subpackages.
+     */
+    private static boolean isInPackages(String entryName, List<String> packagePaths) {
+        if (packagePaths.isEmpty()) {
+            return true;
+        }
+
+        for (String packagePath : packagePaths) {
+            if (entryName.startsWith(packagePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add class files to a map, keeping any already present for the same class.
+     *
+     * @param classFiles
+     *            The {@link Map} to which the class files are to be added.
+     * @param scanned
+     *            A {@link Collection} of the {@link ClassFile} objects to be added.
+     */
+    private static void putAllAbsent(Map<String, ClassFile> classFiles, Collection<ClassFile> scanned) {
+        for (ClassFile classFile : scanned) {
+            if (!classFiles.containsKey(classFile.getClassName())) {
+                classFiles.put(classFile.getClassName(), classFile);
+            }
+        }
+    }
+
+    /**
+     * Get the number of indexed classes.
+     *
+     * @return The number of classes in this index.
+     */
+    public int getClassCount() {
+        return classFiles.size();
+    }
+
+    /**
+     * Get the class file of an indexed class.
+     *
+     * @param className
+     *            The binary name of the class.
+     * @return {@code null} if the given class was not indexed; otherwise, the {@link ClassFile} of the given class.
+     */
+    public ClassFile getClassFile(String className) {
+        return classFiles.get(className);
+    }
+
+    /**
+     * Get the indexed subtypes of a class.
+     *
+     * @param className
+     *            The binary name of the class or interface whose subtypes are to be retrieved; it need not have been indexed itself.
+     * @return A {@link Set} of the binary names of the indexed classes and interfaces that directly or indirectly extend or implement the given class, not including the class itself.
+     */
+    public Set<String> getSubtypes(String className) {
+        final Set<String> subtypes = new HashSet<>();
+        final Deque<String> pending = new ArrayDeque<>();
+        pending.add(className);
+        while (!pending.isEmpty()) {
+            final Set<String> children = directSubtypes.get(pending.pop());
+            if (children == null) {
+                continue;
+            }
+
+            for (String child : children) {
+                if (subtypes.add(child)) {
+                    pending.add(child);
+                }
+            }
+        }
+        subtypes.remove(className);
+        return Collections.unmodifiableSet(subtypes);
+    }
+
+    /**
+     * Record a class as a direct subtype of another.
+     *
+     * @param supertypeName
+     *            The binary name of the supertype.
+     * @param subtypeName
+     *            The binary name of the subtype.
+     */
+    private void addDirectSubtype(String supertypeName, String subtypeName) {
+        Set<String> subtypes = directSubtypes.get(supertypeName);
+        if (subtypes == null) {
+            subtypes = new HashSet<>();
+            directSubtypes.put(supertypeName, subtypes);
+        }
+        subtypes.add(subtypeName);
+    }
+}
@@ -1,17 +1,24 @@
 package com.github.jrh3k5.plugin.maven.l10n.util;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.apache.maven.plugin.logging.Log;
 import org.reflections.Reflections;
 import org.reflections.scanners.SubTypesScanner;
 import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 
+import com.github.jrh3k5.plugin.maven.l10n.data.ClassFile;
+
 /**
  * Utilities for reading classes used for translation keys.
  * 
@@ -38,44 +45,254 @@ public abstract class TranslationClassUtils {
         final Set<String> translationKeys = new HashSet<>();
         final Reflections reflections = new Reflections(new ConfigurationBuilder().setScanners(new SubTypesScanner(false)).setUrls(ClasspathHelper.forClassLoader(classLoader))
                 .addClassLoader(classLoader));
-        // Load up all of the classes first
+        final Collection<Class<?>> clazzes = loadClasses(classNames, classLoader);
+        final Map<Class<?>, Boolean> assignability = new HashMap<>();
+        for (Class<?> clazz : clazzes) {
+            for (Class<?> subclazz : reflections.getSubTypesOf(clazz)) {
+                addTranslationKeys(subclazz, clazzes, assignability, translationKeys);
+            }
+        }
+        return translationKeys;
+    }
+
+    /**
+     * Get the translation keys for classes that implement, extend, or instances of the given collection of class names, finding the implementations and extensions in a {@link SubtypeIndex}
+     * rather than by scanning the entire classpath.
+     * 
+     * @param classNames
+     *            A {@link Collection} of {@link String} objects representing the names of classes and interfaces that are inherited, implemented, or instantiated as classes containing the translation
+     *            keys.
+     * @param classLoader
+     *            The {@link ClassLoader} to be used to load the classes.
+     * @param subtypeIndex
+     *            The {@link SubtypeIndex} in which implementations and extensions of the given classes are to be found.
+     * @return A {@link Collection} of {@link String} objects representing the read translation keys.
+     * @throws ClassNotFoundException
+     *             If any of the given class names, or their indexed subtypes, cannot be loaded as classes.
+     * @throws IllegalArgumentException
+     *             If a class' field cannot be read.
+     * @since 1.5
+     */
+    public static Collection<String> getTranslationKeys(Collection<String> classNames, ClassLoader classLoader, SubtypeIndex subtypeIndex) throws ClassNotFoundException {
+        final Set<String> translationKeys = new HashSet<>();
+        final Collection<Class<?>> clazzes = loadClasses(classNames, classLoader);
+        final Map<Class<?>, Boolean> assignability = new HashMap<>();
+        for (String className : classNames) {
+            for (String subclassName : subtypeIndex.getSubtypes(className)) {
+                addTranslationKeys(classLoader.loadClass(subclassName), clazzes, assignability, translationKeys);
+            }
+        }
+        return translationKeys;
+    }
+
+    /**
+     * Load classes by name.
+     * 
+     * @param classNames
+     *            A {@link Collection} of the names of the classes to be loaded.
+     * @param classLoader
+     *            The {@link ClassLoader} to be used to load the classes.
+     * @return A {@link Collection} of the loaded classes.
+     * @throws ClassNotFoundException
+     *             If any of the given class names cannot be loaded as classes.
+     */
+    private static Collection<Class<?>> loadClasses(Collection<String> classNames, ClassLoader classLoader) throws ClassNotFoundException {
         final Collection<Class<?>> clazzes = new ArrayList<>(classNames.size());
         for (String className : classNames) {
             clazzes.add(classLoader.loadClass(className));
         }
+        return clazzes;
+    }
 
-        for (Class<?> clazz : clazzes) {
-            for(Class<?> subclazz : reflections.getSubTypesOf(clazz)) {
-                for (Field field : subclazz.getDeclaredFields()) {
-                    if (!Modifier.isStatic(field.getModifiers())) {
-                        continue;
-                    }
-
-                    if (!field.isAccessible()) {
-                        field.setAccessible(true);
-                    }
-
-                    // Reject any fields that are not instances of the designated classes
-                    boolean isInstanceOf = false;
-                    for (Class<?> instanceOfClazz : clazzes) {
-                        try {
-                            isInstanceOf |= instanceOfClazz.isAssignableFrom(field.get(null).getClass());
-                        } catch (IllegalArgumentException | IllegalAccessException e) {
-                            throw new IllegalArgumentException(String.format("Unable to read class type of field %s.%s", clazz.getCanonicalName(), field.getName()), e);
-                        }
-                    }
-
-                    if (!isInstanceOf) {
-                        continue;
-                    }
-
-                    translationKeys.add(String.format("%s.%s", subclazz.getCanonicalName(), field.getName()));
+    /**
+     * Get the translation keys for classes that implement, extend, or instances of the given collection of class names by reading only class files; no classes are loaded or initialized. A static
+     * field is considered a translation key if it is an enum constant of an implementation or extension of the given classes, or if its declared type is one of the given classes or any of their
+     * indexed implementations or extensions.
+     * <p>
+     * Unlike {@link #getTranslationKeys(Collection, ClassLoader, SubtypeIndex)}, this cannot read the values of fields, so a static field declared as a supertype of the given classes - such as
+     * {@link Object} - is not considered a translation key even if it holds an instance of them. Such fields are logged as warnings, and static fields whose declared type is not known to be final
+     * are logged at the DEBUG level, so that any translation keys missed in this way can be found.
+     * 
+     * @param classNames
+     *            A {@link Collection} of {@link String} objects representing the names of classes and interfaces that are inherited, implemented, or instantiated as classes containing the translation
+     *            keys.
+     * @param classFileIndex
+     *            The {@link ClassFileIndex} of the classpath, used to verify that the given classes exist.
+     * @param subtypeIndex
+     *            The {@link SubtypeIndex} in which implementations and extensions of the given classes are to be found.
+     * @param log
+     *            The {@link Log} to which static fields that may hold translation keys, but are not considered translation keys, are to be written.
+     * @return A {@link Collection} of {@link String} objects representing the read translation keys.
+     * @throws ClassNotFoundException
+     *             If any of the given class names cannot be found on the classpath.
+     * @throws IOException
+     *             If any errors occur while reading the classpath.
+     * @since 1.5
+     */
+    public static Collection<String> getTranslationKeys(Collection<String> classNames, ClassFileIndex classFileIndex, SubtypeIndex subtypeIndex, Log log) throws ClassNotFoundException,
+            IOException {
+        // Every type whose instances are assignable to one of the given classes, so each field's declared type is matched with a single lookup
+        final Set<String> assignableTypes = new HashSet<>();
+        final Set<String> subtypes = new HashSet<>();
+        for (String className : classNames) {
+            if (!classFileIndex.containsClass(className)) {
+                throw new ClassNotFoundException(className);
+            }
+            assignableTypes.add(className);
+            subtypes.addAll(subtypeIndex.getSubtypes(className));
+        }
+        assignableTypes.addAll(subtypes);
+        final Set<String> supertypes = getSupertypes(classNames, classFileIndex);
+
+        final Set<String> translationKeys = new HashSet<>();
+        for (String subtype : subtypes) {
+            final ClassFile classFile = subtypeIndex.getClassFile(subtype);
+            final String canonicalName = classFile.getClassName().replace('$', '.');
+            for (ClassFile.Field field : classFile.getFields()) {
+                if (!field.isStatic()) {
+                    continue;
+                }
+
+                final String typeName = field.getTypeName();
+                if (field.isEnumConstant() || assignableTypes.contains(typeName)) {
+                    translationKeys.add(canonicalName + "." + field.getName());
+                } else if (supertypes.contains(typeName)) {
+                    log.warn(String.format("Static field %s.%s of type %s may hold a translation key, but only fields declared as a translation key class are read from class files.",
+                            canonicalName, field.getName(), typeName));
+                } else if (typeName != null && log.isDebugEnabled() && !isFinal(typeName, classFileIndex)) {
+                    log.debug(String.format("Static field %s.%s of type %s is not considered a translation key; its value is not read from class files.", canonicalName,
+                            field.getName(), typeName));
                 }
             }
         }
         return translationKeys;
     }
 
+    /**
+     * Get the supertypes of a collection of classes: the classes they extend and the interfaces they implement, transitively.
+     * 
+     * @param classNames
+     *            A {@link Collection} of the binary names of the classes whose supertypes are to be found.
+     * @param classFileIndex
+     *            The {@link ClassFileIndex} from which the class files of the classes are to be read.
+     * @return A {@link Set} of the binary names of the supertypes of the given classes. Supertypes whose class files are not on the classpath, such as {@link Object}, are included, but their own
+     *         supertypes are not.
+     * @throws IOException
+     *             If any errors occur while reading the classpath.
+     */
+    private static Set<String> getSupertypes(Collection<String> classNames, ClassFileIndex classFileIndex) throws IOException {
+        final Set<String> supertypes = new HashSet<>();
+        final List<String> pending = new ArrayList<>(classNames);
+        while (!pending.isEmpty()) {
+            final ClassFile classFile = classFileIndex.getClassFile(pending.remove(pending.size() - 1));
+            if (classFile == null) {
+                continue;
+            }
+
+            final List<String> parentNames = new ArrayList<>(classFile.getInterfaceNames());
+            if (classFile.getSuperClassName() != null) {
+                parentNames.add(classFile.getSuperClassName());
+            }
+            for (String parentName : parentNames) {
+                if (supertypes.add(parentName)) {
+                    pending.add(parentName);
+                }
+            }
+        }
+        return supertypes;
+    }
+
+    /**
+     * Determine whether a class is known to be final.
+     * 
+     * @param className
+     *            The binary name of the class.
+     * @param classFileIndex
+     *            The {@link ClassFileIndex} from which the class file of the class is to be read.
+     * @return {@code true} if the class is {@link String} or its class file is on the classpath and marks it as final; {@code false} otherwise.
+     * @throws IOException
+     *             If any errors occur while reading the classpath.
+     */
+    private static boolean isFinal(String className, ClassFileIndex classFileIndex) throws IOException {
+        if (String.class.getName().equals(className)) {
+            return true;
+        }
+
+        final ClassFile classFile = classFileIndex.getClassFile(className);
+        return classFile != null && (classFile.getAccessFlags() & ClassFile.ACC_FINAL) != 0;
+    }
+
+    /**
+     * Add the translation keys declared by a class: the names of its static fields whose values are instances of any of the given classes. Enum constants, and fields whose declared type is
+     * assignable to any of the given classes, are matched without reading their values.
+     * 
+     * @param subclazz
+     *            The {@link Class} whose translation keys are to be added; this must implement or extend one of the given classes.
+     * @param clazzes
+     *            A {@link Collection} of the classes of which the values of translation key fields are instances.
+     * @param assignability
+     *            A {@link Map} of whether instances of a type are assignable to any of the given classes, to which types are added as they are evaluated.
+     * @param translationKeys
+     *            A {@link Set} to which the translation keys are to be added.
+     * @throws IllegalArgumentException
+     *             If a class' field cannot be read.
+     */
+    private static void addTranslationKeys(Class<?> subclazz, Collection<Class<?>> clazzes, Map<Class<?>, Boolean> assignability, Set<String> translationKeys) {
+        for (Field field : subclazz.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+
+            // The constants of the given subclass are always instances of it
+            boolean isInstanceOf = field.isEnumConstant() || isAssignable(field.getType(), clazzes, assignability);
+            if (!isInstanceOf) {
+                if (!field.isAccessible()) {
+                    field.setAccessible(true);
+                }
+
+                // Reject any fields that are not instances of the designated classes
+                try {
+                    final Object value = field.get(null);
+                    isInstanceOf = value != null && isAssignable(value.getClass(), clazzes, assignability);
+                } catch (IllegalArgumentException | IllegalAccessException e) {
+                    throw new IllegalArgumentException(String.format("Unable to read class type of field %s.%s", subclazz.getCanonicalName(), field.getName()), e);
+                }
+            }
+
+            if (!isInstanceOf) {
+                continue;
+            }
+
+            translationKeys.add(String.format("%s.%s", subclazz.getCanonicalName(), field.getName()));
+        }
+    }
+
+    /**
+     * Determine whether instances of a type are assignable to any of a collection of classes.
+     * 
+     * @param type
+     *            The type to be evaluated.
+     * @param clazzes
+     *            A {@link Collection} of the classes to which the type may be assignable.
+     * @param assignability
+     *            A {@link Map} of the types already evaluated, to which the given type is added.
+     * @return {@code true} if instances of the given type are assignable to any of the given classes.
+     */
+    private static boolean isAssignable(Class<?> type, Collection<Class<?>> clazzes, Map<Class<?>, Boolean> assignability) {
+        Boolean assignable = assignability.get(type);
+        if (assignable == null) {
+            assignable = Boolean.FALSE;
+            for (Class<?> clazz : clazzes) {
+                if (clazz.isAssignableFrom(type)) {
+                    assignable = Boolean.TRUE;
+                    break;
+                }
+            }
+            assignability.put(type, assignable);
+        }
+        return assignable.booleanValue();
+    }
+
     /**
      * Nullary constructor to prevent direct instantiation.
      */
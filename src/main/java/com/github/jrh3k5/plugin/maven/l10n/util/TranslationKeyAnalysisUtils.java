@@ -18,13 +18,23 @@
 package com.github.jrh3k5.plugin.maven.l10n.util;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.apache.maven.plugin.logging.Log;
 
 import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.ClassFile;
 import com.github.jrh3k5.plugin.maven.l10n.data.MissingTranslationKey;
 import com.github.jrh3k5.plugin.maven.l10n.data.MissingTranslationKeyClass;
 import com.github.jrh3k5.plugin.maven.l10n.data.TranslationClass;
@@ -70,34 +80,260 @@ public class TranslationKeyAnalysisUtils {
      *             If any errors occur during the analysis.
      */
     public ClassinessAnalysisResults analyzeClassiness(ClassLoader classLoader, AuthoritativeMessagesProperties messagesProperties) throws IOException {
-        final List<MissingTranslationKey> missingTranslationKeys = new ArrayList<>();
-        final List<MissingTranslationKeyClass> missingTranslationKeyClasses = new ArrayList<>();
+        return analyzeClassiness(classLoader, messagesProperties, 1);
+    }
 
-        // First, build the report for missing translation keys and classes
-        for (TranslationClass translationClass : messagesProperties.getTranslationClasses()) {
-            final String className = translationClass.getTranslationClassName();
+    /**
+     * Analyze the "classiness" of an authoritative messages properties file - that is, how many classes it references are invalid or class fields are invalid.
+     * 
+     * @param classLoader
+     *            A {@link ClassLoader} used to evaluate the "classiness" of a properties file.
+     * @param messagesProperties
+     *            The {@link AuthoritativeMessagesProperties} whose translation keys are to be analysed.
+     * @param threadCount
+     *            The number of threads to be used; if greater than 1, the translation classes are analyzed concurrently.
+     * @return A {@link ClassinessAnalysisResults} object representing the results of the analysis.
+     * @throws IOException
+     *             If any errors occur during the analysis.
+     * @since 1.5
+     */
+    public ClassinessAnalysisResults analyzeClassiness(ClassLoader classLoader, AuthoritativeMessagesProperties messagesProperties, int threadCount) throws IOException {
+        return analyzeClassiness(classLoader, null, messagesProperties, threadCount);
+    }
 
-            Class<?> translationKeyClass = null;
-            try {
-                translationKeyClass = classLoader.loadClass(className);
-            } catch (ClassNotFoundException e) {
-                log.debug(String.format("The translation key class %s was not found.", className), e);
-                missingTranslationKeyClasses.add(new MissingTranslationKeyClass(className));
-                continue;
+    /**
+     * Analyze the "classiness" of an authoritative messages properties file - that is, how many classes it references are invalid or class fields are invalid. Each translation class is resolved
+     * against an index of the classpath before it is loaded, so that nested classes named by their canonical names are found and classes that do not exist cost no failed load. A class
+     * not on the indexed classpath is loaded from the parent of the given classloader, such as the JDK, only if that parent has its class file.
+     * 
+     * @param classLoader
+     *            A {@link ClassLoader} used to evaluate the "classiness" of a properties file.
+     * @param classFileIndex
+     *            A {@link ClassFileIndex} of the classpath of the given classloader, used to resolve the names of translation classes before they are loaded; if {@code null}, each translation
+     *            class is loaded by its name as given.
+     * @param messagesProperties
+     *            The {@link AuthoritativeMessagesProperties} whose translation keys are to be analysed.
+     * @param threadCount
+     *            The number of threads to be used; if greater than 1, the translation classes are analyzed concurrently.
+     * @return A {@link ClassinessAnalysisResults} object representing the results of the analysis.
+     * @throws IOException
+     *             If any errors occur during the analysis.
+     * @since 1.5
+     */
+    public ClassinessAnalysisResults analyzeClassiness(final ClassLoader classLoader, final ClassFileIndex classFileIndex, AuthoritativeMessagesProperties messagesProperties, int threadCount)
+            throws IOException {
+        return analyzeClassiness(new TranslationClassAnalyzer() {
+            @Override
+            public void analyze(TranslationClass translationClass, Collection<MissingTranslationKeyClass> missingTranslationKeyClasses, Collection<MissingTranslationKey> missingTranslationKeys)
+                    throws IOException {
+                final String className = translationClass.getTranslationClassName();
+                Class<?> translationKeyClass = null;
+                try {
+                    if (classFileIndex == null) {
+                        translationKeyClass = classLoader.loadClass(className);
+                    } else {
+                        final String resolvedClassName = classFileIndex.resolveClassName(toCanonicalName(className));
+                        if (resolvedClassName != null) {
+                            translationKeyClass = classLoader.loadClass(resolvedClassName);
+                        } else {
+                            // The index already says the project's classpath lacks the class, so only the parent - the JDK, for one - is asked, and only if it has the class file
+                            final ClassLoader parent = classLoader.getParent();
+                            if (parent != null && parent.getResource(className.replace('.', '/') + ".class") != null) {
+                                translationKeyClass = parent.loadClass(className);
+                            } else if (log.isDebugEnabled()) {
+                                log.debug(String.format("The translation key class %s was not found.", className));
+                            }
+                        }
+                    }
+                } catch (ClassNotFoundException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("The translation key class %s was not found.", className), e);
+                    }
+                }
+
+                if (translationKeyClass == null) {
+                    missingTranslationKeyClasses.add(new MissingTranslationKeyClass(className));
+                    return;
+                }
+
+                final Set<String> fieldNames = new HashSet<>();
+                for (Field field : translationKeyClass.getDeclaredFields()) {
+                    fieldNames.add(field.getName());
+                }
+
+                for (String keyName : translationClass.getKeyNames()) {
+                    if (!fieldNames.contains(keyName)) {
+                        if (log.isDebugEnabled()) {
+                            log.debug(String.format("The translation key %s for class %s was not found.", keyName, className));
+                        }
+                        missingTranslationKeys.add(new MissingTranslationKey(className, keyName));
+                    }
+                }
             }
+        }, messagesProperties, threadCount);
+    }
 
-            for (String keyName : translationClass.getKeyNames()) {
-                try {
-                    translationKeyClass.getDeclaredField(keyName);
-                } catch (NoSuchFieldException | SecurityException e) {
-                    log.debug(String.format("The translation key %s for class %s was not found.", keyName, className), e);
-                    missingTranslationKeys.add(new MissingTranslationKey(className, keyName));
-                    continue;
+    /**
+     * Analyze the "classiness" of an authoritative messages properties file by reading class files directly, rather than loading the classes they describe. No classes are linked or initialized.
+     * 
+     * @param classFileIndex
+     *            A {@link ClassFileIndex} of the classpath against which the "classiness" of a properties file is to be evaluated.
+     * @param messagesProperties
+     *            The {@link AuthoritativeMessagesProperties} whose translation keys are to be analysed.
+     * @return A {@link ClassinessAnalysisResults} object representing the results of the analysis.
+     * @throws IOException
+     *             If any errors occur during the analysis.
+     * @since 1.5
+     */
+    public ClassinessAnalysisResults analyzeClassiness(ClassFileIndex classFileIndex, AuthoritativeMessagesProperties messagesProperties) throws IOException {
+        return analyzeClassiness(classFileIndex, messagesProperties, 1);
+    }
+
+    /**
+     * Analyze the "classiness" of an authoritative messages properties file by reading class files directly, rather than loading the classes they describe. No classes are linked or initialized.
+     * 
+     * @param classFileIndex
+     *            A {@link ClassFileIndex} of the classpath against which the "classiness" of a properties file is to be evaluated.
+     * @param messagesProperties
+     *            The {@link AuthoritativeMessagesProperties} whose translation keys are to be analysed.
+     * @param threadCount
+     *            The number of threads to be used; if greater than 1, the translation classes are analyzed concurrently.
+     * @return A {@link ClassinessAnalysisResults} object representing the results of the analysis.
+     * @throws IOException
+     *             If any errors occur during the analysis.
+     * @since 1.5
+     */
+    public ClassinessAnalysisResults analyzeClassiness(final ClassFileIndex classFileIndex, AuthoritativeMessagesProperties messagesProperties, int threadCount) throws IOException {
+        return analyzeClassiness(new TranslationClassAnalyzer() {
+            @Override
+            public void analyze(TranslationClass translationClass, Collection<MissingTranslationKeyClass> missingTranslationKeyClasses, Collection<MissingTranslationKey> missingTranslationKeys)
+                    throws IOException {
+                final String className = translationClass.getTranslationClassName();
+                final String resolvedClassName = classFileIndex.resolveClassName(toCanonicalName(className));
+                final ClassFile classFile = resolvedClassName == null ? null : classFileIndex.getClassFile(resolvedClassName);
+                if (classFile == null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("The translation key class %s was not found.", className));
+                    }
+                    missingTranslationKeyClasses.add(new MissingTranslationKeyClass(className));
+                    return;
+                }
+
+                for (String keyName : translationClass.getKeyNames()) {
+                    if (classFile.getField(keyName) == null) {
+                        if (log.isDebugEnabled()) {
+                            log.debug(String.format("The translation key %s for class %s was not found.", keyName, className));
+                        }
+                        missingTranslationKeys.add(new MissingTranslationKey(className, keyName));
+                    }
                 }
             }
+        }, messagesProperties, threadCount);
+    }
+
+    /**
+     * Analyze each of the translation classes of an authoritative messages properties file. The results are sorted, so they are the same regardless of the order in which the classes are
+     * analyzed.
+     * 
+     * @param analyzer
+     *            The {@link TranslationClassAnalyzer} to be used to analyze each translation class.
+     * @param messagesProperties
+     *            The {@link AuthoritativeMessagesProperties} whose translation keys are to be analysed.
+     * @param threadCount
+     *            The number of threads to be used; if greater than 1, the translation classes are analyzed concurrently.
+     * @return A {@link ClassinessAnalysisResults} object representing the results of the analysis.
+     * @throws IOException
+     *             If any errors occur during the analysis.
+     */
+    private ClassinessAnalysisResults analyzeClassiness(final TranslationClassAnalyzer analyzer, AuthoritativeMessagesProperties messagesProperties, int threadCount) throws IOException {
+        final List<TranslationClass> translationClasses = new ArrayList<>(messagesProperties.getTranslationClasses());
+        final Collection<MissingTranslationKeyClass> missingTranslationKeyClasses;
+        final Collection<MissingTranslationKey> missingTranslationKeys;
+        if (threadCount > 1 && translationClasses.size() > 1) {
+            missingTranslationKeyClasses = new ConcurrentLinkedQueue<>();
+            missingTranslationKeys = new ConcurrentLinkedQueue<>();
+
+            // Use several partitions per thread so that a partition of slow lookups doesn't hold up the rest of the analysis
+            final int partitionSize = Math.max(1, (translationClasses.size() + threadCount * 4 - 1) / (threadCount * 4));
+            final ForkJoinPool pool = new ForkJoinPool(threadCount);
+            try {
+                final List<Future<Void>> futures = new ArrayList<>();
+                for (int from = 0; from < translationClasses.size(); from += partitionSize) {
+                    final List<TranslationClass> partition = translationClasses.subList(from, Math.min(translationClasses.size(), from + partitionSize));
+                    futures.add(pool.submit(new Callable<Void>() {
+                        @Override
+                        public Void call() throws IOException {
+                            for (TranslationClass translationClass : partition) {
+                                analyzer.analyze(translationClass, missingTranslationKeyClasses, missingTranslationKeys);
+                            }
+                            return null;
+                        }
+                    }));
+                }
+
+                for (Future<Void> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof IOException) {
+                            throw (IOException) e.getCause();
+                        }
+                        throw new IOException("Failed to analyze translation classes.", e.getCause());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while analyzing translation classes.", e);
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        } else {
+            missingTranslationKeyClasses = new ArrayList<>();
+            missingTranslationKeys = new ArrayList<>();
+            for (TranslationClass translationClass : translationClasses) {
+                analyzer.analyze(translationClass, missingTranslationKeyClasses, missingTranslationKeys);
+            }
         }
 
-        return new ClassinessAnalysisResults(missingTranslationKeyClasses, missingTranslationKeys);
+        final List<MissingTranslationKeyClass> sortedClasses = new ArrayList<>(missingTranslationKeyClasses);
+        Collections.sort(sortedClasses);
+        final List<MissingTranslationKey> sortedKeys = new ArrayList<>(missingTranslationKeys);
+        Collections.sort(sortedKeys);
+        return new ClassinessAnalysisResults(sortedClasses, sortedKeys);
+    }
+
+    /**
+     * Convert the name of a translation class to a canonical class name, leaving the classpath to decide which of its segments are packages and which are classes.
+     * 
+     * @param className
+     *            The name of the translation class, as given by {@link TranslationClass#getTranslationClassName()}.
+     * @return The canonical form of the given class name.
+     */
+    private static String toCanonicalName(String className) {
+        return className.replace('$', '.');
+    }
+
+    /**
+     * A strategy for determining which of the classes and keys of a translation class are missing.
+     * 
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    private interface TranslationClassAnalyzer {
+        /**
+         * Analyze a translation class.
+         * 
+         * @param translationClass
+         *            The {@link TranslationClass} to be analyzed.
+         * @param missingTranslationKeyClasses
+         *            A {@link Collection} to which the translation class is added if it is missing; this may be shared with other threads.
+         * @param missingTranslationKeys
+         *            A {@link Collection} to which any missing keys of the translation class are added; this may be shared with other threads.
+         * @throws IOException
+         *             If any errors occur during the analysis.
+         */
+        void analyze(TranslationClass translationClass, Collection<MissingTranslationKeyClass> missingTranslationKeyClasses, Collection<MissingTranslationKey> missingTranslationKeys)
+                throws IOException;
     }
 
     /**
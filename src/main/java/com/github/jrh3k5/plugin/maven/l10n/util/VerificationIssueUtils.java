@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.TranslatedMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils.ClassinessAnalysisResults;
+
+/**
+ * Utilities for describing the issues found by a verification of a messages properties file, so that every goal reporting them describes them in the same words.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public abstract class VerificationIssueUtils {
+    /**
+     * Describe the issues found with an authoritative messages properties file.
+     *
+     * @param messagesFile
+     *            The authoritative messages properties file.
+     * @param properties
+     *            The {@link AuthoritativeMessagesProperties} parsed from the file.
+     * @param analysisResults
+     *            The {@link ClassinessAnalysisResults} of the analysis of the translation keys of the file.
+     * @return A {@link List} of descriptions of the issues found with the file; empty if there are none.
+     */
+    public static List<String> getIssues(File messagesFile, AuthoritativeMessagesProperties properties, ClassinessAnalysisResults analysisResults) {
+        final List<String> issues = new ArrayList<>();
+        if (!properties.getDuplicateTranslationKeys().isEmpty()) {
+            issues.add(String.format("File %s contains %d duplicate keys.", messagesFile.getName(), properties.getDuplicateTranslationKeys().size()));
+        }
+
+        if (!analysisResults.getMissingTranslationKeyClasses().isEmpty()) {
+            issues.add(String.format("File %s contains %d references to non-existent translation key classes.", messagesFile.getName(), analysisResults.getMissingTranslationKeyClasses().size()));
+        }
+
+        if (!analysisResults.getMissingTranslationKeys().isEmpty()) {
+            issues.add(String.format("File %s contains %d references to non-existent translation class keys.", messagesFile.getName(), analysisResults.getMissingTranslationKeys().size()));
+        }
+        return issues;
+    }
+
+    /**
+     * Describe the issues found with a translation of an authoritative messages properties file.
+     *
+     * @param messagesFile
+     *            The authoritative messages properties file.
+     * @param translatedProperties
+     *            The {@link TranslatedMessagesProperties} parsed from the translation.
+     * @param missingKeyCount
+     *            The number of keys of the authoritative messages properties file that are to be reported as missing from the translation.
+     * @return A {@link List} of descriptions of the issues found with the translation; empty if there are none.
+     */
+    public static List<String> getIssues(File messagesFile, TranslatedMessagesProperties translatedProperties, int missingKeyCount) {
+        final List<String> issues = new ArrayList<>();
+        final String fileName = translatedProperties.getFile().getName();
+        if (!translatedProperties.getDuplicateTranslationKeys().isEmpty()) {
+            issues.add(String.format("File %s contains %d duplicate keys.", fileName, translatedProperties.getDuplicateTranslationKeys().size()));
+        }
+
+        if (missingKeyCount > 0) {
+            issues.add(String.format("File %s is missing %d translation keys.", fileName, missingKeyCount));
+        }
+
+        if (!translatedProperties.getExtraTranslationKeys().isEmpty()) {
+            issues.add(String.format("File %s contains %d translation keys not found in %s.", fileName, translatedProperties.getExtraTranslationKeys().size(), messagesFile.getName()));
+        }
+
+        if (translatedProperties.getUntranslatedKeyCount() > 0) {
+            issues.add(String.format("File %s contains %d values copied from %s without translation.", fileName, translatedProperties.getUntranslatedKeyCount(), messagesFile.getName()));
+        }
+
+        if (!translatedProperties.getPlaceholderMismatches().isEmpty()) {
+            issues.add(String.format("File %s contains %d translations whose placeholders do not match those of %s.", fileName, translatedProperties.getPlaceholderMismatches().size(),
+                    messagesFile.getName()));
+        }
+        return issues;
+    }
+
+    /**
+     * Nullary constructor to prevent direct instantiation.
+     */
+    private VerificationIssueUtils() {
+    }
+}
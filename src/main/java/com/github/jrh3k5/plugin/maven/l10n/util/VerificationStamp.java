@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * A record of the verdict of a previous verification of a messages properties file, and of the inputs from which it was reached. A verification whose inputs have not changed since the stamp was
+ * written can replay the recorded verdict rather than running again.
+ * <p>
+ * The inputs are fingerprinted by the path and contents of the messages properties file, by the path, size, and modification time of every file of the classpath, and by any configuration
+ * that affects the verdict. The contents of the messages properties file are hashed, since an edit that leaves its size unchanged may also leave its modification time unchanged on file systems
+ * that record it only to the second; the files of the classpath, which are far more numerous, are not read.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class VerificationStamp {
+    private static final int MAGIC = 0x4c31304e;
+    private static final int VERSION = 2;
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+
+    private final File stampFile;
+
+    /**
+     * Create a stamp.
+     *
+     * @param stampDirectory
+     *            The directory in which stamps are stored. This is created if it does not exist.
+     * @param messagesFile
+     *            The messages properties file whose verification is recorded by the stamp.
+     */
+    public VerificationStamp(File stampDirectory, File messagesFile) {
+        final byte[] pathHash = newDigest().digest(messagesFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+        this.stampFile = new File(stampDirectory, String.format("%040x.stamp", new BigInteger(1, pathHash)));
+    }
+
+    /**
+     * Create a {@link MessageDigest} used to compute fingerprints.
+     *
+     * @return A {@link MessageDigest}.
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(String.format("The %s digest algorithm is required by the Java platform, but was not found.", DIGEST_ALGORITHM), e);
+        }
+    }
+
+    /**
+     * Fingerprint the inputs of a verification.
+     *
+     * @param messagesFile
+     *            The messages properties file to be verified.
+     * @param classpathElements
+     *            A {@link Collection} of the directories and archives of the classpath against which the file is to be verified; the files within directories are fingerprinted individually.
+     * @param configuration
+     *            A {@link Collection} of the values of any configuration that affects the verdict of the verification.
+     * @return The fingerprint of the given inputs.
+     */
+    public static byte[] fingerprint(File messagesFile, Collection<File> classpathElements, Collection<String> configuration) {
+        return fingerprint(messagesFile, fingerprintClasspath(classpathElements), configuration);
+    }
+
+    /**
+     * Fingerprint the inputs of a verification against a classpath that has already been fingerprinted. Several messages properties files verified against the same classpath can share the
+     * fingerprint of the classpath, rather than each walking it again.
+     *
+     * @param messagesFile
+     *            The messages properties file to be verified.
+     * @param classpathFingerprint
+     *            The fingerprint, as computed by {@link #fingerprintClasspath(Collection)}, of the classpath against which the file is to be verified.
+     * @param configuration
+     *            A {@link Collection} of the values of any configuration that affects the verdict of the verification.
+     * @return The fingerprint of the given inputs.
+     */
+    public static byte[] fingerprint(File messagesFile, byte[] classpathFingerprint, Collection<String> configuration) {
+        final MessageDigest digest = newDigest();
+        for (String value : configuration) {
+            update(digest, String.valueOf(value));
+        }
+        update(digest, messagesFile.getAbsolutePath());
+        updateContents(digest, messagesFile);
+        digest.update(classpathFingerprint);
+        return digest.digest();
+    }
+
+    /**
+     * Fingerprint a classpath.
+     *
+     * @param classpathElements
+     *            A {@link Collection} of the directories and archives of the classpath; the files within directories are fingerprinted individually.
+     * @return The fingerprint of the given classpath.
+     */
+    public static byte[] fingerprintClasspath(Collection<File> classpathElements) {
+        final MessageDigest digest = newDigest();
+        for (File classpathElement : classpathElements) {
+            if (classpathElement.isDirectory()) {
+                update(digest, classpathElement.getAbsolutePath());
+                updateDirectory(digest, classpathElement);
+            } else {
+                update(digest, classpathElement);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Load the verdict recorded by this stamp.
+     *
+     * @param fingerprint
+     *            The fingerprint, as computed by {@link #fingerprint(File, Collection, Collection)}, of the current inputs of the verification.
+     * @return {@code null} if no verdict has been recorded, or it was recorded for different inputs; otherwise, a {@link List} of the issues found by the recorded verification, empty if there were
+     *         none. An unreadable stamp is treated as if it did not exist.
+     */
+    public List<String> load(byte[] fingerprint) {
+        if (!stampFile.isFile()) {
+            return null;
+        }
+
+        try (final DataInputStream stampIn = new DataInputStream(new BufferedInputStream(new FileInputStream(stampFile)))) {
+            if (stampIn.readInt() != MAGIC || stampIn.readInt() != VERSION) {
+                return null;
+            }
+
+            final byte[] storedFingerprint = new byte[stampIn.readUnsignedByte()];
+            stampIn.readFully(storedFingerprint);
+            if (!Arrays.equals(fingerprint, storedFingerprint)) {
+                return null;
+            }
+
+            final int issueCount = stampIn.readInt();
+            final List<String> issues = new ArrayList<>(issueCount);
+            for (int i = 0; i < issueCount; i++) {
+                issues.add(stampIn.readUTF());
+            }
+            return Collections.unmodifiableList(issues);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Record the verdict of a verification.
+     *
+     * @param fingerprint
+     *            The fingerprint, as computed by {@link #fingerprint(File, Collection, Collection)}, of the inputs of the verification.
+     * @param issues
+     *            A {@link List} of the issues found by the verification; empty if there were none.
+     * @throws IOException
+     *             If any errors occur while writing the stamp.
+     */
+    public void store(byte[] fingerprint, List<String> issues) throws IOException {
+        final File stampDirectory = stampFile.getParentFile();
+        FileUtils.forceMkdir(stampDirectory);
+        final File stagingFile = File.createTempFile(stampFile.getName(), ".tmp", stampDirectory);
+        try {
+            try (final DataOutputStream stampOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(stagingFile)))) {
+                stampOut.writeInt(MAGIC);
+                stampOut.writeInt(VERSION);
+                stampOut.writeByte(fingerprint.length);
+                stampOut.write(fingerprint);
+                stampOut.writeInt(issues.size());
+                for (String issue : issues) {
+                    stampOut.writeUTF(issue);
+                }
+            }
+
+            try {
+                Files.move(stagingFile.toPath(), stampFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(stagingFile.toPath(), stampFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(stagingFile.toPath());
+        }
+    }
+
+    /**
+     * Add the files within a directory, and its subdirectories, to a fingerprint.
+     *
+     * @param digest
+     *            The {@link MessageDigest} computing the fingerprint.
+     * @param directory
+     *            The directory whose files are to be added.
+     */
+    private static void updateDirectory(MessageDigest digest, File directory) {
+        final File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+
+        // Listings are in no particular order, so they are sorted to keep the fingerprint stable
+        Arrays.sort(children);
+        for (File child : children) {
+            if (child.isDirectory()) {
+                updateDirectory(digest, child);
+            } else {
+                update(digest, child);
+            }
+        }
+    }
+
+    /**
+     * Add a file to a fingerprint.
+     *
+     * @param digest
+     *            The {@link MessageDigest} computing the fingerprint.
+     * @param file
+     *            The file to be added; if it does not exist, only its path is added.
+     */
+    private static void update(MessageDigest digest, File file) {
+        update(digest, file.getAbsolutePath());
+        update(digest, Long.toString(file.length()));
+        update(digest, Long.toString(file.lastModified()));
+    }
+
+    /**
+     * Add the contents of a file to a fingerprint.
+     *
+     * @param digest
+     *            The {@link MessageDigest} computing the fingerprint.
+     * @param file
+     *            The file whose contents are to be added; if it cannot be read, a fingerprint that matches no stored stamp is produced.
+     */
+    private static void updateContents(MessageDigest digest, File file) {
+        update(digest, Long.toString(file.length()));
+        try (final InputStream fileIn = new FileInputStream(file)) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = fileIn.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            // A random value guarantees that the verification runs, where it will fail to read the file itself
+            update(digest, Long.toString(System.nanoTime()));
+        }
+    }
+
+    /**
+     * Add a value to a fingerprint.
+     *
+     * @param digest
+     *            The {@link MessageDigest} computing the fingerprint.
+     * @param value
+     *            The value to be added.
+     */
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        // Delimit each value so that adjacent values cannot run together
+        digest.update((byte) 0);
+    }
+}
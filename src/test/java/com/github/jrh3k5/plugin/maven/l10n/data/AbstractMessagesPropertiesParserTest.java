@@ -22,6 +22,7 @@ import static org.fest.assertions.Assertions.assertThat;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Properties;
@@ -138,6 +139,51 @@ public class AbstractMessagesPropertiesParserTest extends AbstractUnitTest {
         assertThat(parser.getTranslationKeys(messagesFile)).hasSize(1).contains(messageKey);
     }
 
+    /**
+     * Encodings that encode ASCII characters as the same single bytes should be supported.
+     */
+    @Test
+    public void testForEncodingName() {
+        assertThat(AbstractMessagesPropertiesParser.forEncodingName("UTF-8")).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(AbstractMessagesPropertiesParser.forEncodingName("iso-8859-1")).isEqualTo(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * An encoding that encodes ASCII characters as more than one byte cannot be scanned, and so should be rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testForEncodingNameWide() {
+        AbstractMessagesPropertiesParser.forEncodingName("UTF-16");
+    }
+
+    /**
+     * An unknown encoding should be rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testForEncodingNameUnknown() {
+        AbstractMessagesPropertiesParser.forEncodingName("no-such-encoding");
+    }
+
+    /**
+     * A cache that cannot be written should not fail the parse of a messages properties file.
+     * 
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testScanUnwritableCache() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, Arrays.asList("cached.key=foo"));
+        // A file where the cache directory should be keeps the cache from being created
+        final File cacheDirectory = getTestFile("unwritable-cache");
+        FileUtils.deleteQuietly(cacheDirectory);
+        FileUtils.touch(cacheDirectory);
+
+        final AbstractMessagesPropertiesParser cachingParser = new ConcreteParser();
+        cachingParser.setCache(new MessagesPropertiesCache(cacheDirectory));
+        assertThat(cachingParser.scan(messagesFile).getTranslationKeys()).hasSize(1).contains("cached.key");
+    }
+
     /**
      * A concrete implementation of {@link AbstractMessagesPropertiesParser} for testing purposes.
      * 
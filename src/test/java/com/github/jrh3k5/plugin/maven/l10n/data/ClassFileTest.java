@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestInterface;
+import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestReflection;
+
+/**
+ * Unit tests for {@link ClassFile}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class ClassFileTest {
+    /**
+     * The header and fields of a class file should be read.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testParse() throws Exception {
+        final ClassFile classFile = parse(TestReflection.class);
+        assertThat(classFile.getClassName()).isEqualTo(TestReflection.class.getName());
+        assertThat(classFile.getSuperClassName()).isEqualTo(Enum.class.getName());
+        assertThat(classFile.getInterfaceNames()).hasSize(1).contains(TestInterface.class.getName());
+        assertThat(classFile.getAccessFlags() & ClassFile.ACC_ENUM).isNotEqualTo(0);
+
+        final ClassFile.Field constant = classFile.getField("A");
+        assertThat(constant.isEnumConstant()).isTrue();
+        assertThat(constant.isStatic()).isTrue();
+        assertThat(constant.getTypeName()).isEqualTo(TestReflection.class.getName());
+
+        final ClassFile.Field names = classFile.getField("NAMES");
+        assertThat(names.isEnumConstant()).isFalse();
+        assertThat(names.isStatic()).isTrue();
+        assertThat(names.getTypeName()).isEqualTo("java.util.List");
+        assertThat(classFile.getField("C")).isNull();
+    }
+
+    /**
+     * Nested classes should be read with their binary names.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testParseNested() throws Exception {
+        final ClassFile classFile = parse(Nested.class);
+        assertThat(classFile.getClassName()).isEqualTo(Nested.class.getName());
+        assertThat(classFile.getAccessFlags() & ClassFile.ACC_INTERFACE).isNotEqualTo(0);
+        assertThat(classFile.getField("VALUE").getDescriptor()).isEqualTo("J");
+        assertThat(classFile.getField("VALUE").getTypeName()).isNull();
+    }
+
+    /**
+     * Content that is not a class file should be rejected.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test(expected = IOException.class)
+    public void testParseNotClassFile() throws Exception {
+        new ClassFile.Parser().parse(new ByteArrayInputStream("key=value".getBytes("ISO-8859-1")));
+    }
+
+    /**
+     * Parse the class file of a class.
+     *
+     * @param clazz
+     *            The {@link Class} whose class file is to be parsed.
+     * @return The parsed {@link ClassFile}.
+     * @throws Exception
+     *             If any errors occur while parsing the class file.
+     */
+    private ClassFile parse(Class<?> clazz) throws Exception {
+        try (final InputStream classFileIn = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class")) {
+            return new ClassFile.Parser().parse(classFileIn);
+        }
+    }
+
+    /**
+     * A nested interface with a constant for testing purposes.
+     *
+     * @author Joshua Hyde
+     * @since 1.5
+     */
+    interface Nested {
+        /**
+         * A constant of a primitive type.
+         */
+        long VALUE = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+
+/**
+ * Unit tests for {@link LocaleFallbackCoverage}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class LocaleFallbackCoverageTest extends AbstractUnitTest {
+    /**
+     * A key missing from a regional translation should not be missing if the translation of its language translates it, and a translation without a parent translation should inherit nothing.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testFallbackChain() throws Exception {
+        final File authoritativeMessagesFile = getTestFile("messages.properties");
+        final File directory = authoritativeMessagesFile.getParentFile();
+        FileUtils.writeLines(authoritativeMessagesFile, Arrays.asList("cancel=Cancel", "ok=OK", "save=Save", "color=Color"));
+        final File frenchFile = new File(directory, "messages_fr.properties");
+        FileUtils.writeLines(frenchFile, Arrays.asList("cancel=Annuler", "ok=OK", "save=Enregistrer"));
+        final File canadianFrenchFile = new File(directory, "messages_fr_CA.properties");
+        FileUtils.writeLines(canadianFrenchFile, Collections.singletonList("save=Sauvegarder"));
+        final File swissGermanFile = new File(directory, "messages_de_CH.properties");
+        FileUtils.writeLines(swissGermanFile, Collections.singletonList("cancel=Abbrechen"));
+
+        final AuthoritativeMessagesProperties authoritativeMessages = new AuthoritativeMessagesProperties.Parser().parse(authoritativeMessagesFile);
+        final List<TranslatedMessagesProperties> translations = new ArrayList<>(new TranslatedMessagesProperties.Parser().parse(authoritativeMessages,
+                Arrays.asList(frenchFile, canadianFrenchFile, swissGermanFile)));
+        final TranslatedMessagesProperties french = translations.get(0);
+        final TranslatedMessagesProperties canadianFrench = translations.get(1);
+        final TranslatedMessagesProperties swissGerman = translations.get(2);
+
+        final LocaleFallbackCoverage coverage = new LocaleFallbackCoverage(translations);
+        assertThat(new ArrayList<>(coverage.getMissingTranslationKeys(canadianFrench))).isEqualTo(Collections.singletonList("color"));
+        assertThat(coverage.getMissingTranslationKeyCount(canadianFrench)).isEqualTo(1);
+        assertThat(coverage.getInheritedTranslationKeyCount(canadianFrench)).isEqualTo(2);
+        assertThat(coverage.getCompletionPercentage(canadianFrench)).isEqualTo(75.0);
+        assertThat(canadianFrench.getMissingTranslationKeyCount()).isEqualTo(3);
+
+        assertThat(coverage.getMissingTranslationKeyCount(french)).isEqualTo(1);
+        assertThat(coverage.getInheritedTranslationKeyCount(french)).isZero();
+
+        assertThat(new ArrayList<>(coverage.getMissingTranslationKeys(swissGerman))).isEqualTo(Arrays.asList("color", "ok", "save"));
+        assertThat(coverage.getInheritedTranslationKeyCount(swissGerman)).isZero();
+
+        // A locale without a translation of its own resolves what its parent does
+        assertThat(coverage.getResolvedKeyIds(new Locale("fr", "BE"))).isEqualTo(french.getTranslatedKeyIds());
+    }
+}
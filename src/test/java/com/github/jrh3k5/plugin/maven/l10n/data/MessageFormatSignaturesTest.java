@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MessageFormatSignatures}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class MessageFormatSignaturesTest {
+    /**
+     * The signature should list each argument by index and format type, ignoring the surrounding text, the order of the arguments, and their format styles.
+     */
+    @Test
+    public void testCompile() {
+        assertThat(MessageFormatSignatures.compile("No arguments")).isEmpty();
+        assertThat(MessageFormatSignatures.compile("{1} of {0}")).isEqualTo("{0}{1}");
+        assertThat(MessageFormatSignatures.compile("{0} von {1}")).isEqualTo("{0}{1}");
+        assertThat(MessageFormatSignatures.compile("{0, Number, #,##0} files on {1,date,yyyy-MM-dd}")).isEqualTo("{0,number}{1,date}");
+        assertThat(MessageFormatSignatures.compile("{0,choice,0#no files|1#one file|1<{0,number,integer} files}")).isEqualTo("{0,choice}");
+        assertThat(MessageFormatSignatures.compile("{0} and {0,number}")).isEqualTo("{0}{0,number}");
+    }
+
+    /**
+     * Quoted braces should not be read as arguments, as {@link java.text.MessageFormat} does not read them as arguments.
+     */
+    @Test
+    public void testCompileQuoted() {
+        assertThat(MessageFormatSignatures.compile("'{0}' is literal")).isEmpty();
+        assertThat(MessageFormatSignatures.compile("l'{0}")).isEmpty();
+        assertThat(MessageFormatSignatures.compile("l''{0}")).isEqualTo("{0}");
+    }
+
+    /**
+     * Messages that {@link java.text.MessageFormat} would reject should have the malformed signature.
+     */
+    @Test
+    public void testCompileMalformed() {
+        assertThat(MessageFormatSignatures.compile("{0")).isEqualTo(MessageFormatSignatures.MALFORMED);
+        assertThat(MessageFormatSignatures.compile("{O}")).isEqualTo(MessageFormatSignatures.MALFORMED);
+        assertThat(MessageFormatSignatures.compile("{ 0}")).isEqualTo(MessageFormatSignatures.MALFORMED);
+        assertThat(MessageFormatSignatures.compile("{0,amount}")).isEqualTo(MessageFormatSignatures.MALFORMED);
+    }
+
+    /**
+     * A signature should be compiled once per value hash.
+     */
+    @Test
+    public void testCache() {
+        final MessageFormatSignatures signatures = new MessageFormatSignatures();
+        final char[] value = "{0} files".toCharArray();
+        assertThat(signatures.get(42L, value, 0, value.length, StandardCharsets.ISO_8859_1)).isNull();
+        assertThat(signatures.put(42L, value, 0, value.length, StandardCharsets.ISO_8859_1, "{0} files")).isEqualTo("{0}");
+        assertThat(signatures.get(42L, value, 0, value.length, StandardCharsets.ISO_8859_1)).isEqualTo("{0}");
+        assertThat(signatures.size()).isEqualTo(1);
+    }
+
+    /**
+     * A cached signature should only be used for the value from which it was compiled, even if another value shares its hash.
+     */
+    @Test
+    public void testCacheCollision() {
+        final MessageFormatSignatures signatures = new MessageFormatSignatures();
+        final char[] value = "{0} files".toCharArray();
+        final char[] collidingValue = "x{1,date} of {0}".toCharArray();
+        assertThat(signatures.put(42L, value, 0, value.length, StandardCharsets.ISO_8859_1, "{0} files")).isEqualTo("{0}");
+
+        assertThat(signatures.get(42L, collidingValue, 1, collidingValue.length, StandardCharsets.ISO_8859_1)).isNull();
+        assertThat(signatures.put(42L, collidingValue, 1, collidingValue.length, StandardCharsets.ISO_8859_1, "{1,date} of {0}")).isEqualTo("{0}{1,date}");
+        // The same bytes decoded with another charset are another value
+        assertThat(signatures.get(42L, value, 0, value.length, StandardCharsets.UTF_8)).isNull();
+
+        assertThat(signatures.get(42L, value, 0, value.length, StandardCharsets.ISO_8859_1)).isEqualTo("{0}");
+        assertThat(signatures.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.MessagesPropertiesScanner.ScanResult;
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+
+/**
+ * Unit tests for {@link MessagesPropertiesCache}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class MessagesPropertiesCacheTest extends AbstractUnitTest {
+    /**
+     * A stored scan should be loaded back with all of its keys, duplicates, and line numbers.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testStoreAndLoad() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, Arrays.asList("com.example.Keys.FIRST=value", "com.example.Keys.SECOND=value", "com.example.Other.FIRST=value", "com.example.Keys.FIRST=again"));
+        final MessagesPropertiesCache cache = new MessagesPropertiesCache(getTestFile("cache"));
+        store(cache, messagesFile);
+
+        final ScanResult loaded = cache.load(messagesFile, StandardCharsets.ISO_8859_1);
+        assertThat(loaded).isNotNull();
+        assertThat(loaded.getTranslationKeys()).hasSize(3).contains("com.example.Keys.FIRST", "com.example.Keys.SECOND", "com.example.Other.FIRST");
+        assertThat(loaded.getDuplicateTranslationKeys()).hasSize(1).contains("com.example.Keys.FIRST");
+        assertThat(loaded.getLineNumber("com.example.Other.FIRST")).isEqualTo(3);
+    }
+
+    /**
+     * A file whose contents have changed should not be loaded from the cache.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testLoadChanged() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, Arrays.asList("first=value"));
+        final MessagesPropertiesCache cache = new MessagesPropertiesCache(getTestFile("cache"));
+        store(cache, messagesFile);
+
+        // Keep the size of the file the same to force a comparison of the contents
+        FileUtils.writeLines(messagesFile, Arrays.asList("other=value"));
+        assertThat(cache.load(messagesFile, StandardCharsets.ISO_8859_1)).isNull();
+    }
+
+    /**
+     * A file that has been touched, but whose contents have not changed, should still be loaded from the cache.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testLoadTouched() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, Arrays.asList("first=value"));
+        final MessagesPropertiesCache cache = new MessagesPropertiesCache(getTestFile("cache"));
+        store(cache, messagesFile);
+
+        assertThat(messagesFile.setLastModified(messagesFile.lastModified() - 60000)).isTrue();
+        final ScanResult loaded = cache.load(messagesFile, StandardCharsets.ISO_8859_1);
+        assertThat(loaded).isNotNull();
+        assertThat(loaded.getTranslationKeys()).hasSize(1).contains("first");
+    }
+
+    /**
+     * A file cached with one encoding should not be loaded for another.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testLoadDifferentEncoding() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, Arrays.asList("first=value"));
+        final MessagesPropertiesCache cache = new MessagesPropertiesCache(getTestFile("cache"));
+        store(cache, messagesFile);
+
+        assertThat(cache.load(messagesFile, StandardCharsets.UTF_8)).isNull();
+    }
+
+    /**
+     * Argument signatures should be stored and loaded with the rest of a scan, and an entry stored without them should not satisfy a load that requires them.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testLoadPlaceholderSignatures() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, Arrays.asList("files={0,number} files", "plain=value"));
+        final MessagesPropertiesCache cache = new MessagesPropertiesCache(getTestFile("cache"));
+        store(cache, messagesFile);
+        assertThat(cache.load(messagesFile, StandardCharsets.ISO_8859_1, true, false)).isNull();
+
+        final MessageDigest digest = MessagesPropertiesCache.newDigest();
+        final ScanResult scanResult = new MessagesPropertiesScanner(StandardCharsets.ISO_8859_1, new MessageFormatSignatures()).scan(messagesFile, digest);
+        cache.store(messagesFile, StandardCharsets.ISO_8859_1, messagesFile.length(), messagesFile.lastModified(), digest.digest(), scanResult);
+        final ScanResult loaded = cache.load(messagesFile, StandardCharsets.ISO_8859_1, true, false);
+        assertThat(loaded).isNotNull();
+        assertThat(loaded.getPlaceholderSignatures()).isEqualTo(Collections.singletonMap("files", "{0,number}"));
+    }
+
+    /**
+     * Value hashes should be stored and loaded with the rest of a scan, and an entry stored without them should not satisfy a load that requires them.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testLoadValueHashes() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, Arrays.asList("first=value", "empty=", "second=other"));
+        final MessagesPropertiesCache cache = new MessagesPropertiesCache(getTestFile("cache"));
+        store(cache, messagesFile);
+        assertThat(cache.load(messagesFile, StandardCharsets.ISO_8859_1, false, true)).isNull();
+
+        final MessageDigest digest = MessagesPropertiesCache.newDigest();
+        final ScanResult scanResult = new MessagesPropertiesScanner(StandardCharsets.ISO_8859_1, null, true).scan(messagesFile, digest);
+        cache.store(messagesFile, StandardCharsets.ISO_8859_1, messagesFile.length(), messagesFile.lastModified(), digest.digest(), scanResult);
+        final ScanResult loaded = cache.load(messagesFile, StandardCharsets.ISO_8859_1, false, true);
+        assertThat(loaded).isNotNull();
+        assertThat(loaded.getValueHashes()).isEqualTo(scanResult.getValueHashes());
+        assertThat(loaded.getValueHashes()).hasSize(2);
+    }
+
+    /**
+     * Scan a file and store it in the given cache.
+     *
+     * @param cache
+     *            The {@link MessagesPropertiesCache} in which the scan is to be stored.
+     * @param messagesFile
+     *            The {@link File} to be scanned.
+     * @throws Exception
+     *             If any errors occur while scanning or storing the file.
+     */
+    private void store(MessagesPropertiesCache cache, File messagesFile) throws Exception {
+        final MessageDigest digest = MessagesPropertiesCache.newDigest();
+        final ScanResult scanResult = new MessagesPropertiesScanner().scan(messagesFile, digest);
+        cache.store(messagesFile, StandardCharsets.ISO_8859_1, messagesFile.length(), messagesFile.lastModified(), digest.digest(), scanResult);
+    }
+}
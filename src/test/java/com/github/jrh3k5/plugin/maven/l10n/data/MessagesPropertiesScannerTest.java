@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.MessagesPropertiesScanner.ScanResult;
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+
+/**
+ * Unit tests for {@link MessagesPropertiesScanner}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class MessagesPropertiesScannerTest extends AbstractUnitTest {
+    private final MessagesPropertiesScanner scanner = new MessagesPropertiesScanner();
+
+    /**
+     * The scanner should read the same keys as {@link Properties#load(java.io.InputStream)} for the various separators, continuations, and escapes allowed by the format.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testScanMatchesProperties() throws Exception {
+        final String contents = "# comment = not.a.key\n" + "  ! another comment\n" + "equals.key=value\n" + "colon.key:value\n" + "space.key value\n" + "  padded.key   =   value\n"
+                + "continued.key = first \\\n" + "    second\n" + "split\\\n" + "  .key = value\n" + "escaped\\=key = value\n" + "escaped\\ space = value\n" + "unicode\\u0041key = value\n"
+                + "\r\n" + "crlf.key = value\r\n" + "cr.key = value\r" + "novalue\n" + "trailing.key = value \\";
+        final ScanResult result = scan(contents);
+        assertThat(result.getTranslationKeys()).isEqualTo(load(contents).stringPropertyNames());
+        assertThat(result.getTranslationKeys()).contains("equals.key", "colon.key", "space.key", "padded.key", "continued.key", "split.key", "escaped=key", "escaped space", "unicodeAkey", "crlf.key",
+                "cr.key", "novalue", "trailing.key");
+        assertThat(result.getDuplicateTranslationKeys()).isEmpty();
+    }
+
+    /**
+     * Keys declared more than once should be detected as duplicates regardless of the separator used.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testScanDuplicates() throws Exception {
+        final ScanResult result = scan("dup = first\nnot.dup = value\ndup:second\ndup third\n# dup = commented\nother\\\n.dup = value\nother.dup = again\n");
+        assertThat(result.getDuplicateTranslationKeys()).hasSize(2).contains("dup", "other.dup");
+        assertThat(result.getTranslationKeys()).hasSize(3).contains("dup", "not.dup", "other.dup");
+    }
+
+    /**
+     * The scanner should record the line on which each key is first declared.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testScanLineNumbers() throws Exception {
+        final ScanResult result = scan("# comment\r\n\r\nfirst = value \\\r\n  continued\r\nsecond = value\rthird = value\n\n  fourth = value\nfirst = again");
+        assertThat(result.getLineNumber("first")).isEqualTo(3);
+        assertThat(result.getLineNumber("second")).isEqualTo(5);
+        assertThat(result.getLineNumber("third")).isEqualTo(6);
+        assertThat(result.getLineNumber("fourth")).isEqualTo(8);
+        assertThat(result.getLineNumber("missing")).isEqualTo(-1);
+    }
+
+    /**
+     * A malformed unicode escape in a key should be reported as an I/O failure.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test(expected = IOException.class)
+    public void testScanMalformedEscape() throws Exception {
+        scan("bad\\u00zz = value\n");
+    }
+
+    /**
+     * Keys should be decoded using the charset given to the scanner.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testScanUtf8Keys() throws Exception {
+        final String contents = "cl\\u00e9.escaped = value\nclé.raw = valeur\n";
+        final ScanResult result = new MessagesPropertiesScanner(StandardCharsets.UTF_8).scan(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)));
+        assertThat(result.getTranslationKeys()).hasSize(2).contains("clé.escaped", "clé.raw");
+    }
+
+    /**
+     * Given signatures, the scanner should record the argument signature of the first declared value of each key whose value has arguments, including arguments written as escapes.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testScanPlaceholderSignatures() throws Exception {
+        final String contents = "plain = no arguments\\n\n" + "files = {0,number} files \\\n" + "  in {1}\n" + "total :\\u007b0}\n" + "quoted = '{0}'\n" + "files = {2}\n";
+        final MessageFormatSignatures signatures = new MessageFormatSignatures();
+        final ScanResult result = new MessagesPropertiesScanner(StandardCharsets.ISO_8859_1, signatures).scan(new ByteArrayInputStream(contents.getBytes(StandardCharsets.ISO_8859_1)));
+        assertThat(result.getPlaceholderSignatures()).hasSize(2);
+        assertThat(result.getPlaceholderSignatures().get("files")).isEqualTo("{0,number}{1}");
+        assertThat(result.getPlaceholderSignatures().get("total")).isEqualTo("{0}");
+        assertThat(scan(contents).getPlaceholderSignatures()).isNull();
+    }
+
+    /**
+     * Values should be hashed after their escapes are converted and their encoding decoded, so that equal values have equal hashes however they are written, and empty values should not be hashed.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testScanValueHashes() throws Exception {
+        final String contents = "plain = caf\u00e9\n" + "escaped : caf\\u00e9\n" + "continued = c\\\n" + "    af\\u00e9\n" + "other = cafe\n" + "empty =\n";
+        final ScanResult result = new MessagesPropertiesScanner(StandardCharsets.UTF_8, null, true).scan(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)));
+        final Map<String, Long> valueHashes = result.getValueHashes();
+        assertThat(valueHashes).hasSize(4);
+        assertThat(valueHashes.get("escaped")).isEqualTo(valueHashes.get("plain"));
+        assertThat(valueHashes.get("continued")).isEqualTo(valueHashes.get("plain"));
+        assertThat(valueHashes.get("other")).isNotEqualTo(valueHashes.get("plain"));
+        assertThat(scan(contents).getValueHashes()).isNull();
+    }
+
+    /**
+     * Scan the given text.
+     *
+     * @param contents
+     *            The contents to be scanned.
+     * @return A {@link ScanResult} describing the given contents.
+     * @throws IOException
+     *             If any errors occur during the scan.
+     */
+    private ScanResult scan(String contents) throws IOException {
+        return scanner.scan(new ByteArrayInputStream(contents.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    /**
+     * Load the given text using {@link Properties}.
+     *
+     * @param contents
+     *            The contents to be loaded.
+     * @return A {@link Properties} object loaded from the given contents.
+     * @throws IOException
+     *             If any errors occur during the load.
+     */
+    private Properties load(String contents) throws IOException {
+        final Properties properties = new Properties();
+        properties.load(new ByteArrayInputStream(contents.getBytes(StandardCharsets.ISO_8859_1)));
+        return properties;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SortedView}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class SortedViewTest {
+    private final List<String> elements = Arrays.asList("delta", "alpha", "echo", "charlie", "bravo", "foxtrot");
+
+    /**
+     * A view should count, page, and iterate its elements in sorted order.
+     */
+    @Test
+    public void testOf() {
+        final SortedView<String> view = SortedView.of(elements);
+        assertThat(view.size()).isEqualTo(6);
+        assertThat(view.contains("echo")).isTrue();
+        assertThat(view.first(2)).isEqualTo(Arrays.asList("alpha", "bravo"));
+        assertThat(view.page(1, 4)).isEqualTo(Arrays.asList("echo", "foxtrot"));
+        assertThat(view.page(2, 4)).isEmpty();
+        assertThat(new ArrayList<>(view)).isEqualTo(Arrays.asList("alpha", "bravo", "charlie", "delta", "echo", "foxtrot"));
+        assertThat(view.first(10)).hasSize(6);
+    }
+
+    /**
+     * A view with a comparator should be sorted by that comparator.
+     */
+    @Test
+    public void testOfComparator() {
+        final SortedView<String> view = SortedView.of(elements, Collections.<String> reverseOrder());
+        assertThat(view.first(1)).isEqualTo(Arrays.asList("foxtrot"));
+        assertThat(view.page(2, 2)).isEqualTo(Arrays.asList("bravo", "alpha"));
+    }
+
+    /**
+     * Requesting an invalid page should fail.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPageInvalid() {
+        SortedView.of(elements).page(0, 0);
+    }
+
+    /**
+     * A view of identified translation keys should page through the keys in sorted order.
+     */
+    @Test
+    public void testIdentifiedKeys() {
+        final TranslationKeyIndex keyIndex = new TranslationKeyIndex(elements);
+        final BitSet ids = new BitSet();
+        ids.set(keyIndex.getId("bravo"));
+        ids.set(keyIndex.getId("delta"));
+        ids.set(keyIndex.getId("foxtrot"));
+
+        final SortedView<String> view = keyIndex.getKeys(ids);
+        assertThat(view.size()).isEqualTo(3);
+        assertThat(view.contains("delta")).isTrue();
+        assertThat(view.contains("alpha")).isFalse();
+        assertThat(view.first(2)).isEqualTo(Arrays.asList("bravo", "delta"));
+        assertThat(view.page(1, 2)).isEqualTo(Arrays.asList("foxtrot"));
+        assertThat(new ArrayList<>(view)).isEqualTo(Arrays.asList("bravo", "delta", "foxtrot"));
+        // Keys are rebuilt once, and kept for later passes
+        assertThat(new ArrayList<>(view).get(1)).isSameAs(keyIndex.getKey(keyIndex.getId("delta")));
+    }
+}
@@ -22,11 +22,16 @@ import static org.fest.assertions.Assertions.assertThat;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.UUID;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Test;
 
 import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
@@ -76,4 +81,126 @@ public class TranslatedMessagesPropertiesTest extends AbstractUnitTest {
         assertThat(translatedMessage.getMissingTranslationKeys()).hasSize(1).contains(missingKey);
         assertThat(translatedMessage.getTranslationKeys()).hasSize(2).contains(sharedKey, extraKey);
     }
+
+    /**
+     * Parsing translations concurrently should produce the same results, in the same order as the given files, as parsing them sequentially.
+     * 
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testParseConcurrently() throws Exception {
+        final File authoritativeMessagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(authoritativeMessagesFile, Arrays.asList("shared=value", "missing=value"));
+
+        final List<File> translationFiles = new ArrayList<>();
+        for (String language : Arrays.asList("es", "fr", "de", "it", "ja", "ko")) {
+            final File translationFile = new File(authoritativeMessagesFile.getParent(), String.format("messages_%s.properties", language));
+            FileUtils.writeLines(translationFile, Arrays.asList("shared=value", language + ".extra=value"));
+            translationFiles.add(translationFile);
+        }
+
+        final AuthoritativeMessagesProperties authoritativeMessages = new AuthoritativeMessagesProperties.Parser().parse(authoritativeMessagesFile);
+        final TranslatedMessagesProperties.Parser parser = new TranslatedMessagesProperties.Parser();
+        parser.setThreadCount(4);
+        final List<TranslatedMessagesProperties> translatedMessages = new ArrayList<>(parser.parse(authoritativeMessages, translationFiles));
+        assertThat(translatedMessages).hasSize(translationFiles.size());
+        for (int i = 0; i < translationFiles.size(); i++) {
+            final TranslatedMessagesProperties translatedMessage = translatedMessages.get(i);
+            final String language = translatedMessage.getSupportedLocale().getLanguage();
+            assertThat(translatedMessage.getFile()).isEqualTo(translationFiles.get(i));
+            assertThat(translatedMessage.getMissingTranslationKeys()).hasSize(1).contains("missing");
+            assertThat(translatedMessage.getExtraTranslationKeys()).hasSize(1).contains(language + ".extra");
+        }
+    }
+
+    /**
+     * The missing keys, completion percentage, and translated key identifiers should all be derived from the same comparison against the authoritative keys.
+     * 
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testTranslatedKeyIds() throws Exception {
+        final File authoritativeMessagesFile = getTestFile("messages.properties");
+        final File spanishPropertiesFile = new File(authoritativeMessagesFile.getParent(), "messages_es.properties");
+        final File frenchPropertiesFile = new File(authoritativeMessagesFile.getParent(), "messages_fr.properties");
+        FileUtils.writeLines(authoritativeMessagesFile, Arrays.asList("d=value", "c=value", "b=value", "a=value"));
+        FileUtils.writeLines(spanishPropertiesFile, Arrays.asList("a=value", "b=value", "extra=value"));
+        FileUtils.writeLines(frenchPropertiesFile, Arrays.asList("b=value", "c=value"));
+
+        final AuthoritativeMessagesProperties authoritativeMessages = new AuthoritativeMessagesProperties.Parser().parse(authoritativeMessagesFile);
+        final List<TranslatedMessagesProperties> translatedMessages = new ArrayList<>(new TranslatedMessagesProperties.Parser().parse(authoritativeMessages,
+                Arrays.asList(spanishPropertiesFile, frenchPropertiesFile)));
+        final TranslatedMessagesProperties spanish = translatedMessages.get(0);
+        final TranslatedMessagesProperties french = translatedMessages.get(1);
+
+        assertThat(new ArrayList<>(spanish.getMissingTranslationKeys())).isEqualTo(Arrays.asList("c", "d"));
+        assertThat(new ArrayList<>(spanish.getMissingTranslationKeyView())).isEqualTo(Arrays.asList("c", "d"));
+        assertThat(spanish.getMissingTranslationKeys().first()).isEqualTo("c");
+        assertThat(spanish.getMissingTranslationKeyCount()).isEqualTo(2);
+        assertThat(spanish.getExtraTranslationKeys()).hasSize(1).contains("extra");
+        assertThat(spanish.getCompletionPercentage()).isEqualTo(50.0);
+        assertThat(new ArrayList<>(french.getMissingTranslationKeys())).isEqualTo(Arrays.asList("a", "d"));
+
+        final BitSet translatedEverywhere = spanish.getTranslatedKeyIds();
+        translatedEverywhere.and(french.getTranslatedKeyIds());
+        assertThat(translatedEverywhere.cardinality()).isEqualTo(1);
+        assertThat(authoritativeMessages.getKeyIndex().getKey(translatedEverywhere.nextSetBit(0))).isEqualTo("b");
+    }
+
+    /**
+     * Translations whose placeholders differ from those of their authoritative messages should be reported, but only if both were parsed with signatures.
+     * 
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testPlaceholderMismatches() throws Exception {
+        final File authoritativeMessagesFile = getTestFile("messages.properties");
+        final File frenchPropertiesFile = new File(authoritativeMessagesFile.getParent(), "messages_fr.properties");
+        FileUtils.writeLines(authoritativeMessagesFile, Arrays.asList("count={0,number} of {1}", "name=Hello, {0}", "plain=Plain", "absent={0}"));
+        FileUtils.writeLines(frenchPropertiesFile, Arrays.asList("count={1} sur {0,number}", "name=Bonjour, {1}", "plain=Simple {0}", "extra={0}"));
+
+        final MessageFormatSignatures signatures = new MessageFormatSignatures();
+        final AuthoritativeMessagesProperties.Parser authoritativeParser = new AuthoritativeMessagesProperties.Parser();
+        authoritativeParser.setPlaceholderSignatures(signatures);
+        final AuthoritativeMessagesProperties authoritativeMessages = authoritativeParser.parse(authoritativeMessagesFile);
+        final TranslatedMessagesProperties.Parser parser = new TranslatedMessagesProperties.Parser();
+        parser.setPlaceholderSignatures(signatures);
+        final TranslatedMessagesProperties french = parser.parse(authoritativeMessages, Collections.singletonList(frenchPropertiesFile)).iterator().next();
+        assertThat(french.getPlaceholderMismatches()).hasSize(2);
+        assertThat(french.getPlaceholderMismatches().get("name")).isEqualTo("{1}");
+        assertThat(french.getPlaceholderMismatches().get("plain")).isEqualTo("{0}");
+
+        final AuthoritativeMessagesProperties uncheckedMessages = new AuthoritativeMessagesProperties.Parser().parse(authoritativeMessagesFile);
+        assertThat(parser.parse(uncheckedMessages, Collections.singletonList(frenchPropertiesFile)).iterator().next().getPlaceholderMismatches()).isEmpty();
+    }
+
+    /**
+     * Translations whose values are the same as those of their authoritative messages should be counted as untranslated, but only if both were parsed with hashes of their values.
+     * 
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testUntranslatedKeys() throws Exception {
+        final File authoritativeMessagesFile = getTestFile("messages.properties");
+        final File frenchPropertiesFile = new File(authoritativeMessagesFile.getParent(), "messages_fr.properties");
+        FileUtils.writeLines(authoritativeMessagesFile, Arrays.asList("cancel=Cancel", "ok=OK", "save=Save", "empty="));
+        FileUtils.writeLines(frenchPropertiesFile, Arrays.asList("cancel=Annuler", "ok=OK", "save=Save", "empty=", "extra=Extra"));
+
+        final AuthoritativeMessagesProperties.Parser authoritativeParser = new AuthoritativeMessagesProperties.Parser();
+        authoritativeParser.setHashValues(true);
+        final AuthoritativeMessagesProperties authoritativeMessages = authoritativeParser.parse(authoritativeMessagesFile);
+        final TranslatedMessagesProperties.Parser parser = new TranslatedMessagesProperties.Parser();
+        parser.setHashValues(true);
+        final TranslatedMessagesProperties french = parser.parse(authoritativeMessages, Collections.singletonList(frenchPropertiesFile)).iterator().next();
+        assertThat(new ArrayList<>(french.getUntranslatedKeys())).isEqualTo(Arrays.asList("ok", "save"));
+        assertThat(french.getUntranslatedKeyCount()).isEqualTo(2);
+        assertThat(french.getCompletionPercentage()).isEqualTo(100.0);
+
+        final AuthoritativeMessagesProperties uncheckedMessages = new AuthoritativeMessagesProperties.Parser().parse(authoritativeMessagesFile);
+        assertThat(parser.parse(uncheckedMessages, Collections.singletonList(frenchPropertiesFile)).iterator().next().getUntranslatedKeyCount()).isZero();
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TranslationClassIndex}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class TranslationClassIndexTest {
+    private final TranslationKeyDictionary keyDictionary = new TranslationKeyDictionary();
+    private final TranslationClassIndex index = new TranslationClassIndex(Arrays.asList("com.example.Keys.FIRST", "com.example.Keys.SECOND", "com.example.Keys.Nested.THIRD",
+            "com.example.other.Other.FIRST", "Unpackaged.FIRST", "unqualified"), keyDictionary);
+
+    /**
+     * Keys should be grouped into their declaring classes.
+     */
+    @Test
+    public void testGetTranslationClass() {
+        assertThat(index.getTranslationClasses()).hasSize(4);
+        assertThat(index.getTranslationClass("com.example.Keys").getKeyNames()).hasSize(2).contains("FIRST", "SECOND");
+        assertThat(index.getTranslationClass("com.example.Keys$Nested").getKeyNames()).hasSize(1).contains("THIRD");
+        assertThat(index.getTranslationClass("com.example.other.Other").getKeyNames()).hasSize(1).contains("FIRST");
+        assertThat(index.getTranslationClass("Unpackaged").getKeyNames()).hasSize(1).contains("FIRST");
+        assertThat(index.getTranslationClass("unqualified")).isNull();
+    }
+
+    /**
+     * Classes should be retrievable by their package.
+     */
+    @Test
+    public void testGetTranslationClassesByPackage() {
+        assertThat(index.getPackageNames()).hasSize(3).contains("com.example", "com.example.other", "");
+        assertThat(index.getTranslationClasses("com.example")).hasSize(2);
+        assertThat(index.getTranslationClasses("")).hasSize(1);
+        assertThat(index.getTranslationClasses("com.missing")).isEmpty();
+    }
+
+    /**
+     * A key should resolve to the class that declares it, but only if the key was indexed.
+     */
+    @Test
+    public void testGetTranslationClassForKey() {
+        assertThat(index.getTranslationClassForKey("com.example.Keys.Nested.THIRD")).isSameAs(index.getTranslationClass("com.example.Keys$Nested"));
+        assertThat(index.getTranslationClassForKey("unqualified")).isNull();
+
+        keyDictionary.add("com.example.Keys.EXTRA");
+        assertThat(index.getTranslationClassForKey("com.example.Keys.EXTRA")).isNull();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.data;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.TranslationKeyDictionary.Node;
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+
+/**
+ * Unit tests for {@link TranslationKeyDictionary}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class TranslationKeyDictionaryTest extends AbstractUnitTest {
+    private final TranslationKeyDictionary dictionary = new TranslationKeyDictionary();
+
+    /**
+     * Adding a key should make it, and only it, present in the dictionary, and adding it again should not add another key.
+     */
+    @Test
+    public void testAdd() {
+        final Node first = dictionary.add("com.example.Keys.FIRST");
+        assertThat(dictionary.add(new String("com.example.Keys.FIRST"))).isSameAs(first);
+        dictionary.add("com.example.Keys.SECOND");
+        assertThat(dictionary.size()).isEqualTo(2);
+        assertThat(dictionary.contains("com.example.Keys.FIRST")).isTrue();
+        assertThat(dictionary.contains("com.example.Keys")).isFalse();
+        assertThat(dictionary.contains("com.example.Keys.THIRD")).isFalse();
+    }
+
+    /**
+     * Keys sharing a prefix should share the trie nodes for that prefix.
+     */
+    @Test
+    public void testGetNode() {
+        dictionary.add("com.example.Keys.FIRST");
+        dictionary.add("com.example.Keys.SECOND");
+        dictionary.add("unqualified");
+
+        final Node first = dictionary.getNode("com.example.Keys.FIRST");
+        assertThat(first.getSegment()).isEqualTo("FIRST");
+        assertThat(first.getParent()).isSameAs(dictionary.getNode("com.example.Keys.SECOND").getParent());
+        assertThat(first.getParent().getPath()).isEqualTo("com.example.Keys");
+        assertThat(dictionary.getNode("unqualified").getParent().isRoot()).isTrue();
+        assertThat(dictionary.getNode("com.example.Keys")).isNull();
+    }
+
+    /**
+     * A key should be rebuilt from the path to its node, and the path should be compared to text without being built.
+     */
+    @Test
+    public void testPath() {
+        final Node first = dictionary.add("com.example.Keys.FIRST");
+        assertThat(first.getPath()).isEqualTo("com.example.Keys.FIRST");
+        assertThat(first.pathEquals("com.example.Keys.FIRST")).isTrue();
+        assertThat(first.pathEquals("xcom.example.Keys.FIRST")).isFalse();
+        assertThat(first.pathEquals("com.exampleXKeys.FIRST")).isFalse();
+        assertThat(first.pathEquals("example.Keys.FIRST")).isFalse();
+        assertThat(dictionary.add("unqualified").pathEquals("unqualified")).isTrue();
+        assertThat(dictionary.add("trailing.").getPath()).isEqualTo("trailing.");
+        assertThat(dictionary.getNode("trailing.").pathEquals("trailing.")).isTrue();
+    }
+
+    /**
+     * Translations should hold their keys as the identifiers of the keys of their authoritative messages properties, plus their extra keys.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testSharedByTranslations() throws Exception {
+        final File authoritativeFile = getTestFile("messages.properties");
+        final File translationFile = new File(authoritativeFile.getParentFile(), "messages_fr.properties");
+        FileUtils.writeLines(authoritativeFile, Arrays.asList("com.example.Keys.FIRST=first", "com.example.Keys.SECOND=second"));
+        FileUtils.writeLines(translationFile, Arrays.asList("com.example.Keys.FIRST=premier", "com.example.Keys.EXTRA=extra"));
+
+        final AuthoritativeMessagesProperties authoritative = new AuthoritativeMessagesProperties.Parser().parse(authoritativeFile);
+        final TranslatedMessagesProperties translated = new TranslatedMessagesProperties.Parser().parse(authoritative, Collections.singleton(translationFile)).iterator().next();
+        assertThat(authoritative.getKeyDictionary().size()).isEqualTo(2);
+        assertThat(translated.getTranslationKeys()).hasSize(2).contains("com.example.Keys.FIRST", "com.example.Keys.EXTRA");
+        assertThat(translated.getTranslationKeys().contains("com.example.Keys.SECOND")).isFalse();
+        assertThat(new ArrayList<>(translated.getTranslationKeys())).isEqualTo(Arrays.asList("com.example.Keys.FIRST", "com.example.Keys.EXTRA"));
+    }
+}
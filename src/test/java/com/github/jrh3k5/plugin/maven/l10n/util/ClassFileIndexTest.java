@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.ClassFile;
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestInterface;
+import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestReflection;
+
+/**
+ * Unit tests for {@link ClassFileIndex}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class ClassFileIndexTest extends AbstractUnitTest {
+    /**
+     * Classes should be found in directories on the classpath.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testGetClassFileFromDirectory() throws Exception {
+        try (final ClassFileIndex index = new ClassFileIndex(Collections.singletonList(new File("target/test-classes").toURI().toURL()))) {
+            final ClassFile classFile = index.getClassFile(TestReflection.class.getName());
+            assertThat(classFile).isNotNull();
+            assertThat(classFile.getField("A")).isNotNull();
+            assertThat(index.getClassFile(TestReflection.class.getName())).isSameAs(classFile);
+            assertThat(index.containsClass("com.github.jrh3k5.plugin.maven.l10n.util.internal.DoesNotExist")).isFalse();
+        }
+    }
+
+    /**
+     * Classes should be found in archives on the classpath.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testGetClassFileFromArchive() throws Exception {
+        final File archive = getTestFile("classes.jar");
+        final String path = TestInterface.class.getName().replace('.', '/') + ".class";
+        try (final ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(archive)); final InputStream classFileIn = getClass().getResourceAsStream("/" + path)) {
+            zipOut.putNextEntry(new ZipEntry(path));
+            IOUtils.copy(classFileIn, zipOut);
+            zipOut.closeEntry();
+        }
+
+        final URL missingDirectory = getTestFile("missing").toURI().toURL();
+        try (final ClassFileIndex index = new ClassFileIndex(Arrays.asList(missingDirectory, archive.toURI().toURL()))) {
+            assertThat(index.containsClass(TestInterface.class.getName())).isTrue();
+            assertThat(index.containsClass(TestReflection.class.getName())).isFalse();
+            // The archive is reopened to read the class after having been closed once listed
+            assertThat(index.getClassFile(TestInterface.class.getName())).isNotNull();
+        }
+    }
+
+    /**
+     * Canonical names should be resolved to the binary names of the classes, nested or not, that exist on the classpath.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testResolveClassName() throws Exception {
+        try (final ClassFileIndex index = new ClassFileIndex(Collections.singletonList(new File("target/test-classes").toURI().toURL()))) {
+            assertThat(index.resolveClassName(TestReflection.class.getName())).isEqualTo(TestReflection.class.getName());
+            assertThat(index.resolveClassName("com.github.jrh3k5.plugin.maven.l10n.data.ClassFileTest.Nested")).isEqualTo("com.github.jrh3k5.plugin.maven.l10n.data.ClassFileTest$Nested");
+            assertThat(index.resolveClassName("com.github.jrh3k5.plugin.maven.l10n.util.internal.DoesNotExist")).isNull();
+            assertThat(index.resolveClassName("DoesNotExist")).isNull();
+        }
+    }
+
+    /**
+     * Classes added to a directory on the classpath should be found once the index has been refreshed.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testRefresh() throws Exception {
+        final File directory = getTestFile("classes");
+        FileUtils.deleteDirectory(directory);
+        FileUtils.forceMkdir(directory);
+        final String path = TestInterface.class.getName().replace('.', '/') + ".class";
+        try (final ClassFileIndex index = new ClassFileIndex(Collections.singletonList(directory.toURI().toURL()))) {
+            assertThat(index.getClassFile(TestInterface.class.getName())).isNull();
+
+            final File classFile = new File(directory, path);
+            FileUtils.forceMkdir(classFile.getParentFile());
+            try (final InputStream classFileIn = getClass().getResourceAsStream("/" + path)) {
+                FileUtils.copyInputStreamToFile(classFileIn, classFile);
+            }
+            assertThat(index.containsClass(TestInterface.class.getName())).isFalse();
+
+            index.refresh();
+            assertThat(index.containsClass(TestInterface.class.getName())).isTrue();
+            assertThat(index.getClassFile(TestInterface.class.getName())).isNotNull();
+        }
+    }
+}
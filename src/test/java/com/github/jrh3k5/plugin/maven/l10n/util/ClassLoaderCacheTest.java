@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestInterface;
+
+/**
+ * Unit tests for {@link ClassLoaderCache}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class ClassLoaderCacheTest extends AbstractUnitTest {
+    private final ClassLoaderCache cache = new ClassLoaderCache(1);
+
+    /**
+     * Close any classloaders left open by a test.
+     */
+    @After
+    public void tearDown() {
+        cache.closeAll();
+    }
+
+    /**
+     * Acquisitions of the same classpath within the same session should share a classloader.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testAcquireShared() throws Exception {
+        final Object session = new Object();
+        final List<URL> classpath = buildClasspath("classes");
+        try (final ClassLoaderCache.Lease first = cache.acquire(session, classpath); final ClassLoaderCache.Lease second = cache.acquire(session, buildClasspath("classes"))) {
+            assertThat(second.getClassLoader()).isSameAs(first.getClassLoader());
+            assertThat(cache.acquire(session, buildClasspath("other")).getClassLoader()).isNotSameAs(first.getClassLoader());
+        }
+    }
+
+    /**
+     * A new session should close the classloaders of the previous session.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testAcquireNewSession() throws Exception {
+        final List<URL> classpath = buildClasspath("classes");
+        final ClassLoader previous;
+        try (final ClassLoaderCache.Lease lease = cache.acquire(new Object(), classpath)) {
+            previous = lease.getClassLoader();
+            assertThat(previous.getResource("marker.txt")).isNotNull();
+        }
+
+        try (final ClassLoaderCache.Lease lease = cache.acquire(new Object(), classpath)) {
+            assertThat(lease.getClassLoader()).isNotSameAs(previous);
+        }
+        assertThat(previous.getResource("marker.txt")).isNull();
+    }
+
+    /**
+     * A new session should not close a classloader that the previous session still leases, but it should close it once that lease is released.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testAcquireNewSessionLeased() throws Exception {
+        final List<URL> classpath = buildClasspath("classes");
+        final ClassLoaderCache.Lease previous = cache.acquire(new Object(), classpath);
+        try (final ClassLoaderCache.Lease lease = cache.acquire(new Object(), classpath)) {
+            assertThat(lease.getClassLoader()).isNotSameAs(previous.getClassLoader());
+            assertThat(previous.getClassLoader().getResource("marker.txt")).isNotNull();
+        }
+
+        previous.close();
+        assertThat(previous.getClassLoader().getResource("marker.txt")).isNull();
+    }
+
+    /**
+     * Classloaders without leases should be closed, least recently used first, once too many are cached.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testReleaseEvictsIdle() throws Exception {
+        final Object session = new Object();
+        final ClassLoaderCache.Lease first = cache.acquire(session, buildClasspath("first"));
+        final ClassLoaderCache.Lease second = cache.acquire(session, buildClasspath("second"));
+        first.close();
+        assertThat(first.getClassLoader().getResource("marker.txt")).isNotNull();
+
+        second.close();
+        assertThat(first.getClassLoader().getResource("marker.txt")).isNull();
+        assertThat(second.getClassLoader().getResource("marker.txt")).isNotNull();
+    }
+
+    /**
+     * Releasing the last lease on a classloader should close the archives of its class file index, which should open them again when read.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testReleaseClosesArchives() throws Exception {
+        final File archive = getTestFile("classes.jar");
+        final String path = TestInterface.class.getName().replace('.', '/') + ".class";
+        try (final ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(archive)); final InputStream classFileIn = getClass().getResourceAsStream("/" + path)) {
+            zipOut.putNextEntry(new ZipEntry(path));
+            IOUtils.copy(classFileIn, zipOut);
+            zipOut.closeEntry();
+        }
+
+        final Object session = new Object();
+        final List<URL> classpath = Collections.singletonList(archive.toURI().toURL());
+        final ClassFileIndex classFileIndex;
+        try (final ClassLoaderCache.Lease lease = cache.acquire(session, classpath)) {
+            classFileIndex = lease.getClassFileIndex();
+            assertThat(classFileIndex.containsClass(TestInterface.class.getName())).isTrue();
+        }
+
+        try (final ClassLoaderCache.Lease lease = cache.acquire(session, classpath)) {
+            assertThat(lease.getClassFileIndex()).isSameAs(classFileIndex);
+            assertThat(classFileIndex.getClassFile(TestInterface.class.getName())).isNotNull();
+        }
+    }
+
+    /**
+     * Build a classpath consisting of a single directory containing a marker resource.
+     *
+     * @param directoryName
+     *            The name of the directory.
+     * @return A {@link List} containing the {@link URL} of the directory.
+     * @throws Exception
+     *             If any errors occur while building the classpath.
+     */
+    private List<URL> buildClasspath(String directoryName) throws Exception {
+        final File marker = getTestFile(directoryName + "/marker.txt");
+        FileUtils.write(marker, directoryName);
+        return Collections.singletonList(marker.getParentFile().toURI().toURL());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+
+/**
+ * Unit tests for {@link FindingExporter}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class FindingExporterTest extends AbstractUnitTest {
+    /**
+     * Findings should be written as JSON objects, one per line, with their values escaped.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testExportJsonLines() throws Exception {
+        final File directory = getTestFile("exports");
+        try (final FindingExporter exporter = FindingExporter.open(directory, "findings", "JSONL")) {
+            exporter.export("missing-key", "messages.properties", "com.example.Keys", "FIRST");
+            exporter.export("duplicate-key", "messages.properties", null, "say.\"hi\"\\\n");
+        }
+
+        assertThat(FileUtils.readFileToString(new File(directory, "findings.jsonl"), "utf-8")).isEqualTo(
+                "{\"type\":\"missing-key\",\"file\":\"messages.properties\",\"class\":\"com.example.Keys\",\"key\":\"FIRST\"}\n"
+                        + "{\"type\":\"duplicate-key\",\"file\":\"messages.properties\",\"key\":\"say.\\\"hi\\\"\\\\\\n\"}\n");
+    }
+
+    /**
+     * Findings should be written as comma-separated values beneath a header, with values quoted where needed.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testExportCsv() throws Exception {
+        final File directory = getTestFile("exports");
+        try (final FindingExporter exporter = FindingExporter.open(directory, "findings", "csv")) {
+            exporter.export("missing-class", "messages.properties", "com.example.Keys", null);
+            exporter.export("extra-translation", "messages_fr.properties", null, "a,\"b\"");
+        }
+
+        assertThat(FileUtils.readFileToString(new File(directory, "findings.csv"), "utf-8")).isEqualTo(
+                "type,file,class,key\r\nmissing-class,messages.properties,com.example.Keys,\r\nextra-translation,messages_fr.properties,,\"a,\"\"b\"\"\"\r\n");
+
+        try (final FindingExporter exporter = FindingExporter.open(directory, "empty", "csv")) {
+            // Write nothing
+        }
+        assertThat(FileUtils.readFileToString(new File(directory, "empty.csv"), "utf-8")).isEqualTo("type,file,class,key\r\n");
+    }
+
+    /**
+     * Unknown formats should be rejected.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpenUnsupportedFormat() throws Exception {
+        FindingExporter.open(getTestFile("exports"), "findings", "xml");
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.TranslatedMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestReflection;
+
+/**
+ * Unit tests for {@link IncrementalVerifier}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class IncrementalVerifierTest extends AbstractUnitTest {
+    /**
+     * Each kind of change should re-verify what it affects, and the issues should reflect the change.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testChanges() throws Exception {
+        final File classesDirectory = getTestFile("classes");
+        FileUtils.deleteDirectory(classesDirectory);
+        FileUtils.forceMkdir(classesDirectory);
+
+        final String key = TestReflection.class.getName() + ".A";
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, "utf-8", Arrays.asList(key + "=a", "other.key=other"));
+        final File translationFile = getTestFile("messages_fr.properties");
+        FileUtils.writeLines(translationFile, "utf-8", Collections.singletonList(key + "=le a"));
+
+        try (final ClassFileIndex classFileIndex = new ClassFileIndex(Collections.singletonList(classesDirectory.toURI().toURL()))) {
+            final IncrementalVerifier verifier = new IncrementalVerifier(messagesFile, new AuthoritativeMessagesProperties.Parser(), new TranslatedMessagesProperties.Parser(), classFileIndex,
+                    TranslationKeyAnalysisUtils.getInstance(new SystemStreamLog()), 1);
+            verifier.verifyAll(Collections.singletonList(translationFile));
+            assertThat(verifier.getIssues()).isEqualTo(
+                    Arrays.asList("File messages.properties contains 2 references to non-existent translation key classes.", "File messages_fr.properties is missing 1 translation keys."));
+
+            FileUtils.writeLines(translationFile, "utf-8", Arrays.asList(key + "=le a", "other.key=autre"));
+            verifier.translationChanged(translationFile);
+            assertThat(verifier.getIssues()).isEqualTo(Collections.singletonList("File messages.properties contains 2 references to non-existent translation key classes."));
+
+            final String classPath = TestReflection.class.getName().replace('.', '/') + ".class";
+            try (final InputStream classFileIn = getClass().getResourceAsStream("/" + classPath)) {
+                FileUtils.copyInputStreamToFile(classFileIn, new File(classesDirectory, classPath));
+            }
+            verifier.classesChanged();
+            assertThat(verifier.getIssues()).isEqualTo(Collections.singletonList("File messages.properties contains 1 references to non-existent translation key classes."));
+
+            FileUtils.writeLines(messagesFile, "utf-8", Arrays.asList(key + "=a", key + "=again", "new.key=new"));
+            verifier.authoritativeChanged();
+            assertThat(verifier.getIssues()).isEqualTo(
+                    Arrays.asList("File messages.properties contains 1 duplicate keys.", "File messages.properties contains 1 references to non-existent translation key classes.",
+                            "File messages_fr.properties is missing 1 translation keys.", "File messages_fr.properties contains 1 translation keys not found in messages.properties."));
+
+            verifier.translationRemoved(translationFile);
+            assertThat(verifier.getTranslationFiles()).isEmpty();
+            assertThat(verifier.getIssues()).hasSize(2);
+        }
+    }
+
+    /**
+     * A re-verification that fails should leave the results of the previous verification in place.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testFailedChange() throws Exception {
+        final File classesDirectory = getTestFile("classes");
+        FileUtils.forceMkdir(classesDirectory);
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, "utf-8", Arrays.asList("first=first", "second=second"));
+        final File translationFile = getTestFile("messages_fr.properties");
+        FileUtils.writeLines(translationFile, "utf-8", Collections.singletonList("first=premier"));
+
+        try (final ClassFileIndex classFileIndex = new ClassFileIndex(Collections.singletonList(classesDirectory.toURI().toURL()))) {
+            final IncrementalVerifier verifier = new IncrementalVerifier(messagesFile, new AuthoritativeMessagesProperties.Parser(), new TranslatedMessagesProperties.Parser(), classFileIndex,
+                    TranslationKeyAnalysisUtils.getInstance(new SystemStreamLog()), 1);
+            assertThat(verifier.isVerified()).isFalse();
+            verifier.verifyAll(Collections.singletonList(translationFile));
+            assertThat(verifier.isVerified()).isTrue();
+            final List<String> issues = verifier.getIssues();
+            assertThat(issues).isEqualTo(Collections.singletonList("File messages_fr.properties is missing 1 translation keys."));
+
+            // A malformed escape sequence cannot be parsed
+            FileUtils.writeLines(messagesFile, "utf-8", Arrays.asList("first=first", "sec\\uZZZZond=second", "third=third"));
+            try {
+                verifier.authoritativeChanged();
+                fail("A malformed escape sequence should fail the verification.");
+            } catch (IOException e) {
+                // Expected
+            }
+            assertThat(verifier.isVerified()).isTrue();
+            assertThat(verifier.getIssues()).isEqualTo(issues);
+            assertThat(verifier.getTranslationFiles()).containsOnly(translationFile);
+        }
+    }
+}
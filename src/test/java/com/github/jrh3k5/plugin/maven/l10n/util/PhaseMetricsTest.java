@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+
+/**
+ * Unit tests for {@link PhaseMetrics}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class PhaseMetricsTest extends AbstractUnitTest {
+    /**
+     * Phases should be recorded in the order in which they were started, with their counts, and measured once closed.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testStart() throws Exception {
+        final PhaseMetrics metrics = new PhaseMetrics("verify-messages");
+        try (final PhaseMetrics.Phase phase = metrics.start("authoritative-parse")) {
+            phase.count("files", 1).count("keys", 42);
+            assertThat(phase.getWallTimeNanos()).isEqualTo(-1);
+        }
+        final PhaseMetrics.Phase analysisPhase = metrics.start("classiness-analysis");
+        analysisPhase.close();
+        final long wallTimeNanos = analysisPhase.getWallTimeNanos();
+        // Closing a phase again should not measure it again
+        analysisPhase.close();
+        assertThat(analysisPhase.getWallTimeNanos()).isEqualTo(wallTimeNanos);
+
+        final List<PhaseMetrics.Phase> phases = metrics.getPhases();
+        assertThat(phases).hasSize(2);
+        final PhaseMetrics.Phase parsePhase = phases.get(0);
+        assertThat(parsePhase.getName()).isEqualTo("authoritative-parse");
+        assertThat(parsePhase.getWallTimeNanos()).isGreaterThanOrEqualTo(0);
+        assertThat(parsePhase.getAllocatedBytes()).isGreaterThanOrEqualTo(PhaseMetrics.getThreadAllocatedBytes() < 0 ? -1 : 0);
+        assertThat(parsePhase.getCounts().keySet()).containsOnly("files", "keys");
+        assertThat(parsePhase.getCounts().get("keys")).isEqualTo(42L);
+        assertThat(phases.get(1).getName()).isEqualTo("classiness-analysis");
+        assertThat(phases.get(1).getCounts()).isEmpty();
+    }
+
+    /**
+     * The recorded phases should be written as a JSON object.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testWrite() throws Exception {
+        final PhaseMetrics metrics = new PhaseMetrics("translation-key-verification");
+        try (final PhaseMetrics.Phase phase = metrics.start("classloader")) {
+            phase.count("jars", 3).count("directories", 1);
+        }
+        try (final PhaseMetrics.Phase phase = metrics.start("rendering")) {
+            // Record nothing
+        }
+
+        final File metricsFile = getTestFile("metrics/l10n-metrics.json");
+        metrics.write(metricsFile);
+
+        final List<PhaseMetrics.Phase> phases = metrics.getPhases();
+        final String expected = String.format("{\"goal\":\"translation-key-verification\",\"phases\":[\n"
+                + "  {\"name\":\"classloader\",\"wallTimeNanos\":%d,\"allocatedBytes\":%d,\"counts\":{\"jars\":3,\"directories\":1}},\n"
+                + "  {\"name\":\"rendering\",\"wallTimeNanos\":%d,\"allocatedBytes\":%d,\"counts\":{}}\n]}\n", phases.get(0).getWallTimeNanos(), phases.get(0).getAllocatedBytes(), phases.get(1)
+                .getWallTimeNanos(), phases.get(1).getAllocatedBytes());
+        assertThat(FileUtils.readFileToString(metricsFile, "utf-8")).isEqualTo(expected);
+    }
+
+    /**
+     * Names taken from bundles and files should be escaped in the written JSON.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testWriteEscaped() throws Exception {
+        final PhaseMetrics metrics = new PhaseMetrics("verify-messages");
+        try (final PhaseMetrics.Phase phase = metrics.start("parse:C:\\messages \"quoted\".properties")) {
+            phase.count("keys\n", 1);
+        }
+
+        final File metricsFile = getTestFile("metrics/l10n-metrics.json");
+        metrics.write(metricsFile);
+
+        final PhaseMetrics.Phase phase = metrics.getPhases().get(0);
+        final String expected = String.format("{\"goal\":\"verify-messages\",\"phases\":[\n"
+                + "  {\"name\":\"parse:C:\\\\messages \\\"quoted\\\".properties\",\"wallTimeNanos\":%d,\"allocatedBytes\":%d,\"counts\":{\"keys\\n\":1}}\n]}\n", phase.getWallTimeNanos(),
+                phase.getAllocatedBytes());
+        assertThat(FileUtils.readFileToString(metricsFile, "utf-8")).isEqualTo(expected);
+    }
+}
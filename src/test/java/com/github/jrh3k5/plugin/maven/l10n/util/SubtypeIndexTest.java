@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestInterface;
+import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestReflection;
+
+/**
+ * Unit tests for {@link SubtypeIndex}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class SubtypeIndexTest extends AbstractUnitTest {
+    private final File testClasses = new File("target/test-classes");
+
+    /**
+     * Subtypes within the scanned packages should be found.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testGetSubtypes() throws Exception {
+        final SubtypeIndex index = SubtypeIndex.scan(Collections.singleton(testClasses), Collections.singleton(TestInterface.class.getPackage().getName()), 1);
+        assertThat(index.getSubtypes(TestInterface.class.getName())).hasSize(1).contains(TestReflection.class.getName());
+        assertThat(index.getSubtypes(Enum.class.getName())).contains(TestReflection.class.getName());
+        assertThat(index.getClassFile(SubtypeIndexTest.class.getName())).isNull();
+    }
+
+    /**
+     * Classes outside of the scanned packages should not be indexed.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testGetSubtypesOutsidePackages() throws Exception {
+        final SubtypeIndex index = SubtypeIndex.scan(Collections.singleton(testClasses), Collections.singleton("com.github.jrh3k5.plugin.maven.l10n.data"), 1);
+        assertThat(index.getSubtypes(TestInterface.class.getName())).isEmpty();
+    }
+
+    /**
+     * Archives should be scanned, concurrently with other classpath elements, and earlier elements should take precedence.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testScanConcurrently() throws Exception {
+        final File archive = getTestFile("classes.jar");
+        final String path = TestReflection.class.getName().replace('.', '/') + ".class";
+        try (final ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(archive));
+                final InputStream classFileIn = getClass().getResourceAsStream("/" + path)) {
+            zipOut.putNextEntry(new ZipEntry(path));
+            IOUtils.copy(classFileIn, zipOut);
+            zipOut.closeEntry();
+        }
+
+        final SubtypeIndex index = SubtypeIndex.scan(Arrays.asList(archive, testClasses, getTestFile("missing")), Collections.<String> emptyList(), 3);
+        assertThat(index.getSubtypes(TestInterface.class.getName())).hasSize(1).contains(TestReflection.class.getName());
+        assertThat(index.getClassFile(SubtypeIndexTest.class.getName())).isNotNull();
+    }
+}
@@ -9,10 +9,15 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
 import org.junit.Test;
 
+import com.github.jrh3k5.plugin.maven.l10n.util.fields.TestFieldKey;
+import com.github.jrh3k5.plugin.maven.l10n.util.fields.TestFieldKeys;
 import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestInterface;
 import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestReflection;
 
@@ -36,6 +41,83 @@ public class TranslationClassUtilsTest {
         assertThat(translationKeys).hasSize(2).contains(String.format("%s.A", TestReflection.class.getCanonicalName()), String.format("%s.B", TestReflection.class.getCanonicalName()));
     }
 
+    /**
+     * Test the retrieval of the translation keys from the subtypes found in a {@link SubtypeIndex}.
+     * 
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testGetTranslationKeysFromSubtypeIndex() throws Exception {
+        final SubtypeIndex subtypeIndex = SubtypeIndex.scan(Collections.singleton(new File("target/test-classes")), Collections.singleton(TestInterface.class.getPackage().getName()), 1);
+        final Collection<String> translationKeys = TranslationClassUtils.getTranslationKeys(Collections.singleton(TestInterface.class.getCanonicalName()), buildClassLoader(), subtypeIndex);
+        assertThat(translationKeys).hasSize(2).contains(String.format("%s.A", TestReflection.class.getCanonicalName()), String.format("%s.B", TestReflection.class.getCanonicalName()));
+    }
+
+    /**
+     * Test the retrieval of the translation keys from class files, without loading any classes.
+     * 
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testGetTranslationKeysFromClassFiles() throws Exception {
+        final File testClasses = new File("target/test-classes");
+        final SubtypeIndex subtypeIndex = SubtypeIndex.scan(Collections.singleton(testClasses), Collections.singleton(TestInterface.class.getPackage().getName()), 1);
+        try (final ClassFileIndex classFileIndex = new ClassFileIndex(Collections.singletonList(testClasses.toURI().toURL()))) {
+            final Collection<String> translationKeys = TranslationClassUtils.getTranslationKeys(Collections.singleton(TestInterface.class.getName()), classFileIndex, subtypeIndex,
+                    new SystemStreamLog());
+            assertThat(translationKeys).hasSize(2).contains(String.format("%s.A", TestReflection.class.getCanonicalName()), String.format("%s.B", TestReflection.class.getCanonicalName()));
+        }
+    }
+
+    /**
+     * Reading translation keys from class files should fail for a key class that does not exist.
+     * 
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test(expected = ClassNotFoundException.class)
+    public void testGetTranslationKeysFromClassFilesMissingClass() throws Exception {
+        final File testClasses = new File("target/test-classes");
+        final SubtypeIndex subtypeIndex = SubtypeIndex.scan(Collections.singleton(testClasses), Collections.<String> emptyList(), 1);
+        try (final ClassFileIndex classFileIndex = new ClassFileIndex(Collections.singletonList(testClasses.toURI().toURL()))) {
+            TranslationClassUtils.getTranslationKeys(Collections.singleton("com.example.DoesNotExist"), classFileIndex, subtypeIndex, new SystemStreamLog());
+        }
+    }
+
+    /**
+     * A static field declared as a supertype of a key class is read as a translation key only when its value can be read; reading class files alone matches only fields declared as a key class,
+     * and warns of the others.
+     * 
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testGetTranslationKeysWidenedField() throws Exception {
+        final File testClasses = new File("target/test-classes");
+        final SubtypeIndex subtypeIndex = SubtypeIndex.scan(Collections.singleton(testClasses), Collections.singleton(TestFieldKey.class.getPackage().getName()), 1);
+        final String declaredKey = TestFieldKeys.class.getCanonicalName() + ".DECLARED";
+        final String widenedKey = TestFieldKeys.class.getCanonicalName() + ".WIDENED";
+
+        final Collection<String> reflectedKeys = TranslationClassUtils.getTranslationKeys(Collections.singleton(TestFieldKey.class.getName()), buildClassLoader(), subtypeIndex);
+        assertThat(reflectedKeys).hasSize(2).contains(declaredKey, widenedKey);
+
+        final List<String> warnings = new ArrayList<>();
+        final Log log = new SystemStreamLog() {
+            @Override
+            public void warn(CharSequence content) {
+                warnings.add(content.toString());
+            }
+        };
+        try (final ClassFileIndex classFileIndex = new ClassFileIndex(Collections.singletonList(testClasses.toURI().toURL()))) {
+            final Collection<String> readKeys = TranslationClassUtils.getTranslationKeys(Collections.singleton(TestFieldKey.class.getName()), classFileIndex, subtypeIndex, log);
+            assertThat(readKeys).hasSize(1).contains(declaredKey);
+        }
+        assertThat(warnings).hasSize(1);
+        assertThat(warnings.get(0)).contains(widenedKey).contains(Object.class.getName());
+    }
+
     /**
      * Build a classloader that includes the test classes.
      * 
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.AuthoritativeMessagesProperties;
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+import com.github.jrh3k5.plugin.maven.l10n.util.TranslationKeyAnalysisUtils.ClassinessAnalysisResults;
+import com.github.jrh3k5.plugin.maven.l10n.util.internal.TestReflection;
+
+/**
+ * Unit tests for {@link TranslationKeyAnalysisUtils}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class TranslationKeyAnalysisUtilsTest extends AbstractUnitTest {
+    private final TranslationKeyAnalysisUtils analysisUtils = TranslationKeyAnalysisUtils.getInstance(new SystemStreamLog());
+
+    /**
+     * Analyzing translation classes concurrently should produce the same, sorted results as analyzing them one at a time.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testAnalyzeClassinessConcurrently() throws Exception {
+        final List<String> lines = new ArrayList<>();
+        lines.add(TestReflection.class.getName() + ".A=a");
+        lines.add(TestReflection.class.getName() + ".MISSING=missing");
+        for (int i = 0; i < 50; i++) {
+            lines.add(String.format("com.example.Missing%02d.KEY=key", i));
+        }
+        Collections.shuffle(lines);
+
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, "utf-8", lines);
+        final AuthoritativeMessagesProperties properties = new AuthoritativeMessagesProperties.Parser().parse(messagesFile);
+
+        try (final ClassFileIndex classFileIndex = new ClassFileIndex(Collections.singletonList(new File("target/test-classes").toURI().toURL()))) {
+            final ClassinessAnalysisResults sequential = analysisUtils.analyzeClassiness(classFileIndex, properties);
+            assertThat(sequential.getMissingTranslationKeyClasses()).hasSize(50);
+            assertThat(sequential.getMissingTranslationKeyClasses().get(0).getClassName()).isEqualTo("com.example.Missing00");
+            assertThat(sequential.getMissingTranslationKeys()).hasSize(1);
+            assertThat(sequential.getMissingTranslationKeys().get(0).getKeyName()).isEqualTo("MISSING");
+
+            final ClassinessAnalysisResults concurrent = analysisUtils.analyzeClassiness(classFileIndex, properties, 4);
+            assertThat(concurrent.getMissingTranslationKeyClasses()).isEqualTo(sequential.getMissingTranslationKeyClasses());
+            assertThat(concurrent.getMissingTranslationKeys()).isEqualTo(sequential.getMissingTranslationKeys());
+
+            final ClassinessAnalysisResults loaded = analysisUtils.analyzeClassiness(getClass().getClassLoader(), properties, 4);
+            assertThat(loaded.getMissingTranslationKeyClasses()).isEqualTo(sequential.getMissingTranslationKeyClasses());
+            assertThat(loaded.getMissingTranslationKeys()).isEqualTo(sequential.getMissingTranslationKeys());
+        }
+    }
+
+    /**
+     * Loading translation classes should find classes that are not on the indexed classpath, such as those of the JDK, through the parent of the classloader, and should never ask the classloader
+     * itself for a class that the index does not list.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testAnalyzeClassinessOutsideIndex() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeLines(messagesFile, "utf-8", Arrays.asList("java.util.Locale.ENGLISH=English", "java.util.Locale.MISSING=Missing", "com.example.Missing.KEY=key",
+                TestReflection.class.getName() + ".A=a"));
+        final AuthoritativeMessagesProperties properties = new AuthoritativeMessagesProperties.Parser().parse(messagesFile);
+
+        try (final ClassFileIndex classFileIndex = new ClassFileIndex(Collections.singletonList(new File("target/test-classes").toURI().toURL()))) {
+            final List<String> requestedClassNames = Collections.synchronizedList(new ArrayList<String>());
+            final ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {
+                @Override
+                protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                    requestedClassNames.add(name);
+                    return super.loadClass(name, resolve);
+                }
+            };
+
+            final ClassinessAnalysisResults results = analysisUtils.analyzeClassiness(classLoader, classFileIndex, properties, 1);
+            assertThat(requestedClassNames).isEqualTo(Collections.singletonList(TestReflection.class.getName()));
+            assertThat(results.getMissingTranslationKeyClasses()).hasSize(1);
+            assertThat(results.getMissingTranslationKeyClasses().get(0).getClassName()).isEqualTo("com.example.Missing");
+            assertThat(results.getMissingTranslationKeys()).hasSize(1);
+            assertThat(results.getMissingTranslationKeys().get(0).getKeyName()).isEqualTo("MISSING");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jrh3k5.plugin.maven.l10n.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import com.github.jrh3k5.plugin.maven.l10n.data.internal.AbstractUnitTest;
+
+/**
+ * Unit tests for {@link VerificationStamp}.
+ *
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class VerificationStampTest extends AbstractUnitTest {
+    /**
+     * A recorded verdict should be loaded only while the inputs it was recorded for are unchanged.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testStoreAndLoad() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeStringToFile(messagesFile, "com.example.Keys.FIRST=first", "utf-8");
+        final File classesDirectory = getTestFile("classes");
+        FileUtils.forceMkdir(classesDirectory);
+        final File classFile = new File(classesDirectory, "Keys.class");
+        FileUtils.writeStringToFile(classFile, "not really a class", "utf-8");
+
+        final List<File> classpath = Collections.singletonList(classesDirectory);
+        final List<String> configuration = Arrays.asList("UTF-8");
+        final byte[] fingerprint = VerificationStamp.fingerprint(messagesFile, classpath, configuration);
+        assertThat(VerificationStamp.fingerprint(messagesFile, classpath, configuration)).isEqualTo(fingerprint);
+
+        final VerificationStamp stamp = new VerificationStamp(getTestFile("stamps"), messagesFile);
+        assertThat(stamp.load(fingerprint)).isNull();
+
+        stamp.store(fingerprint, Arrays.asList("File messages.properties contains 1 duplicate keys."));
+        assertThat(stamp.load(fingerprint)).isEqualTo(Arrays.asList("File messages.properties contains 1 duplicate keys."));
+
+        assertThat(VerificationStamp.fingerprint(messagesFile, classpath, Arrays.asList("ISO-8859-1"))).isNotEqualTo(fingerprint);
+
+        FileUtils.writeStringToFile(classFile, "a different class", "utf-8");
+        final byte[] changedFingerprint = VerificationStamp.fingerprint(messagesFile, classpath, configuration);
+        assertThat(changedFingerprint).isNotEqualTo(fingerprint);
+        assertThat(stamp.load(changedFingerprint)).isNull();
+    }
+
+    /**
+     * An edit to a messages properties file that changes neither its size nor its modification time should still change its fingerprint.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testFingerprintContents() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeStringToFile(messagesFile, "com.example.Keys.FIRST=first", "utf-8");
+        final long lastModified = messagesFile.lastModified();
+
+        final List<File> classpath = Collections.<File> emptyList();
+        final List<String> configuration = Arrays.asList("UTF-8");
+        final byte[] fingerprint = VerificationStamp.fingerprint(messagesFile, classpath, configuration);
+
+        FileUtils.writeStringToFile(messagesFile, "com.example.Keys.FIRST=fir5t", "utf-8");
+        assertThat(messagesFile.setLastModified(lastModified)).isTrue();
+        assertThat(VerificationStamp.fingerprint(messagesFile, classpath, configuration)).isNotEqualTo(fingerprint);
+    }
+
+    /**
+     * A classpath fingerprinted once should fingerprint each bundle as it would be fingerprinted on its own, so that bundles sharing a classpath are each skipped independently.
+     *
+     * @throws Exception
+     *             If any errors occur during the test run.
+     */
+    @Test
+    public void testSharedClasspathFingerprint() throws Exception {
+        final File messagesFile = getTestFile("messages.properties");
+        FileUtils.writeStringToFile(messagesFile, "com.example.Keys.FIRST=first", "utf-8");
+        final File errorsFile = getTestFile("errors.properties");
+        FileUtils.writeStringToFile(errorsFile, "com.example.Errors.FIRST=first", "utf-8");
+        final File classesDirectory = getTestFile("classes");
+        FileUtils.forceMkdir(classesDirectory);
+        FileUtils.writeStringToFile(new File(classesDirectory, "Keys.class"), "not really a class", "utf-8");
+
+        final List<File> classpath = Collections.singletonList(classesDirectory);
+        final List<String> configuration = Arrays.asList("UTF-8");
+        final byte[] classpathFingerprint = VerificationStamp.fingerprintClasspath(classpath);
+        assertThat(VerificationStamp.fingerprint(messagesFile, classpathFingerprint, configuration)).isEqualTo(VerificationStamp.fingerprint(messagesFile, classpath, configuration));
+        assertThat(VerificationStamp.fingerprint(errorsFile, classpathFingerprint, configuration)).isNotEqualTo(
+                VerificationStamp.fingerprint(messagesFile, classpathFingerprint, configuration));
+    }
+}
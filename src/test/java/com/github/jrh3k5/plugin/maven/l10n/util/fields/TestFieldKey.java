@@ -0,0 +1,17 @@
+package com.github.jrh3k5.plugin.maven.l10n.util.fields;
+
+/**
+ * An interface of translation keys held in static fields of various declared types, for testing purposes.
+ * 
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public interface TestFieldKey {
+    /**
+     * Get the name.
+     * 
+     * @return The name.
+     */
+    String name();
+}
@@ -0,0 +1,42 @@
+package com.github.jrh3k5.plugin.maven.l10n.util.fields;
+
+/**
+ * A class declaring translation keys in static fields of various declared types, for testing purposes.
+ * 
+ * @author Joshua Hyde
+ * @since 1.5
+ */
+
+public class TestFieldKeys implements TestFieldKey {
+    /**
+     * A translation key declared as a translation key class.
+     */
+    public static final TestFieldKey DECLARED = new TestFieldKeys("DECLARED");
+
+    /**
+     * A translation key declared as a supertype of the translation key class.
+     */
+    public static final Object WIDENED = new TestFieldKeys("WIDENED");
+
+    /**
+     * A field that is not a translation key.
+     */
+    public static final String NOT_A_KEY = "NOT_A_KEY";
+
+    private final String name;
+
+    /**
+     * Create a key.
+     * 
+     * @param name
+     *            The name of the key.
+     */
+    private TestFieldKeys(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+}